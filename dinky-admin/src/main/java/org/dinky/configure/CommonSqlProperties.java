@@ -0,0 +1,43 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.configure;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "dinky.common-sql")
+@Component
+public class CommonSqlProperties {
+    /** 默认是否并行执行脚本中相互独立的查询，可被单次执行的请求覆盖 */
+    private Boolean parallel = false;
+    /** 单个脚本同时执行的查询数 */
+    private Integer parallelism = 4;
+    /** 查询结果缓存的有效期，为 0 时不缓存 */
+    private Duration resultCacheTtl = Duration.ZERO;
+    /** 查询结果缓存的最大条目数 */
+    private Integer resultCacheMaxSize = 200;
+}
@@ -0,0 +1,56 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.configure;
+
+import org.dinky.metadata.driver.DriverPool;
+import org.dinky.metadata.result.QueryCursorRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@RequiredArgsConstructor
+public class DataSourcePoolConfig {
+
+    private final DataSourcePoolProperties properties;
+
+    /** 将 {@link DataSourcePoolProperties} 应用到所有数据源的连接池 */
+    @PostConstruct
+    public void init() {
+        DriverPool.setIdleTimeout(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        DriverPool.setDefaultPoolConfig(properties.toDefaultPoolConfig());
+        properties.getDatasources().forEach(DriverPool::setPoolConfig);
+    }
+
+    /** 保存未读完的分页查询游标 */
+    @Bean(destroyMethod = "shutdown")
+    public QueryCursorRegistry queryCursorRegistry() {
+        return new QueryCursorRegistry(
+                properties.getMaxOpenCursors(),
+                properties.getCursorIdleTimeout().toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+}
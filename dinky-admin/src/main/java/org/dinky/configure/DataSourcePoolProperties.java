@@ -0,0 +1,64 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.configure;
+
+import org.dinky.metadata.driver.DriverPoolConfig;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "dinky.datasource-pool")
+@Component
+public class DataSourcePoolProperties {
+    /** 数据源超过该时间未被使用时关闭其连接池 */
+    private Duration idleTimeout = Duration.ofMinutes(30);
+    /** 每个数据源的最大连接数 */
+    private Integer maxActive = 8;
+    /** 每个数据源的最小空闲连接数 */
+    private Integer minIdle = 1;
+    /** 获取连接的最长等待时间 */
+    private Duration maxWait = Duration.ofSeconds(30);
+    /** 连接借出超过该时间视为泄漏并回收，为 0 时关闭泄漏检测 */
+    private Duration leakDetectionThreshold = Duration.ZERO;
+    /** 所有数据源同时打开的分页查询游标数上限，每个游标占用一个连接，单个数据源的游标数另外小于其最大连接数 */
+    private Integer maxOpenCursors = 16;
+    /** 分页查询游标超过该时间未被读取时关闭 */
+    private Duration cursorIdleTimeout = Duration.ofMinutes(5);
+    /** 按数据源名称覆盖的连接池配置 */
+    private Map<String, DriverPoolConfig> datasources = new HashMap<>();
+
+    public DriverPoolConfig toDefaultPoolConfig() {
+        DriverPoolConfig poolConfig = new DriverPoolConfig();
+        poolConfig.setMaxActive(maxActive);
+        poolConfig.setMinIdle(minIdle);
+        poolConfig.setMaxWait(maxWait.toMillis());
+        poolConfig.setLeakDetectionThreshold(leakDetectionThreshold.toMillis());
+        return poolConfig;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.configure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "dinky.job-bundle")
+@Component
+public class JobBundleProperties {
+    /** 发布 FlinkSQL 任务时生成作业包，application 模式从作业包启动，需开启资源中心（HDFS/OSS） */
+    private Boolean enabled = false;
+    /** 作业包在资源中心的目录 */
+    private String path = "job-bundle";
+    /** 作业包读取失败时是否回退为从数据库读取作业 */
+    private Boolean fallbackDb = false;
+}
@@ -0,0 +1,42 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.configure;
+
+import org.dinky.metadata.cache.MetaDataCache;
+import org.dinky.metadata.cache.QueryResultCache;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetaDataCacheConfig {
+
+    /** 数据源元数据缓存，见 {@link MetaDataCacheProperties} */
+    @Bean
+    public MetaDataCache metaDataCache(MetaDataCacheProperties properties) {
+        return new MetaDataCache(properties.getMaxSize(), properties.getTtl(), properties.getValidateUpdateTime());
+    }
+
+    /** 并行执行普通 SQL 时的查询结果缓存，见 {@link CommonSqlProperties} */
+    @Bean
+    public QueryResultCache queryResultCache(CommonSqlProperties properties) {
+        return new QueryResultCache(properties.getResultCacheMaxSize(), properties.getResultCacheTtl());
+    }
+}
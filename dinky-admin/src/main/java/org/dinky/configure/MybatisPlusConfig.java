@@ -21,6 +21,7 @@ package org.dinky.configure;
 
 import org.dinky.context.TenantContextHolder;
 import org.dinky.data.annotation.ConditionalOnListProperty;
+import org.dinky.interceptor.CatalogueTreeInterceptor;
 import org.dinky.interceptor.PostgreSQLPrepareInterceptor;
 import org.dinky.interceptor.PostgreSQLQueryInterceptor;
 import org.dinky.mybatis.handler.DateMetaObjectHandler;
@@ -119,6 +120,7 @@ public class MybatisPlusConfig {
             }
         }));
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor());
+        interceptor.addInnerInterceptor(new CatalogueTreeInterceptor());
         return interceptor;
     }
 
@@ -29,6 +29,7 @@ import org.dinky.data.metrics.Jvm;
 import org.dinky.data.metrics.Mem;
 import org.dinky.data.metrics.MetricsTotal;
 import org.dinky.data.model.SystemConfiguration;
+import org.dinky.data.result.ResultCollectorPool;
 import org.dinky.data.vo.MetricsVO;
 
 import java.lang.reflect.Field;
@@ -60,6 +61,8 @@ public class GatherSysIndicator extends BaseSchedule {
         registerMetrics(metricsTotal.getJvm());
         registerMetrics(metricsTotal.getCpu());
         registerMetrics(metricsTotal.getMem());
+        registerCollectorMetrics();
+        registerWriterMetrics();
 
         org.dinky.data.model.Configuration<Boolean> metricsSysEnable =
                 SystemConfiguration.getInstances().getMetricsSysEnable();
@@ -98,6 +101,39 @@ public class GatherSysIndicator extends BaseSchedule {
         log.debug("Collecting jvm information ends.");
     }
 
+    private void registerCollectorMetrics() {
+        Gauge.builder("dinky.result.collector.active", ResultCollectorPool::getActiveCount)
+                .description("Running SELECT preview collectors")
+                .register(registry);
+        Gauge.builder("dinky.result.collector.rejected", ResultCollectorPool::getRejectedCount)
+                .description("SELECT previews rejected by the collector quotas")
+                .register(registry);
+        Gauge.builder("dinky.result.collector.rows", ResultCollectorPool::getRowsPerSecond)
+                .baseUnit("rows/s")
+                .description("Rows collected per second by SELECT previews")
+                .register(registry);
+    }
+
+    private void registerWriterMetrics() {
+        Gauge.builder("dinky.metrics.queue.size", MetricsContextHolder::getQueueSize)
+                .description("Metrics waiting to be written")
+                .register(registry);
+        Gauge.builder("dinky.metrics.dropped", MetricsContextHolder::getDroppedCount)
+                .description("Metrics dropped because the queue was full or a write failed")
+                .register(registry);
+        Gauge.builder("dinky.metrics.commits", MetricsContextHolder::getCommitCount)
+                .description("Paimon commits of the metrics table")
+                .register(registry);
+        Gauge.builder("dinky.metrics.commit.latency", MetricsContextHolder::getLastCommitMillis)
+                .baseUnit("ms")
+                .description("Duration of the last metrics commit")
+                .register(registry);
+        Gauge.builder("dinky.metrics.commit.latency.max", MetricsContextHolder::getMaxCommitMillis)
+                .baseUnit("ms")
+                .description("Longest metrics commit")
+                .register(registry);
+    }
+
     private void registerMetrics(BaseMetrics baseMetrics) {
         Field[] baseFields = ReflectUtil.getFields(this.getClass());
         Field baseField = Arrays.stream(baseFields)
@@ -0,0 +1,112 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.context;
+
+import org.dinky.data.model.Catalogue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.Getter;
+
+/**
+ * Cached catalogue tree per tenant.
+ * <p>
+ * Every write to the catalogue or task tables bumps a global version and drops the snapshots. A snapshot built while
+ * a write was running carries the older version and is not cached, writes inside a transaction bump the version again
+ * once the transaction completes.
+ * </p>
+ */
+public class CatalogueTreeContextHolder {
+
+    private static final Object NO_TENANT = new Object();
+
+    private static final AtomicLong version = new AtomicLong();
+
+    private static final Map<Object, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    public static long getVersion() {
+        return version.get();
+    }
+
+    public static Snapshot get(Object tenantId) {
+        Snapshot snapshot = snapshots.get(key(tenantId));
+        return snapshot != null && snapshot.version == version.get() ? snapshot : null;
+    }
+
+    /**
+     * Cache a snapshot unless the catalogue changed while it was built.
+     *
+     * @param tenantId the tenant of the snapshot
+     * @param snapshot a snapshot built from data read after {@link #getVersion()} returned its version
+     */
+    public static void put(Object tenantId, Snapshot snapshot) {
+        if (snapshot.version == version.get()) {
+            snapshots.put(key(tenantId), snapshot);
+        }
+    }
+
+    public static void invalidate() {
+        bump();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump();
+                }
+            });
+        }
+    }
+
+    private static void bump() {
+        version.incrementAndGet();
+        snapshots.clear();
+    }
+
+    private static Object key(Object tenantId) {
+        return tenantId == null ? NO_TENANT : tenantId;
+    }
+
+    /** An immutable catalogue tree with the children of every catalogue grouped by parent id. */
+    @Getter
+    public static class Snapshot {
+
+        private final long version;
+        private final List<Catalogue> tree;
+        private final Map<Integer, List<Catalogue>> children;
+
+        public Snapshot(long version, List<Catalogue> tree, Map<Integer, List<Catalogue>> children) {
+            this.version = version;
+            this.tree = Collections.unmodifiableList(tree);
+            this.children = Collections.unmodifiableMap(children);
+        }
+
+        public List<Catalogue> getChildren(Integer parentId) {
+            return children.getOrDefault(Objects.requireNonNull(parentId), Collections.emptyList());
+        }
+    }
+}
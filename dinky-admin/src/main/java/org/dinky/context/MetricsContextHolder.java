@@ -26,8 +26,12 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -41,18 +45,32 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * The MetricsContextHolder class is used to manage the metric context,
  * including operations such as storing and sending metric data.
+ * <p>
+ * Metrics are put on a bounded queue and handled by a single writer thread: it pushes them to the SSE subscribers and
+ * writes them to one long-lived Paimon stream write, which is committed when {@link #COMMIT_SIZE} rows are pending or
+ * the oldest pending row is {@link #COMMIT_INTERVAL} ms old. Metrics that do not fit in the queue are dropped.
+ * </p>
  */
 @Slf4j
 public class MetricsContextHolder {
 
+    private static final int QUEUE_CAPACITY = 10000;
+    private static final int COMMIT_SIZE = 1000;
+    private static final long COMMIT_INTERVAL = 5000;
+    private static final long IDLE_WAIT = 100;
+
+    private static final Queue<MetricsVO> queue = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger queueSize = new AtomicInteger();
+    private static final AtomicLong droppedCount = new AtomicLong();
+    private static final AtomicLong commitCount = new AtomicLong();
+    private static volatile long lastCommitMillis;
+    private static volatile long maxCommitMillis;
+
     /**
-     * Temporary cache monitoring information, mainly to prevent excessive buffering of write IO,
-     * when metricsVOS data reaches 1000 or the time exceeds 5 seconds
+     * The metrics written since the last commit, sent to new subscribers as initial data.
      */
     private static final List<MetricsVO> metricsVOS = Collections.synchronizedList(new ArrayList<>());
 
-    private static final Long lastDumpTime = System.currentTimeMillis();
-
     /**
      * Cache that stores SseEmitter objects for sending metric data,
      * prevents OOM with LoadingCache, and is automatically removed when objects
@@ -63,16 +81,49 @@ public class MetricsContextHolder {
             .removalListener(MetricsContextHolder::onRemove)
             .build(CacheLoader.from(key -> new ArrayList<>()));
 
+    static {
+        Thread writer = new Thread(MetricsContextHolder::runWriter, "MetricsWriter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
     /**
      * The sendAsync method is used to send metric data asynchronously.
      *
      * @param metrics metric data object
+     * @return false if the queue is full and the metric was dropped
      */
-    public static void sendAsync(MetricsVO metrics) {
-        CompletableFuture.runAsync(() -> {
-            dumpMetrics(metrics);
-            send(metrics);
-        });
+    public static boolean sendAsync(MetricsVO metrics) {
+        if (queueSize.incrementAndGet() > QUEUE_CAPACITY) {
+            queueSize.decrementAndGet();
+            if (droppedCount.incrementAndGet() % QUEUE_CAPACITY == 1) {
+                log.warn("Metrics queue is full, {} metrics dropped so far", droppedCount.get());
+            }
+            return false;
+        }
+        queue.offer(metrics);
+        return true;
+    }
+
+    /** Number of metrics waiting for the writer thread, a growing value means the writer can not keep up. */
+    public static int getQueueSize() {
+        return queueSize.get();
+    }
+
+    public static long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public static long getCommitCount() {
+        return commitCount.get();
+    }
+
+    public static long getLastCommitMillis() {
+        return lastCommitMillis;
+    }
+
+    public static long getMaxCommitMillis() {
+        return maxCommitMillis;
     }
 
     /**
@@ -119,22 +170,73 @@ public class MetricsContextHolder {
         });
     }
 
-    /**
-     * The dumpMetrics method is used to dump metric data to paimon.
-     *
-     * @param metrics metric data object
-     */
-    private static void dumpMetrics(MetricsVO metrics) {
-        metricsVOS.add(metrics);
-        long duration = System.currentTimeMillis() - lastDumpTime;
-        synchronized (metricsVOS) {
-            if (metricsVOS.size() > 1000 || duration > 1000 * 5) {
-                PaimonUtil.writeMetrics(metricsVOS);
+    private static void runWriter() {
+        PaimonUtil.MetricsWriter writer = null;
+        long firstPendingTime = 0;
+        while (true) {
+            try {
+                if (writer == null) {
+                    writer = PaimonUtil.createMetricsWriter();
+                }
+                MetricsVO metrics = queue.poll();
+                if (metrics != null) {
+                    queueSize.decrementAndGet();
+                    send(metrics);
+                    if (writer.getPendingCount() == 0) {
+                        firstPendingTime = System.currentTimeMillis();
+                    }
+                    writer.write(metrics);
+                    metricsVOS.add(metrics);
+                }
+                int pendingCount = writer.getPendingCount();
+                boolean due = pendingCount > 0 && System.currentTimeMillis() - firstPendingTime >= COMMIT_INTERVAL;
+                if (pendingCount >= COMMIT_SIZE || due) {
+                    commit(writer);
+                } else if (metrics == null) {
+                    Thread.sleep(IDLE_WAIT);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Write metrics failed, reopen the writer: ", e);
+                if (writer != null) {
+                    droppedCount.addAndGet(writer.getPendingCount());
+                    closeWriter(writer);
+                    writer = null;
+                }
                 metricsVOS.clear();
+                sleepQuietly();
             }
         }
     }
 
+    private static void commit(PaimonUtil.MetricsWriter writer) throws Exception {
+        long start = System.currentTimeMillis();
+        writer.commit();
+        long duration = System.currentTimeMillis() - start;
+        lastCommitMillis = duration;
+        maxCommitMillis = Math.max(maxCommitMillis, duration);
+        commitCount.incrementAndGet();
+        metricsVOS.clear();
+    }
+
+    private static void closeWriter(PaimonUtil.MetricsWriter writer) {
+        try {
+            writer.close();
+        } catch (Exception e) {
+            log.warn("Close metrics writer failed: {}", e.getMessage());
+        }
+    }
+
+    private static void sleepQuietly() {
+        try {
+            Thread.sleep(COMMIT_INTERVAL);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * The send method is used to send metric data.
      *
@@ -26,6 +26,7 @@ import org.dinky.data.model.AlertGroup;
 import org.dinky.data.model.AlertHistory;
 import org.dinky.data.result.ProTableResult;
 import org.dinky.data.result.Result;
+import org.dinky.job.handler.JobAlertHandler;
 import org.dinky.service.AlertGroupService;
 import org.dinky.service.AlertHistoryService;
 
@@ -77,6 +78,7 @@ public class AlertGroupController {
     @ApiOperation("Insert OR Update AlertGroup")
     public Result<Void> saveOrUpdateAlertGroup(@RequestBody AlertGroup alertGroup) throws Exception {
         if (alertGroupService.saveOrUpdate(alertGroup)) {
+            JobAlertHandler.invalidateCache();
             return Result.succeed(Status.SAVE_SUCCESS);
         } else {
             return Result.failed(Status.SAVE_FAILED);
@@ -128,6 +130,7 @@ public class AlertGroupController {
     @Log(title = "Update AlertGroup Status", businessType = BusinessType.UPDATE)
     public Result<Void> modifyAlertGroupStatus(@RequestParam("id") Integer id) {
         if (alertGroupService.modifyAlertGroupStatus(id)) {
+            JobAlertHandler.invalidateCache();
             return Result.succeed(Status.MODIFY_SUCCESS);
         } else {
             return Result.failed(Status.MODIFY_FAILED);
@@ -151,6 +154,7 @@ public class AlertGroupController {
     @Log(title = "Delete AlertGroup By Id", businessType = BusinessType.DELETE)
     public Result<Void> deleteGroupById(@RequestParam("id") Integer id) {
         if (alertGroupService.deleteGroupById(id)) {
+            JobAlertHandler.invalidateCache();
             return Result.succeed(Status.DELETE_SUCCESS);
         } else {
             return Result.failed(Status.DELETE_FAILED);
@@ -27,6 +27,7 @@ import org.dinky.data.enums.Status;
 import org.dinky.data.model.AlertInstance;
 import org.dinky.data.result.ProTableResult;
 import org.dinky.data.result.Result;
+import org.dinky.job.handler.JobAlertHandler;
 import org.dinky.service.AlertInstanceService;
 
 import java.util.List;
@@ -80,6 +81,7 @@ public class AlertInstanceController {
     public Result<Void> saveOrUpdate(@RequestBody AlertInstance alertInstance) throws Exception {
         if (alertInstanceService.saveOrUpdate(alertInstance)) {
             AlertPool.remove(alertInstance.getName());
+            JobAlertHandler.invalidateCache();
             return Result.succeed(Status.SAVE_SUCCESS);
         } else {
             return Result.failed(Status.SAVE_FAILED);
@@ -123,6 +125,7 @@ public class AlertInstanceController {
             dataTypeClass = Integer.class)
     public Result<Void> deleteAlertInstanceById(@RequestParam("id") Integer id) {
         if (alertInstanceService.deleteAlertInstance(id)) {
+            JobAlertHandler.invalidateCache();
             return Result.succeed(Status.DELETE_SUCCESS);
         } else {
             return Result.failed(Status.DELETE_FAILED);
@@ -147,6 +150,7 @@ public class AlertInstanceController {
             dataTypeClass = Integer.class)
     public Result<Void> modifyAlertInstanceStatus(@RequestParam("id") Integer id) {
         if (alertInstanceService.modifyAlertInstanceStatus(id)) {
+            JobAlertHandler.invalidateCache();
             return Result.succeed(Status.MODIFY_SUCCESS);
         } else {
             return Result.failed(Status.MODIFY_FAILED);
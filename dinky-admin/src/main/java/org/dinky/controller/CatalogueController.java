@@ -32,6 +32,7 @@ import java.io.File;
 import java.util.List;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -132,6 +133,25 @@ public class CatalogueController {
         return Result.succeed(catalogues);
     }
 
+    /**
+     * get the direct children of a catalogue, for trees that load subtrees lazily
+     *
+     * @param parentId parent catalogue id, 0 for the top level
+     * @return {@link Result}< {@link List}< {@link Catalogue}>>}
+     */
+    @GetMapping("/getCatalogueChildren")
+    @ApiOperation("Get Catalogue Children")
+    @ApiImplicitParam(
+            name = "parentId",
+            value = "Parent Catalogue Id",
+            required = false,
+            dataType = "Integer",
+            paramType = "query",
+            example = "0")
+    public Result<List<Catalogue>> getCatalogueChildren(@RequestParam(defaultValue = "0") Integer parentId) {
+        return Result.succeed(catalogueService.getCatalogueChildren(parentId));
+    }
+
     /**
      * create catalogue and task
      * @param catalogueTaskDTO {@link CatalogueTaskDTO}
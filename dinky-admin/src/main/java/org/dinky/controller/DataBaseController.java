@@ -31,14 +31,16 @@ import org.dinky.data.model.Schema;
 import org.dinky.data.model.SqlGeneration;
 import org.dinky.data.result.ProTableResult;
 import org.dinky.data.result.Result;
+import org.dinky.metadata.cache.MetaDataCacheStats;
+import org.dinky.metadata.driver.DataSourcePoolStats;
 import org.dinky.metadata.driver.DriverPool;
+import org.dinky.metadata.result.JdbcResultPage;
 import org.dinky.metadata.result.JdbcSelectResult;
 import org.dinky.service.DataBaseService;
 
 import java.util.List;
+import java.util.Map;
 
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -139,7 +141,12 @@ public class DataBaseController {
             paramType = "path",
             dataTypeClass = Integer.class)
     public Result<Void> deleteDataBaseById(@RequestParam Integer id) {
+        DataBase dataBase = databaseService.getById(id);
         if (databaseService.removeById(id)) {
+            if (Asserts.isNotNull(dataBase)) {
+                DriverPool.remove(dataBase.getName());
+            }
+            databaseService.refreshMetaData(id, null, null);
             return Result.succeed(Status.DELETE_SUCCESS);
         }
         return Result.failed(Status.DELETE_FAILED);
@@ -245,7 +252,6 @@ public class DataBaseController {
      * @param id {@link Integer}
      * @return {@link Result}< {@link List}< {@link Schema}>>
      */
-    @Cacheable(cacheNames = "metadata_schema", key = "#id")
     @GetMapping("/getSchemasAndTables")
     @ApiOperation("Get All Schemas And Tables")
     @ApiImplicitParam(
@@ -266,7 +272,6 @@ public class DataBaseController {
      * @param id {@link Integer}
      * @return {@link Result}< {@link String}>
      */
-    @CacheEvict(cacheNames = "metadata_schema", key = "#id")
     @GetMapping("/unCacheSchemasAndTables")
     @ApiOperation("Clear Cache Of Schemas And Tables")
     @ApiImplicitParam(
@@ -278,9 +283,75 @@ public class DataBaseController {
             dataTypeClass = Integer.class,
             example = "1")
     public Result<String> unCacheSchemasAndTables(@RequestParam Integer id) {
+        databaseService.refreshMetaData(id, null, null);
+        return Result.succeed(Status.DATASOURCE_CLEAR_CACHE_SUCCESS);
+    }
+
+    /**
+     * clear cached metadata of a schema or a table
+     *
+     * @param id {@link Integer}
+     * @param schemaName {@link String}
+     * @param tableName {@link String}
+     * @return {@link Result}< {@link String}>
+     */
+    @GetMapping("/refreshMetaData")
+    @ApiOperation("Clear Cached Metadata Of Schema Or Table")
+    @ApiImplicitParams(
+            value = {
+                @ApiImplicitParam(
+                        name = "id",
+                        value = "DataBase Id",
+                        required = true,
+                        dataType = "Integer",
+                        paramType = "query",
+                        dataTypeClass = Integer.class,
+                        example = "1"),
+                @ApiImplicitParam(
+                        name = "schemaName",
+                        value = "Schema Name",
+                        dataType = "String",
+                        paramType = "query",
+                        dataTypeClass = String.class,
+                        example = "public"),
+                @ApiImplicitParam(
+                        name = "tableName",
+                        value = "Table Name",
+                        dataType = "String",
+                        paramType = "query",
+                        dataTypeClass = String.class,
+                        example = "user")
+            })
+    public Result<String> refreshMetaData(
+            @RequestParam Integer id,
+            @RequestParam(required = false) String schemaName,
+            @RequestParam(required = false) String tableName) {
+        databaseService.refreshMetaData(id, schemaName, tableName);
         return Result.succeed(Status.DATASOURCE_CLEAR_CACHE_SUCCESS);
     }
 
+    /**
+     * get metadata cache statistics
+     *
+     * @return {@link Result}< {@link MetaDataCacheStats}>
+     */
+    @GetMapping("/metaDataCacheStats")
+    @ApiOperation("Get Metadata Cache Statistics")
+    public Result<MetaDataCacheStats> getMetaDataCacheStats() {
+        return Result.succeed(databaseService.getMetaDataCacheStats());
+    }
+
+    /**
+     * get connection pool statistics of each datasource in use
+     *
+     * @return {@link Result}< {@link Map}< {@link String}, {@link DataSourcePoolStats}>>
+     */
+    @GetMapping("/poolStats")
+    @ApiOperation("Get Datasource Connection Pool Statistics")
+    public Result<Map<String, DataSourcePoolStats>> getPoolStats() {
+        return Result.succeed(DriverPool.stats());
+    }
+
     /**
      * get columns of table
      *
@@ -372,6 +443,64 @@ public class DataBaseController {
         }
     }
 
+    /**
+     * exec query sql and return the first page of its result
+     *
+     * @param queryData {@link QueryData}
+     * @param pageSize {@link Integer}
+     * @return {@link Result}< {@link JdbcResultPage}>
+     */
+    @PostMapping("/openQuery")
+    @Log(title = "Open Query", businessType = BusinessType.EXECUTE)
+    @ApiOperation("Exec Query Sql And Fetch The First Page")
+    @ApiImplicitParams(
+            value = {
+                @ApiImplicitParam(
+                        name = "queryData",
+                        value = "Query Data",
+                        required = true,
+                        dataType = "QueryData",
+                        paramType = "body",
+                        dataTypeClass = QueryData.class),
+                @ApiImplicitParam(
+                        name = "pageSize",
+                        value = "Rows Per Page",
+                        dataType = "Integer",
+                        paramType = "query",
+                        dataTypeClass = Integer.class,
+                        example = "500")
+            })
+    public Result<JdbcResultPage> openQuery(
+            @RequestBody QueryData queryData, @RequestParam(required = false) Integer pageSize) {
+        return Result.succeed(databaseService.openQuery(queryData, pageSize));
+    }
+
+    /**
+     * fetch the next page of an opened query
+     *
+     * @param cursorId {@link String}
+     * @param pageSize {@link Integer}
+     * @return {@link Result}< {@link JdbcResultPage}>
+     */
+    @GetMapping("/nextPage")
+    @ApiOperation("Fetch The Next Page Of An Opened Query")
+    public Result<JdbcResultPage> nextPage(
+            @RequestParam String cursorId, @RequestParam(required = false) Integer pageSize) {
+        return Result.succeed(databaseService.fetchNextPage(cursorId, pageSize));
+    }
+
+    /**
+     * cancel an opened query
+     *
+     * @param cursorId {@link String}
+     * @return {@link Result}< {@link Boolean}>
+     */
+    @DeleteMapping("/closeQuery")
+    @ApiOperation("Cancel An Opened Query")
+    public Result<Boolean> closeQuery(@RequestParam String cursorId) {
+        return Result.succeed(databaseService.closeQuery(cursorId));
+    }
+
     /**
      * get sql generation
      *
@@ -20,6 +20,7 @@
 package org.dinky.controller;
 
 import org.dinky.service.MonitorService;
+import org.dinky.service.StudioService;
 import org.dinky.sse.SseEmitterUTF8;
 import org.dinky.utils.TimeUtil;
 
@@ -28,12 +29,14 @@ import java.util.concurrent.TimeUnit;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import cn.hutool.core.lang.Opt;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
 
@@ -43,6 +46,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class SseController {
     private final MonitorService monitorService;
+    private final StudioService studioService;
 
     @GetMapping(value = "/getLastUpdateData", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     @ApiOperation("Get Last Update Data")
@@ -60,4 +64,20 @@ public class SseController {
         SseEmitter emitter = new SseEmitterUTF8(TimeUnit.MINUTES.toMillis(30));
         return monitorService.sendJvmInfo(emitter);
     }
+
+    @GetMapping(value = "/getJobData", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation("Get Job Data")
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = "jobId", value = "jobId", required = true, dataType = "String", paramType = "query"),
+        @ApiImplicitParam(
+                name = "sequence",
+                value = "Last Sequence, 0 for all rows",
+                required = false,
+                dataType = "Long",
+                paramType = "query")
+    })
+    public SseEmitter getJobData(@RequestParam String jobId, @RequestParam(defaultValue = "0") long sequence) {
+        SseEmitter emitter = new SseEmitterUTF8(TimeUnit.MINUTES.toMillis(30));
+        return studioService.sendJobData(emitter, jobId, sequence);
+    }
 }
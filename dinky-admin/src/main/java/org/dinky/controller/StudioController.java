@@ -32,6 +32,7 @@ import org.dinky.data.model.FlinkColumn;
 import org.dinky.data.model.Schema;
 import org.dinky.data.result.IResult;
 import org.dinky.data.result.Result;
+import org.dinky.data.result.ResultRowDelta;
 import org.dinky.data.result.SelectResult;
 import org.dinky.data.result.SqlExplainResult;
 import org.dinky.explainer.lineage.LineageResult;
@@ -158,9 +159,46 @@ public class StudioController {
     /** 根据jobId获取数据 */
     @GetMapping("/getJobData")
     @ApiOperation("Get Job Plan")
-    @ApiImplicitParam(name = "jobId", value = "Get Job Plan", required = true, dataType = "String", paramType = "query")
-    public Result<SelectResult> getJobData(@RequestParam String jobId) {
-        return Result.succeed(studioService.getJobData(jobId));
+    @ApiImplicitParams({
+        @ApiImplicitParam(
+                name = "jobId",
+                value = "Get Job Plan",
+                required = true,
+                dataType = "String",
+                paramType = "query"),
+        @ApiImplicitParam(name = "offset", value = "First Row", dataType = "Integer", paramType = "query"),
+        @ApiImplicitParam(name = "limit", value = "Max Rows, -1 for all", dataType = "Integer", paramType = "query")
+    })
+    public Result<SelectResult> getJobData(
+            @RequestParam String jobId,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "-1") int limit) {
+        return Result.succeed(studioService.getJobData(jobId, offset, limit));
+    }
+
+    /** 根据jobId获取序号之后变化的数据 */
+    @GetMapping("/getJobDataSince")
+    @ApiOperation("Get Job Data Since Sequence")
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = "jobId", value = "jobId", required = true, dataType = "String", paramType = "query"),
+        @ApiImplicitParam(
+                name = "sequence",
+                value = "Last Sequence, 0 for all rows",
+                dataType = "Long",
+                paramType = "query")
+    })
+    public Result<ResultRowDelta> getJobDataSince(
+            @RequestParam String jobId, @RequestParam(defaultValue = "0") long sequence) {
+        return Result.succeed(studioService.getJobDataSince(jobId, sequence));
+    }
+
+    /** 停止预览数据采集 */
+    @GetMapping("/cancelJobData")
+    @ApiOperation("Cancel Job Data Collector")
+    @Log(title = "Cancel Job Data Collector", businessType = BusinessType.REMOTE_OPERATION)
+    @ApiImplicitParam(name = "jobId", value = "jobId", required = true, dataType = "String", paramType = "query")
+    public Result<Boolean> cancelJobData(@RequestParam String jobId) {
+        return Result.succeed(studioService.cancelJobData(jobId), Status.STOP_SUCCESS);
     }
     /** 根据jobId获取数据 */
     @GetMapping("/getCommonSqlData")
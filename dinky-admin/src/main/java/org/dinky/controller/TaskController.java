@@ -30,6 +30,7 @@ import org.dinky.data.model.Task;
 import org.dinky.data.result.ProTableResult;
 import org.dinky.data.result.Result;
 import org.dinky.job.JobResult;
+import org.dinky.job.handler.JobAlertHandler;
 import org.dinky.service.TaskService;
 import org.dinky.utils.TaskOneClickOperatingUtil;
 
@@ -83,6 +84,7 @@ public class TaskController {
             dataTypeClass = Task.class)
     public Result<Void> saveOrUpdateTask(@RequestBody Task task) {
         if (taskService.saveOrUpdateTask(task)) {
+            JobAlertHandler.invalidateCache();
             return Result.succeed(Status.SAVE_SUCCESS);
         } else {
             return Result.failed(Status.SAVE_FAILED);
@@ -55,6 +55,13 @@ public class SqlDTO {
             notes = "The maximum number of rows to fetch in the query result")
     private Integer maxRowNum;
 
+    @ApiModelProperty(
+            value = "Parallel Execution",
+            dataType = "Boolean",
+            example = "true",
+            notes = "Run independent queries of the script concurrently, defaults to dinky.common-sql.parallel")
+    private Boolean parallel;
+
     public SqlDTO(String statement, Integer databaseId, Integer maxRowNum) {
         this.statement = statement;
         this.databaseId = databaseId;
@@ -38,7 +38,7 @@ import lombok.EqualsAndHashCode;
  * @since 2022/3/2 19:48
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @EqualsAndHashCode(callSuper = false)
 @TableName("dinky_job_history")
 @ApiModel(value = "JobHistory", description = "Job History Information")
@@ -0,0 +1,44 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.interceptor;
+
+import org.dinky.context.CatalogueTreeContextHolder;
+import org.dinky.mapper.CatalogueMapper;
+import org.dinky.mapper.TaskMapper;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+
+/** Drops the cached catalogue trees on every insert, update or delete of a catalogue or task. */
+public class CatalogueTreeInterceptor implements InnerInterceptor {
+
+    private static final String CATALOGUE_PREFIX = CatalogueMapper.class.getName() + ".";
+    private static final String TASK_PREFIX = TaskMapper.class.getName() + ".";
+
+    @Override
+    public void beforeUpdate(Executor executor, MappedStatement ms, Object parameter) {
+        String id = ms.getId();
+        if (id.startsWith(CATALOGUE_PREFIX) || id.startsWith(TASK_PREFIX)) {
+            CatalogueTreeContextHolder.invalidate();
+        }
+    }
+}
@@ -21,7 +21,6 @@ package org.dinky.job;
 
 import org.dinky.context.SpringContextUtils;
 import org.dinky.context.TenantContextHolder;
-import org.dinky.daemon.constant.FlinkTaskConstant;
 import org.dinky.daemon.task.DaemonTask;
 import org.dinky.daemon.task.DaemonTaskConfig;
 import org.dinky.data.model.JobInfoDetail;
@@ -43,7 +42,6 @@ public class FlinkJobTask implements DaemonTask {
     private DaemonTaskConfig config;
     public static final String TYPE = "jobInstance";
     private static final JobInstanceService jobInstanceService;
-    private long preDealTime;
     private long refreshCount = 0;
 
     static {
@@ -59,20 +57,25 @@ public class FlinkJobTask implements DaemonTask {
         return this;
     }
 
+    @Override
+    public DaemonTaskConfig getConfig() {
+        return config;
+    }
+
     /**
      * Processing tasks.
      * <p>
      * Handle job refresh, alarm, monitoring and other actions
      * Returns true if the job has completed or exceeded the time to obtain data,
      * indicating that the processing is complete and moved out of the thread pool
-     * Otherwise, false is returned, indicating that the processing is not completed and continues to remain in the thread pool
+     * Otherwise, false is returned, indicating that the processing is not completed and continues to remain in the thread pool,
+     * the pool deals with it again after {@link #getPollingInterval()}
      * </p>
      *
      * @return Returns true if the job has completed, otherwise returns false
      */
     @Override
     public boolean dealTask() {
-        volatilityBalance();
         TenantContextHolder.set(1);
 
         boolean isDone = JobRefeshHandler.refeshJob(jobInfoDetail, isNeedSave());
@@ -81,27 +84,6 @@ public class FlinkJobTask implements DaemonTask {
         return isDone;
     }
 
-    /**
-     * Volatility balance.
-     * <p>
-     * This method is used to perform volatility equilibrium operations. Between each call,
-     * by calculating the time interval between the current time and the last processing time,
-     * If the interval is less than the set sleep time (TIME_SLEEP),
-     * The thread sleeps for a period of time. Then update the last processing time to the current time.
-     * </p>
-     */
-    public void volatilityBalance() {
-        long gap = System.currentTimeMillis() - this.preDealTime;
-        if (gap < FlinkTaskConstant.TIME_SLEEP) {
-            try {
-                Thread.sleep(FlinkTaskConstant.TIME_SLEEP);
-            } catch (InterruptedException e) {
-                log.error(e.getMessage(), e);
-            }
-        }
-        preDealTime = System.currentTimeMillis();
-    }
-
     /**
      * Determine if you need to save.
      * <p>
@@ -149,6 +131,11 @@ public class FlinkJobTask implements DaemonTask {
         return Objects.equals(config.getId(), other.config.getId());
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(config.getId());
+    }
+
     @Override
     public String getType() {
         return TYPE;
@@ -0,0 +1,199 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.job.handler;
+
+import org.dinky.data.dto.AlertRuleDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import cn.hutool.core.text.StrFormatter;
+import cn.hutool.json.JSONUtil;
+import lombok.Data;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An alert rule compiled once from its {@link AlertRuleDTO}.
+ * <p>
+ * Every rule item becomes a typed predicate: the rule key is parsed into a SpEL expression once, the rule value
+ * is parsed into a constant, and the operator is a plain Java comparison. Items whose value is not a constant
+ * fall back to a compiled SpEL condition. Rules are evaluated against an immutable snapshot of the job facts,
+ * so concurrent checks never share mutable state.
+ * </p>
+ */
+@Slf4j
+public final class CompiledAlertRule {
+
+    private static final ExpressionParser PARSER =
+            new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
+
+    private static final String AND = "and";
+
+    @Getter
+    private final AlertRuleDTO alertRule;
+
+    private final List<Predicate<EvaluationContext>> predicates;
+
+    private final boolean matchAll;
+
+    private CompiledAlertRule(AlertRuleDTO alertRule, List<Predicate<EvaluationContext>> predicates, boolean matchAll) {
+        this.alertRule = alertRule;
+        this.predicates = predicates;
+        this.matchAll = matchAll;
+    }
+
+    public static CompiledAlertRule compile(AlertRuleDTO alertRuleDTO) {
+        List<RuleItem> ruleItems = JSONUtil.parseArray(alertRuleDTO.getRule()).toList(RuleItem.class);
+        List<Predicate<EvaluationContext>> predicates = new ArrayList<>(ruleItems.size());
+        for (RuleItem ruleItem : ruleItems) {
+            predicates.add(compileItem(ruleItem));
+        }
+        String triggerConditions = alertRuleDTO.getTriggerConditions();
+        boolean matchAll = triggerConditions != null && AND.equalsIgnoreCase(triggerConditions.trim());
+        log.info("Build Alert Rule: {}", ruleItems);
+        return new CompiledAlertRule(alertRuleDTO, predicates, matchAll);
+    }
+
+    /**
+     * Evaluate the rule against a snapshot of facts.
+     *
+     * @param facts the immutable facts of one job
+     * @return True if the rule is triggered.
+     */
+    public boolean evaluate(Map<String, Object> facts) {
+        if (predicates.isEmpty()) {
+            return false;
+        }
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariables(facts);
+        for (Predicate<EvaluationContext> predicate : predicates) {
+            boolean matched = test(predicate, context);
+            if (matched != matchAll) {
+                return matched;
+            }
+        }
+        return matchAll;
+    }
+
+    private static boolean test(Predicate<EvaluationContext> predicate, EvaluationContext context) {
+        try {
+            return predicate.test(context);
+        } catch (Exception e) {
+            log.debug("Evaluate alert rule item failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static Predicate<EvaluationContext> compileItem(RuleItem ruleItem) {
+        Operator operator = Operator.of(ruleItem.getRuleOperator());
+        Object value = parseConstant(ruleItem.getRuleValue());
+        if (operator == null || value == null) {
+            Expression condition = PARSER.parseExpression(ruleItem.toString());
+            return context -> Boolean.TRUE.equals(condition.getValue(context, Boolean.class));
+        }
+        Expression key = PARSER.parseExpression("#" + ruleItem.getRuleKey());
+        return context -> operator.test(key.getValue(context), value);
+    }
+
+    private static Object parseConstant(String ruleValue) {
+        try {
+            // a constant does not reference any variable, so it evaluates without a context
+            return PARSER.parseExpression(ruleValue).getValue();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private enum Operator {
+        EQ,
+        NE,
+        GT,
+        GE,
+        LT,
+        LE;
+
+        private static Operator of(String operator) {
+            for (Operator value : values()) {
+                if (value.name().equalsIgnoreCase(operator)) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        private boolean test(Object left, Object right) {
+            if (left == null) {
+                return this == NE;
+            }
+            int compare;
+            if (left instanceof Number && right instanceof Number) {
+                compare = Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue());
+            } else if (this == EQ || this == NE) {
+                boolean equals = Objects.equals(left, right) || Objects.equals(left.toString(), right.toString());
+                return this == EQ ? equals : !equals;
+            } else if (left instanceof Comparable && left.getClass().isInstance(right)) {
+                @SuppressWarnings("unchecked")
+                Comparable<Object> comparable = (Comparable<Object>) left;
+                compare = comparable.compareTo(right);
+            } else {
+                return false;
+            }
+            switch (this) {
+                case EQ:
+                    return compare == 0;
+                case NE:
+                    return compare != 0;
+                case GT:
+                    return compare > 0;
+                case GE:
+                    return compare >= 0;
+                case LT:
+                    return compare < 0;
+                default:
+                    return compare <= 0;
+            }
+        }
+    }
+
+    @Data
+    private static class RuleItem {
+        private String ruleKey;
+        private String ruleOperator;
+        //        private int rulePriority;
+        private String ruleValue;
+
+        @Override
+        public String toString() {
+            return StrFormatter.format(" #{} {} {} ", getRuleKey(), getRuleOperator(), getRuleValue());
+        }
+    }
+}
@@ -19,17 +19,20 @@
 
 package org.dinky.job.handler;
 
-import org.dinky.alert.Alert;
 import org.dinky.alert.AlertConfig;
-import org.dinky.alert.AlertResult;
 import org.dinky.alert.Rules.CheckpointsRule;
 import org.dinky.alert.Rules.ExceptionRule;
+import org.dinky.alert.dispatch.AlertDispatcher;
+import org.dinky.alert.dispatch.AlertMessage;
+import org.dinky.alert.dispatch.AlertRecord;
 import org.dinky.assertion.Asserts;
 import org.dinky.context.FreeMarkerHolder;
 import org.dinky.context.SpringContextUtils;
-import org.dinky.daemon.pool.DefaultThreadPool;
+import org.dinky.context.TenantContextHolder;
 import org.dinky.data.constant.FlinkRestResultConstant;
 import org.dinky.data.dto.AlertRuleDTO;
+import org.dinky.data.dto.JobDataDto;
+import org.dinky.data.enums.JobStatus;
 import org.dinky.data.enums.Status;
 import org.dinky.data.model.AlertGroup;
 import org.dinky.data.model.AlertHistory;
@@ -46,25 +49,24 @@ import org.dinky.service.impl.AlertRuleServiceImpl;
 import org.dinky.utils.TimeUtil;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-
-import org.jeasy.rules.api.Facts;
-import org.jeasy.rules.api.Rule;
-import org.jeasy.rules.api.Rules;
-import org.jeasy.rules.api.RulesEngine;
-import org.jeasy.rules.core.DefaultRulesEngine;
-import org.jeasy.rules.core.RuleBuilder;
-import org.jeasy.rules.spel.SpELCondition;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.context.annotation.DependsOn;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import cn.hutool.core.text.StrFormatter;
-import cn.hutool.json.JSONObject;
-import cn.hutool.json.JSONUtil;
 import freemarker.template.TemplateException;
-import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -76,35 +78,60 @@ public class JobAlertHandler {
     private static final TaskService taskService;
     private static final AlertRuleServiceImpl alertRuleService;
 
+    private static final long LOOKUP_CACHE_EXPIRE_SECONDS = 60;
+
+    /**
+     * Tasks by id, only used to render alerts and find the alert group of a job.
+     */
+    private static final Cache<Integer, Optional<Task>> taskCache = CacheBuilder.newBuilder()
+            .expireAfterWrite(LOOKUP_CACHE_EXPIRE_SECONDS, TimeUnit.SECONDS)
+            .build();
+
     /**
-     * Rules for evaluating alert conditions.
+     * Alert groups with their instances by id.
      */
-    private Rules rules;
+    private static final Cache<Integer, Optional<AlertGroup>> alertGroupCache = CacheBuilder.newBuilder()
+            .expireAfterWrite(LOOKUP_CACHE_EXPIRE_SECONDS, TimeUnit.SECONDS)
+            .build();
 
     /**
-     * Engine for evaluating rules.
+     * Sends alerts off the monitoring threads with dedup, rate limiting and batched history writes.
      */
-    private RulesEngine rulesEngine;
+    private static final AlertDispatcher alertDispatcher;
+
+    /**
+     * Rules compiled from the alert rule definitions, replaced as a whole on refresh.
+     */
+    private volatile List<CompiledAlertRule> rules = Collections.emptyList();
 
     /**
      * Holder for FreeMarker templates.
      */
-    private FreeMarkerHolder freeMarkerHolder;
+    private volatile FreeMarkerHolder freeMarkerHolder;
 
-    private final Facts ruleFacts = new Facts();
+    private final ExceptionRule exceptionRule = new ExceptionRule();
+
+    private final CheckpointsRule checkpointsRule = new CheckpointsRule();
+
+    /**
+     * The state of every job at its last evaluation, rules are only evaluated when it changed.
+     */
+    private final Map<Integer, String> jobStates = new ConcurrentHashMap<>();
 
-    private static JobAlertHandler defaultJobAlertHandler;
+    private static volatile JobAlertHandler defaultJobAlertHandler;
 
     static {
         taskService = SpringContextUtils.getBean("taskServiceImpl", TaskService.class);
         alertHistoryService = SpringContextUtils.getBean("alertHistoryServiceImpl", AlertHistoryService.class);
         alertGroupService = SpringContextUtils.getBean("alertGroupServiceImpl", AlertGroupService.class);
         alertRuleService = SpringContextUtils.getBean("alertRuleServiceImpl", AlertRuleServiceImpl.class);
+
+        alertDispatcher = new AlertDispatcher(JobAlertHandler::writeAlertHistory);
     }
 
     public static JobAlertHandler getInstance() {
         if (defaultJobAlertHandler == null) {
-            synchronized (DefaultThreadPool.class) {
+            synchronized (JobAlertHandler.class) {
                 if (defaultJobAlertHandler == null) {
                     defaultJobAlertHandler = new JobAlertHandler();
                 }
@@ -120,91 +147,111 @@ public class JobAlertHandler {
         refreshRulesData();
     }
 
+    /**
+     * Invalidate the cached tasks and alert groups, called when they are modified.
+     */
+    public static void invalidateCache() {
+        taskCache.invalidateAll();
+        alertGroupCache.invalidateAll();
+    }
+
     /**
      * checks for alert conditions for each job in the task pool.
+     * The rules are only evaluated when the state of the job changed since its last check,
+     * against an immutable snapshot of the job facts.
      */
     public void check(JobInfoDetail jobInfoDetail) {
-        ruleFacts.put(AlertRuleOptions.JOB_ALERT_RULE_TIME, TimeUtil.nowStr());
-        ruleFacts.put(AlertRuleOptions.JOB_ALERT_RULE_JOB_DETAIL, jobInfoDetail);
-        ruleFacts.put(
+        JobInstance jobInstance = jobInfoDetail.getInstance();
+        String jobState = buildJobState(jobInfoDetail);
+        if (JobStatus.isDone(jobInstance.getStatus())) {
+            jobStates.remove(jobInstance.getId());
+        } else if (Objects.equals(jobStates.put(jobInstance.getId(), jobState), jobState)) {
+            return;
+        }
+
+        Map<String, Object> facts = buildFacts(jobInfoDetail);
+        for (CompiledAlertRule rule : rules) {
+            if (rule.evaluate(facts)) {
+                executeAlertAction(facts, rule.getAlertRule());
+            }
+        }
+    }
+
+    /**
+     * Everything of a job that alert rules can react to: status, error, checkpoint counts and latest exception.
+     */
+    private static String buildJobState(JobInfoDetail jobInfoDetail) {
+        JobDataDto jobDataDto = jobInfoDetail.getJobDataDto();
+        JsonNode checkpoints = jobDataDto.getCheckpoints();
+        JsonNode exceptions = jobDataDto.getExceptions();
+        return jobInfoDetail.getInstance().getStatus()
+                + "|" + jobDataDto.isError()
+                + "|" + jobDataDto.getErrorMsg()
+                + "|" + (checkpoints == null ? null : checkpoints.get("latest"))
+                + "|" + (exceptions == null ? null : exceptions.get("timestamp"));
+    }
+
+    private Map<String, Object> buildFacts(JobInfoDetail jobInfoDetail) {
+        Map<String, Object> facts = new HashMap<>();
+        facts.put(AlertRuleOptions.JOB_ALERT_RULE_EXCEPTION_CHECK, exceptionRule);
+        facts.put(AlertRuleOptions.JOB_ALERT_RULE_CHECKPOINT_RULES, checkpointsRule);
+        facts.put(AlertRuleOptions.JOB_ALERT_RULE_TIME, TimeUtil.nowStr());
+        facts.put(AlertRuleOptions.JOB_ALERT_RULE_JOB_DETAIL, jobInfoDetail);
+        facts.put(
                 AlertRuleOptions.JOB_ALERT_RULE_JOB_NAME,
                 jobInfoDetail.getJobDataDto().getJob());
-        ruleFacts.put(
-                AlertRuleOptions.JOB_ALERT_RULE_KEY, jobInfoDetail.getInstance().getId());
-        ruleFacts.put(AlertRuleOptions.JOB_ALERT_RULE_JOB_INSTANCE, jobInfoDetail.getInstance());
-        ruleFacts.put(
+        facts.put(AlertRuleOptions.JOB_ALERT_RULE_KEY, jobInfoDetail.getInstance().getId());
+        facts.put(AlertRuleOptions.JOB_ALERT_RULE_JOB_INSTANCE, jobInfoDetail.getInstance());
+        facts.put(
                 AlertRuleOptions.JOB_ALERT_RULE_START_TIME,
                 TimeUtil.convertTimeToString(jobInfoDetail.getInstance().getCreateTime()));
-        ruleFacts.put(
+        facts.put(
                 AlertRuleOptions.JOB_ALERT_RULE_END_TIME,
                 TimeUtil.convertTimeToString(jobInfoDetail.getInstance().getFinishTime()));
-        ruleFacts.put(
+        facts.put(
                 AlertRuleOptions.JOB_ALERT_RULE_CHECK_POINTS,
                 jobInfoDetail.getJobDataDto().getCheckpoints());
-        ruleFacts.put(AlertRuleOptions.JOB_ALERT_RULE_CLUSTER, jobInfoDetail.getCluster());
-        ruleFacts.put(
+        facts.put(AlertRuleOptions.JOB_ALERT_RULE_CLUSTER, jobInfoDetail.getCluster());
+        facts.put(
                 AlertRuleOptions.JOB_ALERT_RULE_EXCEPTIONS,
                 jobInfoDetail.getJobDataDto().getExceptions());
         if (jobInfoDetail.getJobDataDto().isError()) {
-            ruleFacts.put(
+            facts.put(
                     AlertRuleOptions.JOB_ALERT_RULE_EXCEPTIONS_MSG,
                     jobInfoDetail.getJobDataDto().getErrorMsg());
-        } else {
-            ruleFacts.put(
+        } else if (Asserts.isNotNull(jobInfoDetail.getJobDataDto().getExceptions())) {
+            facts.put(
                     AlertRuleOptions.JOB_ALERT_RULE_EXCEPTIONS_MSG,
-                    jobInfoDetail
+                    String.valueOf(jobInfoDetail
                             .getJobDataDto()
                             .getExceptions()
-                            .get(FlinkRestResultConstant.ROOT_EXCEPTION)
-                            .toString());
+                            .get(FlinkRestResultConstant.ROOT_EXCEPTION)));
         }
-
-        rulesEngine.fire(rules, ruleFacts);
+        return Collections.unmodifiableMap(facts);
     }
 
     /**
      * Refreshes the alert rules and related data.
      */
     public void refreshRulesData() {
-        ruleFacts.put(AlertRuleOptions.JOB_ALERT_RULE_EXCEPTION_CHECK, new ExceptionRule());
-        ruleFacts.put(AlertRuleOptions.JOB_ALERT_RULE_CHECKPOINT_RULES, new CheckpointsRule());
-
         List<AlertRuleDTO> ruleDTOS = alertRuleService.getBaseMapper().selectWithTemplate();
-        freeMarkerHolder = new FreeMarkerHolder();
-        rulesEngine = new DefaultRulesEngine();
-        rules = new Rules();
+        FreeMarkerHolder templates = new FreeMarkerHolder();
+        List<CompiledAlertRule> compiledRules = new ArrayList<>(ruleDTOS.size());
 
         ruleDTOS.forEach(ruleDto -> {
             if (ruleDto.getTemplateName() != null && !ruleDto.getTemplateName().isEmpty()) {
-                freeMarkerHolder.putTemplate(ruleDto.getTemplateName(), ruleDto.getTemplateContent());
+                templates.putTemplate(ruleDto.getTemplateName(), ruleDto.getTemplateContent());
                 ruleDto.setName(Status.findMessageByKey(ruleDto.getName()));
                 ruleDto.setDescription(Status.findMessageByKey(ruleDto.getDescription()));
-                rules.register(buildRule(ruleDto));
+                compiledRules.add(CompiledAlertRule.compile(ruleDto));
             } else {
                 log.error("Alert Rule: {} has no template", ruleDto.getName());
             }
         });
-    }
-
-    private Rule buildRule(AlertRuleDTO alertRuleDTO) {
-
-        List<JSONObject> ruleItemList =
-                JSONUtil.parseArray(alertRuleDTO.getRule()).toBean(List.class);
-        List<String> conditionList = ruleItemList.stream()
-                .map(r -> r.toBean(RuleItem.class).toString())
-                .collect(Collectors.toList());
-        String conditionContent = String.join(alertRuleDTO.getTriggerConditions(), conditionList);
-        String condition = StrFormatter.format("#{{}}", conditionContent);
-
-        log.info("Build Alert Rule: {}", condition);
-
-        return new RuleBuilder()
-                .name(alertRuleDTO.getName())
-                .description(alertRuleDTO.getDescription())
-                .priority(1)
-                .when(new SpELCondition(condition))
-                .then(f -> executeAlertAction(f, alertRuleDTO))
-                .build();
+        freeMarkerHolder = templates;
+        rules = compiledRules;
+        jobStates.clear();
+        invalidateCache();
     }
 
     /**
@@ -213,16 +260,20 @@ public class JobAlertHandler {
      * @param facts        The facts representing the job details.
      * @param alertRuleDTO Alert Rule Info.
      */
-    private void executeAlertAction(Facts facts, AlertRuleDTO alertRuleDTO) {
-        JobInfoDetail jobInfoDetail = facts.get(AlertRuleOptions.JOB_ALERT_RULE_JOB_DETAIL);
+    private void executeAlertAction(Map<String, Object> facts, AlertRuleDTO alertRuleDTO) {
+        JobInfoDetail jobInfoDetail = (JobInfoDetail) facts.get(AlertRuleOptions.JOB_ALERT_RULE_JOB_DETAIL);
         JobInstance jobInstance = jobInfoDetail.getInstance();
-        Task task = taskService.getById(jobInfoDetail.getInstance().getTaskId());
+        Task task = getTask(jobInstance.getTaskId());
+        if (task == null) {
+            log.warn("Alert Error: task {} of job {} not found", jobInstance.getTaskId(), jobInstance.getId());
+            return;
+        }
 
         String taskUrl = StrFormatter.format(
                 "{}/#/devops/job-detail?id={}",
                 SystemConfiguration.getInstances().getDinkyAddr(),
                 task.getId());
-        Map<String, Object> dataModel = new HashMap<>(facts.asMap());
+        Map<String, Object> dataModel = new HashMap<>(facts);
         dataModel.put(AlertRuleOptions.JOB_ALERT_RULE_TASK, task);
         dataModel.put(AlertRuleOptions.JOB_ALERT_RULE_TASK_URL, taskUrl);
         dataModel.put(AlertRuleOptions.JOB_ALERT_RULE, alertRuleDTO);
@@ -237,59 +288,74 @@ public class JobAlertHandler {
         }
 
         if (!Asserts.isNull(task.getAlertGroupId())) {
-            AlertGroup alertGroup = alertGroupService.getAlertGroupInfo(task.getAlertGroupId());
-            if (Asserts.isNotNull(alertGroup)) {
+            AlertGroup alertGroup = getAlertGroup(task.getAlertGroupId());
+            if (Asserts.isNotNull(alertGroup) && Asserts.isNotNull(alertGroup.getInstances())) {
                 for (AlertInstance alertInstance : alertGroup.getInstances()) {
                     if (alertInstance == null || !alertInstance.getEnabled()) {
                         continue;
                     }
-                    sendAlert(
-                            alertInstance,
-                            jobInstance.getId(),
-                            alertGroup.getId(),
-                            alertRuleDTO.getName(),
-                            alertContent);
+                    Map<String, String> params = org.dinky.utils.JSONUtil.toMap(alertInstance.getParams());
+                    alertDispatcher.dispatch(AlertMessage.builder()
+                            .config(AlertConfig.build(alertInstance.getName(), alertInstance.getType(), params))
+                            .title(alertRuleDTO.getName())
+                            .content(alertContent)
+                            .dedupKey(StrFormatter.format(
+                                    "{}:{}:{}", alertRuleDTO.getId(), jobInstance.getId(), alertInstance.getName()))
+                            .tenantId(jobInstance.getTenantId())
+                            .alertGroupId(alertGroup.getId())
+                            .jobInstanceId(jobInstance.getId())
+                            .build());
                 }
             }
         }
     }
 
-    /**
-     * Sends an alert based on the alert instance's configuration.
-     *
-     * @param alertInstance The alert instance to use for sending the alert.
-     * @param jobInstanceId The ID of the job instance triggering the alert.
-     * @param alertGid      The ID of the alert group.
-     * @param title         The title of the alert.
-     * @param alertMsg      The content of the alert message.
-     */
-    private void sendAlert(
-            AlertInstance alertInstance, int jobInstanceId, int alertGid, String title, String alertMsg) {
-        Map<String, String> params = org.dinky.utils.JSONUtil.toMap(alertInstance.getParams());
-        AlertConfig alertConfig = AlertConfig.build(alertInstance.getName(), alertInstance.getType(), params);
-        Alert alert = Alert.build(alertConfig);
-        AlertResult alertResult = alert.send(title, alertMsg);
-
-        AlertHistory alertHistory = new AlertHistory();
-        alertHistory.setAlertGroupId(alertGid);
-        alertHistory.setJobInstanceId(jobInstanceId);
-        alertHistory.setTitle(title);
-        alertHistory.setContent(alertMsg);
-        alertHistory.setStatus(alertResult.getSuccessCode());
-        alertHistory.setLog(alertResult.getMessage());
-        alertHistoryService.save(alertHistory);
+    private static Task getTask(Integer taskId) {
+        try {
+            return taskCache
+                    .get(taskId, () -> Optional.ofNullable(taskService.getById(taskId)))
+                    .orElse(null);
+        } catch (Exception e) {
+            log.error("Get task {} failed: {}", taskId, e.getMessage());
+            return null;
+        }
     }
 
-    @Data
-    private static class RuleItem {
-        private String ruleKey;
-        private String ruleOperator;
-        //        private int rulePriority;
-        private String ruleValue;
+    private static AlertGroup getAlertGroup(Integer alertGroupId) {
+        try {
+            return alertGroupCache
+                    .get(alertGroupId, () -> Optional.ofNullable(alertGroupService.getAlertGroupInfo(alertGroupId)))
+                    .orElse(null);
+        } catch (Exception e) {
+            log.error("Get alert group {} failed: {}", alertGroupId, e.getMessage());
+            return null;
+        }
+    }
 
-        @Override
-        public String toString() {
-            return StrFormatter.format(" #{} {} {} ", getRuleKey(), getRuleOperator(), getRuleValue());
+    /**
+     * Writes the alert histories of a batch of sent alerts, grouped by tenant.
+     *
+     * @param records The results of the sent alerts.
+     */
+    private static void writeAlertHistory(List<AlertRecord> records) {
+        Map<Integer, List<AlertHistory>> tenantHistories = new HashMap<>();
+        for (AlertRecord record : records) {
+            AlertMessage message = record.getMessage();
+            AlertHistory alertHistory = new AlertHistory();
+            alertHistory.setTenantId(message.getTenantId());
+            alertHistory.setAlertGroupId(message.getAlertGroupId());
+            alertHistory.setJobInstanceId(message.getJobInstanceId());
+            alertHistory.setTitle(message.getTitle());
+            alertHistory.setContent(message.getContent());
+            alertHistory.setStatus(record.getResult().getSuccessCode());
+            alertHistory.setLog(record.getResult().getMessage());
+            tenantHistories
+                    .computeIfAbsent(message.getTenantId(), k -> new ArrayList<>())
+                    .add(alertHistory);
         }
+        tenantHistories.forEach((tenantId, histories) -> {
+            TenantContextHolder.set(tenantId);
+            alertHistoryService.saveBatch(histories);
+        });
     }
 }
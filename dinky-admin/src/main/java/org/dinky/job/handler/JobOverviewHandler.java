@@ -0,0 +1,114 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.job.handler;
+
+import org.dinky.api.FlinkAPI;
+import org.dinky.assertion.Asserts;
+import org.dinky.daemon.constant.FlinkTaskConstant;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caches the `/jobs/overview` of every Flink cluster.
+ * <p>
+ * All jobs of a session cluster share one overview request per polling cycle, the state of a job
+ * is looked up in the overview instead of requesting `/jobs/{jid}` for every job.
+ * </p>
+ */
+@Slf4j
+public class JobOverviewHandler {
+
+    private static final String JID = "jid";
+    /** Overviews of clusters no job was looked up in for this long are dropped. */
+    private static final long EVICT_AFTER = 10L * FlinkTaskConstant.TIME_SLEEP;
+
+    private static final Map<String, ClusterOverview> CLUSTER_OVERVIEWS = new ConcurrentHashMap<>();
+
+    private JobOverviewHandler() {}
+
+    /**
+     * Get the overview of a job from the cached overview of its cluster.
+     * The overview is requested again when it is older than one polling cycle.
+     *
+     * @param jobManagerHost The job manager host.
+     * @param jobId          The job ID.
+     * @return the overview of the job, or null if the cluster can not be reached or does not know the job
+     */
+    public static JsonNode getJobOverview(String jobManagerHost, String jobId) {
+        if (Asserts.isNullString(jobManagerHost) || Asserts.isNullString(jobId)) {
+            return null;
+        }
+        return CLUSTER_OVERVIEWS
+                .computeIfAbsent(jobManagerHost, ClusterOverview::new)
+                .get()
+                .get(jobId);
+    }
+
+    private static void evictIdle() {
+        long now = System.currentTimeMillis();
+        CLUSTER_OVERVIEWS.values().removeIf(overview -> now - overview.lastAccess >= EVICT_AFTER);
+    }
+
+    private static class ClusterOverview {
+
+        private final String jobManagerHost;
+        private volatile Map<String, JsonNode> jobs = Collections.emptyMap();
+        private volatile long refreshTime = 0;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private ClusterOverview(String jobManagerHost) {
+            this.jobManagerHost = jobManagerHost;
+        }
+
+        private Map<String, JsonNode> get() {
+            lastAccess = System.currentTimeMillis();
+            if (lastAccess - refreshTime >= FlinkTaskConstant.TIME_SLEEP) {
+                synchronized (this) {
+                    if (System.currentTimeMillis() - refreshTime >= FlinkTaskConstant.TIME_SLEEP) {
+                        jobs = load();
+                        refreshTime = System.currentTimeMillis();
+                        // once per cycle of a polled cluster, drop the clusters that are no longer polled
+                        evictIdle();
+                    }
+                }
+            }
+            return jobs;
+        }
+
+        private Map<String, JsonNode> load() {
+            Map<String, JsonNode> overview = new HashMap<>();
+            try {
+                for (JsonNode job : FlinkAPI.build(jobManagerHost).listJobs()) {
+                    overview.put(job.get(JID).asText(), job);
+                }
+            } catch (Exception e) {
+                log.warn("Get jobs overview of {} failed, {}", jobManagerHost, e.getMessage());
+            }
+            return overview;
+        }
+    }
+}
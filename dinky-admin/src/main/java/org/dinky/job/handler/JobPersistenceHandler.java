@@ -0,0 +1,225 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.job.handler;
+
+import org.dinky.context.SpringContextUtils;
+import org.dinky.context.TenantContextHolder;
+import org.dinky.data.model.JobHistory;
+import org.dinky.data.model.JobInstance;
+import org.dinky.service.JobHistoryService;
+import org.dinky.service.JobInstanceService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.google.common.hash.Hashing;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind buffer of job instances and job histories.
+ * <p>
+ * Updates of the same job are coalesced, only the latest one is written. The buffer is flushed in
+ * batched statements every {@link #FLUSH_INTERVAL} milliseconds, or as soon as it holds
+ * {@link #FLUSH_SIZE} jobs. JSON columns of the job history whose content did not change since the
+ * last write are left out of the update.
+ * </p>
+ */
+@Slf4j
+public class JobPersistenceHandler {
+
+    private static final int FLUSH_SIZE = 200;
+    private static final long FLUSH_INTERVAL = 5000;
+    private static final int DEFAULT_TENANT_ID = 1;
+
+    private static final JobInstanceService jobInstanceService;
+    private static final JobHistoryService jobHistoryService;
+
+    private static final Map<Integer, PendingJob> PENDING_JOBS = new ConcurrentHashMap<>();
+
+    /** Hashes of the JSON columns last written for every job, by job instance id. */
+    private static final Map<Integer, long[]> WRITTEN_HASHES = new ConcurrentHashMap<>();
+
+    private static final List<JsonColumn> JSON_COLUMNS = new ArrayList<>();
+
+    static {
+        jobInstanceService = SpringContextUtils.getBean("jobInstanceServiceImpl", JobInstanceService.class);
+        jobHistoryService = SpringContextUtils.getBean("jobHistoryServiceImpl", JobHistoryService.class);
+
+        JSON_COLUMNS.add(new JsonColumn(JobHistory::getJobJson, h -> h.setJobJson(null)));
+        JSON_COLUMNS.add(new JsonColumn(JobHistory::getExceptionsJson, h -> h.setExceptionsJson(null)));
+        JSON_COLUMNS.add(new JsonColumn(JobHistory::getCheckpointsJson, h -> h.setCheckpointsJson(null)));
+        JSON_COLUMNS.add(new JsonColumn(JobHistory::getCheckpointsConfigJson, h -> h.setCheckpointsConfigJson(null)));
+        JSON_COLUMNS.add(new JsonColumn(JobHistory::getConfigJson, h -> h.setConfigJson(null)));
+        JSON_COLUMNS.add(new JsonColumn(JobHistory::getJarJson, h -> h.setJarJson(null)));
+        JSON_COLUMNS.add(new JsonColumn(JobHistory::getClusterJson, h -> h.setClusterJson(null)));
+        JSON_COLUMNS.add(
+                new JsonColumn(JobHistory::getClusterConfigurationJson, h -> h.setClusterConfigurationJson(null)));
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "JobPersistence-Flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(
+                JobPersistenceHandler::flushQuietly, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    private JobPersistenceHandler() {}
+
+    /**
+     * Buffer the latest state of a job to be written.
+     *
+     * @param jobInstance The job instance.
+     * @param jobHistory  The job history of the instance.
+     * @param sync        Flush the buffer before returning, used for jobs in a terminal state.
+     * @return false if a synchronous write failed, the job stays buffered and is retried on the next flush
+     */
+    public static boolean persist(JobInstance jobInstance, JobHistory jobHistory, boolean sync) {
+        PENDING_JOBS.put(jobInstance.getId(), new PendingJob(jobInstance, jobHistory, sync));
+        if (sync) {
+            flush();
+            return !PENDING_JOBS.containsKey(jobInstance.getId());
+        }
+        if (PENDING_JOBS.size() >= FLUSH_SIZE) {
+            flushQuietly();
+        }
+        return true;
+    }
+
+    private static void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Flush job persistence buffer failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /** Write all buffered jobs in batched statements, grouped by tenant. */
+    public static synchronized void flush() {
+        if (PENDING_JOBS.isEmpty()) {
+            return;
+        }
+        List<PendingJob> pendingJobs = new ArrayList<>(PENDING_JOBS.size());
+        for (Integer id : new ArrayList<>(PENDING_JOBS.keySet())) {
+            PendingJob pendingJob = PENDING_JOBS.remove(id);
+            if (pendingJob != null) {
+                pendingJobs.add(pendingJob);
+            }
+        }
+
+        Map<Integer, List<PendingJob>> tenantJobs = pendingJobs.stream()
+                .collect(Collectors.groupingBy(p -> Objects.isNull(p.instance.getTenantId())
+                        ? DEFAULT_TENANT_ID
+                        : p.instance.getTenantId()));
+        Object tenant = TenantContextHolder.get();
+        try {
+            tenantJobs.forEach(JobPersistenceHandler::write);
+        } finally {
+            TenantContextHolder.set(tenant);
+        }
+        log.debug("Flushed {} jobs to database", pendingJobs.size());
+    }
+
+    private static void write(Integer tenantId, List<PendingJob> pendingJobs) {
+        TenantContextHolder.set(tenantId);
+        List<JobInstance> instances = new ArrayList<>(pendingJobs.size());
+        List<JobHistory> histories = new ArrayList<>(pendingJobs.size());
+        List<long[]> hashes = new ArrayList<>(pendingJobs.size());
+        for (PendingJob pendingJob : pendingJobs) {
+            instances.add(pendingJob.instance);
+            long[] hash = hashJsonColumns(pendingJob.history);
+            long[] writtenHash = WRITTEN_HASHES.get(pendingJob.instance.getId());
+            histories.add(skipUnchangedColumns(pendingJob.history, writtenHash, hash));
+            hashes.add(hash);
+        }
+        try {
+            jobInstanceService.updateBatchById(instances);
+            jobHistoryService.updateBatchById(histories);
+        } catch (Exception e) {
+            log.error("Write {} jobs to database failed, retry on next flush", pendingJobs.size(), e);
+            // keep newer updates that arrived in the meantime
+            pendingJobs.forEach(p -> PENDING_JOBS.putIfAbsent(p.instance.getId(), p));
+            return;
+        }
+        for (int i = 0; i < pendingJobs.size(); i++) {
+            PendingJob pendingJob = pendingJobs.get(i);
+            if (pendingJob.done) {
+                WRITTEN_HASHES.remove(pendingJob.instance.getId());
+            } else {
+                WRITTEN_HASHES.put(pendingJob.instance.getId(), hashes.get(i));
+            }
+        }
+    }
+
+    private static long[] hashJsonColumns(JobHistory history) {
+        long[] hash = new long[JSON_COLUMNS.size()];
+        for (int i = 0; i < JSON_COLUMNS.size(); i++) {
+            String json = JSON_COLUMNS.get(i).getter.apply(history);
+            hash[i] = json == null
+                    ? 0
+                    : Hashing.murmur3_128()
+                            .hashString(json, StandardCharsets.UTF_8)
+                            .asLong();
+        }
+        return hash;
+    }
+
+    /**
+     * Copy the history without the JSON columns that equal the last written content,
+     * null columns are left out of the update statement.
+     */
+    private static JobHistory skipUnchangedColumns(JobHistory history, long[] writtenHash, long[] hash) {
+        if (writtenHash == null) {
+            return history;
+        }
+        JobHistory update = history.toBuilder().build();
+        for (int i = 0; i < JSON_COLUMNS.size(); i++) {
+            if (writtenHash[i] == hash[i]) {
+                JSON_COLUMNS.get(i).clearer.accept(update);
+            }
+        }
+        return update;
+    }
+
+    @AllArgsConstructor
+    private static class PendingJob {
+        private final JobInstance instance;
+        private final JobHistory history;
+        private final boolean done;
+    }
+
+    @AllArgsConstructor
+    private static class JsonColumn {
+        private final Function<JobHistory, String> getter;
+        private final Consumer<JobHistory> clearer;
+    }
+}
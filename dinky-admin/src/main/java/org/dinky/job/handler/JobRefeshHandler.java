@@ -21,7 +21,7 @@ package org.dinky.job.handler;
 
 import org.dinky.api.FlinkAPI;
 import org.dinky.assertion.Asserts;
-import org.dinky.context.SpringContextUtils;
+import org.dinky.data.constant.FlinkRestAPIConstant;
 import org.dinky.data.constant.FlinkRestResultConstant;
 import org.dinky.data.dto.ClusterConfigurationDTO;
 import org.dinky.data.dto.JobDataDto;
@@ -34,17 +34,19 @@ import org.dinky.gateway.enums.GatewayType;
 import org.dinky.gateway.exception.NotSupportGetStatusException;
 import org.dinky.gateway.model.FlinkClusterConfig;
 import org.dinky.job.JobConfig;
-import org.dinky.service.JobHistoryService;
-import org.dinky.service.JobInstanceService;
 import org.dinky.utils.TimeUtil;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import cn.hutool.json.JSONObject;
 import lombok.RequiredArgsConstructor;
@@ -56,13 +58,9 @@ import lombok.extern.slf4j.Slf4j;
 @DependsOn("springContextUtils")
 public class JobRefeshHandler {
 
-    private static final JobInstanceService jobInstanceService;
-    private static final JobHistoryService jobHistoryService;
-
-    static {
-        jobInstanceService = SpringContextUtils.getBean("jobInstanceServiceImpl", JobInstanceService.class);
-        jobHistoryService = SpringContextUtils.getBean("jobHistoryServiceImpl", JobHistoryService.class);
-    }
+    private static final String JID = "jid";
+    private static final String CHECKPOINT_COUNTS = "counts";
+    private static final String CHECKPOINT_INTERVAL = "interval";
 
     /**
      * Refresh the job
@@ -83,10 +81,11 @@ public class JobRefeshHandler {
         JobInstance jobInstance = jobInfoDetail.getInstance();
         String oldStatus = jobInstance.getStatus();
 
-        JobDataDto jobDataDto = getJobHistory(
-                jobInstance.getId(),
-                jobInfoDetail.getCluster().getJobManagerHost(),
-                jobInfoDetail.getInstance().getJid());
+        String jobManagerHost = jobInfoDetail.getCluster().getJobManagerHost();
+        JsonNode jobOverview = JobOverviewHandler.getJobOverview(jobManagerHost, jobInstance.getJid());
+        JobDataDto jobDataDto = needSave || !isStateUnchanged(jobInfoDetail.getJobDataDto(), jobOverview)
+                ? getJobHistory(jobInstance.getId(), jobManagerHost, jobInstance.getJid())
+                : getJobHistoryFromOverview(jobInfoDetail.getJobDataDto(), jobOverview, jobManagerHost);
 
         if (Asserts.isNull(jobDataDto.getJob()) || jobDataDto.isError()) {
             // If the job fails to get it, the default Finish Time is the current time
@@ -121,8 +120,14 @@ public class JobRefeshHandler {
 
         if (!oldStatus.equals(jobInstance.getStatus()) || isDone || needSave) {
             log.debug("Dump JobInfo to database: {}->{}", jobInstance.getId(), jobInstance.getName());
-            jobInstanceService.updateById(jobInstance);
-            jobHistoryService.updateById(jobInfoDetail.getJobDataDto().toJobHistory());
+            // terminal states are written through at once, the others are coalesced by the write-behind buffer
+            boolean persisted = JobPersistenceHandler.persist(
+                    jobInstance, jobInfoDetail.getJobDataDto().toJobHistory(), isDone);
+            if (!persisted) {
+                // keep polling the job, its final state is written again on the next refresh
+                log.error("Persist final state of job {}->{} failed", jobInstance.getId(), jobInstance.getName());
+                return false;
+            }
         }
 
         if (isDone) {
@@ -135,6 +140,7 @@ public class JobRefeshHandler {
     /**
      * Retrieves job history.
      * getJobStatusInformationFromFlinkRestAPI
+     * The five endpoints of the job are requested in parallel through the shared Flink REST client.
      *
      * @param id             The job ID.
      * @param jobManagerHost The job manager host.
@@ -145,23 +151,132 @@ public class JobRefeshHandler {
         JobDataDto.JobDataDtoBuilder builder = JobDataDto.builder();
         FlinkAPI api = FlinkAPI.build(jobManagerHost);
         try {
-            JsonNode jobInfo = FlinkAPI.build(jobManagerHost).getJobInfo(jobId);
+            CompletableFuture<JsonNode> jobInfoFuture = api.getJobInfoAsync(jobId);
+            CompletableFuture<JsonNode> checkpointsFuture =
+                    api.getJobInfoSpecialItemAsync(jobId, FlinkRestAPIConstant.CHECKPOINTS);
+            CompletableFuture<JsonNode> checkpointsConfigFuture =
+                    api.getJobInfoSpecialItemAsync(jobId, FlinkRestAPIConstant.CHECKPOINTS_CONFIG);
+            CompletableFuture<JsonNode> exceptionsFuture =
+                    api.getJobInfoSpecialItemAsync(jobId, FlinkRestAPIConstant.EXCEPTIONS);
+            CompletableFuture<JsonNode> configFuture =
+                    api.getJobInfoSpecialItemAsync(jobId, FlinkRestAPIConstant.CONFIG);
+
+            JsonNode jobInfo = jobInfoFuture.join();
             if (jobInfo.has(FlinkRestResultConstant.ERRORS)) {
                 throw new Exception(String.valueOf(jobInfo.get(FlinkRestResultConstant.ERRORS)));
             }
             return builder.id(id)
-                    .checkpoints(api.getCheckPoints(jobId))
-                    .checkpointsConfig(api.getCheckPointsConfig(jobId))
-                    .exceptions(api.getException(jobId))
+                    .checkpoints(checkpointsFuture.join())
+                    .checkpointsConfig(checkpointsConfigFuture.join())
+                    .exceptions(exceptionsFuture.join())
                     .job(jobInfo)
-                    .config(api.getJobsConfig(jobId))
+                    .config(configFuture.join())
                     .build();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            log.error("Connect {} failed,{}", jobManagerHost, cause.getMessage());
+            return builder.id(id).error(true).errorMsg(cause.getMessage()).build();
         } catch (Exception e) {
             log.error("Connect {} failed,{}", jobManagerHost, e.getMessage());
             return builder.id(id).error(true).errorMsg(e.getMessage()).build();
         }
     }
 
+    /**
+     * Whether the state of the job in the cluster overview is the same as the last refresh.
+     *
+     * @param previous    The job data of the last refresh.
+     * @param jobOverview The overview of the job in its cluster.
+     * @return True if the detail endpoints of the job do not need to be requested again.
+     */
+    private static boolean isStateUnchanged(JobDataDto previous, JsonNode jobOverview) {
+        if (Asserts.isNull(previous)
+                || Asserts.isNull(jobOverview)
+                || previous.isError()
+                || Asserts.isNull(previous.getJob())
+                || !previous.getJob().has(FlinkRestResultConstant.JOB_STATE)) {
+            return false;
+        }
+        return Asserts.isEquals(
+                previous.getJob().get(FlinkRestResultConstant.JOB_STATE).asText(),
+                jobOverview.get(FlinkRestResultConstant.JOB_STATE).asText());
+    }
+
+    /**
+     * Refresh a job whose state did not move since the last refresh.
+     * The job fields are taken from the cluster overview, the checkpoints are requested only when a new
+     * checkpoint can have completed, and the exceptions only when the checkpoint counts moved.
+     * Checkpoint config and job config are kept from the last refresh.
+     *
+     * @param previous       The job data of the last refresh.
+     * @param jobOverview    The overview of the job in its cluster.
+     * @param jobManagerHost The job manager host.
+     * @return {@link org.dinky.data.dto.JobDataDto}.
+     */
+    private static JobDataDto getJobHistoryFromOverview(
+            JobDataDto previous, JsonNode jobOverview, String jobManagerHost) {
+        ObjectNode job = previous.getJob().deepCopy();
+        job.set(FlinkRestResultConstant.JOB_STATE, jobOverview.get(FlinkRestResultConstant.JOB_STATE));
+        job.set(FlinkRestResultConstant.JOB_DURATION, jobOverview.get(FlinkRestResultConstant.JOB_DURATION));
+        job.set(FlinkRestResultConstant.JOB_CREATE_TIME, jobOverview.get(FlinkRestResultConstant.JOB_CREATE_TIME));
+        job.set(FlinkRestResultConstant.JOB_FINISH_TIME, jobOverview.get(FlinkRestResultConstant.JOB_FINISH_TIME));
+
+        JobDataDto.JobDataDtoBuilder builder = JobDataDto.builder()
+                .id(previous.getId())
+                .tenantId(previous.getTenantId())
+                .job(job)
+                .checkpointsConfig(previous.getCheckpointsConfig())
+                .config(previous.getConfig())
+                .exceptions(previous.getExceptions())
+                .jar(previous.getJar())
+                .cluster(previous.getCluster())
+                .clusterConfiguration(previous.getClusterConfiguration());
+        String jobId = jobOverview.get(JID).asText();
+        try {
+            if (!isCheckpointDue(previous)) {
+                return builder.checkpoints(previous.getCheckpoints()).build();
+            }
+            FlinkAPI api = FlinkAPI.build(jobManagerHost);
+            JsonNode checkpoints = api.getCheckPoints(jobId);
+            if (isCheckpointCountsMoved(previous.getCheckpoints(), checkpoints)) {
+                builder.exceptions(api.getException(jobId));
+            }
+            return builder.checkpoints(checkpoints).build();
+        } catch (Exception e) {
+            log.error("Connect {} failed,{}", jobManagerHost, e.getMessage());
+            return builder.error(true).errorMsg(e.getMessage()).build();
+        }
+    }
+
+    /**
+     * The jobs overview has no checkpoint fields, so the next checkpoint is expected from the last refresh:
+     * no checkpoint completes before the last completed one plus the checkpoint interval.
+     */
+    private static boolean isCheckpointDue(JobDataDto previous) {
+        JsonNode config = previous.getCheckpointsConfig();
+        JsonNode checkpoints = previous.getCheckpoints();
+        if (Asserts.isNull(config)
+                || Asserts.isNull(checkpoints)
+                || config.has(FlinkRestResultConstant.ERRORS)
+                || checkpoints.has(FlinkRestResultConstant.ERRORS)) {
+            return true;
+        }
+        long interval = config.path(CHECKPOINT_INTERVAL).asLong(0);
+        long lastAck = checkpoints
+                .path("latest")
+                .path("completed")
+                .path("latest_ack_timestamp")
+                .asLong(0);
+        return interval <= 0 || lastAck <= 0 || System.currentTimeMillis() >= lastAck + interval;
+    }
+
+    private static boolean isCheckpointCountsMoved(JsonNode previous, JsonNode current) {
+        if (Asserts.isNull(previous) || Asserts.isNull(current)) {
+            return true;
+        }
+        return !Objects.equals(previous.get(CHECKPOINT_COUNTS), current.get(CHECKPOINT_COUNTS));
+    }
+
     /**
      * Gets the job status.
      *
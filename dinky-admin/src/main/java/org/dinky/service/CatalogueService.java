@@ -35,6 +35,8 @@ public interface CatalogueService extends ISuperService<Catalogue> {
 
     List<Catalogue> getCatalogueTree();
 
+    List<Catalogue> getCatalogueChildren(Integer parentId);
+
     Catalogue findByParentIdAndName(Integer parentId, String name);
 
     Catalogue saveOrUpdateCatalogueAndTask(CatalogueTaskDTO catalogueTaskDTO);
@@ -19,11 +19,14 @@
 
 package org.dinky.service;
 
+import org.dinky.data.dto.SqlDTO;
 import org.dinky.data.model.Column;
 import org.dinky.data.model.DataBase;
 import org.dinky.data.model.QueryData;
 import org.dinky.data.model.Schema;
 import org.dinky.data.model.SqlGeneration;
+import org.dinky.metadata.cache.MetaDataCacheStats;
+import org.dinky.metadata.result.JdbcResultPage;
 import org.dinky.metadata.result.JdbcSelectResult;
 import org.dinky.mybatis.service.ISuperService;
 
@@ -115,6 +118,41 @@ public interface DataBaseService extends ISuperService<DataBase> {
      */
     JdbcSelectResult execSql(QueryData queryData);
 
+    /**
+     * exec sql script of a common sql task, independent queries run concurrently in parallel mode
+     *
+     * @param dataBase {@link DataBase}
+     * @param sqlDTO {@link SqlDTO}
+     * @return {@link JdbcSelectResult} result of the first failed statement, otherwise of the last statement
+     */
+    JdbcSelectResult executeCommonSql(DataBase dataBase, SqlDTO sqlDTO);
+
+    /**
+     * exec query sql and return its first page, the cursor id of the page fetches the following pages
+     *
+     * @param queryData {@link QueryData}
+     * @param pageSize {@link Integer} rows per page
+     * @return {@link JdbcResultPage}
+     */
+    JdbcResultPage openQuery(QueryData queryData, Integer pageSize);
+
+    /**
+     * fetch the next page of an opened query
+     *
+     * @param cursorId {@link String}
+     * @param pageSize {@link Integer} rows per page
+     * @return {@link JdbcResultPage}
+     */
+    JdbcResultPage fetchNextPage(String cursorId, Integer pageSize);
+
+    /**
+     * cancel an opened query and release its connection
+     *
+     * @param cursorId {@link String}
+     * @return {@link Boolean} false if the query was already finished or expired
+     */
+    boolean closeQuery(String cursorId);
+
     /**
      * get sql generation
      *
@@ -136,4 +174,20 @@ public interface DataBaseService extends ISuperService<DataBase> {
      * @return {@link Boolean}
      */
     Boolean copyDatabase(DataBase database);
+
+    /**
+     * refresh cached metadata of database, schema or table
+     *
+     * @param id {@link Integer}
+     * @param schemaName {@link String} null for all schemas
+     * @param tableName {@link String} null for all tables
+     */
+    void refreshMetaData(Integer id, String schemaName, String tableName);
+
+    /**
+     * get metadata cache statistics
+     *
+     * @return {@link MetaDataCacheStats}
+     */
+    MetaDataCacheStats getMetaDataCacheStats();
 }
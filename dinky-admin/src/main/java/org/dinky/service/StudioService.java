@@ -28,6 +28,7 @@ import org.dinky.data.model.Catalog;
 import org.dinky.data.model.FlinkColumn;
 import org.dinky.data.model.Schema;
 import org.dinky.data.result.IResult;
+import org.dinky.data.result.ResultRowDelta;
 import org.dinky.data.result.SelectResult;
 import org.dinky.data.result.SqlExplainResult;
 import org.dinky.explainer.lineage.LineageResult;
@@ -36,6 +37,8 @@ import org.dinky.metadata.result.JdbcSelectResult;
 
 import java.util.List;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -62,6 +65,14 @@ public interface StudioService {
 
     SelectResult getJobData(String jobId);
 
+    SelectResult getJobData(String jobId, int offset, int limit);
+
+    ResultRowDelta getJobDataSince(String jobId, long sequence);
+
+    SseEmitter sendJobData(SseEmitter sseEmitter, String jobId, long sequence);
+
+    boolean cancelJobData(String jobId);
+
     LineageResult getLineage(StudioCADTO studioCADTO);
 
     List<JsonNode> listFlinkJobs(Integer clusterId);
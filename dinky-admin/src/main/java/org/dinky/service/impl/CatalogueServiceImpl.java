@@ -22,6 +22,8 @@ package org.dinky.service.impl;
 import static org.dinky.assertion.Asserts.isNull;
 
 import org.dinky.assertion.Asserts;
+import org.dinky.context.CatalogueTreeContextHolder;
+import org.dinky.context.TenantContextHolder;
 import org.dinky.data.dto.CatalogueTaskDTO;
 import org.dinky.data.enums.JobLifeCycle;
 import org.dinky.data.enums.Status;
@@ -47,8 +49,10 @@ import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -60,7 +64,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 
 import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.collection.ListUtil;
 import cn.hutool.core.util.ObjectUtil;
 import lombok.RequiredArgsConstructor;
 
@@ -82,92 +86,131 @@ public class CatalogueServiceImpl extends SuperServiceImpl<CatalogueMapper, Cata
 
     private final StatementService statementService;
 
+    /** Max ids in one IN clause of the task query. */
+    private static final int TASK_BATCH_SIZE = 1000;
+
     /**
-     * @return
+     * @return the catalogue tree of the current tenant
      */
     @Override
     public List<Catalogue> getCatalogueTree() {
-        return buildCatalogueTree(this.list());
+        // the snapshot is shared by all readers, every caller gets its own copy to modify
+        return copyTree(getCatalogueTreeSnapshot().getTree());
     }
 
     /**
-     *  build catalogue tree
-     * @param catalogueList catalogue list
-     * @return catalogue tree
+     * Get the direct children of a catalogue for lazy loading, without their own children.
+     *
+     * @param parentId the parent catalogue id, 0 for the top level
+     * @return the children
      */
-    public List<Catalogue> buildCatalogueTree(List<Catalogue> catalogueList) {
-        // sort
-        if (CollectionUtil.isNotEmpty(catalogueList)) {
-            catalogueList = catalogueList.stream()
-                    .sorted(Comparator.comparing(Catalogue::getId))
-                    .collect(Collectors.toList());
-        }
+    @Override
+    public List<Catalogue> getCatalogueChildren(Integer parentId) {
+        return getCatalogueTreeSnapshot().getChildren(parentId).stream()
+                .map(CatalogueServiceImpl::copyCatalogue)
+                .collect(Collectors.toList());
+    }
 
-        List<Catalogue> returnList = new ArrayList<>();
-        for (Iterator<Catalogue> iterator = catalogueList.iterator(); iterator.hasNext(); ) {
-            Catalogue catalogue = iterator.next();
-            //  get all child catalogue of parent catalogue id , the 0 is root catalogue
-            if (catalogue.getParentId() == 0) {
-                recursionBuildCatalogueAndChildren(catalogueList, catalogue);
-                returnList.add(catalogue);
-            }
+    private static List<Catalogue> copyTree(List<Catalogue> catalogues) {
+        List<Catalogue> copies = new ArrayList<>(catalogues.size());
+        for (Catalogue catalogue : catalogues) {
+            Catalogue copy = copyCatalogue(catalogue);
+            copy.setChildren(copyTree(catalogue.getChildren()));
+            copies.add(copy);
         }
-        if (returnList.isEmpty()) {
-            returnList = catalogueList;
+        return copies;
+    }
+
+    /** Copy a catalogue of the cached snapshot and its task, without its children. */
+    private static Catalogue copyCatalogue(Catalogue catalogue) {
+        Catalogue copy = BeanUtil.copyProperties(catalogue, Catalogue.class, "children", "task");
+        copy.setChildren(new ArrayList<>());
+        if (catalogue.getTask() != null) {
+            copy.setTask(BeanUtil.copyProperties(catalogue.getTask(), Task.class));
         }
-        return returnList;
+        return copy;
     }
 
-    /**
-     * recursion build catalogue and children
-     * @param list
-     * @param catalogues
-     */
-    private void recursionBuildCatalogueAndChildren(List<Catalogue> list, Catalogue catalogues) {
-        // 得到子节点列表
-        List<Catalogue> childList = getChildList(list, catalogues);
-        catalogues.setChildren(childList);
-        for (Catalogue tChild : childList) {
-            if (hasChild(list, tChild)) {
-                // Determine whether there are child nodes
-                for (Catalogue children : childList) {
-                    recursionBuildCatalogueAndChildren(list, children);
-                }
-            } else {
-                if (tChild.getIsLeaf() || null != tChild.getTaskId()) {
-                    Task task = taskService.getById(tChild.getTaskId());
-                    if (task != null) {
-                        tChild.setTask(task);
-                    }
-                }
-            }
+    private CatalogueTreeContextHolder.Snapshot getCatalogueTreeSnapshot() {
+        Object tenantId = TenantContextHolder.get();
+        CatalogueTreeContextHolder.Snapshot snapshot = CatalogueTreeContextHolder.get(tenantId);
+        if (snapshot == null) {
+            // read the version first, a write during the build leaves the snapshot uncached
+            long version = CatalogueTreeContextHolder.getVersion();
+            List<Catalogue> catalogueList = this.list();
+            Map<Integer, List<Catalogue>> children = groupByParentId(catalogueList);
+            snapshot = new CatalogueTreeContextHolder.Snapshot(
+                    version, buildCatalogueTree(catalogueList, children), children);
+            CatalogueTreeContextHolder.put(tenantId, snapshot);
         }
+        return snapshot;
     }
 
     /**
-     * Determine whether there are child nodes
-     * @param list
-     * @param catalogue
-     * @return
+     *  build catalogue tree
+     * @param catalogueList catalogue list
+     * @return catalogue tree
      */
-    private boolean hasChild(List<Catalogue> list, Catalogue catalogue) {
-        return getChildList(list, catalogue).size() > 0;
+    public List<Catalogue> buildCatalogueTree(List<Catalogue> catalogueList) {
+        return buildCatalogueTree(catalogueList, groupByParentId(catalogueList));
     }
 
     /**
-     * get child list
-     * @param list
-     * @param catalogue
-     * @return
+     * Link every catalogue to its children and its task.
+     * The catalogues are grouped once and all tasks are read with one query per {@link #TASK_BATCH_SIZE} ids.
      */
-    private List<Catalogue> getChildList(List<Catalogue> list, Catalogue catalogue) {
-        List<Catalogue> childList = new ArrayList<>();
-        for (Catalogue n : list) {
-            if (n.getParentId().longValue() == catalogue.getId().longValue()) {
-                childList.add(n);
+    private List<Catalogue> buildCatalogueTree(List<Catalogue> catalogueList, Map<Integer, List<Catalogue>> children) {
+        Map<Integer, Task> tasks = listTreeTasks(catalogueList);
+        for (Catalogue catalogue : catalogueList) {
+            catalogue.setChildren(children.getOrDefault(catalogue.getId(), new ArrayList<>()));
+            if (catalogue.getTaskId() != null) {
+                catalogue.setTask(tasks.get(catalogue.getTaskId()));
             }
         }
-        return childList;
+        //  the 0 is root catalogue
+        List<Catalogue> returnList = children.getOrDefault(0, new ArrayList<>());
+        if (returnList.isEmpty()) {
+            returnList = catalogueList.stream()
+                    .sorted(Comparator.comparing(Catalogue::getId))
+                    .collect(Collectors.toList());
+        }
+        return returnList;
+    }
+
+    /** Group the catalogues sorted by id by their parent id. */
+    private Map<Integer, List<Catalogue>> groupByParentId(List<Catalogue> catalogueList) {
+        return catalogueList.stream()
+                .sorted(Comparator.comparing(Catalogue::getId))
+                .collect(Collectors.groupingBy(Catalogue::getParentId, HashMap::new, Collectors.toList()));
+    }
+
+    /** Read the fields of the tasks shown in the tree, not whole tasks. */
+    private Map<Integer, Task> listTreeTasks(List<Catalogue> catalogueList) {
+        List<Integer> taskIds = catalogueList.stream()
+                .map(Catalogue::getTaskId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Integer, Task> tasks = new HashMap<>(taskIds.size() * 2);
+        for (List<Integer> ids : ListUtil.partition(taskIds, TASK_BATCH_SIZE)) {
+            taskService
+                    .list(new LambdaQueryWrapper<Task>()
+                            .select(
+                                    Task::getId,
+                                    Task::getName,
+                                    Task::getEnabled,
+                                    Task::getDialect,
+                                    Task::getType,
+                                    Task::getStep,
+                                    Task::getNote,
+                                    Task::getJobInstanceId,
+                                    Task::getVersionId,
+                                    Task::getTenantId,
+                                    Task::getConfigJson)
+                            .in(Task::getId, ids))
+                    .forEach(task -> tasks.put(task.getId(), task));
+        }
+        return tasks;
     }
 
     @Override
@@ -20,7 +20,9 @@
 package org.dinky.service.impl;
 
 import org.dinky.assertion.Asserts;
+import org.dinky.configure.CommonSqlProperties;
 import org.dinky.data.constant.CommonConstant;
+import org.dinky.data.dto.SqlDTO;
 import org.dinky.data.enums.Status;
 import org.dinky.data.model.Column;
 import org.dinky.data.model.DataBase;
@@ -29,9 +31,17 @@ import org.dinky.data.model.Schema;
 import org.dinky.data.model.SqlGeneration;
 import org.dinky.data.model.Table;
 import org.dinky.mapper.DataBaseMapper;
+import org.dinky.metadata.cache.MetaDataCache;
+import org.dinky.metadata.cache.MetaDataCacheStats;
+import org.dinky.metadata.cache.QueryResultCache;
 import org.dinky.metadata.driver.Driver;
+import org.dinky.metadata.result.JdbcResultPage;
 import org.dinky.metadata.result.JdbcSelectResult;
+import org.dinky.metadata.result.QueryCursorRegistry;
+import org.dinky.metadata.result.StatementResult;
 import org.dinky.mybatis.service.impl.SuperServiceImpl;
+import org.dinky.process.context.ProcessContextHolder;
+import org.dinky.process.model.ProcessEntity;
 import org.dinky.service.DataBaseService;
 
 import org.apache.commons.lang3.StringUtils;
@@ -45,14 +55,26 @@ import org.springframework.stereotype.Service;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 
+import cn.hutool.core.bean.BeanUtil;
+import lombok.RequiredArgsConstructor;
+
 /**
  * DataBaseServiceImpl
  *
  * @since 2021/7/20 23:47
  */
 @Service
+@RequiredArgsConstructor
 public class DataBaseServiceImpl extends SuperServiceImpl<DataBaseMapper, DataBase> implements DataBaseService {
 
+    private static final int DEFAULT_PAGE_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 10000;
+
+    private final MetaDataCache metaDataCache;
+    private final QueryCursorRegistry queryCursorRegistry;
+    private final QueryResultCache queryResultCache;
+    private final CommonSqlProperties commonSqlProperties;
+
     @Override
     public String testConnect(DataBase dataBase) {
         return Driver.buildUnconnected(dataBase.getDriverConfig()).test();
@@ -100,6 +122,7 @@ public class DataBaseServiceImpl extends SuperServiceImpl<DataBaseMapper, DataBa
             if (Asserts.isNull(dataBase.getPassword())) {
                 dataBase.setPassword(dataBaseInfo.getPassword());
             }
+            metaDataCache.invalidate(String.valueOf(dataBase.getId()));
             try {
                 checkHeartBeat(dataBase);
             } finally {
@@ -131,28 +154,89 @@ public class DataBaseServiceImpl extends SuperServiceImpl<DataBaseMapper, DataBa
     public List<Schema> getSchemasAndTables(Integer id) {
         DataBase dataBase = getById(id);
         Asserts.checkNotNull(dataBase, Status.DATASOURCE_NOT_EXIST.getMessage());
-        Driver driver = Driver.build(dataBase.getDriverConfig());
-        List<Schema> schemasAndTables = driver.getSchemasAndTables();
-        driver.close();
-        return schemasAndTables;
+        return copySchemas(metaDataCache.get(MetaDataCache.Kind.SCHEMAS, String.valueOf(id), () -> {
+            Driver driver = Driver.build(dataBase.getDriverConfig());
+            List<Schema> schemasAndTables = driver.getSchemasAndTables();
+            driver.close();
+            return schemasAndTables;
+        }));
     }
 
     @Override
     public List<Column> listColumns(Integer id, String schemaName, String tableName) {
         DataBase dataBase = getById(id);
         Asserts.checkNotNull(dataBase, Status.DATASOURCE_NOT_EXIST.getMessage());
-        Driver driver = Driver.build(dataBase.getDriverConfig());
-        List<Column> columns = driver.listColumns(schemaName, tableName);
-        driver.close();
-        return columns;
+        return listCachedColumns(dataBase, schemaName, tableName);
+    }
+
+    private List<Column> listCachedColumns(DataBase dataBase, String schemaName, String tableName) {
+        return copyColumns(metaDataCache.get(
+                MetaDataCache.Kind.COLUMNS,
+                String.valueOf(dataBase.getId()),
+                schemaName,
+                tableName,
+                () -> Driver.build(dataBase.getDriverConfig()).listColumns(schemaName, tableName),
+                () -> Driver.build(dataBase.getDriverConfig()).getTableUpdateTime(schemaName, tableName)));
+    }
+
+    /** The cached metadata is shared, callers get copies they are free to change. */
+    private static List<Schema> copySchemas(List<Schema> schemas) {
+        if (schemas == null) {
+            return null;
+        }
+        List<Schema> copies = new ArrayList<>(schemas.size());
+        for (Schema schema : schemas) {
+            Schema copy = new Schema(schema.getName(), copyTables(schema.getTables()));
+            copy.setViews(copyList(schema.getViews()));
+            copy.setFunctions(copyList(schema.getFunctions()));
+            copy.setUserFunctions(copyList(schema.getUserFunctions()));
+            copy.setModules(copyList(schema.getModules()));
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    private static List<Table> copyTables(List<Table> tables) {
+        if (tables == null) {
+            return null;
+        }
+        List<Table> copies = new ArrayList<>(tables.size());
+        for (Table table : tables) {
+            copies.add(copyTable(table));
+        }
+        return copies;
+    }
+
+    private static Table copyTable(Table table) {
+        if (table == null) {
+            return null;
+        }
+        Table copy = (Table) table.clone();
+        copy.setColumns(copyColumns(table.getColumns()));
+        copy.setSchemaTableNameList(copyList(table.getSchemaTableNameList()));
+        return copy;
+    }
+
+    private static List<Column> copyColumns(List<Column> columns) {
+        if (columns == null) {
+            return null;
+        }
+        List<Column> copies = new ArrayList<>(columns.size());
+        for (Column column : columns) {
+            copies.add(BeanUtil.copyProperties(column, Column.class));
+        }
+        return copies;
+    }
+
+    private static <T> List<T> copyList(List<T> list) {
+        return list == null ? null : new ArrayList<>(list);
     }
 
     @Override
     public String getFlinkTableSql(Integer id, String schemaName, String tableName) {
         DataBase dataBase = getById(id);
         Asserts.checkNotNull(dataBase, Status.DATASOURCE_NOT_EXIST.getMessage());
-        Driver driver = Driver.build(dataBase.getDriverConfig());
-        List<Column> columns = driver.listColumns(schemaName, tableName);
+        List<Column> columns = listCachedColumns(dataBase, schemaName, tableName);
         Table table = Table.build(tableName, schemaName, columns);
         return table.getFlinkTableSql(dataBase.getName(), dataBase.getFlinkTemplate());
     }
@@ -162,7 +246,7 @@ public class DataBaseServiceImpl extends SuperServiceImpl<DataBaseMapper, DataBa
         DataBase dataBase = getById(id);
         Asserts.checkNotNull(dataBase, Status.DATASOURCE_NOT_EXIST.getMessage());
         Driver driver = Driver.build(dataBase.getDriverConfig());
-        List<Column> columns = driver.listColumns(schemaName, tableName);
+        List<Column> columns = listCachedColumns(dataBase, schemaName, tableName);
         Table table = Table.build(tableName, schemaName, columns);
         return driver.getSqlSelect(table);
     }
@@ -172,7 +256,7 @@ public class DataBaseServiceImpl extends SuperServiceImpl<DataBaseMapper, DataBa
         DataBase dataBase = getById(id);
         Asserts.checkNotNull(dataBase, Status.DATASOURCE_NOT_EXIST.getMessage());
         Driver driver = Driver.build(dataBase.getDriverConfig());
-        List<Column> columns = driver.listColumns(schemaName, tableName);
+        List<Column> columns = listCachedColumns(dataBase, schemaName, tableName);
         Table table = Table.build(tableName, schemaName, columns);
         return driver.getCreateTableSql(table);
     }
@@ -199,12 +283,86 @@ public class DataBaseServiceImpl extends SuperServiceImpl<DataBaseMapper, DataBa
         return jdbcSelectResult;
     }
 
+    @Override
+    public JdbcSelectResult executeCommonSql(DataBase dataBase, SqlDTO sqlDTO) {
+        Driver driver = Driver.build(dataBase.getDriverConfig());
+        boolean parallel =
+                Asserts.isNull(sqlDTO.getParallel()) ? commonSqlProperties.getParallel() : sqlDTO.getParallel();
+        if (!parallel) {
+            return driver.executeSql(sqlDTO.getStatement(), sqlDTO.getMaxRowNum());
+        }
+        ProcessEntity process = ProcessContextHolder.getProcess();
+        boolean useCache = !commonSqlProperties.getResultCacheTtl().isZero();
+        List<StatementResult> results = driver.executeStatements(
+                sqlDTO.getStatement(),
+                sqlDTO.getMaxRowNum(),
+                commonSqlProperties.getParallelism(),
+                useCache ? queryResultCache : null,
+                statementResult -> process.info(String.format(
+                        "Statement %d %s in %d ms%s.",
+                        statementResult.getIndex() + 1,
+                        statementResult.isSuccess() ? "succeed" : "failed",
+                        statementResult.getTime(),
+                        statementResult.isCached() ? " from cache" : "")));
+        return results.stream()
+                .map(StatementResult::getResult)
+                .filter(result -> !result.isSuccess())
+                .findFirst()
+                .orElseGet(() -> {
+                    if (results.isEmpty()) {
+                        JdbcSelectResult result = JdbcSelectResult.buildResult();
+                        result.success();
+                        return result;
+                    }
+                    return results.get(results.size() - 1).getResult();
+                });
+    }
+
+    @Override
+    public JdbcResultPage openQuery(QueryData queryData, Integer pageSize) {
+        DataBase dataBase = getById(queryData.getId());
+        Asserts.checkNotNull(dataBase, Status.DATASOURCE_NOT_EXIST.getMessage());
+        Driver driver = Driver.build(dataBase.getDriverConfig());
+        int size = toPageSize(pageSize);
+        long startTime = System.currentTimeMillis();
+        JdbcResultPage page = queryCursorRegistry.open(
+                dataBase.getDriverConfig(), driver.openCursor(queryData.getSql(), size, null), size);
+        page.setTime(System.currentTimeMillis() - startTime);
+        return page;
+    }
+
+    @Override
+    public JdbcResultPage fetchNextPage(String cursorId, Integer pageSize) {
+        long startTime = System.currentTimeMillis();
+        JdbcResultPage page = queryCursorRegistry.next(cursorId, toPageSize(pageSize));
+        page.setTime(System.currentTimeMillis() - startTime);
+        return page;
+    }
+
+    @Override
+    public boolean closeQuery(String cursorId) {
+        return queryCursorRegistry.close(cursorId);
+    }
+
+    private static int toPageSize(Integer pageSize) {
+        if (Asserts.isNull(pageSize) || pageSize <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(pageSize, MAX_PAGE_SIZE);
+    }
+
     @Override
     public SqlGeneration getSqlGeneration(Integer id, String schemaName, String tableName) {
         DataBase dataBase = getById(id);
         Asserts.checkNotNull(dataBase, Status.DATASOURCE_NOT_EXIST.getMessage());
         Driver driver = Driver.build(dataBase.getDriverConfig());
-        Table table = driver.getTable(schemaName, tableName);
+        Table table = copyTable(metaDataCache.get(
+                MetaDataCache.Kind.TABLE,
+                String.valueOf(id),
+                schemaName,
+                tableName,
+                () -> driver.getTable(schemaName, tableName),
+                () -> driver.getTableUpdateTime(schemaName, tableName)));
         SqlGeneration sqlGeneration = new SqlGeneration();
         sqlGeneration.setFlinkSqlCreate(table.getFlinkTableSql(dataBase.getName(), dataBase.getFlinkTemplate()));
         sqlGeneration.setSqlSelect(driver.getSqlSelect(table));
@@ -240,4 +398,14 @@ public class DataBaseServiceImpl extends SuperServiceImpl<DataBaseMapper, DataBa
         database.setCreateTime(null);
         return this.save(database);
     }
+
+    @Override
+    public void refreshMetaData(Integer id, String schemaName, String tableName) {
+        metaDataCache.invalidate(String.valueOf(id), schemaName, tableName);
+    }
+
+    @Override
+    public MetaDataCacheStats getMetaDataCacheStats() {
+        return metaDataCache.stats();
+    }
 }
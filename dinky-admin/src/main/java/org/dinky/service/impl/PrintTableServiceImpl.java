@@ -19,23 +19,40 @@
 
 package org.dinky.service.impl;
 
+import org.dinky.connector.printnet.PrintNetProtocol;
 import org.dinky.service.PrintTableService;
 
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
-import java.net.SocketException;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.function.Consumer;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -46,53 +63,95 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class PrintTableServiceImpl implements PrintTableService {
 
+    /** Rows kept per listened table between two dispatches, older rows are dropped first. */
+    private static final int TABLE_BUFFER_CAPACITY = 1000;
+
+    private static final long DISPATCH_INTERVAL_MILLIS = 50;
+
+    /** Batches queued per subscriber, a subscriber that falls further behind is closed. */
+    private static final int MAX_PENDING_BATCHES = 20;
+
+    private static final int SENDER_THREADS = 4;
+
     private final Map<String, Set<Target>> registerTableMap = new ConcurrentHashMap<>();
 
+    private final Map<String, PrintTableBuffer> tableBufferMap = new ConcurrentHashMap<>();
+
     private static final Pattern FULL_TABLE_NAME_PATTERN = Pattern.compile("^`(\\w+)`\\.`(\\w+)`\\.`(\\w+)`$");
 
+    /** Sends the batches to the subscribers, a subscriber has at most one task queued at a time. */
+    private final ExecutorService sender = Executors.newFixedThreadPool(SENDER_THREADS, r -> {
+        Thread thread = new Thread(r, "print-table-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     public PrintTableServiceImpl() {
-        PrintTableListener printer = new PrintTableListener(this::send);
+        PrintTableListener printer = new PrintTableListener(this::offer);
         printer.start();
+
+        ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "print-table-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.scheduleWithFixedDelay(
+                this::dispatch, DISPATCH_INTERVAL_MILLIS, DISPATCH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
     }
 
-    public void send(String message) {
-        try {
-            String[] data = message.split("\n", 2);
-            final Set<Target> targets = registerTableMap.get(data[0]);
-            if (targets != null) {
-                targets.forEach(d -> d.send(data[1], "data"));
-            }
-        } catch (Exception e) {
-            log.error("send message failed: {}", e.getMessage());
+    /** Buffers a row of a listened table, rows of other tables are skipped without being decoded. */
+    public void offer(String table, byte[] row) {
+        PrintTableBuffer buffer = tableBufferMap.get(table);
+        if (buffer != null) {
+            buffer.offer(new String(row, StandardCharsets.UTF_8));
         }
     }
 
+    /**
+     * Hands the buffered rows to the subscribers, each row is decoded once and shared by all of them. The sends run
+     * on the sender pool, so a slow subscriber does not hold up the others; one that falls too far behind is closed.
+     */
+    public void dispatch() {
+        tableBufferMap.forEach((table, buffer) -> {
+            try {
+                List<String> rows = new ArrayList<>();
+                long dropped = buffer.drainTo(rows);
+                Set<Target> targets = registerTableMap.get(table);
+                if (targets == null || (rows.isEmpty() && dropped == 0)) {
+                    return;
+                }
+                PrintTableBatch batch = new PrintTableBatch(dropped, rows);
+                for (Target target : targets) {
+                    if (!target.enqueue(batch, sender)) {
+                        log.warn("SseEmitter {} of {} is too slow, closing it", target.emitter, table);
+                        removeTargets(table, target::equals);
+                        target.complete();
+                    }
+                }
+            } catch (Exception e) {
+                log.error("send message failed: {}", e.getMessage());
+            }
+        });
+    }
+
     @Override
     public SseEmitter registerListenEntry(String table) {
 
         String fullName = getFullTableName(table);
         String destination = getDestinationByFullName(fullName);
-        Set<Target> targets = registerTableMap.get(fullName);
-
-        SseEmitter emitter = getSseEmitter(targets, fullName);
-
-        Set<Target> newTargets = new HashSet<>();
-        newTargets.add(Target.of(emitter, destination));
-        if (targets != null) {
-            newTargets.addAll(targets);
-        }
-        registerTableMap.put(fullName, newTargets);
-        return emitter;
-    }
 
-    private SseEmitter getSseEmitter(Set<Target> targets, String fullName) {
         SseEmitter emitter = new SseEmitter();
+        Target target = Target.of(emitter, destination);
+        registerTableMap.compute(fullName, (name, targets) -> {
+            Set<Target> newTargets = targets != null ? targets : ConcurrentHashMap.newKeySet();
+            newTargets.add(target);
+            tableBufferMap.computeIfAbsent(name, n -> new PrintTableBuffer(TABLE_BUFFER_CAPACITY));
+            return newTargets;
+        });
+
         emitter.onCompletion(() -> {
             log.info(MessageFormat.format("SseEmitter {0} complete", emitter));
-            Set<Target> remains = targets.stream()
-                    .filter(t -> !t.getEmitter().equals(emitter))
-                    .collect(Collectors.toSet());
-            registerTableMap.put(fullName, remains);
+            removeTargets(fullName, target::equals);
         });
 
         emitter.onError(e -> {
@@ -111,11 +170,22 @@ public class PrintTableServiceImpl implements PrintTableService {
     public void unRegisterListenEntry(String table) {
         String fullName = getFullTableName(table);
         String destination = getDestination(fullName);
-        Set<Target> destinations = registerTableMap.get(fullName);
-        if (destinations != null) {
-            destinations.stream().filter(d -> d.destination.equals(destination)).forEach(Target::complete);
-            destinations.removeIf(d -> d.destination.equals(destination));
-        }
+        removeTargets(fullName, d -> d.destination.equals(destination)).forEach(Target::complete);
+    }
+
+    /** Removes the matching subscribers of a table, and its buffer together with the last one. */
+    private List<Target> removeTargets(String fullName, Predicate<Target> filter) {
+        List<Target> removed = new ArrayList<>();
+        registerTableMap.computeIfPresent(fullName, (name, targets) -> {
+            targets.stream().filter(filter).forEach(removed::add);
+            targets.removeAll(removed);
+            if (targets.isEmpty()) {
+                tableBufferMap.remove(name);
+                return null;
+            }
+            return targets;
+        });
+        return removed;
     }
 
     public static String getFullTableName(String table) {
@@ -145,6 +215,9 @@ public class PrintTableServiceImpl implements PrintTableService {
     public static final class Target {
         private final String destination;
         public final SseEmitter emitter;
+        private final Queue<PrintTableBatch> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean sending = new AtomicBoolean();
 
         public Target(String destination, SseEmitter emitter) {
             this.destination = destination;
@@ -155,6 +228,36 @@ public class PrintTableServiceImpl implements PrintTableService {
             return new Target(destination, emitter);
         }
 
+        /** Queues a batch and schedules its send, returns false when too many batches are already waiting. */
+        public boolean enqueue(PrintTableBatch batch, Executor executor) {
+            if (pendingCount.incrementAndGet() > MAX_PENDING_BATCHES) {
+                pendingCount.decrementAndGet();
+                return false;
+            }
+            pending.add(batch);
+            if (sending.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+            return true;
+        }
+
+        /** Sends the queued batches in order, only one drain of a target runs at a time. */
+        private void drain() {
+            do {
+                PrintTableBatch batch;
+                while ((batch = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    if (batch.dropped > 0) {
+                        send(String.valueOf(batch.dropped), "dropped");
+                    }
+                    for (String row : batch.rows) {
+                        send(row, "data");
+                    }
+                }
+                sending.set(false);
+            } while (!pending.isEmpty() && sending.compareAndSet(false, true));
+        }
+
         public void send(String message, String type) {
             try {
                 SseEmitter.SseEventBuilder builder =
@@ -191,50 +294,128 @@ public class PrintTableServiceImpl implements PrintTableService {
         }
     }
 
+    /** The rows of one dispatch of a table, shared by all of its subscribers. */
+    public static final class PrintTableBatch {
+        private final long dropped;
+        private final List<String> rows;
+
+        public PrintTableBatch(long dropped, List<String> rows) {
+            this.dropped = dropped;
+            this.rows = rows;
+        }
+    }
+
+    /** A bounded ring of the latest rows of a table, counting the rows it had to drop. */
+    public static final class PrintTableBuffer {
+        private final String[] rows;
+        private int head;
+        private int size;
+        private long dropped;
+
+        public PrintTableBuffer(int capacity) {
+            this.rows = new String[capacity];
+        }
+
+        public synchronized void offer(String row) {
+            if (size == rows.length) {
+                rows[head] = row;
+                head = (head + 1) % rows.length;
+                dropped++;
+            } else {
+                rows[(head + size) % rows.length] = row;
+                size++;
+            }
+        }
+
+        /** Moves the buffered rows, oldest first, and returns how many rows were dropped since the last call. */
+        public synchronized long drainTo(Collection<String> target) {
+            for (int i = 0; i < size; i++) {
+                int index = (head + i) % rows.length;
+                target.add(rows[index]);
+                rows[index] = null;
+            }
+            head = 0;
+            size = 0;
+            long result = dropped;
+            dropped = 0;
+            return result;
+        }
+    }
+
     public static class PrintTableListener {
 
-        private final Consumer<String> consumer;
+        private final BiConsumer<String, byte[]> consumer;
         public static final int PORT = 7125;
-        private DatagramSocket socket;
-        private final byte[] buf = new byte[4096];
+        private static final int SOCKET_BUFFER_SIZE = 64 * 1024;
+        /** Print sinks connected at the same time, one thread each besides the accepting one. */
+        private static final int MAX_CONNECTIONS = 64;
+        private ServerSocket serverSocket;
 
         private final ExecutorService executor;
 
-        public PrintTableListener(Consumer<String> consumer) {
+        public PrintTableListener(BiConsumer<String, byte[]> consumer) {
             this.consumer = consumer;
-            this.socket = getDatagramSocket(PORT);
-            executor = Executors.newSingleThreadExecutor();
+            this.serverSocket = getServerSocket(PORT);
+            executor = new ThreadPoolExecutor(
+                    1, MAX_CONNECTIONS + 1, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+                        Thread thread = new Thread(r, "print-table-listener");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
         }
 
         public void start() {
             executor.execute(this::run);
         }
 
-        private static DatagramSocket getDatagramSocket(int port) {
+        private static ServerSocket getServerSocket(int port) {
             try {
-                return new DatagramSocket(port);
-            } catch (SocketException e) {
-                log.error("PrintTableListener:DatagramSocket init failed, port {}: {}", PORT, e.getMessage());
+                return new ServerSocket(port);
+            } catch (IOException e) {
+                log.error("PrintTableListener:ServerSocket init failed, port {}: {}", PORT, e.getMessage());
             }
             return null;
         }
 
         public void run() {
-            if (socket == null) {
+            if (serverSocket == null) {
                 log.warn("PrintTableListener:socket is null, try to initial it");
-                socket = getDatagramSocket(PORT);
-                if (socket == null) return;
+                serverSocket = getServerSocket(PORT);
+                if (serverSocket == null) return;
             }
 
-            while (true) {
-                DatagramPacket packet = new DatagramPacket(buf, buf.length);
+            while (!serverSocket.isClosed()) {
                 try {
-                    socket.receive(packet);
-                    String received = new String(packet.getData(), 0, packet.getLength());
-                    consumer.accept(received);
+                    Socket socket = serverSocket.accept();
+                    try {
+                        executor.execute(() -> receive(socket));
+                    } catch (RejectedExecutionException e) {
+                        log.warn("print table refuses connection, {} print sinks connected already", MAX_CONNECTIONS);
+                        socket.close();
+                    }
                 } catch (Exception e) {
-                    log.error("print table receive data:" + e.getMessage());
+                    log.error("print table accept connection:" + e.getMessage());
+                }
+            }
+        }
+
+        /** Reads the batches of one print sink until it disconnects. */
+        private void receive(Socket socket) {
+            String table = null;
+            try (Socket s = socket;
+                    DataInputStream in =
+                            new DataInputStream(new BufferedInputStream(s.getInputStream(), SOCKET_BUFFER_SIZE))) {
+                table = PrintNetProtocol.readHeader(in);
+                while (true) {
+                    int rows = PrintNetProtocol.readBatchSize(in);
+                    for (int i = 0; i < rows; i++) {
+                        consumer.accept(table, PrintNetProtocol.readRow(in));
+                    }
                 }
+            } catch (EOFException e) {
+                log.debug("print table {} disconnected", table);
+            } catch (Exception e) {
+                log.error("print table {} receive data: {}", table, e.getMessage());
             }
         }
 
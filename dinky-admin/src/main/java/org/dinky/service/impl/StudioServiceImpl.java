@@ -40,6 +40,7 @@ import org.dinky.data.model.Table;
 import org.dinky.data.model.Task;
 import org.dinky.data.result.DDLResult;
 import org.dinky.data.result.IResult;
+import org.dinky.data.result.ResultRowDelta;
 import org.dinky.data.result.SelectResult;
 import org.dinky.data.result.SqlExplainResult;
 import org.dinky.explainer.lineage.LineageBuilder;
@@ -64,6 +65,7 @@ import org.dinky.service.StudioService;
 import org.dinky.service.TaskService;
 import org.dinky.service.UserService;
 import org.dinky.sql.FlinkQuery;
+import org.dinky.sse.ResultRowSse;
 import org.dinky.utils.RunTimeUtil;
 
 import java.util.ArrayList;
@@ -76,6 +78,7 @@ import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -224,12 +227,9 @@ public class StudioServiceImpl implements StudioService {
             result.setEndTimeNow();
             return result;
         }
-        JdbcSelectResult selectResult;
-        try (Driver driver = Driver.build(dataBase.getDriverConfig())) {
-            process.infoSuccess();
-            process.start();
-            selectResult = driver.executeSql(sqlDTO.getStatement(), sqlDTO.getMaxRowNum());
-        }
+        process.infoSuccess();
+        process.start();
+        JdbcSelectResult selectResult = dataBaseService.executeCommonSql(dataBase, sqlDTO);
         process.finish("Execute sql succeed.");
         result.setResult(selectResult);
         if (selectResult.isSuccess()) {
@@ -350,6 +350,26 @@ public class StudioServiceImpl implements StudioService {
         return JobManager.getJobData(jobId);
     }
 
+    @Override
+    public SelectResult getJobData(String jobId, int offset, int limit) {
+        return JobManager.getJobData(jobId, offset, limit);
+    }
+
+    @Override
+    public ResultRowDelta getJobDataSince(String jobId, long sequence) {
+        return JobManager.getJobDataSince(jobId, sequence);
+    }
+
+    @Override
+    public SseEmitter sendJobData(SseEmitter sseEmitter, String jobId, long sequence) {
+        return ResultRowSse.subscribe(jobId, sseEmitter, sequence);
+    }
+
+    @Override
+    public boolean cancelJobData(String jobId) {
+        return JobManager.cancelJobData(jobId);
+    }
+
     @Override
     public LineageResult getLineage(StudioCADTO studioCADTO) {
         ProcessEntity process = ProcessContextHolder.registerProcess(
@@ -22,6 +22,8 @@ package org.dinky.service.impl;
 import org.dinky.assertion.Assert;
 import org.dinky.assertion.Asserts;
 import org.dinky.config.Dialect;
+import org.dinky.configure.JobBundleProperties;
+import org.dinky.constant.FlinkParamConstant;
 import org.dinky.context.RowLevelPermissionsContext;
 import org.dinky.context.TenantContextHolder;
 import org.dinky.data.constant.CommonConstant;
@@ -40,7 +42,9 @@ import org.dinky.data.model.Catalogue;
 import org.dinky.data.model.Cluster;
 import org.dinky.data.model.ClusterConfiguration;
 import org.dinky.data.model.DataBase;
+import org.dinky.data.model.FlinkUdfManifest;
 import org.dinky.data.model.Jar;
+import org.dinky.data.model.JobBundle;
 import org.dinky.data.model.JobInfoDetail;
 import org.dinky.data.model.JobInstance;
 import org.dinky.data.model.JobModelOverview;
@@ -56,7 +60,9 @@ import org.dinky.data.model.UDFTemplate;
 import org.dinky.data.result.Result;
 import org.dinky.data.result.SqlExplainResult;
 import org.dinky.data.result.TaskOperatingResult;
+import org.dinky.executor.ExecutorSetting;
 import org.dinky.function.compiler.CustomStringJavaCompiler;
+import org.dinky.function.constant.PathConstant;
 import org.dinky.function.pool.UdfCodePool;
 import org.dinky.function.util.UDFUtil;
 import org.dinky.gateway.Gateway;
@@ -94,12 +100,16 @@ import org.dinky.service.TaskService;
 import org.dinky.service.TaskVersionService;
 import org.dinky.service.UDFTemplateService;
 import org.dinky.service.UserService;
+import org.dinky.service.resource.BaseResourceManager;
+import org.dinky.trans.Operations;
 import org.dinky.utils.FragmentVariableUtils;
+import org.dinky.utils.SqlUtil;
 import org.dinky.utils.UDFUtils;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
@@ -132,17 +142,23 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import cn.dev33.satoken.stp.StpUtil;
 import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.io.FileUtil;
 import cn.hutool.core.lang.tree.Tree;
 import cn.hutool.core.lang.tree.TreeNode;
 import cn.hutool.core.lang.tree.TreeUtil;
+import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * TaskServiceImpl
  */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implements TaskService {
 
     private final StatementService statementService;
@@ -160,6 +176,7 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
     private final UDFTemplateService udfTemplateService;
     private final DataSourceProperties dataSourceProperties;
     private final UserService userService;
+    private final JobBundleProperties jobBundleProperties;
 
     @Resource
     @Lazy
@@ -197,6 +214,34 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
                 .split(" ");
     }
 
+    /** application 模式的启动参数，已发布且已生成作业包的任务附带作业包地址 */
+    private String[] buildParas(Task task) {
+        String[] paras = buildParas(task.getId());
+        if (!useJobBundle(task) || !SystemConfiguration.getInstances().getResourcesEnable().getValue()) {
+            return paras;
+        }
+        BaseResourceManager resourceManager = BaseResourceManager.getInstance();
+        String bundlePath = getJobBundlePath(task);
+        // 开启作业包之前发布的任务没有作业包，仍从数据库读取
+        if (Asserts.isNull(resourceManager) || !resourceManager.exists(bundlePath)) {
+            return paras;
+        }
+        return ArrayUtil.append(
+                paras,
+                "--" + FlinkParamConstant.BUNDLE,
+                resourceManager.getFileUri(bundlePath),
+                "--" + FlinkParamConstant.FALLBACK_DB,
+                String.valueOf(jobBundleProperties.getFallbackDb()));
+    }
+
+    private boolean useJobBundle(Task task) {
+        return jobBundleProperties.getEnabled()
+                && !task.isJarTask()
+                && Asserts.isNotNull(task.getVersionId())
+                && (JobLifeCycle.RELEASE.equalsValue(task.getStep())
+                        || JobLifeCycle.ONLINE.equalsValue(task.getStep()));
+    }
+
     @Override
     public JobResult submitTask(Integer id) {
         Task task = this.getTaskInfoById(id);
@@ -338,10 +383,7 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
             return result;
         }
 
-        JdbcSelectResult selectResult;
-        try (Driver driver = Driver.build(dataBase.getDriverConfig())) {
-            selectResult = driver.executeSql(sqlDTO.getStatement(), sqlDTO.getMaxRowNum());
-        }
+        JdbcSelectResult selectResult = dataBaseService.executeCommonSql(dataBase, sqlDTO);
 
         result.setResult(selectResult);
         if (selectResult.isSuccess()) {
@@ -671,6 +713,14 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
 
         task.setStep(JobLifeCycle.RELEASE.getValue());
         Task newTask = createTaskVersionSnapshot(task);
+        if (useJobBundle(newTask)) {
+            try {
+                writeJobBundle(newTask);
+            } catch (Exception e) {
+                log.error("Write job bundle of task {} failed", newTask.getId(), e);
+                return Result.failed("publish failed, write job bundle error: " + e.getMessage());
+            }
+        }
         if (updateById(newTask)) {
             return Result.succeed("publish success!");
         } else {
@@ -879,7 +929,7 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
         jobConfig.setType(cluster.getType());
 
         if (Asserts.isNotNull(cluster.getClusterConfigurationId())) {
-            FlinkClusterConfig flinkClusterConfig = buildGatewayCfgObj(jobConfig);
+            FlinkClusterConfig flinkClusterConfig = buildGatewayCfgObj(task, jobConfig);
             jobConfig.buildGatewayConfig(flinkClusterConfig);
         }
         jobConfig.setAddress(cluster.getJobManagerHost());
@@ -932,7 +982,7 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
             String address = clusterInstanceService.buildEnvironmentAddress(config.isUseRemote(), task.getClusterId());
             config.setAddress(address);
         } else {
-            config.buildGatewayConfig(buildGatewayCfgObj(config));
+            config.buildGatewayConfig(buildGatewayCfgObj(task, config));
         }
 
         config.setVariables(fragmentVariableService.listEnabledVariables());
@@ -957,9 +1007,9 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
         }
     }
 
-    private FlinkClusterConfig buildGatewayCfgObj(JobConfig config) {
+    private FlinkClusterConfig buildGatewayCfgObj(Task task, JobConfig config) {
         FlinkClusterConfig flinkClusterCfg = clusterCfgService.getFlinkClusterCfg(config.getClusterConfigurationId());
-        flinkClusterCfg.getAppConfig().setUserJarParas(buildParas(config.getTaskId()));
+        flinkClusterCfg.getAppConfig().setUserJarParas(buildParas(task));
         flinkClusterCfg.getFlinkConfig().getConfiguration().putAll(config.getConfigJson());
 
         //        if (config.isJarTask()) {
@@ -979,15 +1029,82 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
                 sql += flinkWithSql + CommonConstant.LineSep;
             }
         }
+        return sql + buildEnvTaskSql(task);
+    }
 
+    /** 任务所用环境的语句，不含数据源变量 */
+    private String buildEnvTaskSql(Task task) {
         boolean isEnvIdValid = Asserts.isNotNull(task.getEnvId()) && task.getEnvId() != 0;
         if (isEnvIdValid) {
             Task envTask = getTaskInfoById(task.getEnvId());
             if (Asserts.isNotNull(envTask) && Asserts.isNotNullString(envTask.getStatement())) {
-                sql += envTask.getStatement() + CommonConstant.LineSep;
+                return envTask.getStatement() + CommonConstant.LineSep;
             }
         }
-        return sql;
+        return "";
+    }
+
+    private String getJobBundlePath(Task task) {
+        return StrUtil.format("{}/{}/{}.bundle", jobBundleProperties.getPath(), task.getId(), task.getVersionId());
+    }
+
+    /**
+     * 将发布版本的语句、配置及依赖清单写为作业包，application 模式启动时一次读取。
+     * 数据源连接信息和全局变量可能包含密码，不写入作业包，由作业启动时从数据库读取。
+     */
+    private void writeJobBundle(Task task) throws IOException {
+        if (!SystemConfiguration.getInstances().getResourcesEnable().getValue()) {
+            throw new BusException("the job bundle requires the resource center (HDFS/OSS) to be enabled");
+        }
+        BaseResourceManager.getInstance().putFile(getJobBundlePath(task), buildJobBundle(task).toBytes());
+    }
+
+    private JobBundle buildJobBundle(Task task) throws JsonProcessingException {
+        JobBundle bundle = new JobBundle();
+        bundle.setTaskId(task.getId());
+        bundle.setTaskVersion(task.getVersionId());
+        bundle.setCreateTime(System.currentTimeMillis());
+
+        Map<String, String> taskConfig = bundle.getTaskConfig();
+        taskConfig.put("id", String.valueOf(task.getId()));
+        taskConfig.put("type", task.getType());
+        taskConfig.put(ExecutorSetting.JOB_NAME, task.getName());
+        taskConfig.put(ExecutorSetting.CHECKPOINT_CONST, Objects.toString(task.getCheckPoint(), null));
+        taskConfig.put(ExecutorSetting.PARALLELISM_CONST, Objects.toString(task.getParallelism(), null));
+        taskConfig.put(ExecutorSetting.SAVE_POINT_PATH, task.getSavePointPath());
+        taskConfig.put(ExecutorSetting.USE_SQL_FRAGMENT, Boolean.TRUE.equals(task.getFragment()) ? "1" : "0");
+        taskConfig.put(ExecutorSetting.USE_STATEMENT_SET, Boolean.TRUE.equals(task.getStatementSet()) ? "1" : "0");
+        taskConfig.put(ExecutorSetting.USE_BATCH_MODEL, Boolean.TRUE.equals(task.getBatchModel()) ? "1" : "0");
+        if (Asserts.isNotNull(task.getConfigJson())) {
+            taskConfig.put(
+                    ExecutorSetting.CONFIG_CONST,
+                    mapper.writeValueAsString(task.getConfigJson().getCustomConfig()));
+        }
+
+        // 与 Submitter 中一致：去掉注释后为空的语句跳过；以变量开头的语句替换变量后才能识别类型
+        for (String statement : SqlUtil.getStatements(buildEnvTaskSql(task) + task.getStatement())) {
+            String sql = SqlUtil.removeNote(statement).trim();
+            if (sql.isEmpty()) {
+                continue;
+            }
+            String type = sql.startsWith("$") ? null : Operations.getOperationType(sql).name();
+            bundle.getStatements().add(new JobBundle.BundleStatement(statement, type));
+        }
+
+        File depManifestFile = FileUtil.file(PathConstant.getUdfPackagePath(task.getId()) + PathConstant.DEP_MANIFEST);
+        if (depManifestFile.exists()) {
+            FlinkUdfManifest manifest =
+                    JSONUtil.toBean(FileUtil.readUtf8String(depManifestFile), FlinkUdfManifest.class);
+            bundle.setJars(toStrings(manifest.getJars()));
+            bundle.setPythonFiles(toStrings(manifest.getPythonFiles()));
+        }
+        return bundle;
+    }
+
+    private static List<String> toStrings(List<?> items) {
+        return Asserts.isNullCollection(items)
+                ? new ArrayList<>()
+                : items.stream().map(Convert::toStr).collect(Collectors.toList());
     }
 
     private void buildRowPermission() {
@@ -39,6 +39,13 @@ public interface BaseResourceManager {
 
     void putFile(String path, MultipartFile file);
 
+    void putFile(String path, byte[] content);
+
+    /** 带 scheme 的完整地址，供集群中的作业直接读取 */
+    String getFileUri(String path);
+
+    boolean exists(String path);
+
     String getFileContent(String path);
 
     InputStream getFile(String path);
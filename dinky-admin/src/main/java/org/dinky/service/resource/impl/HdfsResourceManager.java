@@ -66,6 +66,29 @@ public class HdfsResourceManager implements BaseResourceManager {
         }
     }
 
+    @Override
+    public void putFile(String path, byte[] content) {
+        try (FSDataOutputStream stream = getHdfs().create(new Path(getFilePath(path)), true)) {
+            stream.write(content);
+        } catch (IOException e) {
+            throw BusException.valueOf("file.upload.failed", e);
+        }
+    }
+
+    @Override
+    public String getFileUri(String path) {
+        return getHdfs().makeQualified(new Path(getFilePath(path))).toString();
+    }
+
+    @Override
+    public boolean exists(String path) {
+        try {
+            return getHdfs().exists(new Path(getFilePath(path)));
+        } catch (IOException e) {
+            throw BusException.valueOf("file.read.failed", e);
+        }
+    }
+
     @Override
     public String getFileContent(String path) {
         return IoUtil.readUtf8(getFile(path));
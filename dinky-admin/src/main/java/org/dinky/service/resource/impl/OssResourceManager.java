@@ -24,6 +24,7 @@ import org.dinky.process.exception.DinkyException;
 import org.dinky.service.resource.BaseResourceManager;
 import org.dinky.utils.OssTemplate;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 
 import org.springframework.web.multipart.MultipartFile;
@@ -63,6 +64,27 @@ public class OssResourceManager implements BaseResourceManager {
         }
     }
 
+    @Override
+    public void putFile(String path, byte[] content) {
+        getOssTemplate()
+                .putObject(
+                        getOssTemplate().getBucketName(),
+                        getFilePath(path),
+                        new ByteArrayInputStream(content),
+                        content.length,
+                        "application/octet-stream");
+    }
+
+    @Override
+    public String getFileUri(String path) {
+        return "s3://" + getOssTemplate().getBucketName() + getFilePath(path);
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return getOssTemplate().getAmazonS3().doesObjectExist(getOssTemplate().getBucketName(), getFilePath(path));
+    }
+
     @Override
     public String getFileContent(String path) {
         return IoUtil.readUtf8(getFile(path));
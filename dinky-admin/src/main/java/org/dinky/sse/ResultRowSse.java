@@ -0,0 +1,148 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.sse;
+
+import org.dinky.data.result.ResultRowDelta;
+import org.dinky.job.JobManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes the rows of running SELECT previews to the Studio.
+ * <p>
+ * Every subscriber remembers the last sequence it received. Each tick only the rows added and retracted after it are
+ * serialized and sent, and the emitter is completed once the collector has finished and the last rows were sent.
+ * A subscriber may come before the preview is put into the result pool, it waits up to {@link #REGISTER_TIMEOUT}
+ * for the preview to appear. Once seen, a preview that is removed from the pool completes the emitter.
+ * </p>
+ */
+@Slf4j
+public class ResultRowSse {
+
+    private static final long PUSH_INTERVAL = 500;
+    private static final long REGISTER_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+
+    private static final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    static {
+        ScheduledExecutorService pusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ResultRowSse-Pusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pusher.scheduleWithFixedDelay(ResultRowSse::push, PUSH_INTERVAL, PUSH_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    private ResultRowSse() {}
+
+    /**
+     * Subscribe to the rows of a preview.
+     *
+     * @param jobId the Flink job id of the preview
+     * @param emitter the emitter to push to
+     * @param sequence the last sequence the client has, 0 to start with a snapshot
+     */
+    public static SseEmitter subscribe(String jobId, SseEmitter emitter, long sequence) {
+        Subscriber subscriber = new Subscriber(emitter, sequence);
+        subscribers.computeIfAbsent(jobId, k -> new CopyOnWriteArrayList<>()).add(subscriber);
+        Runnable unsubscribe = () -> unsubscribe(jobId, subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+
+    private static void unsubscribe(String jobId, Subscriber subscriber) {
+        subscribers.computeIfPresent(jobId, (k, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    static void push() {
+        for (Map.Entry<String, List<Subscriber>> entry : new ArrayList<>(subscribers.entrySet())) {
+            String jobId = entry.getKey();
+            try {
+                // Subscribers at the same sequence share one delta.
+                Map<Long, ResultRowDelta> deltas = new HashMap<>();
+                for (Subscriber subscriber : entry.getValue()) {
+                    ResultRowDelta delta = deltas.computeIfAbsent(
+                            subscriber.sequence, sequence -> JobManager.getJobDataSince(jobId, sequence));
+                    push(jobId, subscriber, delta);
+                }
+            } catch (Exception e) {
+                log.warn("Push rows of job {} failed: {}", jobId, e.getMessage());
+            }
+        }
+    }
+
+    private static void push(String jobId, Subscriber subscriber, ResultRowDelta delta) {
+        if (!delta.isAvailable()) {
+            if (subscriber.seen || System.currentTimeMillis() - subscriber.subscribeTime >= REGISTER_TIMEOUT) {
+                subscriber.emitter.complete();
+                unsubscribe(jobId, subscriber);
+            }
+            return;
+        }
+        subscriber.seen = true;
+        boolean changed = delta.isReset() || delta.getSequence() != subscriber.sequence;
+        try {
+            if (changed || delta.isFinished()) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(delta.getSequence()))
+                        .data(delta));
+                subscriber.sequence = delta.getSequence();
+            }
+            if (delta.isFinished()) {
+                subscriber.emitter.complete();
+                unsubscribe(jobId, subscriber);
+            }
+        } catch (Exception e) {
+            log.debug("Send rows of job {} failed, drop the subscriber: {}", jobId, e.getMessage());
+            unsubscribe(jobId, subscriber);
+        }
+    }
+
+    private static class Subscriber {
+
+        private final SseEmitter emitter;
+        private final long subscribeTime = System.currentTimeMillis();
+        private volatile long sequence;
+        /** Whether the preview was in the result pool at a push to this subscriber. */
+        private volatile boolean seen;
+
+        private Subscriber(SseEmitter emitter, long sequence) {
+            this.emitter = emitter;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -37,10 +37,10 @@ import org.apache.paimon.predicate.PredicateBuilder;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.schema.Schema;
 import org.apache.paimon.table.Table;
-import org.apache.paimon.table.sink.BatchTableCommit;
-import org.apache.paimon.table.sink.BatchTableWrite;
-import org.apache.paimon.table.sink.BatchWriteBuilder;
 import org.apache.paimon.table.sink.CommitMessage;
+import org.apache.paimon.table.sink.StreamTableCommit;
+import org.apache.paimon.table.sink.StreamTableWrite;
+import org.apache.paimon.table.sink.StreamWriteBuilder;
 import org.apache.paimon.table.source.ReadBuilder;
 import org.apache.paimon.table.source.Split;
 import org.apache.paimon.table.source.TableRead;
@@ -55,7 +55,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
-import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.date.TimeInterval;
 import cn.hutool.core.util.ReflectUtil;
@@ -72,6 +71,7 @@ public class PaimonUtil {
             CatalogContext.create(new Path(URLUtil.toURI(URLUtil.url(PathConstant.TMP_PATH + "paimon"))));
     private static final Catalog CATALOG = CatalogFactory.createCatalog(CONTEXT);
     public static final Identifier METRICS_IDENTIFIER = Identifier.create(DINKY_DB, "dinky_metrics");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     static {
         try {
@@ -99,36 +99,69 @@ public class PaimonUtil {
         SCHEMA_MAP.put(METRICS_IDENTIFIER, schema);
     }
 
-    public static synchronized void writeMetrics(List<MetricsVO> metricsList) {
-        if (CollUtil.isEmpty(metricsList)) {
-            return;
+    /**
+     * Open a writer of the metrics table, the caller owns it and has to close it.
+     */
+    public static MetricsWriter createMetricsWriter() {
+        return new MetricsWriter(createOrGetMetricsTable());
+    }
+
+    private static BinaryRow toMetricsRow(MetricsVO metrics) {
+        LocalDateTime heartTime = metrics.getHeartTime();
+        BinaryRow row = new BinaryRow(4);
+        BinaryRowWriter writer = new BinaryRowWriter(row);
+        writer.writeTimestamp(0, Timestamp.fromLocalDateTime(heartTime), 3);
+        writer.writeString(1, BinaryString.fromString(metrics.getModel()));
+        writer.writeString(2, BinaryString.fromString(JSONUtil.toJsonStr(metrics.getContent())));
+        writer.writeString(3, BinaryString.fromString(heartTime.format(DATE_FORMATTER)));
+        writer.complete();
+        return row;
+    }
+
+    /**
+     * Keeps one stream write of the metrics table open, every commit turns the rows written since the last commit
+     * into one snapshot. Not thread safe.
+     */
+    public static class MetricsWriter implements AutoCloseable {
+
+        private final StreamTableWrite write;
+        private final StreamTableCommit commit;
+        private long commitIdentifier = 0;
+        private int pendingCount = 0;
+
+        private MetricsWriter(Table table) {
+            StreamWriteBuilder writeBuilder = table.newStreamWriteBuilder();
+            this.write = writeBuilder.newWrite();
+            this.commit = writeBuilder.newCommit();
+        }
+
+        public void write(MetricsVO metrics) throws Exception {
+            write.write(toMetricsRow(metrics));
+            pendingCount++;
         }
-        Table metricsTable = createOrGetMetricsTable();
-        BatchWriteBuilder writeBuilder = metricsTable.newBatchWriteBuilder();
-
-        // 2. Write records in distributed tasks
-
-        try (BatchTableWrite write = writeBuilder.newWrite()) {
-            for (MetricsVO metrics : metricsList) {
-                LocalDateTime now = metrics.getHeartTime();
-
-                BinaryRow row = new BinaryRow(30);
-                BinaryRowWriter writer = new BinaryRowWriter(row);
-                writer.writeTimestamp(0, Timestamp.fromLocalDateTime(now), 3);
-                writer.writeString(1, BinaryString.fromString(metrics.getModel()));
-                writer.writeString(2, BinaryString.fromString(JSONUtil.toJsonStr(metrics.getContent())));
-                writer.writeString(3, BinaryString.fromString(now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"))));
-                write.write(row);
-            }
-            List<CommitMessage> messages = write.prepareCommit();
 
-            // 3. Collect all CommitMessages to a global node and commit
-            try (BatchTableCommit commit = writeBuilder.newCommit()) {
-                commit.commit(messages);
+        /** @return the number of rows written since the last commit */
+        public int getPendingCount() {
+            return pendingCount;
+        }
+
+        public void commit() throws Exception {
+            if (pendingCount == 0) {
+                return;
             }
+            List<CommitMessage> messages = write.prepareCommit(false, commitIdentifier);
+            commit.commit(commitIdentifier, messages);
+            commitIdentifier++;
+            pendingCount = 0;
+        }
 
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        @Override
+        public void close() throws Exception {
+            try {
+                write.close();
+            } finally {
+                commit.close();
+            }
         }
     }
 
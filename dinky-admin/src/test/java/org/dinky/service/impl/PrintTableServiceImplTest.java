@@ -20,8 +20,18 @@
 package org.dinky.service.impl;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 class PrintTableServiceImplTest {
 
@@ -34,4 +44,48 @@ class PrintTableServiceImplTest {
         result = PrintTableServiceImpl.getDestination("Orders");
         assertEquals("/topic/table/`default_catalog`.`default_database`.`print_Orders`", result);
     }
+
+    @Test
+    void printTableBufferDropsOldest() {
+        PrintTableServiceImpl.PrintTableBuffer buffer = new PrintTableServiceImpl.PrintTableBuffer(3);
+        List<String> rows = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            buffer.offer("row" + i);
+        }
+        assertEquals(2, buffer.drainTo(rows));
+        assertEquals(Arrays.asList("row3", "row4", "row5"), rows);
+
+        rows.clear();
+        buffer.offer("row6");
+        assertEquals(0, buffer.drainTo(rows));
+        assertEquals(Arrays.asList("row6"), rows);
+    }
+
+    @Test
+    void targetSendsQueuedBatches() throws Exception {
+        SseEmitter emitter = mock(SseEmitter.class);
+        PrintTableServiceImpl.Target target = PrintTableServiceImpl.Target.of(emitter, "/topic/table/t");
+
+        PrintTableServiceImpl.PrintTableBatch batch =
+                new PrintTableServiceImpl.PrintTableBatch(1, Arrays.asList("a", "b"));
+
+        assertTrue(target.enqueue(batch, Runnable::run));
+        verify(emitter, times(3)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void slowTargetIsRefused() {
+        PrintTableServiceImpl.Target target =
+                PrintTableServiceImpl.Target.of(mock(SseEmitter.class), "/topic/table/t");
+        PrintTableServiceImpl.PrintTableBatch batch =
+                new PrintTableServiceImpl.PrintTableBatch(0, Collections.singletonList("a"));
+        List<Runnable> scheduled = new ArrayList<>();
+
+        int accepted = 0;
+        while (target.enqueue(batch, scheduled::add)) {
+            accepted++;
+        }
+        assertEquals(20, accepted);
+        assertEquals(1, scheduled.size());
+    }
 }
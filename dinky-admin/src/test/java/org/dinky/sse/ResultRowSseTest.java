@@ -0,0 +1,64 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.sse;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.dinky.data.result.ResultPool;
+import org.dinky.data.result.ResultRowBuffer;
+import org.dinky.data.result.SelectResult;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class ResultRowSseTest {
+
+    @Test
+    void subscriberBeforePutWaitsForThePreview() throws Exception {
+        String jobId = "subscribe-before-put";
+        SseEmitter emitter = mock(SseEmitter.class);
+        ResultRowSse.subscribe(jobId, emitter, 0);
+
+        ResultRowSse.push();
+        verify(emitter, never()).complete();
+        verify(emitter, never()).send(any(SseEmitter.SseEventBuilder.class));
+
+        ResultRowBuffer buffer = new ResultRowBuffer(Collections.singletonList("id"), false);
+        buffer.add(new Object[] {1});
+        ResultPool.put(new SelectResult(jobId, buffer));
+        try {
+            ResultRowSse.push();
+            verify(emitter, atLeastOnce()).send(any(SseEmitter.SseEventBuilder.class));
+            verify(emitter, never()).complete();
+        } finally {
+            ResultPool.remove(jobId);
+        }
+
+        // removed after the subscriber saw it
+        ResultRowSse.push();
+        verify(emitter, atLeastOnce()).complete();
+    }
+}
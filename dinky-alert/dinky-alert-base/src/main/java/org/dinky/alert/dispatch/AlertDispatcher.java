@@ -0,0 +1,290 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.alert.dispatch;
+
+import org.dinky.alert.Alert;
+import org.dinky.alert.AlertResult;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import cn.hutool.core.text.StrFormatter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends alerts of all alert plugins off the calling thread.
+ * <ul>
+ *   <li>Messages with the same dedup key are sent only once within {@link #DEDUP_WINDOW}, a key counts as sent
+ *   once its message was sent successfully.</li>
+ *   <li>Every alert instance has its own queue and token bucket, at most {@link #RATE_PER_MINUTE} messages per
+ *   minute are sent through one instance.</li>
+ *   <li>Messages that queue up while an instance is rate limited are merged into one digest message.</li>
+ *   <li>Failed sends are retried with exponential backoff.</li>
+ *   <li>Results are handed to the {@link AlertHistoryWriter} in batches, messages dropped by a full send queue
+ *   are recorded as failed.</li>
+ * </ul>
+ * Alert instances are reused through {@link org.dinky.alert.AlertPool}.
+ */
+@Slf4j
+public class AlertDispatcher {
+
+    private static final long DEDUP_WINDOW = TimeUnit.MINUTES.toMillis(5);
+    private static final int RATE_PER_MINUTE = 20;
+    private static final int BURST = 5;
+    private static final int MAX_DIGEST_SIZE = 20;
+    private static final int MAX_PENDING_PER_INSTANCE = 1000;
+    private static final int MAX_RETRIES = 3;
+    private static final long RETRY_BACKOFF = 2000;
+    private static final long TICK = 1000;
+    private static final int SEND_THREADS = 4;
+    /** Batches waiting for a sender thread, across all instances. */
+    private static final int MAX_QUEUED_SENDS = 200;
+
+    private final AlertHistoryWriter historyWriter;
+
+    private final Map<String, Long> sentKeys = new ConcurrentHashMap<>();
+
+    /** Dedup keys of messages queued or being sent, a duplicate of them is not queued again. */
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+
+    private final Queue<AlertRecord> records = new ConcurrentLinkedQueue<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    private final ThreadPoolExecutor sender;
+
+    private final AtomicLong dedupCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    public AlertDispatcher(AlertHistoryWriter historyWriter) {
+        this.historyWriter = historyWriter;
+        AtomicInteger threadNum = new AtomicInteger();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> newThread(r, "Alert-Dispatcher"));
+        this.sender = new ThreadPoolExecutor(
+                SEND_THREADS,
+                SEND_THREADS,
+                60,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_SENDS),
+                r -> newThread(r, "Alert-Sender-" + threadNum.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.sender.allowCoreThreadTimeOut(true);
+        this.scheduler.scheduleWithFixedDelay(this::tick, TICK, TICK, TimeUnit.MILLISECONDS);
+    }
+
+    private static Thread newThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Queue a message to be sent.
+     *
+     * @param message the alert message
+     * @return false if the message is a duplicate within the dedup window or the instance queue is full
+     */
+    public boolean dispatch(AlertMessage message) {
+        String dedupKey = message.getDedupKey();
+        if (dedupKey != null) {
+            Long sentTime = sentKeys.get(dedupKey);
+            if ((sentTime != null && System.currentTimeMillis() - sentTime < DEDUP_WINDOW)
+                    || !pendingKeys.add(dedupKey)) {
+                dedupCount.incrementAndGet();
+                return false;
+            }
+        }
+        Channel channel = channels.computeIfAbsent(message.getConfig().getName(), k -> new Channel());
+        if (!channel.offer(message)) {
+            releaseKey(message, false);
+            droppedCount.incrementAndGet();
+            log.warn(
+                    "Alert queue of instance {} is full, alert {} is dropped",
+                    message.getConfig().getName(),
+                    message.getTitle());
+            return false;
+        }
+        return true;
+    }
+
+    /** Called once the message has its final result, only a sent message suppresses its duplicates. */
+    private void releaseKey(AlertMessage message, boolean sent) {
+        String dedupKey = message.getDedupKey();
+        if (dedupKey == null) {
+            return;
+        }
+        if (sent) {
+            sentKeys.put(dedupKey, System.currentTimeMillis());
+        }
+        pendingKeys.remove(dedupKey);
+    }
+
+    private void execute(List<AlertMessage> batch, int attempt) {
+        try {
+            sender.execute(() -> send(batch, attempt));
+        } catch (RejectedExecutionException e) {
+            droppedCount.addAndGet(batch.size());
+            log.warn("Alert send queue is full, {} alerts are dropped", batch.size());
+            complete(batch, new AlertResult(false, "Alert send queue is full, the alert is dropped"));
+        }
+    }
+
+    private void complete(List<AlertMessage> batch, AlertResult result) {
+        for (AlertMessage message : batch) {
+            releaseKey(message, result.getSuccess());
+            records.add(new AlertRecord(message, result));
+        }
+    }
+
+    private void tick() {
+        try {
+            channels.values().forEach(Channel::drain);
+            flushRecords();
+            long now = System.currentTimeMillis();
+            sentKeys.entrySet().removeIf(e -> now - e.getValue() >= DEDUP_WINDOW);
+        } catch (Exception e) {
+            log.error("Alert dispatch failed: ", e);
+        }
+    }
+
+    private void flushRecords() {
+        if (records.isEmpty()) {
+            return;
+        }
+        List<AlertRecord> batch = new ArrayList<>();
+        AlertRecord record;
+        while ((record = records.poll()) != null) {
+            batch.add(record);
+        }
+        try {
+            historyWriter.write(batch);
+        } catch (Exception e) {
+            log.error("Write {} alert histories failed: ", batch.size(), e);
+        }
+    }
+
+    private void send(List<AlertMessage> batch, int attempt) {
+        AlertMessage first = batch.get(0);
+        AlertResult result;
+        try {
+            Alert alert = Alert.build(first.getConfig());
+            result = batch.size() == 1
+                    ? alert.send(first.getTitle(), first.getContent())
+                    : alert.send(digestTitle(batch), digestContent(batch));
+        } catch (Exception e) {
+            result = new AlertResult(false, e.getMessage());
+        }
+        if (!result.getSuccess() && attempt < MAX_RETRIES) {
+            long backoff = RETRY_BACKOFF << attempt;
+            log.warn(
+                    "Send alert {} through {} failed, retry in {}ms: {}",
+                    first.getTitle(),
+                    first.getConfig().getName(),
+                    backoff,
+                    result.getMessage());
+            scheduler.schedule(() -> execute(batch, attempt + 1), backoff, TimeUnit.MILLISECONDS);
+            return;
+        }
+        complete(batch, result);
+    }
+
+    private static String digestTitle(List<AlertMessage> batch) {
+        return StrFormatter.format("{} (+{} more alerts)", batch.get(0).getTitle(), batch.size() - 1);
+    }
+
+    private static String digestContent(List<AlertMessage> batch) {
+        StringBuilder content = new StringBuilder();
+        for (AlertMessage message : batch) {
+            if (content.length() > 0) {
+                content.append("\n\n---\n\n");
+            }
+            content.append(message.getContent());
+        }
+        return content.toString();
+    }
+
+    public long getDedupCount() {
+        return dedupCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public int getPendingCount() {
+        return channels.values().stream().mapToInt(Channel::size).sum();
+    }
+
+    /**
+     * The queue and rate limit of one alert instance.
+     */
+    private class Channel {
+
+        private final Deque<AlertMessage> pending = new ArrayDeque<>();
+
+        private final TokenBucket tokenBucket = new TokenBucket(BURST, RATE_PER_MINUTE);
+
+        private synchronized boolean offer(AlertMessage message) {
+            if (pending.size() >= MAX_PENDING_PER_INSTANCE) {
+                return false;
+            }
+            pending.addLast(message);
+            return true;
+        }
+
+        private synchronized int size() {
+            return pending.size();
+        }
+
+        private void drain() {
+            while (true) {
+                List<AlertMessage> batch;
+                synchronized (this) {
+                    if (pending.isEmpty() || !tokenBucket.tryAcquire()) {
+                        return;
+                    }
+                    batch = new ArrayList<>(Math.min(pending.size(), MAX_DIGEST_SIZE));
+                    while (!pending.isEmpty() && batch.size() < MAX_DIGEST_SIZE) {
+                        batch.add(pending.pollFirst());
+                    }
+                }
+                execute(batch, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.alert.dispatch;
+
+import org.dinky.alert.AlertConfig;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * An alert waiting to be sent by the {@link AlertDispatcher}.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class AlertMessage {
+
+    /** The alert instance the message is sent through, instances are reused by name. */
+    private final AlertConfig config;
+
+    private final String title;
+
+    private final String content;
+
+    /** Messages with the same key are only sent once within the dedup window, e.g. rule + job. */
+    private final String dedupKey;
+
+    private final Integer tenantId;
+
+    private final Integer alertGroupId;
+
+    private final Integer jobInstanceId;
+}
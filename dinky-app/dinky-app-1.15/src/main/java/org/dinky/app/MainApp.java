@@ -19,15 +19,9 @@
 
 package org.dinky.app;
 
-import org.dinky.app.db.DBConfig;
 import org.dinky.app.flinksql.Submitter;
-import org.dinky.assertion.Asserts;
-import org.dinky.constant.FlinkParamConstant;
 import org.dinky.utils.FlinkBaseUtil;
 
-import java.io.IOException;
-import java.util.Map;
-
 /**
  * MainApp
  *
@@ -35,11 +29,7 @@ import java.util.Map;
  */
 public class MainApp {
 
-    public static void main(String[] args) throws IOException {
-        Map<String, String> params = FlinkBaseUtil.getParamsFromArgs(args);
-        String id = params.get(FlinkParamConstant.ID);
-        Asserts.checkNullString(id, "请配置入参 id ");
-        DBConfig dbConfig = DBConfig.build(params);
-        Submitter.submit(Integer.valueOf(id), dbConfig, params.get(FlinkParamConstant.DINKY_ADDR));
+    public static void main(String[] args) {
+        Submitter.submit(FlinkBaseUtil.getParamsFromArgs(args));
     }
 }
@@ -27,6 +27,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -37,7 +38,7 @@ import java.util.Map;
  */
 public class DBUtil {
 
-    private static Connection getConnection(DBConfig config) throws IOException {
+    public static Connection getConnection(DBConfig config) throws IOException {
         Connection conn = null;
         try {
             Class.forName(config.getDriver());
@@ -102,6 +103,13 @@ public class DBUtil {
      */
     public static String getDbSourceSQLStatement(String sql, DBConfig config) throws SQLException, IOException {
         Connection conn = getConnection(config);
+        String sqlStatements = getDbSourceSQLStatement(sql, conn);
+        close(conn);
+        return sqlStatements;
+    }
+
+    /** 在给定的连接上查询数据源的连接信息，不关闭连接 */
+    public static String getDbSourceSQLStatement(String sql, Connection conn) throws SQLException {
         String sqlStatements = "";
         try (Statement stmt = conn.createStatement();
                 ResultSet rs = stmt.executeQuery(sql)) {
@@ -109,10 +117,25 @@ public class DBUtil {
                 sqlStatements = sqlStatements + rs.getString(1) + ":=" + rs.getString(2) + "\n;\n";
             }
         }
-        close(conn);
         return sqlStatements;
     }
 
+    /**
+     * 在给定的连接上查询两列的结果，第一列为 key，第二列为 value，按查询顺序返回，不关闭连接
+     *
+     * @param sql 查询SQL，必须只有两列的结果
+     */
+    public static Map<String, String> getKeyValues(String sql, Connection conn) throws SQLException {
+        Map<String, String> map = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                map.put(rs.getString(1), rs.getString(2));
+            }
+        }
+        return map;
+    }
+
     public static List<Map<String, String>> getListByID(String sql, DBConfig config) throws SQLException, IOException {
         Connection conn = getConnection(config);
         List<Map<String, String>> list = new ArrayList<>();
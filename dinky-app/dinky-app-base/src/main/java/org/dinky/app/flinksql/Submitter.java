@@ -22,7 +22,9 @@ package org.dinky.app.flinksql;
 import org.dinky.app.db.DBConfig;
 import org.dinky.app.db.DBUtil;
 import org.dinky.assertion.Asserts;
+import org.dinky.constant.FlinkParamConstant;
 import org.dinky.constant.FlinkSQLConstant;
+import org.dinky.data.model.JobBundle;
 import org.dinky.executor.Executor;
 import org.dinky.executor.ExecutorSetting;
 import org.dinky.interceptor.FlinkInterceptor;
@@ -34,6 +36,8 @@ import org.dinky.utils.ZipUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.flink.configuration.PipelineOptions;
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.core.fs.Path;
 import org.apache.flink.python.PythonOptions;
 
 import java.io.File;
@@ -45,6 +49,7 @@ import java.lang.reflect.Method;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -125,36 +130,95 @@ public class Submitter {
         return Arrays.asList(SqlUtil.getStatements(sql));
     }
 
-    public static String getDbSourceSqlStatements(DBConfig dbConfig, Integer id) {
-        String sql = "select name,flink_config from dinky_database where enabled = 1";
-        String sqlCheck = "select fragment from dinky_task where id = " + id;
-        try {
-            // 首先判断是否开启了全局变量
-            String fragment = DBUtil.getOneByID(sqlCheck, dbConfig);
-            if ("1".equals(fragment)) {
-                return DBUtil.getDbSourceSQLStatement(sql, dbConfig);
-            } else {
-                // 全局变量未开启，返回空字符串
-                logger.info("任务 {} 未开启全局变量，不进行变量加载。");
-                return "";
+    /**
+     * 在一个连接上读取数据源变量和任务所属租户已启用的全局变量。二者可能包含密码，不写入作业包，只在任务开启全局变量时读取
+     *
+     * @param statements 数据源变量按语句追加到其中
+     * @param fragments 全局变量放入其中
+     */
+    private static void loadVariables(
+            DBConfig dbConfig,
+            Integer id,
+            List<JobBundle.BundleStatement> statements,
+            Map<String, String> fragments) {
+        String dbSourceSql = "select name,flink_config from dinky_database where enabled = 1";
+        String fragmentSql = "select name,fragment_value from dinky_fragment where enabled = 1"
+                + " and tenant_id = (select tenant_id from dinky_task where id = " + id + ")";
+        try (Connection conn = DBUtil.getConnection(dbConfig)) {
+            if (conn == null) {
+                throw new SQLException("无法连接数据库");
             }
+            for (String statement : getStatements(DBUtil.getDbSourceSQLStatement(dbSourceSql, conn))) {
+                statements.add(new JobBundle.BundleStatement(statement, null));
+            }
+            fragments.putAll(DBUtil.getKeyValues(fragmentSql, conn));
         } catch (IOException | SQLException e) {
             logger.error(
-                    "{} --> 获取 数据源信息异常，请检查数据库连接，连接信息为：{} ,异常信息为：{}",
+                    "{} --> 获取 数据源信息及全局变量异常，请检查数据库连接，连接信息为：{} ,异常信息为：{}",
                     LocalDateTime.now(),
                     dbConfig.toString(),
                     e.getMessage(),
                     e);
         }
+    }
 
-        return "";
+    /** application 模式的入口，参数中有作业包地址时从作业包提交，否则从数据库读取作业 */
+    public static void submit(Map<String, String> params) {
+        String id = params.get(FlinkParamConstant.ID);
+        Asserts.checkNullString(id, "请配置入参 id ");
+        DBConfig dbConfig = DBConfig.build(params);
+        String dinkyAddr = params.get(FlinkParamConstant.DINKY_ADDR);
+        String bundle = params.get(FlinkParamConstant.BUNDLE);
+        if (Asserts.isNotNullString(bundle)) {
+            submit(
+                    bundle,
+                    Integer.valueOf(id),
+                    dbConfig,
+                    dinkyAddr,
+                    Boolean.parseBoolean(params.get(FlinkParamConstant.FALLBACK_DB)));
+        } else {
+            submit(Integer.valueOf(id), dbConfig, dinkyAddr);
+        }
     }
 
     public static void submit(Integer id, DBConfig dbConfig, String dinkyAddr) {
         logger.info(LocalDateTime.now() + "开始提交作业 -- " + id);
-        if (NULL.equals(dinkyAddr)) {
-            dinkyAddr = "";
+        submit(buildBundle(id, dbConfig), dbConfig, dinkyAddr, true);
+    }
+
+    /**
+     * 从发布时生成的作业包提交作业，只在任务开启全局变量时访问数据库读取数据源变量和全局变量
+     *
+     * @param bundlePath 作业包地址，如 hdfs://、s3:// 路径
+     * @param fallbackToDb 作业包读取失败时是否回退为从数据库读取作业
+     */
+    public static void submit(
+            String bundlePath, Integer id, DBConfig dbConfig, String dinkyAddr, boolean fallbackToDb) {
+        JobBundle bundle;
+        try {
+            bundle = readBundle(bundlePath);
+        } catch (IOException e) {
+            if (!fallbackToDb) {
+                throw new RuntimeException("读取作业包 " + bundlePath + " 失败", e);
+            }
+            logger.warn("读取作业包 {} 失败，从数据库读取作业：{}", bundlePath, e.getMessage());
+            submit(id, dbConfig, dinkyAddr);
+            return;
+        }
+        logger.info("{}开始提交作业 -- {}，作业包版本 {}", LocalDateTime.now(), bundle.getTaskId(), bundle.getTaskVersion());
+        // 作业包中没有依赖时无需下载
+        submit(bundle, dbConfig, dinkyAddr, bundle.hasDependencies());
+    }
+
+    public static JobBundle readBundle(String bundlePath) throws IOException {
+        Path path = new Path(bundlePath);
+        try (FSDataInputStream inputStream = path.getFileSystem().open(path)) {
+            return JobBundle.read(inputStream);
         }
+    }
+
+    /** 从数据库读取作业，与作业包一样只包含环境语句和任务语句，语句类型留空，提交时再识别 */
+    private static JobBundle buildBundle(Integer id, DBConfig dbConfig) {
         StringBuilder sb = new StringBuilder();
         Map<String, String> taskConfig = Submitter.getTaskConfig(id, dbConfig);
 
@@ -165,27 +229,52 @@ public class Submitter {
             }
             sb.append("\n");
         }
-        // 添加数据源全局变量
-        sb.append(getDbSourceSqlStatements(dbConfig, id));
-        // 添加自定义全局变量信息
         sb.append(getFlinkSQLStatement(id, dbConfig));
-        List<String> statements = Submitter.getStatements(sb.toString());
+
+        JobBundle bundle = new JobBundle();
+        bundle.setTaskId(id);
+        bundle.setTaskConfig(taskConfig);
+        bundle.setStatements(Submitter.getStatements(sb.toString()).stream()
+                .map(statement -> new JobBundle.BundleStatement(statement, null))
+                .collect(Collectors.toList()));
+        return bundle;
+    }
+
+    private static void submit(JobBundle bundle, DBConfig dbConfig, String dinkyAddr, boolean loadDependencies) {
+        if (NULL.equals(dinkyAddr)) {
+            dinkyAddr = "";
+        }
+        Map<String, String> taskConfig = bundle.getTaskConfig();
         ExecutorSetting executorSetting = ExecutorSetting.build(taskConfig);
 
+        // 数据源变量和全局变量可能包含密码，不写入作业包，提交时从数据库读取。
+        // 数据源变量放在环境语句之前，与 Dinky 中提交作业时的顺序一致
+        List<JobBundle.BundleStatement> statements = new ArrayList<>();
+        Map<String, String> fragments = new HashMap<>();
+        if (executorSetting.isUseSqlFragment()) {
+            loadVariables(dbConfig, bundle.getTaskId(), statements, fragments);
+        }
+        statements.addAll(bundle.getStatements());
+
         // 加载第三方jar
-        loadDep(taskConfig.get("type"), id, dinkyAddr, executorSetting);
+        if (loadDependencies) {
+            loadDep(taskConfig.get("type"), bundle.getTaskId(), dinkyAddr, executorSetting);
+        }
 
         logger.info("作业配置如下： {}", executorSetting);
         Executor executor = Executor.buildAppStreamExecutor(executorSetting);
+        executor.getSqlManager().registerSqlFragment(fragments);
         List<StatementParam> ddl = new ArrayList<>();
         List<StatementParam> trans = new ArrayList<>();
         List<StatementParam> execute = new ArrayList<>();
-        for (String item : statements) {
-            String statement = FlinkInterceptor.pretreatStatement(executor, item);
+        for (JobBundle.BundleStatement item : statements) {
+            String statement = FlinkInterceptor.pretreatStatement(executor, item.getSql());
             if (statement.isEmpty()) {
                 continue;
             }
-            SqlType operationType = Operations.getOperationType(statement);
+            SqlType operationType = Asserts.isNotNullString(item.getType())
+                    ? SqlType.valueOf(item.getType())
+                    : Operations.getOperationType(statement);
             if (operationType.equals(SqlType.INSERT) || operationType.equals(SqlType.SELECT)) {
                 trans.add(new StatementParam(statement, operationType));
                 if (!executorSetting.isUseStatementSet()) {
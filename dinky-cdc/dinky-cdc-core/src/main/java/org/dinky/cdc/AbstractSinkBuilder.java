@@ -20,7 +20,9 @@
 package org.dinky.cdc;
 
 import org.dinky.assertion.Asserts;
+import org.dinky.cdc.debezium.DebeziumRowDataDeserializer;
 import org.dinky.cdc.utils.FlinkStatementUtil;
+import org.dinky.cdc.utils.TableRouteFunction;
 import org.dinky.data.model.Column;
 import org.dinky.data.model.FlinkCDCConfig;
 import org.dinky.data.model.Schema;
@@ -28,7 +30,6 @@ import org.dinky.data.model.Table;
 import org.dinky.executor.CustomTableEnvironment;
 import org.dinky.utils.JSONUtil;
 
-import org.apache.flink.api.common.functions.FilterFunction;
 import org.apache.flink.api.common.functions.FlatMapFunction;
 import org.apache.flink.api.common.functions.MapFunction;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
@@ -60,11 +61,13 @@ import org.apache.flink.types.RowKind;
 import org.apache.flink.util.Collector;
 import org.apache.flink.util.OutputTag;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -130,19 +133,19 @@ public abstract class AbstractSinkBuilder implements SinkBuilder {
         return properties;
     }
 
-    protected SingleOutputStreamOperator<Map> deserialize(DataStreamSource<String> dataStreamSource) {
-        return dataStreamSource.map((MapFunction<String, Map>) value -> objectMapper.readValue(value, Map.class));
+    protected SingleOutputStreamOperator<Map> deserialize(DataStream<String> dataStream) {
+        return dataStream.map((MapFunction<String, Map>) value -> objectMapper.readValue(value, Map.class));
     }
 
-    protected SingleOutputStreamOperator<Map> shunt(
-            SingleOutputStreamOperator<Map> mapOperator, Table table, String schemaFieldName) {
-        final String tableName = table.getName();
-        final String schemaName = table.getSchema();
-        return mapOperator.filter((FilterFunction<Map>) value -> {
-            LinkedHashMap source = (LinkedHashMap) value.get("source");
-            return tableName.equals(source.get("table").toString())
-                    && schemaName.equals(source.get(schemaFieldName).toString());
-        });
+    /** Routes the raw debezium json records to the side output of their table without deserializing them. */
+    protected SingleOutputStreamOperator<String> route(
+            DataStream<String> dataStream, Map<Table, OutputTag<String>> tagMap, String schemaFieldName) {
+        Map<String, OutputTag<String>> routes = new HashMap<>();
+        tagMap.forEach((table, tag) -> routes.put(table.getSchemaTableName(), tag));
+        return dataStream
+                .process(TableRouteFunction.ofJson(routes, schemaFieldName))
+                .returns(String.class)
+                .name("Route");
     }
 
     protected DataStream<Map> shunt(SingleOutputStreamOperator<Map> processOperator, Table table, OutputTag<Map> tag) {
@@ -150,31 +153,47 @@ public abstract class AbstractSinkBuilder implements SinkBuilder {
         return processOperator.getSideOutput(tag);
     }
 
-    @SuppressWarnings("rawtypes")
     protected DataStream<RowData> buildRowData(
-            SingleOutputStreamOperator<Map> filterOperator,
+            DataStream<String> filterOperator,
             List<String> columnNameList,
             List<LogicalType> columnTypeList,
             String schemaTableName) {
-        return filterOperator.flatMap(sinkRowDataFunction(columnNameList, columnTypeList, schemaTableName));
+        return filterOperator.flatMap(new DebeziumRowDataDeserializer(
+                columnNameList, createFieldConverters(columnTypeList), schemaTableName, isDropUpdateBefore()));
+    }
+
+    /** Whether updates are emitted as UPDATE_AFTER only, which is enough for upsert sinks. */
+    protected boolean isDropUpdateBefore() {
+        return Boolean.parseBoolean(config.getSink().get(FlinkCDCConfig.DROP_UPDATE_BEFORE));
     }
 
     @SuppressWarnings("rawtypes")
     protected FlatMapFunction<Map, RowData> sinkRowDataFunction(
             List<String> columnNameList, List<LogicalType> columnTypeList, String schemaTableName) {
+        final FieldConverter[] fieldConverters = createFieldConverters(columnTypeList);
+        final boolean dropUpdateBefore = isDropUpdateBefore();
         return (value, out) -> {
             try {
                 switch (value.get("op").toString()) {
                     case "r":
                     case "c":
-                        rowDataCollect(columnNameList, columnTypeList, out, RowKind.INSERT, value);
+                        rowDataCollect(columnNameList, columnTypeList, fieldConverters, out, RowKind.INSERT, value);
                         break;
                     case "d":
-                        rowDataCollect(columnNameList, columnTypeList, out, RowKind.DELETE, value);
+                        rowDataCollect(columnNameList, columnTypeList, fieldConverters, out, RowKind.DELETE, value);
                         break;
                     case "u":
-                        rowDataCollect(columnNameList, columnTypeList, out, RowKind.UPDATE_BEFORE, value);
-                        rowDataCollect(columnNameList, columnTypeList, out, RowKind.UPDATE_BEFORE, value);
+                        if (!dropUpdateBefore) {
+                            rowDataCollect(
+                                    columnNameList,
+                                    columnTypeList,
+                                    fieldConverters,
+                                    out,
+                                    RowKind.UPDATE_BEFORE,
+                                    value);
+                        }
+                        rowDataCollect(
+                                columnNameList, columnTypeList, fieldConverters, out, RowKind.UPDATE_AFTER, value);
                         break;
                     default:
                 }
@@ -193,21 +212,29 @@ public abstract class AbstractSinkBuilder implements SinkBuilder {
     protected void rowDataCollect(
             List<String> columnNameList,
             List<LogicalType> columnTypeList,
+            FieldConverter[] fieldConverters,
             Collector<RowData> out,
             RowKind rowKind,
             Map value) {
+        Map data = getOriginRowData(rowKind, value);
         GenericRowData genericRowData = new GenericRowData(rowKind, columnNameList.size());
         for (int i = 0; i < columnNameList.size(); i++) {
             genericRowData.setField(
-                    i, buildRowDataValues(value, rowKind, columnNameList.get(i), columnTypeList.get(i)));
+                    i,
+                    buildRowDataValues(
+                            value, data, columnNameList.get(i), columnTypeList.get(i), fieldConverters[i]));
         }
         out.collect(genericRowData);
     }
 
+    /**
+     * @param value the whole debezium record
+     * @param data the before or after image of the row
+     */
     @SuppressWarnings("rawtypes")
-    protected Object buildRowDataValues(Map value, RowKind rowKind, String columnName, LogicalType columnType) {
-        Map data = getOriginRowData(rowKind, value);
-        return convertValue(data.get(columnName), columnType);
+    protected Object buildRowDataValues(
+            Map value, Map data, String columnName, LogicalType columnType, FieldConverter fieldConverter) {
+        return fieldConverter.convert(data.get(columnName));
     }
 
     @SuppressWarnings("rawtypes")
@@ -270,22 +297,26 @@ public abstract class AbstractSinkBuilder implements SinkBuilder {
         final String schemaFieldName = config.getSchemaFieldName();
 
         if (Asserts.isNotNullCollection(schemaList)) {
-            SingleOutputStreamOperator<Map> mapOperator = deserialize(dataStreamSource);
+            Map<Table, OutputTag<String>> tagMap = new LinkedHashMap<>();
             for (Schema schema : schemaList) {
                 for (Table table : schema.getTables()) {
-                    SingleOutputStreamOperator<Map> filterOperator = shunt(mapOperator, table, schemaFieldName);
+                    tagMap.put(table, new OutputTag<String>(table.getSchemaTableName()) {});
+                }
+            }
+            SingleOutputStreamOperator<String> routeOperator = route(dataStreamSource, tagMap, schemaFieldName);
+            tagMap.forEach((table, tag) -> {
+                DataStream<String> filterOperator = routeOperator.getSideOutput(tag);
 
-                    List<String> columnNameList = new ArrayList<>();
-                    List<LogicalType> columnTypeList = new ArrayList<>();
+                List<String> columnNameList = new ArrayList<>();
+                List<LogicalType> columnTypeList = new ArrayList<>();
 
-                    buildColumn(columnNameList, columnTypeList, table.getColumns());
+                buildColumn(columnNameList, columnTypeList, table.getColumns());
 
-                    DataStream<RowData> rowDataDataStream =
-                            buildRowData(filterOperator, columnNameList, columnTypeList, table.getSchemaTableName());
+                DataStream<RowData> rowDataDataStream =
+                        buildRowData(filterOperator, columnNameList, columnTypeList, table.getSchemaTableName());
 
-                    addSink(env, rowDataDataStream, table, columnNameList, columnTypeList);
-                }
-            }
+                addSink(env, rowDataDataStream, table, columnNameList, columnTypeList);
+            });
         }
         return dataStreamSource;
     }
@@ -438,11 +469,100 @@ public abstract class AbstractSinkBuilder implements SinkBuilder {
         return Optional.empty();
     }
 
+    protected FieldConverter[] createFieldConverters(List<LogicalType> columnTypeList) {
+        FieldConverter[] fieldConverters = new FieldConverter[columnTypeList.size()];
+        for (int i = 0; i < fieldConverters.length; i++) {
+            fieldConverters[i] = createFieldConverter(columnTypeList.get(i));
+        }
+        return fieldConverters;
+    }
+
+    /**
+     * Delegates to {@link #convertValue}. Only when the builder does not override it, the converter of the column
+     * type is resolved once and reused.
+     */
+    protected FieldConverter createFieldConverter(LogicalType logicalType) {
+        if (isConvertValueOverridden()) {
+            return new ValueFieldConverter(logicalType);
+        }
+        return new TypeFieldConverter(logicalType);
+    }
+
+    private boolean isConvertValueOverridden() {
+        for (Class<?> clazz = getClass(); clazz != AbstractSinkBuilder.class; clazz = clazz.getSuperclass()) {
+            try {
+                clazz.getDeclaredMethod("convertValue", Object.class, LogicalType.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not declared here, look at the superclass
+            }
+        }
+        return false;
+    }
+
+    /** Each converter decides by the logical type alone whether it applies. */
     @FunctionalInterface
     public interface ConvertType {
         Optional<Object> convert(Object target, LogicalType logicalType);
     }
 
+    /** Converts the values of one column. */
+    @FunctionalInterface
+    public interface FieldConverter extends Serializable {
+        Object convert(Object value);
+    }
+
+    /**
+     * Picks the converter of its column type from {@link #typeConverterList} on the first value it converts, so the
+     * list is not walked again for every value of every row.
+     */
+    private class TypeFieldConverter implements FieldConverter {
+
+        private static final long serialVersionUID = 1L;
+
+        private final LogicalType logicalType;
+        private transient ConvertType convertType;
+
+        private TypeFieldConverter(LogicalType logicalType) {
+            this.logicalType = logicalType;
+        }
+
+        @Override
+        public Object convert(Object value) {
+            if (value == null) {
+                return null;
+            }
+            if (convertType != null) {
+                return convertType.convert(value, logicalType).orElse(value);
+            }
+            for (ConvertType candidate : typeConverterList) {
+                Optional<Object> result = candidate.convert(value, logicalType);
+                if (result.isPresent()) {
+                    convertType = candidate;
+                    return result.get();
+                }
+            }
+            return value;
+        }
+    }
+
+    /** Calls {@link #convertValue} for every value, for builders that override it. */
+    private class ValueFieldConverter implements FieldConverter {
+
+        private static final long serialVersionUID = 1L;
+
+        private final LogicalType logicalType;
+
+        private ValueFieldConverter(LogicalType logicalType) {
+            this.logicalType = logicalType;
+        }
+
+        @Override
+        public Object convert(Object value) {
+            return convertValue(value, logicalType);
+        }
+    }
+
     @Override
     public String getSinkSchemaName(Table table) {
         String schemaName = table.getSchema();
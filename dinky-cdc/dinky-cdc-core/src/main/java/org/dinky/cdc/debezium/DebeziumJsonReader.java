@@ -0,0 +1,116 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.cdc.debezium;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonParser;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonToken;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * Streaming reads of debezium json change records.
+ *
+ * <p>Values are read into the same java types as {@code objectMapper.readValue(value, Map.class)} produces, so the
+ * converters of the sink builders see no difference, but no intermediate map is built for the record.
+ */
+public final class DebeziumJsonReader {
+
+    public static final String BEFORE = "before";
+    public static final String AFTER = "after";
+    public static final String SOURCE = "source";
+    public static final String OP = "op";
+    public static final String TABLE = "table";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private DebeziumJsonReader() {}
+
+    public static JsonParser createParser(String json) throws IOException {
+        JsonParser parser = MAPPER.getFactory().createParser(json);
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            parser.close();
+            throw new IOException("Debezium record is not a json object: " + json);
+        }
+        return parser;
+    }
+
+    /**
+     * Reads the schema and table name from the source block of a record and skips everything else without
+     * building values.
+     *
+     * @return {schemaName, tableName}, or null if the record has no source block
+     */
+    public static String[] readSourceTable(String json, String schemaFieldName) throws IOException {
+        try (JsonParser parser = createParser(json)) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (SOURCE.equals(fieldName) && token == JsonToken.START_OBJECT) {
+                    return readSourceTable(parser, schemaFieldName);
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    private static String[] readSourceTable(JsonParser parser, String schemaFieldName) throws IOException {
+        String schemaName = null;
+        String tableName = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+                if (fieldName.equals(schemaFieldName)) {
+                    schemaName = parser.getText();
+                } else if (TABLE.equals(fieldName)) {
+                    tableName = parser.getText();
+                }
+                if (schemaName != null && tableName != null) {
+                    return new String[] {schemaName, tableName};
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return null;
+    }
+
+    /** Reads the current value the way the untyped map deserialization does. */
+    public static Object readValue(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            default:
+                return MAPPER.readValue(parser, Object.class);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.cdc.debezium;
+
+import org.dinky.cdc.AbstractSinkBuilder.FieldConverter;
+
+import org.apache.flink.api.common.functions.FlatMapFunction;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonParser;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonToken;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Collector;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decodes the before and after images of a debezium json record straight into {@link GenericRowData} of a known
+ * table schema.
+ *
+ * <p>The record is read with a streaming parser. Each field of an image is placed by a precomputed name to index
+ * map and converted with the field converter of its column, fields that are not in the schema are skipped
+ * without being built. An update emits UPDATE_BEFORE and UPDATE_AFTER, or only UPDATE_AFTER for upsert sinks.
+ */
+public class DebeziumRowDataDeserializer implements FlatMapFunction<String, RowData> {
+
+    private static final long serialVersionUID = 1L;
+    private static final Logger logger = LoggerFactory.getLogger(DebeziumRowDataDeserializer.class);
+
+    private final String schemaTableName;
+    private final FieldConverter[] fieldConverters;
+    private final Map<String, Integer> fieldIndex;
+    private final boolean dropUpdateBefore;
+
+    public DebeziumRowDataDeserializer(
+            List<String> columnNameList,
+            FieldConverter[] fieldConverters,
+            String schemaTableName,
+            boolean dropUpdateBefore) {
+        this.schemaTableName = schemaTableName;
+        this.fieldConverters = fieldConverters;
+        this.fieldIndex = new HashMap<>(columnNameList.size() * 2);
+        for (int i = 0; i < columnNameList.size(); i++) {
+            fieldIndex.put(columnNameList.get(i), i);
+        }
+        this.dropUpdateBefore = dropUpdateBefore;
+    }
+
+    @Override
+    public void flatMap(String value, Collector<RowData> out) throws Exception {
+        String op = null;
+        Object[] before = null;
+        Object[] after = null;
+        try (JsonParser parser = DebeziumJsonReader.createParser(value)) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (DebeziumJsonReader.BEFORE.equals(fieldName)) {
+                    before = readImage(parser, token);
+                } else if (DebeziumJsonReader.AFTER.equals(fieldName)) {
+                    after = readImage(parser, token);
+                } else if (DebeziumJsonReader.OP.equals(fieldName) && token == JsonToken.VALUE_STRING) {
+                    op = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (Exception e) {
+            logger.error("SchemaTable: {} - Row: {} - Exception: {}", schemaTableName, value, e.toString());
+            throw e;
+        }
+        if (op == null) {
+            return;
+        }
+        switch (op) {
+            case "r":
+            case "c":
+                collect(out, RowKind.INSERT, after);
+                break;
+            case "d":
+                collect(out, RowKind.DELETE, before);
+                break;
+            case "u":
+                if (!dropUpdateBefore) {
+                    collect(out, RowKind.UPDATE_BEFORE, before);
+                }
+                collect(out, RowKind.UPDATE_AFTER, after);
+                break;
+            default:
+        }
+    }
+
+    private Object[] readImage(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        Object[] fields = new Object[fieldConverters.length];
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            Integer index = fieldIndex.get(parser.getCurrentName());
+            parser.nextToken();
+            if (index == null) {
+                parser.skipChildren();
+            } else {
+                fields[index] = fieldConverters[index].convert(DebeziumJsonReader.readValue(parser));
+            }
+        }
+        return fields;
+    }
+
+    private static void collect(Collector<RowData> out, RowKind rowKind, Object[] fields) {
+        if (fields != null) {
+            out.collect(GenericRowData.ofKind(rowKind, fields));
+        }
+    }
+}
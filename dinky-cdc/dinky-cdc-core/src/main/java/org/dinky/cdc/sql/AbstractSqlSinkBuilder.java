@@ -22,6 +22,7 @@ package org.dinky.cdc.sql;
 import org.dinky.assertion.Asserts;
 import org.dinky.cdc.AbstractSinkBuilder;
 import org.dinky.cdc.CDCBuilder;
+import org.dinky.cdc.utils.TableRouteFunction;
 import org.dinky.data.model.FlinkCDCConfig;
 import org.dinky.data.model.Schema;
 import org.dinky.data.model.Table;
@@ -37,7 +38,6 @@ import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
 import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
-import org.apache.flink.streaming.api.functions.ProcessFunction;
 import org.apache.flink.table.types.logical.DecimalType;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.utils.TypeConversions;
@@ -51,7 +51,6 @@ import java.math.BigDecimal;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -68,20 +67,29 @@ public abstract class AbstractSqlSinkBuilder extends AbstractSinkBuilder impleme
     @SuppressWarnings("rawtypes")
     protected FlatMapFunction<Map, Row> sqlSinkRowFunction(
             List<String> columnNameList, List<LogicalType> columnTypeList, String schemaTableName) {
+        final FieldConverter[] fieldConverters = createFieldConverters(columnTypeList);
+        final boolean dropUpdateBefore = isDropUpdateBefore();
         return (value, out) -> {
             try {
                 switch (value.get("op").toString()) {
                     case "r":
                     case "c":
-                        rowCollect(columnNameList, columnTypeList, out, RowKind.INSERT, (Map) value.get("after"));
+                        rowCollect(columnNameList, fieldConverters, out, RowKind.INSERT, (Map) value.get("after"));
                         break;
                     case "d":
-                        rowCollect(columnNameList, columnTypeList, out, RowKind.DELETE, (Map) value.get("before"));
+                        rowCollect(columnNameList, fieldConverters, out, RowKind.DELETE, (Map) value.get("before"));
                         break;
                     case "u":
+                        if (!dropUpdateBefore) {
+                            rowCollect(
+                                    columnNameList,
+                                    fieldConverters,
+                                    out,
+                                    RowKind.UPDATE_BEFORE,
+                                    (Map) value.get("before"));
+                        }
                         rowCollect(
-                                columnNameList, columnTypeList, out, RowKind.UPDATE_BEFORE, (Map) value.get("before"));
-                        rowCollect(columnNameList, columnTypeList, out, RowKind.UPDATE_AFTER, (Map) value.get("after"));
+                                columnNameList, fieldConverters, out, RowKind.UPDATE_AFTER, (Map) value.get("after"));
                         break;
                     default:
                 }
@@ -99,13 +107,13 @@ public abstract class AbstractSqlSinkBuilder extends AbstractSinkBuilder impleme
     @SuppressWarnings("rawtypes")
     private void rowCollect(
             List<String> columnNameList,
-            List<LogicalType> columnTypeList,
+            FieldConverter[] fieldConverters,
             Collector<Row> out,
             RowKind rowKind,
             Map value) {
         Row row = Row.withPositions(rowKind, columnNameList.size());
         for (int i = 0; i < columnNameList.size(); i++) {
-            row.setField(i, convertValue(value.get(columnNameList.get(i)), columnTypeList.get(i)));
+            row.setField(i, fieldConverters[i].convert(value.get(columnNameList.get(i))));
         }
         out.collect(row);
     }
@@ -166,32 +174,28 @@ public abstract class AbstractSqlSinkBuilder extends AbstractSinkBuilder impleme
         SingleOutputStreamOperator<Map> mapOperator =
                 dataStreamSource.map(x -> objectMapper.readValue(x, Map.class)).returns(Map.class);
         Map<String, String> split = config.getSplit();
-        return mapOperator.process(new ProcessFunction<Map, Map>() {
-            @Override
-            public void processElement(Map map, ProcessFunction<Map, Map>.Context ctx, Collector<Map> out) {
-                LinkedHashMap source = (LinkedHashMap) map.get("source");
-                try {
-                    String tableName = createTableName(source, schemaFieldName, split);
-                    OutputTag<Map> outputTag = tagMap.get(tableMap.get(tableName));
-                    ctx.output(outputTag, map);
-                } catch (Exception e) {
-                    logger.error(e.getMessage(), e);
-                    out.collect(map);
-                }
-            }
-        });
+        Map<String, OutputTag<Map>> routes = new HashMap<>();
+        tableMap.forEach((tableName, table) -> routes.put(tableName, tagMap.get(table)));
+        return mapOperator
+                .process(new TableRouteFunction<>(
+                        routes,
+                        TableRouteFunction.SourceTableReader.ofMap(schemaFieldName),
+                        (schemaName, tableName) -> createTableName(schemaName, tableName, split),
+                        value -> value))
+                .returns(Map.class)
+                .name("Route");
     }
 
     protected abstract void addTableSink(
             CustomTableEnvironment customTableEnvironment, DataStream<Row> rowDataDataStream, Table table);
 
     /**
-     * @param source
-     * @param schemaFieldName
+     * @param schemaName
+     * @param tableName
      * @param split must keep for flink use.
      * @return
      */
-    protected abstract String createTableName(LinkedHashMap source, String schemaFieldName, Map<String, String> split);
+    protected abstract String createTableName(String schemaName, String tableName, Map<String, String> split);
 
     @SuppressWarnings("rawtypes")
     @Override
@@ -39,7 +39,6 @@ import org.apache.flink.types.Row;
 import java.io.Serializable;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -135,10 +134,8 @@ public class SQLSinkBuilder extends AbstractSqlSinkBuilder implements Serializab
     }
 
     @Override
-    protected String createTableName(LinkedHashMap source, String schemaFieldName, Map<String, String> split) {
-        return SplitUtil.getReValue(source.get(schemaFieldName).toString(), split)
-                + "."
-                + SplitUtil.getReValue(source.get("table").toString(), split);
+    protected String createTableName(String schemaName, String tableName, Map<String, String> split) {
+        return SplitUtil.getReValue(schemaName, split) + "." + SplitUtil.getReValue(tableName, split);
     }
 
     @Override
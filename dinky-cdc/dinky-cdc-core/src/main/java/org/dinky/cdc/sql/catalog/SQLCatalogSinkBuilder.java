@@ -34,7 +34,6 @@ import org.apache.flink.types.Row;
 
 import java.io.Serializable;
 import java.time.Instant;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -92,9 +91,8 @@ public class SQLCatalogSinkBuilder extends AbstractSqlSinkBuilder implements Ser
     }
 
     @Override
-    protected String createTableName(LinkedHashMap source, String schemaFieldName, Map<String, String> split) {
-        return source.get(schemaFieldName).toString() + "."
-                + source.get("table").toString();
+    protected String createTableName(String schemaName, String tableName, Map<String, String> split) {
+        return schemaName + "." + tableName;
     }
 
     @Override
@@ -0,0 +1,162 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.cdc.utils;
+
+import org.dinky.cdc.debezium.DebeziumJsonReader;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.streaming.api.functions.ProcessFunction;
+import org.apache.flink.util.Collector;
+import org.apache.flink.util.OutputTag;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Routes each debezium change record to the side output of its table in a single pass.
+ *
+ * <p>The output tags are looked up by the {@code schema.table} key. The key of a physical source table
+ * is resolved only once and cached by the schema and table strings of the record, so routing a record costs two
+ * hash lookups instead of one filter per table. Records without a route go to the main output.
+ *
+ * <p>Records may be routed as deserialized maps or as the raw json strings. Json records are passed through
+ * untouched, only the source block is read from them.
+ */
+@SuppressWarnings("rawtypes")
+public class TableRouteFunction<I, T> extends ProcessFunction<I, T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableRouteFunction.class);
+
+    private final Map<String, OutputTag<T>> routes;
+    private final SourceTableReader<I> sourceTableReader;
+    private final RouteKeyResolver keyResolver;
+    private final RecordConverter<I, T> converter;
+
+    private transient Map<String, Map<String, Optional<OutputTag<T>>>> resolvedRoutes;
+    private transient Counter unroutedRecords;
+
+    public TableRouteFunction(
+            Map<String, OutputTag<T>> routes,
+            SourceTableReader<I> sourceTableReader,
+            RouteKeyResolver keyResolver,
+            RecordConverter<I, T> converter) {
+        this.routes = new HashMap<>(routes);
+        this.sourceTableReader = sourceTableReader;
+        this.keyResolver = keyResolver;
+        this.converter = converter;
+    }
+
+    public static TableRouteFunction<Map, Map> ofMap(Map<String, OutputTag<Map>> routes, String schemaFieldName) {
+        return new TableRouteFunction<>(
+                routes, SourceTableReader.ofMap(schemaFieldName), RouteKeyResolver.DEFAULT, value -> value);
+    }
+
+    public static TableRouteFunction<String, String> ofJson(
+            Map<String, OutputTag<String>> routes, String schemaFieldName) {
+        return new TableRouteFunction<>(
+                routes, SourceTableReader.ofJson(schemaFieldName), RouteKeyResolver.DEFAULT, value -> value);
+    }
+
+    @Override
+    public void open(Configuration parameters) throws Exception {
+        super.open(parameters);
+        resolvedRoutes = new HashMap<>();
+        unroutedRecords = getRuntimeContext().getMetricGroup().counter("numRecordsUnrouted");
+    }
+
+    @Override
+    public void processElement(I value, Context ctx, Collector<T> out) throws Exception {
+        String[] sourceTable = sourceTableReader.read(value);
+        OutputTag<T> tag = sourceTable == null ? null : route(sourceTable[0], sourceTable[1]);
+        T record = converter.convert(value);
+        if (tag == null) {
+            unroutedRecords.inc();
+            out.collect(record);
+        } else {
+            ctx.output(tag, record);
+        }
+    }
+
+    private OutputTag<T> route(String schemaName, String tableName) {
+        Map<String, Optional<OutputTag<T>>> tables = resolvedRoutes.computeIfAbsent(schemaName, k -> new HashMap<>());
+        Optional<OutputTag<T>> tag = tables.get(tableName);
+        if (tag == null) {
+            String key = keyResolver.resolve(schemaName, tableName);
+            tag = Optional.ofNullable(routes.get(key));
+            if (!tag.isPresent()) {
+                logger.warn(
+                        "No sink route for {}.{} (key {}), its records go to the main output.",
+                        schemaName,
+                        tableName,
+                        key);
+            }
+            tables.put(tableName, tag);
+        }
+        return tag.orElse(null);
+    }
+
+    /** Resolves the route key of a physical source table, e.g. to merge sharded tables into one sink table. */
+    @FunctionalInterface
+    public interface RouteKeyResolver extends Serializable {
+
+        RouteKeyResolver DEFAULT = (schemaName, tableName) -> schemaName + "." + tableName;
+
+        String resolve(String schemaName, String tableName);
+    }
+
+    /** Reads {schemaName, tableName} from the source block of a record, or null if there is none. */
+    @FunctionalInterface
+    public interface SourceTableReader<I> extends Serializable {
+
+        String[] read(I value) throws Exception;
+
+        static SourceTableReader<Map> ofMap(String schemaFieldName) {
+            return value -> {
+                Object source = value.get(DebeziumJsonReader.SOURCE);
+                if (!(source instanceof Map)) {
+                    return null;
+                }
+                Object schemaName = ((Map) source).get(schemaFieldName);
+                Object tableName = ((Map) source).get(DebeziumJsonReader.TABLE);
+                if (schemaName == null || tableName == null) {
+                    return null;
+                }
+                return new String[] {schemaName.toString(), tableName.toString()};
+            };
+        }
+
+        static SourceTableReader<String> ofJson(String schemaFieldName) {
+            return value -> DebeziumJsonReader.readSourceTable(value, schemaFieldName);
+        }
+    }
+
+    /** Converts a routed record into the element type of the side outputs. */
+    @FunctionalInterface
+    public interface RecordConverter<I, T> extends Serializable {
+
+        T convert(I value) throws Exception;
+    }
+}
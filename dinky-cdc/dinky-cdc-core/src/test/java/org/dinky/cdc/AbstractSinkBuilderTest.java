@@ -0,0 +1,163 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.cdc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.dinky.cdc.debezium.DebeziumRowDataDeserializer;
+import org.dinky.data.model.FlinkCDCConfig;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Collector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class AbstractSinkBuilderTest {
+
+    private static final List<String> COLUMNS = Arrays.asList("id", "name");
+    private static final List<LogicalType> TYPES = Arrays.asList(new IntType(), new VarCharType());
+    private static final String UPDATE =
+            "{\"before\":{\"id\":1,\"name\":\"old\"},\"after\":{\"id\":1,\"name\":\"new\"},\"op\":\"u\"}";
+
+    @Test
+    void updateEmitsUpdateBeforeThenUpdateAfter() throws Exception {
+        TestSinkBuilder builder = new TestSinkBuilder(false);
+
+        List<GenericRowData> rows = fromMap(builder, UPDATE);
+        assertThat(kinds(rows), contains(RowKind.UPDATE_BEFORE, RowKind.UPDATE_AFTER));
+        assertThat(rows.get(0).getString(1).toString(), equalTo("old"));
+        assertThat(rows.get(1).getString(1).toString(), equalTo("new"));
+
+        assertThat(kinds(fromJson(builder, UPDATE)), contains(RowKind.UPDATE_BEFORE, RowKind.UPDATE_AFTER));
+    }
+
+    @Test
+    void dropUpdateBeforeSuppressesUpdateBefore() throws Exception {
+        TestSinkBuilder builder = new TestSinkBuilder(true);
+
+        assertThat(kinds(fromMap(builder, UPDATE)), contains(RowKind.UPDATE_AFTER));
+        assertThat(kinds(fromJson(builder, UPDATE)), contains(RowKind.UPDATE_AFTER));
+    }
+
+    @Test
+    void dropUpdateBeforeIsReadFromSinkConfig() {
+        Map<String, String> sink = new HashMap<>();
+        TestSinkBuilder builder = new TestSinkBuilder(null);
+        builder.setConfig(new FlinkCDCConfig(
+                null, null, null, null, null, null, null, null, null, null, null, null, null, null, sink, null, null));
+        assertThat(builder.isDropUpdateBefore(), equalTo(false));
+
+        sink.put(FlinkCDCConfig.DROP_UPDATE_BEFORE, "true");
+        assertThat(builder.isDropUpdateBefore(), equalTo(true));
+    }
+
+    @Test
+    void fieldConvertersDelegateToConvertValueOverride() throws Exception {
+        TestSinkBuilder builder = new TestSinkBuilder(false) {
+            @Override
+            protected Object convertValue(Object value, LogicalType logicalType) {
+                return value instanceof String ? "converted-" + value : super.convertValue(value, logicalType);
+            }
+        };
+
+        assertThat(fromMap(builder, UPDATE).get(1).getField(1), equalTo("converted-new"));
+        assertThat(fromJson(builder, UPDATE).get(1).getField(1), equalTo("converted-new"));
+    }
+
+    @Test
+    void fieldConvertersUseTypeConvertersWithoutOverride() {
+        TestSinkBuilder builder = new TestSinkBuilder(false);
+        AbstractSinkBuilder.FieldConverter[] converters = builder.createFieldConverters(TYPES);
+
+        assertThat(converters[0].convert(1), equalTo(1));
+        assertThat(converters[1].convert("a").toString(), equalTo("a"));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static List<GenericRowData> fromMap(TestSinkBuilder builder, String record) throws Exception {
+        ListCollector out = new ListCollector();
+        Map value = builder.objectMapper.readValue(record, Map.class);
+        builder.sinkRowDataFunction(COLUMNS, TYPES, "s.t").flatMap(value, out);
+        return out.rows;
+    }
+
+    private static List<GenericRowData> fromJson(TestSinkBuilder builder, String record) throws Exception {
+        ListCollector out = new ListCollector();
+        new DebeziumRowDataDeserializer(
+                        COLUMNS, builder.createFieldConverters(TYPES), "s.t", builder.isDropUpdateBefore())
+                .flatMap(record, out);
+        return out.rows;
+    }
+
+    private static List<RowKind> kinds(List<GenericRowData> rows) {
+        return rows.stream().map(RowData::getRowKind).collect(Collectors.toList());
+    }
+
+    private static class TestSinkBuilder extends AbstractSinkBuilder {
+
+        private final Boolean dropUpdateBefore;
+
+        private TestSinkBuilder(Boolean dropUpdateBefore) {
+            this.dropUpdateBefore = dropUpdateBefore;
+        }
+
+        @Override
+        protected boolean isDropUpdateBefore() {
+            return dropUpdateBefore == null ? super.isDropUpdateBefore() : dropUpdateBefore;
+        }
+
+        @Override
+        public String getHandle() {
+            return "test";
+        }
+
+        @Override
+        public SinkBuilder create(FlinkCDCConfig config) {
+            return this;
+        }
+    }
+
+    private static class ListCollector implements Collector<RowData> {
+
+        private final List<GenericRowData> rows = new ArrayList<>();
+
+        @Override
+        public void collect(RowData record) {
+            rows.add((GenericRowData) record);
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.cdc.debezium;
+
+import org.dinky.cdc.AbstractSinkBuilder.FieldConverter;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Collector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the map based deserialization of debezium records with the schema-aware streaming one, on a single
+ * thread so the scores are records per second per core.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@SuppressWarnings("rawtypes")
+public class DebeziumDeserializationBenchmark {
+
+    private static final int COLUMNS = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> columnNameList = new ArrayList<>();
+    private final List<LogicalType> columnTypeList = new ArrayList<>();
+    private DebeziumRowDataDeserializer deserializer;
+    private String record;
+
+    @Setup
+    public void setup() {
+        StringBuilder image = new StringBuilder("{");
+        for (int i = 0; i < COLUMNS; i++) {
+            String name = "col_" + i;
+            columnNameList.add(name);
+            if (i > 0) {
+                image.append(',');
+            }
+            image.append('"').append(name).append("\":");
+            switch (i % 4) {
+                case 0:
+                    columnTypeList.add(new IntType());
+                    image.append(i);
+                    break;
+                case 1:
+                    columnTypeList.add(new BigIntType());
+                    image.append(1680000000000L + i);
+                    break;
+                case 2:
+                    columnTypeList.add(new DoubleType());
+                    image.append(i).append(".25");
+                    break;
+                default:
+                    columnTypeList.add(new VarCharType());
+                    image.append("\"value of column ").append(i).append('"');
+            }
+        }
+        image.append('}');
+        record = "{\"before\":" + image + ",\"after\":" + image
+                + ",\"source\":{\"version\":\"1.6.4.Final\",\"connector\":\"mysql\",\"name\":\"mysql_binlog_source\","
+                + "\"ts_ms\":1680000000000,\"snapshot\":\"false\",\"db\":\"test\",\"sequence\":null,"
+                + "\"table\":\"orders\",\"server_id\":1,\"gtid\":null,\"file\":\"mysql-bin.000003\",\"pos\":1234,"
+                + "\"row\":0,\"thread\":null,\"query\":null},\"op\":\"u\",\"ts_ms\":1680000000001,"
+                + "\"transaction\":null}";
+        FieldConverter[] fieldConverters = new FieldConverter[COLUMNS];
+        for (int i = 0; i < COLUMNS; i++) {
+            LogicalType logicalType = columnTypeList.get(i);
+            fieldConverters[i] = value -> convert(value, logicalType);
+        }
+        deserializer = new DebeziumRowDataDeserializer(columnNameList, fieldConverters, "test.orders", false);
+    }
+
+    private static Object convert(Object value, LogicalType logicalType) {
+        if (value instanceof String) {
+            return StringData.fromString((String) value);
+        }
+        if (logicalType instanceof BigIntType && value instanceof Integer) {
+            return ((Integer) value).longValue();
+        }
+        return value;
+    }
+
+    @Benchmark
+    public void mapRowData(Blackhole blackhole) throws Exception {
+        Map value = objectMapper.readValue(record, Map.class);
+        Map source = (Map) value.get("source");
+        blackhole.consume(source.get("db").toString() + "." + source.get("table"));
+        blackhole.consume(toRowData(RowKind.UPDATE_BEFORE, (Map) value.get("before")));
+        blackhole.consume(toRowData(RowKind.UPDATE_AFTER, (Map) value.get("after")));
+    }
+
+    @Benchmark
+    public void streamingRowData(Blackhole blackhole) throws Exception {
+        blackhole.consume(DebeziumJsonReader.readSourceTable(record, "db"));
+        deserializer.flatMap(record, new BlackholeCollector(blackhole));
+    }
+
+    @Benchmark
+    public void mapPassThrough(Blackhole blackhole) throws Exception {
+        Map value = objectMapper.readValue(record, Map.class);
+        Map source = (Map) value.get("source");
+        blackhole.consume(source.get("db").toString() + "." + source.get("table"));
+        blackhole.consume(objectMapper.writeValueAsString(value));
+    }
+
+    @Benchmark
+    public void streamingPassThrough(Blackhole blackhole) throws Exception {
+        blackhole.consume(DebeziumJsonReader.readSourceTable(record, "db"));
+        blackhole.consume(record);
+    }
+
+    private RowData toRowData(RowKind rowKind, Map image) {
+        GenericRowData rowData = new GenericRowData(rowKind, COLUMNS);
+        for (int i = 0; i < COLUMNS; i++) {
+            rowData.setField(i, convert(image.get(columnNameList.get(i)), columnTypeList.get(i)));
+        }
+        return rowData;
+    }
+
+    private static final class BlackholeCollector implements Collector<RowData> {
+
+        private final Blackhole blackhole;
+
+        private BlackholeCollector(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void collect(RowData record) {
+            blackhole.consume(record);
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                        .include(DebeziumDeserializationBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.cdc.debezium;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.dinky.cdc.AbstractSinkBuilder.FieldConverter;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Collector;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class DebeziumRowDataDeserializerTest {
+
+    private static final List<String> COLUMNS = Arrays.asList("id", "name");
+
+    @Test
+    void insertAndReadEmitAfterImage() throws Exception {
+        for (String op : new String[] {"c", "r"}) {
+            List<RowData> rows = deserialize(
+                    "{\"before\":null,\"after\":{\"id\":1,\"name\":\"a\"},\"op\":\"" + op + "\"}", false);
+
+            assertThat(kinds(rows), contains(RowKind.INSERT));
+            assertThat(rows.get(0).getInt(0), equalTo(1));
+            assertThat(rows.get(0).getString(1).toString(), equalTo("a"));
+        }
+    }
+
+    @Test
+    void deleteEmitsBeforeImage() throws Exception {
+        List<RowData> rows = deserialize("{\"before\":{\"id\":2,\"name\":\"b\"},\"after\":null,\"op\":\"d\"}", false);
+
+        assertThat(kinds(rows), contains(RowKind.DELETE));
+        assertThat(rows.get(0).getInt(0), equalTo(2));
+    }
+
+    @Test
+    void updateEmitsBeforeAndAfter() throws Exception {
+        String record = "{\"before\":{\"id\":3,\"name\":\"old\"},\"after\":{\"id\":3,\"name\":\"new\"},\"op\":\"u\"}";
+
+        List<RowData> rows = deserialize(record, false);
+        assertThat(kinds(rows), contains(RowKind.UPDATE_BEFORE, RowKind.UPDATE_AFTER));
+        assertThat(rows.get(0).getString(1).toString(), equalTo("old"));
+        assertThat(rows.get(1).getString(1).toString(), equalTo("new"));
+
+        assertThat(kinds(deserialize(record, true)), contains(RowKind.UPDATE_AFTER));
+    }
+
+    @Test
+    void missingOrNullImageEmitsNothing() throws Exception {
+        assertThat(deserialize("{\"after\":null,\"op\":\"c\"}", false), empty());
+        assertThat(deserialize("{\"op\":\"d\"}", false), empty());
+        assertThat(
+                kinds(deserialize("{\"after\":{\"id\":4,\"name\":\"d\"},\"op\":\"u\"}", false)),
+                contains(RowKind.UPDATE_AFTER));
+    }
+
+    @Test
+    void missingOrUnknownOpEmitsNothing() throws Exception {
+        assertThat(deserialize("{\"after\":{\"id\":1,\"name\":\"a\"}}", false), empty());
+        assertThat(deserialize("{\"after\":{\"id\":1,\"name\":\"a\"},\"op\":\"t\"}", false), empty());
+    }
+
+    @Test
+    void fieldsArePlacedByNameAndUnknownFieldsSkipped() throws Exception {
+        List<RowData> rows = deserialize(
+                "{\"op\":\"c\",\"source\":{\"db\":\"s\",\"table\":\"t\"},"
+                        + "\"after\":{\"extra\":{\"nested\":[1,2]},\"name\":\"x\",\"id\":5}}",
+                false);
+
+        assertThat(rows.get(0).getArity(), equalTo(2));
+        assertThat(rows.get(0).getInt(0), equalTo(5));
+        assertThat(rows.get(0).getString(1).toString(), equalTo("x"));
+        assertThat(deserialize("{\"op\":\"c\",\"after\":{\"id\":6}}", false).get(0).isNullAt(1), equalTo(true));
+    }
+
+    @Test
+    void invalidRecordIsRethrown() {
+        assertThrows(IOException.class, () -> deserialize("[1]", false));
+        assertThrows(IOException.class, () -> deserialize("{\"op\":\"c\",\"after\":{\"id\":", false));
+    }
+
+    @Test
+    void valuesDecodeToTheTypesOfMapDeserialization() throws Exception {
+        Object[] values = readValues("{\"i\":1,\"l\":12345678901,\"d\":1.5,\"s\":\"x\",\"t\":true,\"f\":false,"
+                + "\"n\":null,\"o\":{\"a\":1},\"a\":[1,2]}");
+
+        assertThat(values[0], instanceOf(Integer.class));
+        assertThat(values[1], equalTo(12345678901L));
+        assertThat(values[2], equalTo(1.5d));
+        assertThat(values[3], equalTo("x"));
+        assertThat(values[4], equalTo(Boolean.TRUE));
+        assertThat(values[5], equalTo(Boolean.FALSE));
+        assertThat(values[6], nullValue());
+        assertThat(values[7], instanceOf(Map.class));
+        assertThat(((Map<?, ?>) values[7]).get("a"), equalTo(1));
+        assertThat(values[8], equalTo(Arrays.asList(1, 2)));
+    }
+
+    @Test
+    void readSourceTable() throws IOException {
+        assertThat(
+                DebeziumJsonReader.readSourceTable(
+                        "{\"after\":{\"db\":\"x\"},\"source\":{\"db\":\"s\",\"schema\":null,\"table\":\"t\"}}", "db"),
+                equalTo(new String[] {"s", "t"}));
+        assertThat(DebeziumJsonReader.readSourceTable("{\"source\":{\"table\":\"t\"}}", "db"), nullValue());
+        assertThat(DebeziumJsonReader.readSourceTable("{\"op\":\"c\"}", "db"), nullValue());
+    }
+
+    private static Object[] readValues(String after) throws Exception {
+        List<String> columns = Arrays.asList("i", "l", "d", "s", "t", "f", "n", "o", "a");
+        FieldConverter[] converters = new FieldConverter[columns.size()];
+        Arrays.fill(converters, (FieldConverter) value -> value);
+        ListCollector out = new ListCollector();
+        new DebeziumRowDataDeserializer(columns, converters, "s.t", false)
+                .flatMap("{\"op\":\"c\",\"after\":" + after + "}", out);
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = ((GenericRowData) out.rows.get(0)).getField(i);
+        }
+        return values;
+    }
+
+    private static List<RowData> deserialize(String record, boolean dropUpdateBefore) throws Exception {
+        FieldConverter[] converters = {value -> value, value -> StringData.fromString((String) value)};
+        ListCollector out = new ListCollector();
+        new DebeziumRowDataDeserializer(COLUMNS, converters, "s.t", dropUpdateBefore).flatMap(record, out);
+        return out.rows;
+    }
+
+    private static List<RowKind> kinds(List<RowData> rows) {
+        return rows.stream().map(RowData::getRowKind).collect(Collectors.toList());
+    }
+
+    private static class ListCollector implements Collector<RowData> {
+
+        private final List<RowData> rows = new ArrayList<>();
+
+        @Override
+        public void collect(RowData record) {
+            rows.add(record);
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -21,7 +21,6 @@ package org.dinky.cdc.doris;
 
 import com.google.common.base.Strings;
 import org.apache.flink.streaming.api.datastream.DataStream;
-import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.TimestampData;
 import org.apache.flink.table.types.logical.BigIntType;
@@ -35,7 +34,6 @@ import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.TimestampType;
 import org.apache.flink.table.types.logical.TinyIntType;
 import org.apache.flink.table.types.logical.VarCharType;
-import org.apache.flink.types.RowKind;
 import org.dinky.cdc.SinkBuilder;
 import org.dinky.data.model.Column;
 import org.dinky.data.model.FlinkCDCConfig;
@@ -78,16 +76,17 @@ public class DorisExtendSinkBuilder extends DorisSinkBuilder implements Serializ
     @Override
     protected Object buildRowDataValues(
             Map value,
-            RowKind rowKind,
+            Map data,
             String columnName,
-            LogicalType columnType) {
+            LogicalType columnType,
+            FieldConverter fieldConverter) {
         if (additionalColumnConfigList == null) {
-            return convertValue(getOriginRowData(rowKind, value).get(columnName), columnType);
+            return fieldConverter.convert(data.get(columnName));
         }
 
         AdditionalColumnEntry<String, String> col = additionalColumnConfigList.get(columnName);
         if (col == null) {
-            return convertValue(getOriginRowData(rowKind, value).get(columnName), columnType);
+            return fieldConverter.convert(data.get(columnName));
         }
 
         if (!"META".equals(col.getKey())) {
@@ -128,15 +127,15 @@ public class DorisExtendSinkBuilder extends DorisSinkBuilder implements Serializ
         }
     }
 
-    @SuppressWarnings("rawtypes")
+    /** The META columns are read from the source block, so this sink keeps deserializing the whole record. */
     @Override
     protected DataStream<RowData> buildRowData(
-            SingleOutputStreamOperator<Map> filterOperator,
+            DataStream<String> filterOperator,
             List<String> columnNameList,
             List<LogicalType> columnTypeList,
             String schemaTableName) {
         logger.info("sinkTimeZone:{}", this.getSinkTimeZone());
-        return filterOperator.flatMap(
+        return deserialize(filterOperator).flatMap(
                 sinkRowDataFunction(columnNameList, columnTypeList, schemaTableName));
     }
 
@@ -27,8 +27,6 @@ import org.apache.doris.flink.sink.writer.JsonDebeziumSchemaSerializer;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
 import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
-import org.apache.flink.streaming.api.functions.ProcessFunction;
-import org.apache.flink.util.Collector;
 import org.apache.flink.util.OutputTag;
 import org.dinky.assertion.Asserts;
 import org.dinky.cdc.AbstractSinkBuilder;
@@ -41,7 +39,6 @@ import org.dinky.executor.CustomTableEnvironment;
 
 import java.io.Serializable;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -88,42 +85,18 @@ public class DorisSchemaEvolutionSinkBuilder extends AbstractSinkBuilder impleme
             return dataStreamSource;
         }
 
-        SingleOutputStreamOperator<Map> mapOperator =
-                dataStreamSource.map(x -> objectMapper.readValue(x, Map.class)).returns(Map.class);
         final String schemaFieldName = config.getSchemaFieldName();
 
         Map<Table, OutputTag<String>> tagMap = new HashMap<>();
-        Map<String, Table> tableMap = new HashMap<>();
         for (Schema schema : schemaList) {
             for (Table table : schema.getTables()) {
                 OutputTag<String> outputTag = new OutputTag<String>(getSinkTableName(table)) {};
                 tagMap.put(table, outputTag);
-                tableMap.put(table.getSchemaTableName(), table);
             }
         }
 
         SingleOutputStreamOperator<String> process =
-                mapOperator.process(
-                        new ProcessFunction<Map, String>() {
-
-                            @Override
-                            public void processElement(
-                                    Map map, Context ctx, Collector<String> out)
-                                    throws Exception {
-                                LinkedHashMap source = (LinkedHashMap) map.get("source");
-                                String result = objectMapper.writeValueAsString(map);
-                                try {
-                                    Table table =
-                                            tableMap.get(
-                                                    source.get(schemaFieldName).toString()
-                                                            + "."
-                                                            + source.get("table").toString());
-                                    ctx.output(tagMap.get(table), result);
-                                } catch (Exception e) {
-                                    out.collect(result);
-                                }
-                            }
-                        });
+                route(dataStreamSource, tagMap, schemaFieldName);
 
         tagMap.forEach(
                 (table, v) -> {
@@ -23,12 +23,9 @@ import org.apache.flink.api.common.serialization.SimpleStringSchema;
 import org.apache.flink.connector.base.DeliveryGuarantee;
 import org.apache.flink.connector.kafka.sink.KafkaRecordSerializationSchema;
 import org.apache.flink.connector.kafka.sink.KafkaSink;
-import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
 import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
-import org.apache.flink.streaming.api.functions.ProcessFunction;
-import org.apache.flink.util.Collector;
 import org.apache.flink.util.OutputTag;
 import org.dinky.assertion.Asserts;
 import org.dinky.cdc.AbstractSinkBuilder;
@@ -41,7 +38,6 @@ import org.dinky.executor.CustomTableEnvironment;
 
 import java.io.Serializable;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -100,12 +96,6 @@ public class KafkaSinkBuilder extends AbstractSinkBuilder implements Serializabl
             dataStreamSource.sinkTo(kafkaSink);
         } else {
             Map<Table, OutputTag<String>> tagMap = new HashMap<>();
-            Map<String, Table> tableMap = new HashMap<>();
-            ObjectMapper objectMapper = new ObjectMapper();
-            SingleOutputStreamOperator<Map> mapOperator =
-                    dataStreamSource
-                            .map(x -> objectMapper.readValue(x, Map.class))
-                            .returns(Map.class);
             final List<Schema> schemaList = config.getSchemaList();
             final String schemaFieldName = config.getSchemaFieldName();
             if (Asserts.isNotNullCollection(schemaList)) {
@@ -114,35 +104,10 @@ public class KafkaSinkBuilder extends AbstractSinkBuilder implements Serializabl
                         String sinkTableName = getSinkTableName(table);
                         OutputTag<String> outputTag = new OutputTag<String>(sinkTableName) {};
                         tagMap.put(table, outputTag);
-                        tableMap.put(table.getSchemaTableName(), table);
                     }
                 }
                 SingleOutputStreamOperator<String> process =
-                        mapOperator.process(
-                                new ProcessFunction<Map, String>() {
-
-                                    @Override
-                                    public void processElement(
-                                            Map map,
-                                            ProcessFunction<Map, String>.Context ctx,
-                                            Collector<String> out)
-                                            throws Exception {
-                                        LinkedHashMap source = (LinkedHashMap) map.get("source");
-                                        try {
-                                            String result = objectMapper.writeValueAsString(map);
-                                            Table table =
-                                                    tableMap.get(
-                                                            source.get(schemaFieldName).toString()
-                                                                    + "."
-                                                                    + source.get("table")
-                                                                            .toString());
-                                            OutputTag<String> outputTag = tagMap.get(table);
-                                            ctx.output(outputTag, result);
-                                        } catch (Exception e) {
-                                            out.collect(objectMapper.writeValueAsString(map));
-                                        }
-                                    }
-                                });
+                        route(dataStreamSource, tagMap, schemaFieldName);
 
                 tagMap.forEach(
                         (k, v) -> {
@@ -23,7 +23,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
-import org.apache.flink.api.common.functions.FilterFunction;
 import org.apache.flink.api.common.functions.MapFunction;
 import org.apache.flink.api.common.serialization.SimpleStringSchema;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
@@ -33,6 +32,7 @@ import org.apache.flink.streaming.api.functions.ProcessFunction;
 import org.apache.flink.streaming.connectors.kafka.FlinkKafkaProducer;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.util.Collector;
+import org.apache.flink.util.OutputTag;
 import org.dinky.assertion.Asserts;
 import org.dinky.cdc.AbstractSinkBuilder;
 import org.dinky.cdc.CDCBuilder;
@@ -80,30 +80,31 @@ public class KafkaSinkJsonBuilder extends AbstractSinkBuilder implements Seriali
             CustomTableEnvironment customTableEnvironment,
             DataStreamSource<String> dataStreamSource) {
         try {
-            SingleOutputStreamOperator<Map> mapOperator =
-                    dataStreamSource.map(
-                            (MapFunction<String, Map>) value -> objectMapper.readValue(value, Map.class));
             final List<Schema> schemaList = config.getSchemaList();
             final String schemaFieldName = config.getSchemaFieldName();
             if (!Asserts.isNotNullCollection(schemaList)) {
                 return dataStreamSource;
             }
 
+            Map<Table, OutputTag<String>> tagMap = new LinkedHashMap<>();
+            for (Schema schema : schemaList) {
+                for (Table table : schema.getTables()) {
+                    tagMap.put(table, new OutputTag<String>(table.getSchemaTableName()) {});
+                }
+            }
+            SingleOutputStreamOperator<String> routeOperator =
+                    route(dataStreamSource, tagMap, schemaFieldName);
+
             for (Schema schema : schemaList) {
                 for (Table table : schema.getTables()) {
                     final String tableName = table.getName();
                     final String schemaName = table.getSchema();
                     SingleOutputStreamOperator<Map> filterOperator =
-                            mapOperator.filter(
-                                    (FilterFunction<Map>) value -> {
-                                        LinkedHashMap source =
-                                                (LinkedHashMap) value.get("source");
-                                        return tableName.equals(
-                                                        source.get("table").toString())
-                                                && schemaName.equals(
-                                                        source.get(schemaFieldName)
-                                                                .toString());
-                                    });
+                            routeOperator
+                                    .getSideOutput(tagMap.get(table))
+                                    .map(
+                                            (MapFunction<String, Map>)
+                                                    value -> objectMapper.readValue(value, Map.class));
                     String topic = getSinkTableName(table);
                     if (Asserts.isNotNullString(config.getSink().get("topic"))) {
                         topic = config.getSink().get("topic");
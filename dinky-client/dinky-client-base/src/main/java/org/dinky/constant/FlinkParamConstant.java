@@ -32,6 +32,8 @@ public final class FlinkParamConstant {
     public static final String USERNAME = "username";
     public static final String PASSWORD = "password";
     public static final String DINKY_ADDR = "dinkyAddr";
+    public static final String BUNDLE = "bundle";
+    public static final String FALLBACK_DB = "fallbackDb";
 
     public static final String SPLIT = ",";
 }
@@ -48,6 +48,8 @@ public class FlinkBaseUtil {
         params.put(FlinkParamConstant.USERNAME, parameters.get(FlinkParamConstant.USERNAME, null));
         params.put(FlinkParamConstant.PASSWORD, parameters.get(FlinkParamConstant.PASSWORD, null));
         params.put(FlinkParamConstant.DINKY_ADDR, parameters.get(FlinkParamConstant.DINKY_ADDR, null));
+        params.put(FlinkParamConstant.BUNDLE, parameters.get(FlinkParamConstant.BUNDLE, null));
+        params.put(FlinkParamConstant.FALLBACK_DB, parameters.get(FlinkParamConstant.FALLBACK_DB, null));
         return params;
     }
 
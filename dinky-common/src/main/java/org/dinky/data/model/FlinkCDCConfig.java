@@ -39,6 +39,7 @@ public class FlinkCDCConfig {
     public static final String TABLE_RENAME = "table.rename";
     public static final String COLUMN_REPLACE_LINE_BREAK = "column.replace.line-break";
     public static final String TIMEZONE = "timezone";
+    public static final String DROP_UPDATE_BEFORE = "drop.update-before";
     private String type;
     private String hostname;
     private Integer port;
@@ -146,6 +147,7 @@ public class FlinkCDCConfig {
             case TABLE_RENAME:
             case COLUMN_REPLACE_LINE_BREAK:
             case TIMEZONE:
+            case DROP_UPDATE_BEFORE:
                 return true;
             default:
                 return false;
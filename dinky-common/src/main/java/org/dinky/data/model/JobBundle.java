@@ -0,0 +1,205 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.data.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 任务发布时生成的作业包，包含 application 模式启动所需的已解析的语句、作业配置及依赖清单。
+ *
+ * <p>数据源连接信息和全局变量可能包含密码，不写入作业包，由作业启动时从数据库读取。
+ *
+ * <p>序列化格式为 4 字节魔数、2 字节格式版本，之后是 gzip 压缩的内容，一次读取即可还原。
+ */
+@Getter
+@Setter
+public class JobBundle {
+
+    public static final int MAGIC = 0x444B4A42;
+    public static final short FORMAT_VERSION = 2;
+
+    private Integer taskId;
+    /** 任务发布的版本号 */
+    private Integer taskVersion;
+
+    private long createTime;
+    /** 与 dinky_task 查询结果相同的作业配置，见 ExecutorSetting#build(Map) */
+    private Map<String, String> taskConfig = new LinkedHashMap<>();
+    /** 已拼接环境语句并切分好的语句 */
+    private List<BundleStatement> statements = new ArrayList<>();
+
+    private List<String> jars = new ArrayList<>();
+    private List<String> pythonFiles = new ArrayList<>();
+
+    public boolean hasDependencies() {
+        return !jars.isEmpty() || !pythonFiles.isEmpty();
+    }
+
+    public byte[] toBytes() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out);
+        return out.toByteArray();
+    }
+
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeShort(FORMAT_VERSION);
+        header.flush();
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        DataOutputStream data = new DataOutputStream(gzip);
+        writeInteger(data, taskId);
+        writeInteger(data, taskVersion);
+        data.writeLong(createTime);
+        writeMap(data, taskConfig);
+        data.writeInt(statements.size());
+        for (BundleStatement statement : statements) {
+            writeString(data, statement.getSql());
+            writeString(data, statement.getType());
+        }
+        writeList(data, jars);
+        writeList(data, pythonFiles);
+        data.flush();
+        gzip.finish();
+    }
+
+    public static JobBundle fromBytes(byte[] bytes) throws IOException {
+        return read(new ByteArrayInputStream(bytes));
+    }
+
+    public static JobBundle read(InputStream in) throws IOException {
+        DataInputStream header = new DataInputStream(in);
+        if (header.readInt() != MAGIC) {
+            throw new IOException("Not a job bundle");
+        }
+        short version = header.readShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported job bundle format version " + version);
+        }
+        DataInputStream data = new DataInputStream(new GZIPInputStream(in));
+        JobBundle bundle = new JobBundle();
+        bundle.setTaskId(readInteger(data));
+        bundle.setTaskVersion(readInteger(data));
+        bundle.setCreateTime(data.readLong());
+        bundle.setTaskConfig(readMap(data));
+        int size = data.readInt();
+        List<BundleStatement> statements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            statements.add(new BundleStatement(readString(data), readString(data)));
+        }
+        bundle.setStatements(statements);
+        bundle.setJars(readList(data));
+        bundle.setPythonFiles(readList(data));
+        return bundle;
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    /** 不使用 writeUTF，其长度上限为 64K */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, String> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+    }
+
+    private static Map<String, String> readMap(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(readString(in), readString(in));
+        }
+        return map;
+    }
+
+    private static void writeList(DataOutputStream out, List<String> list) throws IOException {
+        out.writeInt(list.size());
+        for (String item : list) {
+            writeString(out, item);
+        }
+    }
+
+    private static List<String> readList(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(readString(in));
+        }
+        return list;
+    }
+
+    /** 一条语句及发布时识别出的 SqlType 名称 */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BundleStatement {
+        private String sql;
+        private String type;
+    }
+}
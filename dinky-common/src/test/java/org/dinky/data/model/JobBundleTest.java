@@ -0,0 +1,81 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.data.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+class JobBundleTest {
+
+    @Test
+    void roundTrip() throws IOException {
+        JobBundle bundle = new JobBundle();
+        bundle.setTaskId(7);
+        bundle.setTaskVersion(3);
+        bundle.setCreateTime(1000L);
+        bundle.getTaskConfig().put("jobName", "示例");
+        bundle.getTaskConfig().put("savePointPath", null);
+        bundle.setStatements(Arrays.asList(
+                new JobBundle.BundleStatement("CREATE TABLE t (id INT)", "CREATE"),
+                new JobBundle.BundleStatement("INSERT INTO t SELECT 1", null)));
+        bundle.setJars(Collections.singletonList("file:/tmp/udf.jar"));
+
+        JobBundle read = JobBundle.fromBytes(bundle.toBytes());
+
+        assertThat(read.getTaskId(), equalTo(7));
+        assertThat(read.getTaskVersion(), equalTo(3));
+        assertThat(read.getCreateTime(), equalTo(1000L));
+        assertThat(read.getTaskConfig(), equalTo(bundle.getTaskConfig()));
+        assertThat(read.getStatements().get(0).getSql(), equalTo("CREATE TABLE t (id INT)"));
+        assertThat(read.getStatements().get(0).getType(), equalTo("CREATE"));
+        assertThat(read.getStatements().get(1).getType(), nullValue());
+        assertThat(read.getJars(), contains("file:/tmp/udf.jar"));
+        assertThat(read.getPythonFiles().isEmpty(), equalTo(true));
+        assertThat(read.hasDependencies(), equalTo(true));
+    }
+
+    @Test
+    void keepsStatementsLongerThan64K() throws IOException {
+        char[] chars = new char[70000];
+        Arrays.fill(chars, 'a');
+        String sql = "SELECT '" + new String(chars) + "'";
+        JobBundle bundle = new JobBundle();
+        bundle.setStatements(Collections.singletonList(new JobBundle.BundleStatement(sql, "SELECT")));
+
+        JobBundle read = JobBundle.fromBytes(bundle.toBytes());
+
+        assertThat(read.getTaskId(), nullValue());
+        assertThat(read.getStatements().get(0).getSql(), equalTo(sql));
+    }
+
+    @Test
+    void rejectsOtherContent() {
+        assertThrows(IOException.class, () -> JobBundle.fromBytes("not a bundle".getBytes()));
+    }
+}
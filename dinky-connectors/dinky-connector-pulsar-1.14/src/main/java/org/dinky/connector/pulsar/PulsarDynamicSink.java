@@ -29,6 +29,8 @@ import org.apache.flink.table.connector.sink.DynamicTableSink;
 import org.apache.flink.table.connector.sink.SinkFunctionProvider;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.types.RowKind;
 
 import java.util.Collections;
@@ -83,6 +85,12 @@ public class PulsarDynamicSink implements DynamicTableSink {
     /** Properties for the Pulsar producer parallelism. */
     protected final Integer sinkParallelism;
 
+    /** Index of the physical column used as message key, -1 for messages without key. */
+    protected final int keyFieldIndex;
+
+    /** Maximum number of unacknowledged messages per sink subtask. */
+    protected final int maxInFlight;
+
     public PulsarDynamicSink(
             DataType physicalDataType,
             EncodingFormat<SerializationSchema<RowData>> encodingFormat,
@@ -91,7 +99,9 @@ public class PulsarDynamicSink implements DynamicTableSink {
             String updateMode,
             Properties pulsarProducerProperties,
             Properties pulsarClientProperties,
-            Integer sinkParallelism) {
+            Integer sinkParallelism,
+            int keyFieldIndex,
+            int maxInFlight) {
         // Format attributes
         this.physicalDataType = checkNotNull(physicalDataType, "Physical data type must not be null.");
         this.encodingFormat = encodingFormat;
@@ -105,6 +115,8 @@ public class PulsarDynamicSink implements DynamicTableSink {
                 checkNotNull(pulsarProducerProperties, "pulsarProducerProperties must not be null.");
         this.pulsarClientProperties = checkNotNull(pulsarClientProperties, "pulsarClientProperties must not be null.");
         this.sinkParallelism = sinkParallelism;
+        this.keyFieldIndex = keyFieldIndex;
+        this.maxInFlight = maxInFlight;
     }
 
     @Override
@@ -123,8 +135,20 @@ public class PulsarDynamicSink implements DynamicTableSink {
     public SinkRuntimeProvider getSinkRuntimeProvider(Context context) {
         SerializationSchema<RowData> runtimeEncoder = encodingFormat.createRuntimeEncoder(context, physicalDataType);
 
+        PulsarSinkFunction.KeyExtractor<RowData> keyExtractor = null;
+        if (keyFieldIndex >= 0) {
+            LogicalType keyType = ((RowType) physicalDataType.getLogicalType()).getTypeAt(keyFieldIndex);
+            keyExtractor = PulsarSinkFunction.fieldKeyExtractor(keyType, keyFieldIndex);
+        }
+
         PulsarSinkFunction<RowData> sinkFunction = new PulsarSinkFunction<>(
-                topic, serviceUrl, pulsarProducerProperties, pulsarClientProperties, runtimeEncoder);
+                topic,
+                serviceUrl,
+                pulsarProducerProperties,
+                pulsarClientProperties,
+                runtimeEncoder,
+                keyExtractor,
+                maxInFlight);
         // sink的并行度设置
         if (sinkParallelism != null) {
             return SinkFunctionProvider.of(sinkFunction, sinkParallelism);
@@ -143,7 +167,9 @@ public class PulsarDynamicSink implements DynamicTableSink {
                 updateMode,
                 pulsarProducerProperties,
                 pulsarClientProperties,
-                sinkParallelism);
+                sinkParallelism,
+                keyFieldIndex,
+                maxInFlight);
         copy.metadataKeys = metadataKeys;
         return copy;
     }
@@ -22,6 +22,12 @@ package org.dinky.connector.pulsar;
 import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.ADMIN_URL;
 import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.DERIVE_SCHEMA;
 import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.SERVICE_URL;
+import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.SINK_BATCHING_ENABLED;
+import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.SINK_BATCHING_MAX_MESSAGES;
+import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.SINK_BATCHING_MAX_PUBLISH_DELAY;
+import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.SINK_COMPRESSION_TYPE;
+import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.SINK_KEY_FIELD;
+import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.SINK_MAX_IN_FLIGHT;
 import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.SINK_PARALLELISM;
 import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.SOURCE_PARALLELISM;
 import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.SUBSCRIPTION_INITIAL_POSITION;
@@ -34,6 +40,7 @@ import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.UPDATE_MODE
 import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.VERSION;
 import static org.dinky.connector.pulsar.util.PulsarConnectorOptionsUtil.PROPERTIES_CLIENT_PREFIX;
 import static org.dinky.connector.pulsar.util.PulsarConnectorOptionsUtil.PROPERTIES_PREFIX;
+import static org.dinky.connector.pulsar.util.PulsarConnectorOptionsUtil.getPulsarProducerProperties;
 import static org.dinky.connector.pulsar.util.PulsarConnectorOptionsUtil.getPulsarProperties;
 
 import org.apache.flink.annotation.Internal;
@@ -57,9 +64,11 @@ import org.apache.flink.table.factories.FactoryUtil;
 import org.apache.flink.table.factories.FactoryUtil.TableFactoryHelper;
 import org.apache.flink.table.factories.SerializationFormatFactory;
 import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.RowType;
 import org.apache.pulsar.client.api.SubscriptionType;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 
@@ -82,6 +91,8 @@ public class PulsarDynamicTableFactory implements DynamicTableSourceFactory, Dyn
 
     public static final String IDENTIFIER = "pulsar";
 
+    private static final String DEFAULT_KEY_FIELD = "key";
+
     @Override
     public String factoryIdentifier() {
         return IDENTIFIER;
@@ -107,6 +118,12 @@ public class PulsarDynamicTableFactory implements DynamicTableSourceFactory, Dyn
         options.add(UPDATE_MODE);
         options.add(SOURCE_PARALLELISM);
         options.add(SINK_PARALLELISM);
+        options.add(SINK_KEY_FIELD);
+        options.add(SINK_COMPRESSION_TYPE);
+        options.add(SINK_BATCHING_ENABLED);
+        options.add(SINK_BATCHING_MAX_MESSAGES);
+        options.add(SINK_BATCHING_MAX_PUBLISH_DELAY);
+        options.add(SINK_MAX_IN_FLIGHT);
         options.add(VERSION);
         options.add(DERIVE_SCHEMA);
 
@@ -177,6 +194,8 @@ public class PulsarDynamicTableFactory implements DynamicTableSourceFactory, Dyn
         // context.getCatalogTable(), encodingFormat);
 
         final DataType physicalDataType = context.getCatalogTable().getSchema().toPhysicalRowDataType();
+        final int keyFieldIndex = getKeyFieldIndex(
+                physicalDataType, tableOptions.get(SINK_KEY_FIELD), context.getObjectIdentifier());
 
         return createPulsarTableSink(
                 physicalDataType,
@@ -184,9 +203,30 @@ public class PulsarDynamicTableFactory implements DynamicTableSourceFactory, Dyn
                 tableOptions.get(TOPIC),
                 tableOptions.get(SERVICE_URL),
                 update_mode,
-                getPulsarProperties(context.getCatalogTable().getOptions(), PROPERTIES_PREFIX),
+                getPulsarProducerProperties(context.getCatalogTable().getOptions(), tableOptions),
                 getPulsarProperties(context.getCatalogTable().getOptions(), PROPERTIES_CLIENT_PREFIX),
-                sinkParallelism);
+                sinkParallelism,
+                keyFieldIndex,
+                tableOptions.get(SINK_MAX_IN_FLIGHT));
+    }
+
+    /**
+     * Resolves the column used as message key, falling back to a column named 'key' as older
+     * versions read it from the serialized value. Returns -1 when the messages carry no key.
+     */
+    private static int getKeyFieldIndex(
+            DataType physicalDataType, @Nullable String keyField, ObjectIdentifier tableName) {
+        final List<String> fieldNames = ((RowType) physicalDataType.getLogicalType()).getFieldNames();
+        if (keyField == null) {
+            return fieldNames.indexOf(DEFAULT_KEY_FIELD);
+        }
+        final int keyFieldIndex = fieldNames.indexOf(keyField);
+        if (keyFieldIndex < 0) {
+            throw new ValidationException(String.format(
+                    "The Pulsar table '%s' has no column '%s' configured by '%s'.",
+                    tableName.asSummaryString(), keyField, SINK_KEY_FIELD.key()));
+        }
+        return keyFieldIndex;
     }
 
     // 校验sql建表时是否指定主键约束
@@ -219,7 +259,9 @@ public class PulsarDynamicTableFactory implements DynamicTableSourceFactory, Dyn
             String updateMode,
             Properties pulsarProducerProperties,
             Properties pulsarClientProperties,
-            Integer sinkParallelism) {
+            Integer sinkParallelism,
+            int keyFieldIndex,
+            int maxInFlight) {
         return new PulsarDynamicSink(
                 physicalDataType,
                 encodingFormat,
@@ -228,6 +270,8 @@ public class PulsarDynamicTableFactory implements DynamicTableSourceFactory, Dyn
                 updateMode,
                 pulsarProducerProperties,
                 pulsarClientProperties,
-                sinkParallelism);
+                sinkParallelism,
+                keyFieldIndex,
+                maxInFlight);
     }
 }
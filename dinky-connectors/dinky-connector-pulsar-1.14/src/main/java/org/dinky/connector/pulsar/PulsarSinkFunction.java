@@ -19,21 +19,29 @@
 
 package org.dinky.connector.pulsar;
 
+import static org.apache.flink.util.Preconditions.checkArgument;
+
 import org.dinky.connector.pulsar.util.PulsarConnectionHolder;
 import org.dinky.connector.pulsar.util.PulsarProducerHolder;
-import org.dinky.utils.JSONUtil;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.api.common.functions.RuntimeContext;
 import org.apache.flink.api.common.serialization.SerializationSchema;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
 import org.apache.flink.runtime.state.FunctionInitializationContext;
 import org.apache.flink.runtime.state.FunctionSnapshotContext;
 import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
 import org.apache.flink.streaming.api.functions.sink.RichSinkFunction;
 import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeFamily;
 import org.apache.flink.util.ExceptionUtils;
-import org.apache.flink.util.SerializableObject;
 import org.apache.pulsar.PulsarVersion;
 import org.apache.pulsar.client.api.ClientBuilder;
 import org.apache.pulsar.client.api.CompressionType;
@@ -46,15 +54,18 @@ import org.apache.pulsar.client.api.TypedMessageBuilder;
 import org.apache.pulsar.client.impl.PulsarClientImpl;
 
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
 import java.util.function.BiConsumer;
 
+import javax.annotation.Nullable;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
 
 /**
  * The sink function for Pulsar.
@@ -72,6 +83,8 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T> implements Checkp
     private final Properties pulsarProducerProperties;
     private final Properties pulsarClientProperties;
     private SerializationSchema<T> runtimeEncoder;
+    private final KeyExtractor<T> keyExtractor;
+    private final int maxInFlight;
     private transient Producer producer;
     private transient volatile boolean closed = false;
 
@@ -93,23 +106,29 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T> implements Checkp
     /** Errors encountered in the async producer are stored here. */
     protected transient volatile Exception asyncException;
 
-    /** Lock for accessing the pending records. */
-    protected final SerializableObject pendingRecordsLock = new SerializableObject();
+    /** Permits for unacknowledged records, bounding the messages in flight. */
+    protected transient Semaphore pendingRecords;
 
-    /** Number of unacknowledged records. */
-    protected long pendingRecords;
+    private transient Counter numRecordsOut;
+    private transient Counter numBytesOut;
+    private transient Histogram sendLatency;
 
     public PulsarSinkFunction(
             String topic,
             String serviceUrl,
             Properties pulsarProducerProperties,
             Properties pulsarClientProperties,
-            SerializationSchema<T> runtimeEncoder) {
+            SerializationSchema<T> runtimeEncoder,
+            @Nullable KeyExtractor<T> keyExtractor,
+            int maxInFlight) {
+        checkArgument(maxInFlight > 0, "maxInFlight must be positive.");
         this.topic = topic;
         this.serviceUrl = serviceUrl;
         this.pulsarProducerProperties = pulsarProducerProperties;
         this.pulsarClientProperties = pulsarClientProperties;
         this.runtimeEncoder = runtimeEncoder;
+        this.keyExtractor = keyExtractor;
+        this.maxInFlight = maxInFlight;
     }
 
     @Override
@@ -135,7 +154,9 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T> implements Checkp
             throw new RuntimeException("Cannot create connection to Pulsar.", ex);
         }
 
-        if (flushOnCheckpoint && !((StreamingRuntimeContext) this.getRuntimeContext()).isCheckpointingEnabled()) {
+        if (flushOnCheckpoint
+                && !(getRuntimeContext() instanceof StreamingRuntimeContext
+                        && ((StreamingRuntimeContext) getRuntimeContext()).isCheckpointingEnabled())) {
             log.warn("Flushing on checkpoint is enabled, but checkpointing is not enabled." + " Disabling flushing.");
             flushOnCheckpoint = false;
         }
@@ -155,31 +176,47 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T> implements Checkp
                 acknowledgeMessage();
             };
         }
+
+        pendingRecords = new Semaphore(maxInFlight);
+        MetricGroup metricGroup = getRuntimeContext().getMetricGroup();
+        numRecordsOut = metricGroup.counter("pulsarNumRecordsOut");
+        numBytesOut = metricGroup.counter("pulsarNumBytesOut");
+        sendLatency = metricGroup.histogram("pulsarSendLatencyMs", new DescriptiveStatisticsHistogram(1000));
+        metricGroup.gauge(
+                "pulsarPendingRecords", (Gauge<Integer>) () -> maxInFlight - pendingRecords.availablePermits());
         log.info("end open.");
     }
 
     @Override
     public void invoke(T value, Context context) throws Exception {
-        log.info("start to invoke, send pular message.");
-
         // propagate asynchronous errors
         checkErroneous();
 
         byte[] serializeValue = runtimeEncoder.serialize(value);
-        String strValue = new String(serializeValue);
         TypedMessageBuilder<byte[]> typedMessageBuilder = producer.newMessage();
         typedMessageBuilder.value(serializeValue);
-        typedMessageBuilder.key(getKey(strValue));
-
-        if (flushOnCheckpoint) {
-            synchronized (pendingRecordsLock) {
-                pendingRecords++;
+        if (keyExtractor != null) {
+            String key = keyExtractor.getKey(value);
+            if (key != null) {
+                typedMessageBuilder.key(key);
             }
         }
 
-        // 异步发送
-        CompletableFuture<MessageId> messageIdCompletableFuture = typedMessageBuilder.sendAsync();
-        messageIdCompletableFuture.whenComplete(sendCallback);
+        // blocks once maxInFlight records are waiting for their acknowledgement
+        pendingRecords.acquire();
+        long sendStart = System.currentTimeMillis();
+        try {
+            // 异步发送, batching is left to the producer
+            typedMessageBuilder.sendAsync().whenComplete((messageId, throwable) -> {
+                sendLatency.update(System.currentTimeMillis() - sendStart);
+                sendCallback.accept(messageId, throwable);
+            });
+        } catch (RuntimeException e) {
+            pendingRecords.release();
+            throw e;
+        }
+        numRecordsOut.inc();
+        numBytesOut.inc(serializeValue.length);
     }
 
     @Override
@@ -192,22 +229,18 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T> implements Checkp
     @Override
     public void snapshotState(FunctionSnapshotContext context) throws Exception {
         if (flushOnCheckpoint) {
-            synchronized (pendingRecordsLock) {
-                if (pendingRecords != 0) {
-                    try {
-                        log.info("等待notify");
-                        pendingRecordsLock.wait();
-                        checkErroneous();
-                        flush();
-                        log.info("等待waite之后");
-                    } catch (InterruptedException e) {
-                        // this can be interrupted when the Task has been cancelled.
-                        // by throwing an exception, we ensure that this checkpoint doesn't get
-                        // confirmed
-                        throw new IllegalStateException("Flushing got interrupted while checkpointing", e);
-                    }
-                }
+            try {
+                // send out what the producer still batches, then wait until every record is acknowledged
+                flush();
+                pendingRecords.acquire(maxInFlight);
+                pendingRecords.release(maxInFlight);
+            } catch (InterruptedException e) {
+                // this can be interrupted when the Task has been cancelled.
+                // by throwing an exception, we ensure that this checkpoint doesn't get
+                // confirmed
+                throw new IllegalStateException("Flushing got interrupted while checkpointing", e);
             }
+            checkErroneous();
         }
     }
 
@@ -216,13 +249,21 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T> implements Checkp
         // nothing to do.
     }
 
-    public String getKey(String strValue) {
-        // JSONObject jsonObject = JSONObject.parseObject(strValue);
-        // JSONObject jsonObject = JSONUtil.parseObject(strValue);
-        // String key = jsonObject.getString("key");
-        ObjectNode jsonNodes = JSONUtil.parseObject(strValue);
-        String key = String.valueOf(jsonNodes.get("key"));
-        return key == null ? "" : key;
+    /**
+     * Creates a {@link KeyExtractor} reading the message key from a field of the row. The key keeps the encoding of
+     * the json value it was read from in earlier versions, so messages keep their partitions: character strings are
+     * json quoted, other values use their string form and a null field gives the key "null".
+     */
+    public static KeyExtractor<RowData> fieldKeyExtractor(LogicalType fieldType, int fieldIndex) {
+        final RowData.FieldGetter fieldGetter = RowData.createFieldGetter(fieldType, fieldIndex);
+        final boolean quoted = fieldType.is(LogicalTypeFamily.CHARACTER_STRING);
+        return row -> {
+            Object key = fieldGetter.getFieldOrNull(row);
+            if (key == null) {
+                return "null";
+            }
+            return quoted ? TextNode.valueOf(key.toString()).toString() : key.toString();
+        };
     }
 
     // 获取Pulsar Producer
@@ -287,20 +328,18 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T> implements Checkp
     }
 
     private void acknowledgeMessage() {
-        if (flushOnCheckpoint) {
-            synchronized (pendingRecordsLock) {
-                log.info("pendingRecords：{}", pendingRecords);
-                pendingRecords--;
-                if (pendingRecords == 0) {
-                    pendingRecordsLock.notifyAll();
-                    log.info("notify完成");
-                }
-            }
-        }
+        pendingRecords.release();
     }
 
     /** Flush pending records. */
     protected void flush() throws Exception {
         producer.flush();
     }
+
+    /** Extracts the message key of a record, a null key leaves the message without key. */
+    @FunctionalInterface
+    public interface KeyExtractor<T> extends Serializable {
+        @Nullable
+        String getKey(T value);
+    }
 }
@@ -26,8 +26,11 @@ import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ConfigOptions;
 import org.apache.flink.configuration.DescribedEnum;
 import org.apache.flink.configuration.description.InlineElement;
+import org.apache.pulsar.client.api.CompressionType;
 import org.apache.pulsar.client.api.SubscriptionType;
 
+import java.time.Duration;
+
 /** * @version 1.0 * @Desc: */
 
 /** Options for the Pulsar connector. */
@@ -88,6 +91,40 @@ public class PulsarConnectorOptions {
             .noDefaultValue()
             .withDescription("Defines pulsar sink parallelism. ");
 
+    public static final ConfigOption<String> SINK_KEY_FIELD = ConfigOptions.key("sink.key-field")
+            .stringType()
+            .noDefaultValue()
+            .withDescription("Defines the column whose value is used as pulsar message key. "
+                    + "A column named 'key' is used when not set. ");
+
+    public static final ConfigOption<CompressionType> SINK_COMPRESSION_TYPE = ConfigOptions.key(
+                    "sink.compression-type")
+            .enumType(CompressionType.class)
+            .defaultValue(CompressionType.LZ4)
+            .withDescription("Defines pulsar producer compression type. ");
+
+    public static final ConfigOption<Boolean> SINK_BATCHING_ENABLED = ConfigOptions.key("sink.batching.enabled")
+            .booleanType()
+            .defaultValue(true)
+            .withDescription("Defines whether pulsar producer batches messages. ");
+
+    public static final ConfigOption<Integer> SINK_BATCHING_MAX_MESSAGES = ConfigOptions.key(
+                    "sink.batching.max-messages")
+            .intType()
+            .defaultValue(1000)
+            .withDescription("Defines the maximum number of messages in a pulsar batch. ");
+
+    public static final ConfigOption<Duration> SINK_BATCHING_MAX_PUBLISH_DELAY = ConfigOptions.key(
+                    "sink.batching.max-publish-delay")
+            .durationType()
+            .defaultValue(Duration.ofMillis(1))
+            .withDescription("Defines how long pulsar producer waits to fill a batch before publishing it. ");
+
+    public static final ConfigOption<Integer> SINK_MAX_IN_FLIGHT = ConfigOptions.key("sink.max-in-flight")
+            .intType()
+            .defaultValue(10000)
+            .withDescription("Defines the maximum number of unacknowledged messages per sink subtask. ");
+
     // 与老平台 1.14.3之前版本的sql进行兼容，但是并未使用的参数
     public static final ConfigOption<String> VERSION = ConfigOptions.key("connector.version")
             .stringType()
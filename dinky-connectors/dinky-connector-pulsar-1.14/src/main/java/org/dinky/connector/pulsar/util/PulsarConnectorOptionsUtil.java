@@ -19,10 +19,17 @@
 
 package org.dinky.connector.pulsar.util;
 
+import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.SINK_BATCHING_ENABLED;
+import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.SINK_BATCHING_MAX_MESSAGES;
+import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.SINK_BATCHING_MAX_PUBLISH_DELAY;
+import static org.dinky.connector.pulsar.util.PulsarConnectorOptions.SINK_COMPRESSION_TYPE;
+
 import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.configuration.ReadableConfig;
 
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 /** * @version 1.0 * @Desc: */
 
@@ -47,6 +54,21 @@ public class PulsarConnectorOptionsUtil {
         return pulsarProperties;
     }
 
+    /**
+     * Producer properties with the batching and compression settings of the sink options applied.
+     * Explicit 'properties.*' entries take precedence.
+     */
+    public static Properties getPulsarProducerProperties(Map<String, String> tableOptions, ReadableConfig config) {
+        final Properties producerProperties = getPulsarProperties(tableOptions, PROPERTIES_PREFIX);
+        final long publishDelayMicros =
+                TimeUnit.NANOSECONDS.toMicros(config.get(SINK_BATCHING_MAX_PUBLISH_DELAY).toNanos());
+        producerProperties.putIfAbsent("compressionType", config.get(SINK_COMPRESSION_TYPE).name());
+        producerProperties.putIfAbsent("batchingEnabled", String.valueOf(config.get(SINK_BATCHING_ENABLED)));
+        producerProperties.putIfAbsent("batchingMaxMessages", String.valueOf(config.get(SINK_BATCHING_MAX_MESSAGES)));
+        producerProperties.putIfAbsent("batchingMaxPublishDelayMicros", String.valueOf(publishDelayMicros));
+        return producerProperties;
+    }
+
     /**
      * Decides if the table options contains Pulsar client properties that start with prefix
      * 'properties'.
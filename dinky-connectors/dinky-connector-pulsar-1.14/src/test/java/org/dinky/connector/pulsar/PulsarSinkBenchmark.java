@@ -0,0 +1,185 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.connector.pulsar;
+
+import org.dinky.utils.JSONUtil;
+
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.pulsar.client.api.Producer;
+import org.apache.pulsar.client.api.TypedMessageBuilder;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the per record cost of {@link PulsarSinkFunction} against a producer that acknowledges every message
+ * immediately, comparing the former key lookup in the serialized json value with the key read by field index.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PulsarSinkBenchmark {
+
+    private static final int COLUMNS = 12;
+    private static final int MAX_IN_FLIGHT = 10000;
+
+    private RowData row;
+    private PulsarSinkFunction<RowData> jsonKeySink;
+    private PulsarSinkFunction<RowData> fieldKeySink;
+    private PulsarSinkFunction<RowData> noKeySink;
+
+    @Setup
+    public void setup() throws Exception {
+        GenericRowData genericRow = new GenericRowData(COLUMNS);
+        genericRow.setField(0, StringData.fromString("order-000042"));
+        for (int i = 1; i < COLUMNS; i++) {
+            genericRow.setField(i, StringData.fromString("value of column " + i));
+        }
+        row = genericRow;
+
+        jsonKeySink = openSink(value -> {
+            // what the sink did before: decode the serialized value again to read its "key" field
+            String json = new String(encode(value), StandardCharsets.UTF_8);
+            return String.valueOf(JSONUtil.parseObject(json).get("key"));
+        });
+        fieldKeySink = openSink(PulsarSinkFunction.fieldKeyExtractor(new VarCharType(), 0));
+        noKeySink = openSink(null);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        jsonKeySink.close();
+        fieldKeySink.close();
+        noKeySink.close();
+    }
+
+    @Benchmark
+    public void jsonKey() throws Exception {
+        jsonKeySink.invoke(row, null);
+    }
+
+    @Benchmark
+    public void fieldKey() throws Exception {
+        fieldKeySink.invoke(row, null);
+    }
+
+    @Benchmark
+    public void noKey() throws Exception {
+        noKeySink.invoke(row, null);
+    }
+
+    private static PulsarSinkFunction<RowData> openSink(PulsarSinkFunction.KeyExtractor<RowData> keyExtractor)
+            throws Exception {
+        PulsarSinkFunction<RowData> sink = new PulsarSinkFunction<RowData>(
+                "benchmark",
+                "pulsar://localhost:6650",
+                new Properties(),
+                new Properties(),
+                PulsarSinkBenchmark::encode,
+                keyExtractor,
+                MAX_IN_FLIGHT) {
+            @Override
+            public Producer createReusedProducer() {
+                return mockProducer();
+            }
+        };
+        sink.setRuntimeContext(mockRuntimeContext());
+        sink.open(new Configuration());
+        return sink;
+    }
+
+    private static byte[] encode(RowData value) {
+        StringBuilder json = new StringBuilder("{\"key\":\"").append(value.getString(0)).append('"');
+        for (int i = 1; i < COLUMNS; i++) {
+            json.append(",\"col_").append(i).append("\":\"").append(value.getString(i)).append('"');
+        }
+        return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** A producer whose messages are acknowledged as soon as they are sent. */
+    private static Producer mockProducer() {
+        TypedMessageBuilder<?> messageBuilder = mock(TypedMessageBuilder.class, (proxy, method, args) -> {
+            if ("sendAsync".equals(method.getName())) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return proxy;
+        });
+        return mock(Producer.class, (proxy, method, args) -> {
+            if ("newMessage".equals(method.getName())) {
+                return messageBuilder;
+            }
+            return null;
+        });
+    }
+
+    private static RuntimeContext mockRuntimeContext() {
+        return mock(RuntimeContext.class, (proxy, method, args) -> {
+            if (MetricGroup.class.isAssignableFrom(method.getReturnType())) {
+                return UnregisteredMetricsGroup.createOperatorMetricGroup();
+            }
+            if ("getNumberOfParallelSubtasks".equals(method.getName())) {
+                return 1;
+            }
+            return method.getReturnType() == int.class ? 0 : null;
+        });
+    }
+
+    private static <T> T mock(Class<T> type, InvocationHandler handler) {
+        ClassLoader classLoader = PulsarSinkBenchmark.class.getClassLoader();
+        return type.cast(Proxy.newProxyInstance(classLoader, new Class<?>[] {type}, handler));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                        .include(PulsarSinkBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+}
@@ -30,6 +30,7 @@ import org.dinky.gateway.result.SavePointResult;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -91,6 +92,18 @@ public class FlinkAPI {
         return parse(res);
     }
 
+    /**
+     * 异步get请求, 通过共享连接池并行发送, 相同的请求在完成前只发送一次
+     *
+     * @param route route
+     * @return {@link CompletableFuture}
+     */
+    private CompletableFuture<JsonNode> getAsync(String route) {
+        return FlinkRestClient.getInstance()
+                .getAsync(NetConstant.HTTP + address + NetConstant.SLASH + route)
+                .thenApply(this::parse);
+    }
+
     /**
      * get请求获取jobManger/TaskManager的日志 (结果为字符串并不是json格式)
      *
@@ -98,7 +111,7 @@ public class FlinkAPI {
      * @return {@link String}
      */
     private String getResult(String route) {
-        return HttpUtil.get(NetConstant.HTTP + address + NetConstant.SLASH + route, NetConstant.SERVER_TIME_OUT_ACTIVE);
+        return FlinkRestClient.getInstance().get(NetConstant.HTTP + address + NetConstant.SLASH + route);
     }
 
     private JsonNode post(String route, String body) {
@@ -259,6 +272,14 @@ public class FlinkAPI {
         return getJobInfoSpecialItem(jobId, FlinkRestAPIConstant.CONFIG);
     }
 
+    public CompletableFuture<JsonNode> getJobInfoAsync(String jobId) {
+        return getAsync(FlinkRestAPIConstant.JOBS + jobId);
+    }
+
+    public CompletableFuture<JsonNode> getJobInfoSpecialItemAsync(String jobId, String flinkRestAPIConstant) {
+        return getAsync(FlinkRestAPIConstant.JOBS + jobId + flinkRestAPIConstant);
+    }
+
     /** @return JsonNode */
     public JsonNode getJobManagerMetrics() {
         return get(FlinkRestAPIConstant.JOB_MANAGER
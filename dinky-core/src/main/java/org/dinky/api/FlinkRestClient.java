@@ -0,0 +1,179 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.api;
+
+import org.dinky.data.constant.NetConstant;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shared client of the Flink REST API.
+ * <p>
+ * All JobManagers share one keep-alive connection pool, the number of connections to one host is
+ * bounded by {@link #MAX_CONNECTIONS_PER_HOST}, which is also the per host concurrency limit.
+ * Requests run on a bounded executor and return a {@link CompletableFuture}, so several endpoints of
+ * a job can be fetched in parallel. Identical GET requests that are in flight at the same time share
+ * one HTTP call.
+ * </p>
+ */
+@Slf4j
+public final class FlinkRestClient {
+
+    private static final int MAX_CONNECTIONS_PER_HOST = 8;
+    private static final int MAX_CONNECTIONS = 256;
+    private static final int MAX_THREADS = 64;
+    /** Requests waiting for a thread, further requests are rejected and fail their future. */
+    private static final int MAX_QUEUED_REQUESTS = 1024;
+    private static final long IDLE_CONNECTION_TIMEOUT = 60;
+
+    private static volatile FlinkRestClient instance;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final ExecutorService executor;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private FlinkRestClient() {
+        connectionManager = new PoolingHttpClientConnectionManager(IDLE_CONNECTION_TIMEOUT, TimeUnit.SECONDS);
+        connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_HOST);
+        connectionManager.setMaxTotal(MAX_CONNECTIONS);
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(NetConstant.SERVER_TIME_OUT_ACTIVE)
+                .setSocketTimeout(NetConstant.SERVER_TIME_OUT_ACTIVE)
+                .setConnectionRequestTimeout(NetConstant.SERVER_TIME_OUT_ACTIVE)
+                .build();
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(IDLE_CONNECTION_TIMEOUT, TimeUnit.SECONDS)
+                .build();
+        AtomicInteger threadNum = new AtomicInteger();
+        ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+                MAX_THREADS,
+                MAX_THREADS,
+                IDLE_CONNECTION_TIMEOUT,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_REQUESTS),
+                r -> {
+                    Thread thread = new Thread(r, "FlinkRestClient-" + threadNum.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        threadPool.allowCoreThreadTimeOut(true);
+        executor = threadPool;
+    }
+
+    public static FlinkRestClient getInstance() {
+        if (instance == null) {
+            synchronized (FlinkRestClient.class) {
+                if (instance == null) {
+                    instance = new FlinkRestClient();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Send a GET request asynchronously, a request to the same url that is still in flight is reused.
+     *
+     * @param url full url of the request
+     * @return the response body
+     */
+    public CompletableFuture<String> getAsync(String url) {
+        CompletableFuture<String> future = inFlight.get(url);
+        if (future != null) {
+            return future;
+        }
+        CompletableFuture<String> created = new CompletableFuture<>();
+        future = inFlight.putIfAbsent(url, created);
+        if (future != null) {
+            return future;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    created.complete(get(url));
+                } catch (Throwable e) {
+                    created.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(url, created);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Too many pending Flink REST requests, reject {}", url);
+            inFlight.remove(url, created);
+            created.completeExceptionally(e);
+        } catch (RuntimeException e) {
+            inFlight.remove(url, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    /**
+     * Send a GET request on the calling thread through the shared connection pool.
+     *
+     * @param url full url of the request
+     * @return the response body
+     */
+    public String get(String url) {
+        HttpGet httpGet = new HttpGet(url);
+        try (CloseableHttpResponse response = httpClient.execute(httpGet)) {
+            HttpEntity entity = response.getEntity();
+            // the entity must be consumed completely, otherwise the connection can not be reused
+            return entity == null ? null : EntityUtils.toString(entity, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Request " + url + " failed", e);
+        }
+    }
+
+    public int getInFlightSize() {
+        return inFlight.size();
+    }
+
+    public int getLeasedConnections() {
+        return connectionManager.getTotalStats().getLeased();
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.data.result;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ResultCollectorPool
+ * <p>
+ * Runs the collectors of SELECT previews on a bounded executor. A preview is rejected when the pool or the quota of
+ * its user is exhausted, and a collector that received no row for {@link #IDLE_TIMEOUT} is cancelled together with
+ * its Flink job.
+ * </p>
+ */
+@Slf4j
+public final class ResultCollectorPool {
+
+    private ResultCollectorPool() {}
+
+    private static final int MAX_COLLECTORS = 64;
+    private static final int MAX_COLLECTORS_PER_USER = 8;
+    private static final long IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+    private static final long CHECK_INTERVAL = 10;
+
+    private static final Map<String, Collector> collectors = new ConcurrentHashMap<>();
+    private static final Map<Integer, AtomicInteger> userCollectors = new ConcurrentHashMap<>();
+    private static final AtomicLong rejectedCount = new AtomicLong();
+    private static final ThreadPoolExecutor executor;
+
+    private static long lastRowCount;
+    private static long collectedRowCount;
+    private static volatile double rowsPerSecond;
+
+    static {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(0, MAX_COLLECTORS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            Thread thread = new Thread(r, "ResultCollector-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ResultCollector-Watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog.scheduleWithFixedDelay(ResultCollectorPool::check, CHECK_INTERVAL, CHECK_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Start collecting the rows of a preview job.
+     *
+     * @param jobId the Flink job id
+     * @param userId the user running the preview, null if unknown
+     * @param runnable the collector
+     * @return false if the pool or the quota of the user is exhausted
+     */
+    public static synchronized boolean submit(String jobId, Integer userId, ResultRunnable runnable) {
+        AtomicInteger userCount =
+                userId == null ? null : userCollectors.computeIfAbsent(userId, k -> new AtomicInteger());
+        if (collectors.size() >= MAX_COLLECTORS || (userCount != null && userCount.get() >= MAX_COLLECTORS_PER_USER)) {
+            rejectedCount.incrementAndGet();
+            log.warn(
+                    "Reject result collector of job {}, active collectors: {}, user {} collectors: {}",
+                    jobId,
+                    collectors.size(),
+                    userId,
+                    userCount == null ? 0 : userCount.get());
+            return false;
+        }
+        Collector collector = new Collector(userId, runnable);
+        collectors.put(jobId, collector);
+        if (userCount != null) {
+            userCount.incrementAndGet();
+        }
+        try {
+            collector.future = executor.submit(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    release(jobId, collector);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            release(jobId, collector);
+            rejectedCount.incrementAndGet();
+            log.warn("Reject result collector of job {}: {}", jobId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Stop the collector of a preview job and cancel the job.
+     *
+     * @return false if no collector is running for the job
+     */
+    public static boolean cancel(String jobId) {
+        Collector collector = collectors.get(jobId);
+        if (collector == null) {
+            return false;
+        }
+        collector.runnable.cancel();
+        Future<?> future = collector.future;
+        if (future != null) {
+            future.cancel(true);
+        }
+        return true;
+    }
+
+    public static int getActiveCount() {
+        return collectors.size();
+    }
+
+    public static long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public static double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    private static synchronized void release(String jobId, Collector collector) {
+        if (collectors.remove(jobId, collector)) {
+            collectedRowCount += collector.runnable.getRowCount();
+            if (collector.userId != null) {
+                userCollectors.computeIfPresent(
+                        collector.userId, (k, count) -> count.decrementAndGet() <= 0 ? null : count);
+            }
+        }
+    }
+
+    private static void check() {
+        try {
+            long now = System.currentTimeMillis();
+            for (Map.Entry<String, Collector> entry : new ArrayList<>(collectors.entrySet())) {
+                if (now - entry.getValue().runnable.getLastActiveTime() > IDLE_TIMEOUT) {
+                    log.info("Cancel result collector of job {} idle for {} ms", entry.getKey(), IDLE_TIMEOUT);
+                    cancel(entry.getKey());
+                }
+            }
+            updateRowsPerSecond();
+        } catch (Exception e) {
+            log.error("Check result collectors failed: ", e);
+        }
+    }
+
+    private static synchronized void updateRowsPerSecond() {
+        long rowCount = collectedRowCount;
+        for (Collector collector : collectors.values()) {
+            rowCount += collector.runnable.getRowCount();
+        }
+        rowsPerSecond = (double) (rowCount - lastRowCount) / CHECK_INTERVAL;
+        lastRowCount = rowCount;
+    }
+
+    private static class Collector {
+
+        private final Integer userId;
+        private final ResultRunnable runnable;
+        private volatile Future<?> future;
+
+        private Collector(Integer userId, ResultRunnable runnable) {
+            this.userId = userId;
+            this.runnable = runnable;
+        }
+    }
+}
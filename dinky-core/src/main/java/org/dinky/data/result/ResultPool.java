@@ -19,19 +19,50 @@
 
 package org.dinky.data.result;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * ResultPool
+ * <p>
+ * Results that were not read for {@link #RESULT_TTL} are evicted. When the estimated size of the results held in
+ * memory exceeds {@link #MEMORY_LIMIT}, the least recently read finished results are spilled to a local file and
+ * loaded again on their next read.
+ * </p>
  *
  * @since 2021/7/1 22:20
  */
+@Slf4j
 public final class ResultPool {
 
     private ResultPool() {}
 
+    private static final long RESULT_TTL = TimeUnit.MINUTES.toMillis(30);
+    private static final long MEMORY_LIMIT = 256L * 1024 * 1024;
+    private static final long CLEAN_INTERVAL = 60;
+    private static final File SPILL_DIR = new File(System.getProperty("java.io.tmpdir"), "dinky-result");
+
     private static final Map<String, SelectResult> results = new ConcurrentHashMap<>();
+    private static final Map<String, Long> accessTimes = new ConcurrentHashMap<>();
+
+    static {
+        ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ResultPool-Cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleWithFixedDelay(ResultPool::clean, CLEAN_INTERVAL, CLEAN_INTERVAL, TimeUnit.SECONDS);
+    }
 
     public static boolean containsKey(String key) {
         return results.containsKey(key);
@@ -39,21 +70,75 @@ public final class ResultPool {
 
     public static void put(SelectResult result) {
         results.put(result.getJobId(), result);
+        accessTimes.put(result.getJobId(), System.currentTimeMillis());
     }
 
     public static SelectResult get(String key) {
-        return results.getOrDefault(key, SelectResult.buildDestruction(key));
+        SelectResult result = results.get(key);
+        if (result == null) {
+            return SelectResult.buildDestruction(key);
+        }
+        accessTimes.put(key, System.currentTimeMillis());
+        return result;
     }
 
     public static boolean remove(String key) {
-        if (results.containsKey(key)) {
-            results.remove(key);
-            return true;
+        accessTimes.remove(key);
+        SelectResult result = results.remove(key);
+        if (result == null) {
+            return false;
         }
-        return false;
+        result.release();
+        return true;
     }
 
     public static void clear() {
-        results.clear();
+        new ArrayList<>(results.keySet()).forEach(ResultPool::remove);
+    }
+
+    public static long getMemoryBytes() {
+        return results.values().stream()
+                .mapToLong(SelectResult::getEstimatedBytes)
+                .sum();
+    }
+
+    private static void clean() {
+        try {
+            long now = System.currentTimeMillis();
+            accessTimes.entrySet().stream()
+                    .filter(e -> now - e.getValue() > RESULT_TTL)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList())
+                    .forEach(ResultPool::remove);
+            spillIfNeeded();
+        } catch (Exception e) {
+            log.error("Clean result pool failed: ", e);
+        }
+    }
+
+    private static void spillIfNeeded() {
+        long memoryBytes = getMemoryBytes();
+        if (memoryBytes <= MEMORY_LIMIT) {
+            return;
+        }
+        List<String> candidates = results.entrySet().stream()
+                .filter(e -> e.getValue().isFinished())
+                .map(Map.Entry::getKey)
+                .sorted(Comparator.comparingLong(key -> accessTimes.getOrDefault(key, 0L)))
+                .collect(Collectors.toList());
+        for (String key : candidates) {
+            if (memoryBytes <= MEMORY_LIMIT) {
+                return;
+            }
+            SelectResult result = results.get(key);
+            if (result == null) {
+                continue;
+            }
+            long bytes = result.getEstimatedBytes();
+            if (result.spill(new File(SPILL_DIR, key + ".result"))) {
+                memoryBytes -= bytes;
+                log.info("Spill result {} of {} bytes to {}", key, bytes, SPILL_DIR);
+            }
+        }
     }
 }
@@ -0,0 +1,378 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.data.result;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Column-major row buffer of a SELECT preview.
+ * <p>
+ * Column names are interned and stored once, the values of every column are kept in one array instead of a map
+ * per row. Retracted rows are found through an index keyed by the row values, so UPDATE_BEFORE and DELETE are
+ * O(1); the retracted slots are compacted once they outnumber the live rows. Reads are paged, only the requested
+ * rows are materialized as maps.
+ * </p>
+ * <p>
+ * Every add and retract takes the next sequence number, an added row keeps its sequence number as id. Readers that
+ * remember the last sequence they saw only fetch the rows added and retracted after it.
+ * </p>
+ */
+@Slf4j
+public class ResultRowBuffer implements Serializable {
+
+    private static final long serialVersionUID = 3459871627381932351L;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MIN_COMPACT_SIZE = 64;
+    private static final long OBJECT_BYTES = 16;
+    private static final long REFERENCE_BYTES = 8;
+    private static final int MAX_RETRACTIONS = 10000;
+
+    private final String[] columns;
+
+    private Object[][] data;
+
+    private long[] rowIds = new long[INITIAL_CAPACITY];
+
+    private long sequence = 0;
+
+    /** Pairs of retract sequence and retracted row id, the oldest entries are dropped. */
+    private final ArrayDeque<long[]> retractions = new ArrayDeque<>();
+
+    /** Readers behind this sequence may have missed retractions and have to read a snapshot. */
+    private long retractionFloor = 0;
+
+    private int size = 0;
+
+    private int liveCount = 0;
+
+    private final BitSet retracted = new BitSet();
+
+    private transient Map<RowKey, ArrayDeque<Integer>> index;
+
+    private final boolean retractable;
+
+    private long estimatedBytes = 0;
+
+    public ResultRowBuffer(List<String> columns, boolean retractable) {
+        this.columns = new String[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            this.columns[i] = columns.get(i).intern();
+        }
+        this.retractable = retractable;
+        this.data = new Object[this.columns.length][INITIAL_CAPACITY];
+        this.index = retractable ? new HashMap<>() : null;
+    }
+
+    public synchronized void add(Object[] row) {
+        ensureCapacity(size + 1);
+        for (int i = 0; i < columns.length; i++) {
+            data[i][size] = row[i];
+            estimatedBytes += estimateBytes(row[i]);
+        }
+        rowIds[size] = ++sequence;
+        if (retractable) {
+            index.computeIfAbsent(new RowKey(row), k -> new ArrayDeque<>()).addLast(size);
+        }
+        size++;
+        liveCount++;
+    }
+
+    /**
+     * Remove the earliest added row with the same values.
+     *
+     * @return false if no such row exists
+     */
+    public synchronized boolean retract(Object[] row) {
+        if (!retractable) {
+            return false;
+        }
+        RowKey key = new RowKey(row);
+        ArrayDeque<Integer> positions = index.get(key);
+        if (positions == null) {
+            return false;
+        }
+        int position = positions.pollFirst();
+        if (positions.isEmpty()) {
+            index.remove(key);
+        }
+        retracted.set(position);
+        retractions.addLast(new long[] {++sequence, rowIds[position]});
+        if (retractions.size() > MAX_RETRACTIONS) {
+            retractionFloor = retractions.pollFirst()[0];
+        }
+        for (int i = 0; i < columns.length; i++) {
+            estimatedBytes -= estimateBytes(data[i][position]);
+            data[i][position] = null;
+        }
+        liveCount--;
+        if (size - liveCount > liveCount && size >= MIN_COMPACT_SIZE) {
+            compact();
+        }
+        return true;
+    }
+
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Read the changes after a sequence number.
+     *
+     * @param since the last sequence number the reader has seen
+     * @return the live rows added and the ids of rows retracted after it, or a snapshot of all live rows if the
+     *     retractions since then are no longer known
+     */
+    public synchronized ResultRowDelta getChangesSince(long since) {
+        boolean reset = since <= 0 || since > sequence || since < retractionFloor;
+        long from = reset ? 0 : since;
+        int start = firstPositionAfter(from);
+        List<Object[]> rows = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        for (int position = start; position < size; position++) {
+            if (retracted.get(position)) {
+                continue;
+            }
+            Object[] row = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                row[i] = data[i][position];
+            }
+            rows.add(row);
+            ids.add(rowIds[position]);
+        }
+        List<Long> retractedIds = new ArrayList<>();
+        if (!reset) {
+            Iterator<long[]> iterator = retractions.descendingIterator();
+            while (iterator.hasNext()) {
+                long[] retraction = iterator.next();
+                if (retraction[0] <= from) {
+                    break;
+                }
+                // Rows added after the reader's sequence were never seen by it.
+                if (retraction[1] <= from) {
+                    retractedIds.add(retraction[1]);
+                }
+            }
+        }
+        ResultRowDelta delta = new ResultRowDelta();
+        delta.setSequence(sequence);
+        delta.setReset(reset);
+        delta.setColumns(getColumns());
+        delta.setRowIds(ids);
+        delta.setRows(rows);
+        delta.setRetractedIds(retractedIds);
+        return delta;
+    }
+
+    public synchronized int getRowCount() {
+        return liveCount;
+    }
+
+    public List<String> getColumns() {
+        return Collections.unmodifiableList(Arrays.asList(columns));
+    }
+
+    /** Estimated heap size of the buffered values in bytes. */
+    public synchronized long getEstimatedBytes() {
+        return estimatedBytes + (long) (columns.length + 1) * rowIds.length * REFERENCE_BYTES;
+    }
+
+    /**
+     * Read a page of live rows.
+     *
+     * @param offset index of the first live row
+     * @param limit  max number of rows, negative for all
+     * @return the rows as maps of column name to value
+     */
+    public synchronized List<Map<String, Object>> getRows(int offset, int limit) {
+        int max = limit < 0 ? liveCount : Math.min(limit, Math.max(0, liveCount - offset));
+        List<Map<String, Object>> rows = new ArrayList<>(Math.max(max, 0));
+        int live = 0;
+        for (int position = 0; position < size && rows.size() < max; position++) {
+            if (retracted.get(position)) {
+                continue;
+            }
+            if (live++ < offset) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>(columns.length * 2);
+            for (int i = 0; i < columns.length; i++) {
+                row.put(columns[i], data[i][position]);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /** Row ids only grow with the position, so the first row after a sequence is found by binary search. */
+    private int firstPositionAfter(long since) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rowIds[mid] <= since) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void ensureCapacity(int capacity) {
+        int length = rowIds.length;
+        if (capacity <= length) {
+            return;
+        }
+        int newLength = Math.max(capacity, length + (length >> 1));
+        for (int i = 0; i < columns.length; i++) {
+            data[i] = Arrays.copyOf(data[i], newLength);
+        }
+        rowIds = Arrays.copyOf(rowIds, newLength);
+    }
+
+    private void compact() {
+        int target = 0;
+        for (int position = 0; position < size; position++) {
+            if (retracted.get(position)) {
+                continue;
+            }
+            if (target != position) {
+                for (int i = 0; i < columns.length; i++) {
+                    data[i][target] = data[i][position];
+                }
+                rowIds[target] = rowIds[position];
+            }
+            target++;
+        }
+        for (int i = 0; i < columns.length; i++) {
+            Arrays.fill(data[i], target, size, null);
+        }
+        size = target;
+        retracted.clear();
+        rebuildIndex();
+    }
+
+    private void rebuildIndex() {
+        if (!retractable) {
+            return;
+        }
+        index = new HashMap<>();
+        for (int position = 0; position < size; position++) {
+            if (retracted.get(position)) {
+                continue;
+            }
+            Object[] row = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                row[i] = data[i][position];
+            }
+            index.computeIfAbsent(new RowKey(row), k -> new ArrayDeque<>()).addLast(position);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        rebuildIndex();
+    }
+
+    /**
+     * Serialize the buffer to a file.
+     *
+     * @return false if a value is not serializable or the file can not be written
+     */
+    public synchronized boolean write(File file) {
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            try (ObjectOutputStream out =
+                    new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+                out.writeObject(this);
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("Write result buffer to {} failed: {}", file, e.getMessage());
+            try {
+                Files.deleteIfExists(file.toPath());
+            } catch (IOException ignored) {
+                // the pool retries the cleanup on remove
+            }
+            return false;
+        }
+    }
+
+    public static ResultRowBuffer read(File file) {
+        try (ObjectInputStream in =
+                new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            return (ResultRowBuffer) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Read result buffer from " + file + " failed", e);
+        }
+    }
+
+    private static long estimateBytes(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return OBJECT_BYTES * 2 + ((String) value).length();
+        }
+        return OBJECT_BYTES * 2;
+    }
+
+    /** Row values compared by equality, the hash is computed once. */
+    private static final class RowKey {
+
+        private final Object[] values;
+        private final int hash;
+
+        private RowKey(Object[] values) {
+            this.values = values;
+            this.hash = Arrays.deepHashCode(values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof RowKey && Arrays.deepEquals(values, ((RowKey) obj).values);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.data.result;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Rows added to and retracted from a SELECT preview after a sequence number.
+ * <p>
+ * Rows are sent as value arrays in the order of {@link #columns}, {@link #rowIds} holds the id of each row that a
+ * later delta refers to in {@link #retractedIds}. When {@link #reset} is set, the rows are a snapshot that replaces
+ * everything the reader has. {@link #available} is false while the preview is not in the result pool, either not
+ * registered yet or already removed.
+ * </p>
+ */
+@Getter
+@Setter
+public class ResultRowDelta {
+
+    private String jobId;
+    private long sequence;
+    private boolean reset;
+    private boolean finished;
+    private boolean available;
+    private List<String> columns;
+    private List<Long> rowIds;
+    private List<Object[]> rows;
+    private List<Long> retractedIds;
+}
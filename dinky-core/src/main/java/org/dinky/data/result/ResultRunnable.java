@@ -26,16 +26,11 @@ import org.apache.flink.core.execution.JobClient;
 import org.apache.flink.table.api.TableResult;
 import org.apache.flink.types.Row;
 import org.apache.flink.types.RowKind;
+import org.apache.flink.util.CloseableIterator;
 
 import java.time.Instant;
 import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
-
-import com.google.common.collect.Streams;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -52,7 +47,11 @@ public class ResultRunnable implements Runnable {
     private final Integer maxRowNum;
     private final boolean isChangeLog;
     private final boolean isAutoCancel;
-    private final String timeZone;
+    private final ZoneId zoneId;
+    private volatile CloseableIterator<Row> iterator;
+    private volatile boolean cancelled;
+    private volatile long rowCount;
+    private volatile long lastActiveTime = System.currentTimeMillis();
 
     public ResultRunnable(
             TableResult tableResult, Integer maxRowNum, boolean isChangeLog, boolean isAutoCancel, String timeZone) {
@@ -60,85 +59,118 @@ public class ResultRunnable implements Runnable {
         this.maxRowNum = maxRowNum;
         this.isChangeLog = isChangeLog;
         this.isAutoCancel = isAutoCancel;
-        this.timeZone = timeZone;
+        this.zoneId = ZoneId.of(timeZone);
     }
 
     @Override
     public void run() {
-        try {
-            tableResult.getJobClient().ifPresent(jobClient -> {
-                String jobId = jobClient.getJobID().toHexString();
-                if (!ResultPool.containsKey(jobId)) {
-                    ResultPool.put(new SelectResult(jobId, new ArrayList<>(), new LinkedHashSet<>()));
+        tableResult.getJobClient().ifPresent(jobClient -> {
+            String jobId = jobClient.getJobID().toHexString();
+            try {
+                List<String> columns = FlinkUtil.catchColumn(tableResult);
+                if (isChangeLog) {
+                    columns.add(0, FlinkConstant.OP);
                 }
+                // Only the upsert view retracts rows, the changelog view keeps every change.
+                ResultRowBuffer rowBuffer = new ResultRowBuffer(columns, !isChangeLog);
+                SelectResult selectResult = new SelectResult(jobId, rowBuffer);
+                ResultPool.put(selectResult);
 
                 try {
+                    iterator = tableResult.collect();
                     if (isChangeLog) {
-                        catchChangLog(ResultPool.get(jobId));
+                        catchChangLog(rowBuffer);
                     } else {
-                        catchData(ResultPool.get(jobId));
+                        catchData(rowBuffer);
                     }
-                } catch (Exception e) {
-                    log.error(String.format(e.toString()));
+                } finally {
+                    selectResult.setFinished(true);
+                }
+            } catch (Exception e) {
+                if (cancelled) {
+                    log.debug("Collect result of job {} was cancelled: {}", jobId, e.toString());
+                } else {
+                    log.error("Collect result of job {} failed: ", jobId, e);
                 }
-            });
-        } catch (Exception e) {
-            // Nothing to do
+            }
+        });
+    }
+
+    /** Stop collecting rows and cancel the Flink job, the collector thread returns once the iterator is closed. */
+    public void cancel() {
+        cancelled = true;
+        tableResult.getJobClient().ifPresent(JobClient::cancel);
+        CloseableIterator<Row> it = iterator;
+        if (it != null) {
+            try {
+                it.close();
+            } catch (Exception e) {
+                log.debug("Close result iterator failed: {}", e.toString());
+            }
         }
     }
 
-    private void catchChangLog(SelectResult selectResult) {
-        List<Map<String, Object>> rows = selectResult.getRowData();
-        List<String> columns = FlinkUtil.catchColumn(tableResult);
+    public long getRowCount() {
+        return rowCount;
+    }
 
-        columns.add(0, FlinkConstant.OP);
-        selectResult.setColumns(new LinkedHashSet<>(columns));
-        Streams.stream(tableResult.collect()).limit(maxRowNum).forEach(row -> {
-            Map<String, Object> map = getFieldMap(columns.subList(1, columns.size()), row);
-            map.put(FlinkConstant.OP, row.getKind().shortString());
-            rows.add(map);
-        });
+    public long getLastActiveTime() {
+        return lastActiveTime;
+    }
 
-        if (isAutoCancel) {
+    private boolean hasNext() {
+        return !cancelled && rowCount < maxRowNum && iterator.hasNext();
+    }
+
+    private void catchChangLog(ResultRowBuffer rowBuffer) {
+        while (hasNext()) {
+            Row row = iterator.next();
+            Object[] values = new Object[row.getArity() + 1];
+            values[0] = row.getKind().shortString();
+            fillFields(values, 1, row);
+            rowBuffer.add(values);
+            collected();
+        }
+
+        if (isAutoCancel && !cancelled) {
             tableResult.getJobClient().ifPresent(JobClient::cancel);
         }
     }
 
-    private void catchData(SelectResult selectResult) {
-        List<Map<String, Object>> rows = selectResult.getRowData();
-        List<String> columns = FlinkUtil.catchColumn(tableResult);
-
-        selectResult.setColumns(new LinkedHashSet<>(columns));
-        Streams.stream(tableResult.collect()).limit(maxRowNum).forEach(row -> {
-            Map<String, Object> map = getFieldMap(columns, row);
+    private void catchData(ResultRowBuffer rowBuffer) {
+        while (hasNext()) {
+            Row row = iterator.next();
+            Object[] values = new Object[row.getArity()];
+            fillFields(values, 0, row);
             if (RowKind.UPDATE_BEFORE == row.getKind() || RowKind.DELETE == row.getKind()) {
-                rows.remove(map);
+                rowBuffer.retract(values);
             } else {
-                rows.add(map);
+                rowBuffer.add(values);
             }
-        });
+            collected();
+        }
+    }
+
+    private void collected() {
+        rowCount++;
+        lastActiveTime = System.currentTimeMillis();
     }
 
-    private Map<String, Object> getFieldMap(List<String> columns, Row row) {
-        Map<String, Object> map = new LinkedHashMap<>();
+    private void fillFields(Object[] values, int offset, Row row) {
         for (int i = 0; i < row.getArity(); ++i) {
             Object field = row.getField(i);
-            String column = columns.get(i);
             if (field == null) {
-                map.put(column, nullColumn);
+                values[offset + i] = nullColumn;
             } else if (field instanceof Instant) {
-                map.put(
-                        column,
-                        ((Instant) field)
-                                .atZone(ZoneId.of(timeZone))
-                                .toLocalDateTime()
-                                .toString());
+                values[offset + i] = ((Instant) field)
+                        .atZone(zoneId)
+                        .toLocalDateTime()
+                        .toString();
             } else if (field instanceof Boolean) {
-                map.put(column, field.toString());
+                values[offset + i] = field.toString();
             } else {
-                map.put(column, field);
+                values[offset + i] = field;
             }
         }
-        return map;
     }
 }
@@ -19,19 +19,30 @@
 
 package org.dinky.data.result;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * SelectResult
  *
  * @since 2021/5/25 16:01
  */
+@Slf4j
 @Setter
 @Getter
 public class SelectResult extends AbstractResult implements IResult {
@@ -43,6 +54,22 @@ public class SelectResult extends AbstractResult implements IResult {
     private Set<String> columns;
     private boolean isDestroyed;
 
+    /** Rows collected by a running preview, {@link #rowData} is only filled for pages read from it. */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ResultRowBuffer rowBuffer;
+
+    /** The file the row buffer was spilled to, it is loaded again on the next read. */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private File spillFile;
+
+    /** Whether the collector of the preview has stopped. */
+    @JsonIgnore
+    private volatile boolean finished;
+
     public SelectResult(
             List<Map<String, Object>> rowData,
             Integer total,
@@ -69,6 +96,14 @@ public class SelectResult extends AbstractResult implements IResult {
         this.isDestroyed = false;
     }
 
+    public SelectResult(String jobID, ResultRowBuffer rowBuffer) {
+        this.jobID = jobID;
+        this.rowBuffer = rowBuffer;
+        this.columns = new LinkedHashSet<>(rowBuffer.getColumns());
+        this.success = true;
+        this.isDestroyed = false;
+    }
+
     public SelectResult(String jobID, boolean isDestroyed, boolean success) {
         this.jobID = jobID;
         this.isDestroyed = isDestroyed;
@@ -81,6 +116,104 @@ public class SelectResult extends AbstractResult implements IResult {
         return jobID;
     }
 
+    public List<Map<String, Object>> getRowData() {
+        ResultRowBuffer buffer = buffer();
+        return buffer == null ? rowData : buffer.getRows(0, -1);
+    }
+
+    public Integer getTotal() {
+        ResultRowBuffer buffer = buffer();
+        return buffer == null ? total : buffer.getRowCount();
+    }
+
+    @JsonIgnore
+    public synchronized long getEstimatedBytes() {
+        return rowBuffer == null ? 0 : rowBuffer.getEstimatedBytes();
+    }
+
+    /**
+     * Read the rows changed after a sequence number.
+     *
+     * @param sequence the last sequence the reader has seen, 0 for a snapshot
+     */
+    public ResultRowDelta changesSince(long sequence) {
+        // Read before the rows, a delta marked finished must contain the last rows.
+        boolean done = finished;
+        ResultRowBuffer buffer = buffer();
+        ResultRowDelta delta;
+        if (buffer == null) {
+            delta = new ResultRowDelta();
+            delta.setReset(true);
+            delta.setColumns(columns == null ? Collections.emptyList() : new ArrayList<>(columns));
+            delta.setRowIds(Collections.emptyList());
+            delta.setRows(Collections.emptyList());
+            delta.setRetractedIds(Collections.emptyList());
+        } else {
+            delta = buffer.getChangesSince(sequence);
+        }
+        delta.setJobId(jobID);
+        // A destruction placeholder stands for a preview missing from the pool, it is not finished yet
+        // when the pool has not received it.
+        delta.setAvailable(!isDestroyed);
+        delta.setFinished(!isDestroyed && (buffer == null || done));
+        return delta;
+    }
+
+    private synchronized ResultRowBuffer buffer() {
+        if (rowBuffer == null && spillFile != null) {
+            rowBuffer = ResultRowBuffer.read(spillFile);
+            release();
+        }
+        return rowBuffer;
+    }
+
+    /**
+     * Write the rows to a local file and release them from memory.
+     *
+     * @param file the spill file
+     * @return false if there is nothing to spill or writing failed
+     */
+    public synchronized boolean spill(File file) {
+        if (rowBuffer == null || !rowBuffer.write(file)) {
+            return false;
+        }
+        rowBuffer = null;
+        spillFile = file;
+        return true;
+    }
+
+    /** Delete the spill file of the result, if any. */
+    public synchronized void release() {
+        if (spillFile != null) {
+            try {
+                Files.deleteIfExists(spillFile.toPath());
+            } catch (IOException e) {
+                log.warn("Delete spill file {} failed: {}", spillFile, e.getMessage());
+            }
+            spillFile = null;
+        }
+    }
+
+    /**
+     * Read a page of the rows, the returned result is a detached copy.
+     *
+     * @param offset index of the first row
+     * @param limit  max number of rows, negative for all
+     * @return {@link SelectResult} holding only the requested rows
+     */
+    public SelectResult page(int offset, int limit) {
+        ResultRowBuffer buffer = buffer();
+        if (buffer == null) {
+            return this;
+        }
+        List<Map<String, Object>> rows = buffer.getRows(offset, limit);
+        SelectResult page = new SelectResult(rows, buffer.getRowCount(), rows.size(), columns, jobID, success);
+        page.setStartTime(startTime);
+        page.setEndTime(endTime);
+        page.setError(error);
+        return page;
+    }
+
     public static SelectResult buildDestruction(String jobID) {
         return new SelectResult(jobID, true, false);
     }
@@ -19,6 +19,8 @@
 
 package org.dinky.data.result;
 
+import org.dinky.process.context.ProcessContextHolder;
+
 import org.apache.flink.table.api.TableResult;
 
 /**
@@ -45,8 +47,14 @@ public class SelectResultBuilder implements ResultBuilder {
         if (tableResult.getJobClient().isPresent()) {
             String jobId = tableResult.getJobClient().get().getJobID().toHexString();
             ResultRunnable runnable = new ResultRunnable(tableResult, maxRowNum, isChangeLog, isAutoCancel, timeZone);
-            Thread thread = new Thread(runnable, jobId);
-            thread.start();
+            Integer userId = ProcessContextHolder.getProcess().getUserId();
+            if (!ResultCollectorPool.submit(jobId, userId, runnable)) {
+                // Nobody would read the rows, so the preview job must not keep running.
+                runnable.cancel();
+                SelectResult result = SelectResult.buildFailed();
+                result.setError("Too many running previews, stop some of them and try again.");
+                return result;
+            }
             return SelectResult.buildSuccess(jobId);
         } else {
             return SelectResult.buildFailed();
@@ -37,7 +37,9 @@ import org.dinky.data.result.ExplainResult;
 import org.dinky.data.result.IResult;
 import org.dinky.data.result.InsertResult;
 import org.dinky.data.result.ResultBuilder;
+import org.dinky.data.result.ResultCollectorPool;
 import org.dinky.data.result.ResultPool;
+import org.dinky.data.result.ResultRowDelta;
 import org.dinky.data.result.SelectResult;
 import org.dinky.executor.EnvironmentSetting;
 import org.dinky.executor.Executor;
@@ -686,6 +688,18 @@ public class JobManager {
         return ResultPool.get(jobId);
     }
 
+    public static SelectResult getJobData(String jobId, int offset, int limit) {
+        return ResultPool.get(jobId).page(offset, limit);
+    }
+
+    public static ResultRowDelta getJobDataSince(String jobId, long sequence) {
+        return ResultPool.get(jobId).changesSince(sequence);
+    }
+
+    public static boolean cancelJobData(String jobId) {
+        return ResultCollectorPool.cancel(jobId);
+    }
+
     public ExplainResult explainSql(String statement) {
         return Explainer.build(executor, useStatementSet, sqlSeparator)
                 .initialize(this, config, statement)
@@ -0,0 +1,61 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.daemon.entity;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+
+/**
+ * A task scheduled in the {@link TaskQueue} together with the time it is due.
+ * An entry is never moved inside the queue, rescheduling cancels it and queues a new one.
+ */
+@Getter
+public class DelayedTask<T> implements Delayed {
+
+    private final T task;
+
+    private final long dueTime;
+
+    private volatile boolean cancelled = false;
+
+    public DelayedTask(T task, long dueTime) {
+        this.task = task;
+        this.dueTime = dueTime;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(dueTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed o) {
+        if (o instanceof DelayedTask) {
+            return Long.compare(dueTime, ((DelayedTask<?>) o).dueTime);
+        }
+        return Long.compare(getDelay(TimeUnit.MILLISECONDS), o.getDelay(TimeUnit.MILLISECONDS));
+    }
+}
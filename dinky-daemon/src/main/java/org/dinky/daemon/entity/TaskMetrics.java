@@ -0,0 +1,84 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.daemon.entity;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the daemon task pool: how late tasks start compared with their due time
+ * and how long a single poll of a task takes.
+ */
+public class TaskMetrics {
+
+    private final LongAdder dealCount = new LongAdder();
+    private final LongAdder totalLag = new LongAdder();
+    private final LongAdder totalDealTime = new LongAdder();
+    private final AtomicLong maxDealTime = new AtomicLong();
+    private final AtomicLong lastLag = new AtomicLong();
+    private final AtomicLong lastDealTime = new AtomicLong();
+
+    public void record(long lagMillis, long dealMillis) {
+        dealCount.increment();
+        totalLag.add(lagMillis);
+        totalDealTime.add(dealMillis);
+        lastLag.set(lagMillis);
+        lastDealTime.set(dealMillis);
+        maxDealTime.accumulateAndGet(dealMillis, Math::max);
+    }
+
+    public long getDealCount() {
+        return dealCount.sum();
+    }
+
+    public long getLastLag() {
+        return lastLag.get();
+    }
+
+    public long getAvgLag() {
+        long count = dealCount.sum();
+        return count == 0 ? 0 : totalLag.sum() / count;
+    }
+
+    public long getLastDealTime() {
+        return lastDealTime.get();
+    }
+
+    public long getAvgDealTime() {
+        long count = dealCount.sum();
+        return count == 0 ? 0 : totalDealTime.sum() / count;
+    }
+
+    public long getMaxDealTime() {
+        return maxDealTime.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "deal count: %d, last lag: %dms, avg lag: %dms, last deal: %dms, avg deal: %dms, max deal: %dms",
+                getDealCount(),
+                getLastLag(),
+                getAvgLag(),
+                getLastDealTime(),
+                getAvgDealTime(),
+                getMaxDealTime());
+    }
+}
@@ -19,44 +19,90 @@
 
 package org.dinky.daemon.entity;
 
-import java.util.LinkedList;
+import org.dinky.daemon.task.DaemonTask;
+import org.dinky.daemon.task.DaemonTaskConfig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
 
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-@Getter
+/**
+ * Delay queue of daemon tasks ordered by the time they are next due.
+ * <p>
+ * Tasks are deduplicated by {@link DaemonTask#getConfig()} through an index, so adding a task
+ * that is already queued is O(log n): the old entry is only marked as cancelled and skipped
+ * when it reaches the head of the queue.
+ * </p>
+ */
 @Slf4j
-public class TaskQueue<T> {
+public class TaskQueue<T extends DaemonTask> {
 
-    private final LinkedList<T> tasks = new LinkedList<>();
+    private final DelayQueue<DelayedTask<T>> tasks = new DelayQueue<>();
 
-    private final Object lock = new Object();
+    private final Map<DaemonTaskConfig, DelayedTask<T>> index = new ConcurrentHashMap<>();
 
+    /** Add a task to be dealt with immediately, replacing any queued task with the same config. */
     public void enqueue(T task) {
-        synchronized (lock) {
-            lock.notifyAll();
-            // prevent duplicate additions
-            tasks.remove(task);
-            tasks.addLast(task);
+        schedule(task, 0, true);
+    }
+
+    /**
+     * Put an unfinished task back after the given delay.
+     * If a newer task with the same config was added while this one was running, the newer one wins.
+     */
+    public void reschedule(T task, long delayMillis) {
+        schedule(task, delayMillis, false);
+    }
+
+    private void schedule(T task, long delayMillis, boolean replace) {
+        DelayedTask<T> entry = new DelayedTask<>(task, System.currentTimeMillis() + delayMillis);
+        DaemonTaskConfig key = task.getConfig();
+        if (replace) {
+            DelayedTask<T> previous = index.put(key, entry);
+            if (previous != null) {
+                previous.cancel();
+            }
+        } else if (index.putIfAbsent(key, entry) != null) {
+            return;
         }
+        tasks.offer(entry);
     }
 
-    public T dequeue() {
-        synchronized (lock) {
-            while (tasks.isEmpty()) {
-                try {
-                    lock.wait();
-                } catch (InterruptedException e) {
-                    log.error(e.getMessage(), e);
+    /**
+     * Take the next due task, waiting at most the given timeout.
+     *
+     * @return the due entry, or null if nothing became due in time
+     */
+    public DelayedTask<T> dequeue(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            while (true) {
+                DelayedTask<T> entry = tasks.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (entry == null) {
+                    return null;
+                }
+                if (!entry.isCancelled() && index.remove(entry.getTask().getConfig(), entry)) {
+                    return entry;
                 }
             }
-            return tasks.removeFirst();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
         }
     }
 
+    /** Number of distinct tasks waiting in the queue. */
     public int getTaskSize() {
-        synchronized (lock) {
-            return tasks.size();
-        }
+        return index.size();
+    }
+
+    /** How long the most overdue task has been waiting past its due time, in milliseconds. */
+    public long getLag() {
+        // cancelled entries are dropped by the workers as soon as they are due, so the head is a good estimate
+        DelayedTask<T> head = tasks.peek();
+        return head == null ? 0 : Math.max(0, System.currentTimeMillis() - head.getDueTime());
     }
 }
@@ -21,6 +21,8 @@ package org.dinky.daemon.entity;
 
 import org.dinky.daemon.task.DaemonTask;
 
+import java.util.concurrent.TimeUnit;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,38 +30,50 @@ public class TaskWorker implements Runnable {
 
     private static final Logger log = LoggerFactory.getLogger(TaskWorker.class);
 
+    private static final long POLL_TIMEOUT = 1000;
+
     private volatile boolean running = true;
 
     private final TaskQueue<DaemonTask> queue;
 
-    public TaskWorker(TaskQueue<DaemonTask> queue) {
+    private final TaskMetrics metrics;
+
+    public TaskWorker(TaskQueue<DaemonTask> queue, TaskMetrics metrics) {
         this.queue = queue;
+        this.metrics = metrics;
     }
 
     /**
      * Perform tasks.
      * <p>
-     * This method is used to perform tasks. Continuously fetch tasks from the queue
+     * This method is used to perform tasks. Continuously fetch due tasks from the queue
      * while the task is running (call the queue.dequeue() method). </p>
      * <p>If the task is fetched, try to process the task (call the daemonTask.dealTask() method).</p>
      * <p>If the processing task does not complete (returns False),
-     * the task is put back into the queue again (call the queue.enqueue(daemonTask) method).
+     * the task is put back into the queue with its polling interval as delay
+     * (call the queue.reschedule(daemonTask, interval) method), so the worker never sleeps on a task.
      * </p>
      */
     @Override
     public void run() {
         log.debug("TaskWorker run:" + Thread.currentThread().getName());
         while (running) {
-            DaemonTask daemonTask = queue.dequeue();
-            if (daemonTask != null) {
-                try {
-                    boolean done = daemonTask.dealTask();
-                    if (!done) {
-                        queue.enqueue(daemonTask);
-                    }
-                } catch (Exception e) {
-                    log.error(e.getMessage(), e);
-                }
+            DelayedTask<DaemonTask> entry = queue.dequeue(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+            if (entry == null) {
+                continue;
+            }
+            DaemonTask daemonTask = entry.getTask();
+            long start = System.currentTimeMillis();
+            boolean done = false;
+            try {
+                done = daemonTask.dealTask();
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            } finally {
+                metrics.record(Math.max(0, start - entry.getDueTime()), System.currentTimeMillis() - start);
+            }
+            if (!done) {
+                queue.reschedule(daemonTask, daemonTask.getPollingInterval());
             }
         }
     }
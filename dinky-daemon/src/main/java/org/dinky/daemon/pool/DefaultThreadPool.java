@@ -19,6 +19,7 @@
 
 package org.dinky.daemon.pool;
 
+import org.dinky.daemon.entity.TaskMetrics;
 import org.dinky.daemon.entity.TaskQueue;
 import org.dinky.daemon.entity.TaskWorker;
 import org.dinky.daemon.task.DaemonTask;
@@ -34,7 +35,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class DefaultThreadPool implements ThreadPool {
 
-    private static final int MAX_WORKER_NUM = 10;
+    private static final int MAX_WORKER_NUM = 100;
     private static final int DEFAULT_WORKER_NUM = 5;
     private static final int MIN_WORKER_NUM = 1;
 
@@ -46,6 +47,8 @@ public class DefaultThreadPool implements ThreadPool {
 
     private final TaskQueue<DaemonTask> queue = new TaskQueue<>();
 
+    private final TaskMetrics metrics = new TaskMetrics();
+
     private static DefaultThreadPool defaultThreadPool;
 
     private DefaultThreadPool() {
@@ -80,7 +83,7 @@ public class DefaultThreadPool implements ThreadPool {
                 }
             }
             for (int i = 0; i < num; i++) {
-                TaskWorker worker = new TaskWorker(queue);
+                TaskWorker worker = new TaskWorker(queue, metrics);
                 workers.add(worker);
                 Thread thread = new Thread(worker, "ThreadPool-Worker-" + workerNum.incrementAndGet());
                 thread.start();
@@ -126,6 +129,19 @@ public class DefaultThreadPool implements ThreadPool {
         return queue.getTaskSize();
     }
 
+    @Override
+    public long getLag() {
+        return queue.getLag();
+    }
+
+    public TaskMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getMaxWorkCount() {
+        return MAX_WORKER_NUM;
+    }
+
     public int getWorkCount() {
         synchronized (lock) {
             return this.workerNum.get();
@@ -40,4 +40,7 @@ public interface ThreadPool {
     void removeWorker(int num);
 
     int getTaskSize();
+
+    // 最早到期任务的延迟时间(毫秒)
+    long getLag();
 }
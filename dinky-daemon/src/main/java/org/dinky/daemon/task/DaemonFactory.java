@@ -38,14 +38,13 @@ public class DaemonFactory {
      * <ol>
      *   <li>Iterate through each configuration item in <em>configList</em> and construct the corresponding <em>DaemonTask</em>.</li>
      *   <li>Submit each <em>DaemonTask</em> to the thread pool for execution.</li>
-     *   <li>Enter an infinite loop where the following actions are performed:
+     *   <li>Enter an infinite loop where the following actions are performed every polling gap:
      *     <ul>
-     *       <li>Calculate the waiting time based on the task count, ensuring that the polling interval between tasks
-     *         stays within the specified minimum and maximum intervals.</li>
-     *       <li>Calculate the desired number of working threads, <em>num</em>, increasing one working thread for
+     *       <li>Calculate the baseline number of working threads, <em>num</em>, one working thread for
      *         every 100 tasks.</li>
-     *       <li>Dynamically adjust the number of working threads in the thread pool based on a comparison between
-     *         the actual number of working threads and the desired quantity.</li>
+     *       <li>If the most overdue task waits longer than the polling gap, the workers can not keep up with
+     *         the schedule and the pool grows by half of its size.</li>
+     *       <li>If no task is overdue and there are more workers than the baseline, one worker is removed.</li>
      *     </ul>
      *   </li>
      * </ol>
@@ -60,24 +59,32 @@ public class DaemonFactory {
             }
 
             while (true) {
-                int taskSize = defaultThreadPool.getTaskSize();
                 try {
-                    // where (taskSize + 1) is to avoid dividing by 0 when taskSize is 0.
-                    Thread.sleep(Math.max(
-                            FlinkTaskConstant.MAX_POLLING_GAP / (taskSize + 1), FlinkTaskConstant.MIN_POLLING_GAP));
+                    Thread.sleep(FlinkTaskConstant.MAX_POLLING_GAP);
                 } catch (InterruptedException e) {
                     log.error(e.getMessage(), e);
                 }
 
-                // Calculate the desired number of worker threads, adding one worker for every 100 tasks
+                int taskSize = defaultThreadPool.getTaskSize();
+                long lag = defaultThreadPool.getLag();
+                int workCount = defaultThreadPool.getWorkCount();
+                // Calculate the baseline number of worker threads, adding one worker for every 100 tasks
                 int num = taskSize / 100 + 1;
 
-                // Dynamically adjust the number of worker threads in the thread pool
-                if (defaultThreadPool.getWorkCount() < num) {
-                    defaultThreadPool.addWorkers(num - defaultThreadPool.getWorkCount());
-                } else if (defaultThreadPool.getWorkCount() > num) {
-                    defaultThreadPool.removeWorker(defaultThreadPool.getWorkCount() - num);
+                // Dynamically adjust the number of worker threads by how far the queue is behind schedule
+                if (workCount < num) {
+                    defaultThreadPool.addWorkers(num - workCount);
+                } else if (lag > FlinkTaskConstant.MAX_POLLING_GAP) {
+                    defaultThreadPool.addWorkers(Math.max(1, workCount / 2));
+                } else if (lag == 0 && workCount > num) {
+                    defaultThreadPool.removeWorker(1);
                 }
+                log.debug(
+                        "Daemon task size: {}, lag: {}ms, workers: {}, {}",
+                        taskSize,
+                        lag,
+                        defaultThreadPool.getWorkCount(),
+                        defaultThreadPool.getMetrics());
             }
         });
         thread.start();
@@ -20,6 +20,7 @@
 package org.dinky.daemon.task;
 
 import org.dinky.assertion.Asserts;
+import org.dinky.daemon.constant.FlinkTaskConstant;
 import org.dinky.daemon.exception.DaemonTaskException;
 import org.dinky.data.enums.Status;
 
@@ -49,6 +50,20 @@ public interface DaemonTask {
 
     DaemonTask setConfig(DaemonTaskConfig config);
 
+    /**
+     * The config is also the identity of the task inside the task queue,
+     * tasks with equal configs are deduplicated.
+     */
+    DaemonTaskConfig getConfig();
+
+    /**
+     * The delay in milliseconds before an unfinished task is dealt with again.
+     * The task waits in the queue instead of sleeping on a worker thread.
+     */
+    default long getPollingInterval() {
+        return FlinkTaskConstant.TIME_SLEEP;
+    }
+
     default boolean canHandle(String type) {
         return Asserts.isEqualsIgnoreCase(getType(), type);
     }
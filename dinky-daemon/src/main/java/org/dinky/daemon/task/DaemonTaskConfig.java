@@ -19,9 +19,11 @@
 
 package org.dinky.daemon.task;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 @Getter
+@EqualsAndHashCode
 public class DaemonTaskConfig {
 
     private final String type;
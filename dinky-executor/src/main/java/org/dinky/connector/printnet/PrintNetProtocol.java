@@ -0,0 +1,81 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.connector.printnet;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Wire format between {@link org.dinky.connector.printnet.sink.PrintNetSinkFunction} and the print table listener
+ * of dinky-admin.
+ *
+ * <p>A connection starts with a header carrying the protocol version and the print identifier of the table, followed
+ * by any number of batches. A batch is the number of rows followed by each row as its length and its bytes.
+ */
+public final class PrintNetProtocol {
+
+    public static final int VERSION = 1;
+
+    /** Upper bound of a single row, protects the reader from corrupted or foreign streams. */
+    public static final int MAX_ROW_BYTES = 16 * 1024 * 1024;
+
+    private PrintNetProtocol() {}
+
+    public static void writeHeader(DataOutput out, String printIdentifier) throws IOException {
+        out.writeInt(VERSION);
+        out.writeUTF(printIdentifier);
+    }
+
+    public static String readHeader(DataInput in) throws IOException {
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported print net protocol version: " + version);
+        }
+        return in.readUTF();
+    }
+
+    public static void writeBatch(DataOutput out, List<byte[]> rows) throws IOException {
+        out.writeInt(rows.size());
+        for (byte[] row : rows) {
+            out.writeInt(row.length);
+            out.write(row);
+        }
+    }
+
+    public static int readBatchSize(DataInput in) throws IOException {
+        int rows = in.readInt();
+        if (rows < 0) {
+            throw new IOException("Invalid print net batch size: " + rows);
+        }
+        return rows;
+    }
+
+    public static byte[] readRow(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_ROW_BYTES) {
+            throw new IOException("Invalid print net row length: " + length);
+        }
+        byte[] row = new byte[length];
+        in.readFully(row);
+        return row;
+    }
+}
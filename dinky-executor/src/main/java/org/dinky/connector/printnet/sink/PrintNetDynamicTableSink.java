@@ -43,6 +43,8 @@ public class PrintNetDynamicTableSink implements DynamicTableSink, SupportsParti
     private String printIdentifier;
     private ObjectIdentifier objectIdentifier;
     private Map<String, String> staticPartitions = new LinkedHashMap<>();
+    private final long flushIntervalMillis;
+    private final int flushMaxRows;
 
     public PrintNetDynamicTableSink(
             DataType type,
@@ -51,7 +53,9 @@ public class PrintNetDynamicTableSink implements DynamicTableSink, SupportsParti
             String hostname,
             int port,
             String printIdentifier,
-            ObjectIdentifier objectIdentifier) {
+            ObjectIdentifier objectIdentifier,
+            long flushIntervalMillis,
+            int flushMaxRows) {
         this.hostname = hostname;
         this.port = port;
         this.encodingFormat = serializingFormat;
@@ -59,6 +63,8 @@ public class PrintNetDynamicTableSink implements DynamicTableSink, SupportsParti
         this.partitionKeys = partitionKeys;
         this.printIdentifier = printIdentifier;
         this.objectIdentifier = objectIdentifier;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flushMaxRows = flushMaxRows;
     }
 
     @Override
@@ -83,14 +89,22 @@ public class PrintNetDynamicTableSink implements DynamicTableSink, SupportsParti
             printIdentifier += key + "=" + value;
         });
 
-        return SinkFunctionProvider.of(
-                new PrintNetSinkFunction(hostname, port, serializer, converter, printIdentifier));
+        return SinkFunctionProvider.of(new PrintNetSinkFunction(
+                hostname, port, serializer, converter, printIdentifier, flushIntervalMillis, flushMaxRows));
     }
 
     @Override
     public DynamicTableSink copy() {
         return new PrintNetDynamicTableSink(
-                type, partitionKeys, encodingFormat, hostname, port, printIdentifier, objectIdentifier);
+                type,
+                partitionKeys,
+                encodingFormat,
+                hostname,
+                port,
+                printIdentifier,
+                objectIdentifier,
+                flushIntervalMillis,
+                flushMaxRows);
     }
 
     @Override
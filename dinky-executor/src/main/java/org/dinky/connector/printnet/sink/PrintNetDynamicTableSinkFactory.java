@@ -25,6 +25,7 @@ import org.apache.flink.api.common.serialization.SerializationSchema;
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ConfigOptions;
 import org.apache.flink.configuration.ReadableConfig;
+import org.apache.flink.table.api.ValidationException;
 import org.apache.flink.table.catalog.ObjectIdentifier;
 import org.apache.flink.table.connector.format.EncodingFormat;
 import org.apache.flink.table.connector.sink.DynamicTableSink;
@@ -33,6 +34,7 @@ import org.apache.flink.table.factories.DynamicTableSinkFactory;
 import org.apache.flink.table.factories.FactoryUtil;
 import org.apache.flink.table.factories.SerializationFormatFactory;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
@@ -51,6 +53,16 @@ public class PrintNetDynamicTableSinkFactory implements DynamicTableSinkFactory
             .noDefaultValue()
             .withDescription("Message that identify print and is prefixed to the output of the" + " value.");
 
+    public static final ConfigOption<Duration> BUFFER_FLUSH_INTERVAL = key("sink.buffer-flush.interval")
+            .durationType()
+            .defaultValue(Duration.ofMillis(100))
+            .withDescription("The interval in which buffered rows are sent, 0 only flushes full batches.");
+
+    public static final ConfigOption<Integer> BUFFER_FLUSH_MAX_ROWS = key("sink.buffer-flush.max-rows")
+            .intType()
+            .defaultValue(500)
+            .withDescription("The maximum number of rows buffered before they are sent.");
+
     @Override
     public DynamicTableSink createDynamicTableSink(Context context) {
         final FactoryUtil.TableFactoryHelper helper = FactoryUtil.createTableFactoryHelper(this, context);
@@ -60,6 +72,11 @@ public class PrintNetDynamicTableSinkFactory implements DynamicTableSinkFactory
         final ReadableConfig options = helper.getOptions();
 
         FactoryUtil.validateFactoryOptions(this, options);
+        if (options.get(BUFFER_FLUSH_MAX_ROWS) <= 0) {
+            throw new ValidationException(String.format(
+                    "'%s' must be greater than 0, but is %d.",
+                    BUFFER_FLUSH_MAX_ROWS.key(), options.get(BUFFER_FLUSH_MAX_ROWS)));
+        }
 
         EncodingFormat<SerializationSchema<RowData>> serializingFormat = null;
 
@@ -76,7 +93,9 @@ public class PrintNetDynamicTableSinkFactory implements DynamicTableSinkFactory
                 options.get(HOSTNAME),
                 options.get(PORT),
                 options.get(PRINT_IDENTIFIER),
-                objectIdentifier);
+                objectIdentifier,
+                options.get(BUFFER_FLUSH_INTERVAL).toMillis(),
+                options.get(BUFFER_FLUSH_MAX_ROWS));
     }
 
     @Override
@@ -91,6 +110,7 @@ public class PrintNetDynamicTableSinkFactory implements DynamicTableSinkFactory
 
     @Override
     public Set<ConfigOption<?>> optionalOptions() {
-        return new HashSet<>(Arrays.asList(PRINT_IDENTIFIER, FactoryUtil.FORMAT));
+        return new HashSet<>(
+                Arrays.asList(PRINT_IDENTIFIER, FactoryUtil.FORMAT, BUFFER_FLUSH_INTERVAL, BUFFER_FLUSH_MAX_ROWS));
     }
 }
@@ -19,42 +19,73 @@
 
 package org.dinky.connector.printnet.sink;
 
+import org.dinky.connector.printnet.PrintNetProtocol;
+
 import org.apache.flink.api.common.serialization.SerializationSchema;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.streaming.api.functions.sink.RichSinkFunction;
-import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 import org.apache.flink.table.connector.sink.DynamicTableSink;
 import org.apache.flink.table.data.RowData;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Streams the rows of a PRINT table to dinky-admin over TCP, framed by {@link PrintNetProtocol}. Rows are batched
+ * and flushed every flush interval or once the batch is full. Writes block while the listener falls behind, a
+ * listener that cannot be reached drops the batches instead of failing the job.
+ */
+@Slf4j
 public class PrintNetSinkFunction extends RichSinkFunction<RowData> {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 3000;
+    private static final long RECONNECT_BACKOFF_MILLIS = 5000;
+    private static final int SOCKET_BUFFER_SIZE = 64 * 1024;
+
     private final String hostname;
     private final int port;
     private final SerializationSchema<RowData> serializer;
     private DynamicTableSink.DataStructureConverter converter;
     private String printIdentifier;
-    private byte[] printHeader;
-    private volatile boolean running = true;
-    private DatagramSocket socket;
+    private final long flushIntervalMillis;
+    private final int flushMaxRows;
     private final InetAddress target;
 
+    private transient List<byte[]> batch;
+    private transient Socket socket;
+    private transient DataOutputStream out;
+    private transient long nextConnectTime;
+    private transient long droppedRows;
+    private transient ScheduledExecutorService scheduler;
+
     public PrintNetSinkFunction(
             String hostname,
             int port,
             SerializationSchema<RowData> serializer,
             DynamicTableSink.DataStructureConverter converter,
-            String printIdentifier) {
+            String printIdentifier,
+            long flushIntervalMillis,
+            int flushMaxRows) {
         this.hostname = hostname;
         this.port = port;
         this.serializer = serializer;
         this.converter = converter;
         this.printIdentifier = printIdentifier;
-        printHeader = (printIdentifier + "\n").getBytes();
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flushMaxRows = flushMaxRows;
 
         try {
             this.target = InetAddress.getByName(hostname);
@@ -70,26 +101,108 @@ public class PrintNetSinkFunction extends RichSinkFunction<RowData> {
             serializer.open(null);
         }
 
-        StreamingRuntimeContext context = (StreamingRuntimeContext) getRuntimeContext();
-        socket = new DatagramSocket();
+        batch = new ArrayList<>(flushMaxRows);
+        if (flushIntervalMillis > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "printnet-flush-" + printIdentifier);
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(
+                    this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     public void invoke(RowData value, Context context) throws IOException {
+        byte[] row = serializer != null
+                ? serializer.serialize(value)
+                : converter.toExternal(value).toString().getBytes(StandardCharsets.UTF_8);
+
+        synchronized (this) {
+            batch.add(row);
+            if (batch.size() >= flushMaxRows) {
+                flush();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (batch != null) {
+            flush();
+        }
+        closeSocket();
+        super.close();
+    }
 
+    /** Writes the pending rows, blocking while the listener does not keep up. */
+    private synchronized void flush() {
+        if (batch.isEmpty()) {
+            return;
+        }
         try {
-            byte[] buf = serializer != null
-                    ? serializer.serialize(value)
-                    : converter.toExternal(value).toString().getBytes();
+            if (ensureConnected()) {
+                PrintNetProtocol.writeBatch(out, batch);
+                out.flush();
+            } else {
+                dropRows();
+            }
+        } catch (IOException e) {
+            log.warn(
+                    "Print table {} lost its connection to {}:{}: {}", printIdentifier, hostname, port, e.getMessage());
+            dropRows();
+            closeSocket();
+            nextConnectTime = System.currentTimeMillis() + RECONNECT_BACKOFF_MILLIS;
+        } finally {
+            batch.clear();
+        }
+    }
 
-            byte[] target = new byte[printHeader.length + buf.length];
-            System.arraycopy(printHeader, 0, target, 0, printHeader.length);
-            System.arraycopy(buf, 0, target, printHeader.length, buf.length);
+    private boolean ensureConnected() {
+        if (socket != null) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (now < nextConnectTime) {
+            return false;
+        }
+        Socket newSocket = new Socket();
+        try {
+            newSocket.setTcpNoDelay(true);
+            newSocket.connect(new InetSocketAddress(target, port), CONNECT_TIMEOUT_MILLIS);
+            out = new DataOutputStream(new BufferedOutputStream(newSocket.getOutputStream(), SOCKET_BUFFER_SIZE));
+            PrintNetProtocol.writeHeader(out, printIdentifier);
+            socket = newSocket;
+            return true;
+        } catch (IOException e) {
+            log.warn("Print table {} can not connect to {}:{}: {}", printIdentifier, hostname, port, e.getMessage());
+            closeQuietly(newSocket);
+            nextConnectTime = now + RECONNECT_BACKOFF_MILLIS;
+            return false;
+        }
+    }
 
-            DatagramPacket packet = new DatagramPacket(target, target.length, this.target, port);
-            socket.send(packet);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+    private void dropRows() {
+        droppedRows += batch.size();
+        log.debug("Print table {} dropped {} rows in total", printIdentifier, droppedRows);
+    }
+
+    private synchronized void closeSocket() {
+        if (socket != null) {
+            closeQuietly(socket);
+            socket = null;
+            out = null;
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
         }
     }
 }
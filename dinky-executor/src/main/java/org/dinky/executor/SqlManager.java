@@ -35,15 +35,15 @@ import org.apache.flink.table.catalog.exceptions.CatalogException;
 import org.apache.flink.types.Row;
 import org.apache.flink.util.StringUtils;
 
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Collections;
-import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -55,10 +55,23 @@ public final class SqlManager {
 
     public static final String FRAGMENT = "fragment";
     static final String SHOW_FRAGMENTS = "SHOW FRAGMENTS";
+    private static final String VARIABLE_START = "${";
+    private static final char VARIABLE_END = '}';
+    private static final DateTimeFormatter INNER_DATETIME_FORMATTER =
+            DateTimeFormatter.ofPattern(FlinkSQLConstant.INNER_DATETIME_FORMAT);
+
+    /** Fragments as they were defined. */
     private final Map<String, String> sqlFragments;
 
+    /** Fragments with their variables expanded, each fragment is expanded once until a definition changes. */
+    private final Map<String, String> expandedSqlFragments;
+
+    private String sqlSeparator;
+    private Pattern sqlSeparatorPattern;
+
     public SqlManager() {
         sqlFragments = new HashMap<>();
+        expandedSqlFragments = new HashMap<>();
     }
 
     /**
@@ -88,6 +101,10 @@ public final class SqlManager {
         }
 
         sqlFragments.put(sqlFragmentName, sqlFragment);
+        if (isInnerDateVar(sqlFragmentName)) {
+            // shadows an inner date variable that may have been expanded already
+            expandedSqlFragments.clear();
+        }
     }
 
     /**
@@ -100,6 +117,7 @@ public final class SqlManager {
     public void registerSqlFragment(Map<String, String> sqlFragmentMap) {
         if (Asserts.isNotNull(sqlFragmentMap)) {
             sqlFragments.putAll(sqlFragmentMap);
+            expandedSqlFragments.clear();
         }
     }
 
@@ -118,6 +136,7 @@ public final class SqlManager {
 
         if (sqlFragments.containsKey(sqlFragmentName)) {
             sqlFragments.remove(sqlFragmentName);
+            expandedSqlFragments.clear();
         } else if (!ignoreIfNotExists) {
             throw new CatalogException(format("The fragment of sql %s does not exist.", sqlFragmentName));
         }
@@ -134,15 +153,7 @@ public final class SqlManager {
         checkArgument(
                 !StringUtils.isNullOrWhitespaceOnly(sqlFragmentName), "sql fragmentName name cannot be null or empty.");
 
-        if (sqlFragments.containsKey(sqlFragmentName)) {
-            return sqlFragments.get(sqlFragmentName);
-        }
-
-        if (isInnerDateVar(sqlFragmentName)) {
-            return parseDateVar(sqlFragmentName);
-        }
-
-        throw new CatalogException(format("The fragment of sql %s does not exist.", sqlFragmentName));
+        return resolveSqlFragment(sqlFragmentName, new LinkedHashSet<>());
     }
 
     public TableResult getSqlFragmentResult(String sqlFragmentName) {
@@ -196,48 +207,103 @@ public final class SqlManager {
             return statement;
         }
 
-        String[] values = statement.split(SystemConfiguration.getInstances().getSqlSeparator());
-        StringBuilder sb = new StringBuilder();
+        String[] values = getSqlSeparatorPattern().split(statement);
+        StringBuilder sb = new StringBuilder(statement.length());
         for (String assignment : values) {
-            String[] splits = assignment.split(FlinkSQLConstant.FRAGMENTS, 2);
-            if (splits.length == 2) {
-                if (splits[0].trim().isEmpty()) {
+            int definition = assignment.indexOf(FlinkSQLConstant.FRAGMENTS);
+            if (definition >= 0) {
+                String name = assignment.substring(0, definition);
+                if (name.trim().isEmpty()) {
                     throw new ExpressionParserException("Illegal variable name.");
                 }
-                this.registerSqlFragment(splits[0], replaceVariable(splits[1]));
-            } else if (splits.length == 1) {
-                // string not contains FlinkSQLConstant.FRAGMENTS
-                sb.append(replaceVariable(assignment));
+                this.registerSqlFragment(
+                        name, assignment.substring(definition + FlinkSQLConstant.FRAGMENTS.length()));
+                try {
+                    // expand right away, so that undefined variables fail at their definition
+                    this.getSqlFragment(name);
+                } catch (RuntimeException e) {
+                    sqlFragments.remove(name);
+                    throw e;
+                }
             } else {
-                throw new ExpressionParserException("Illegal variable definition.");
+                // string not contains FlinkSQLConstant.FRAGMENTS
+                expandVariables(assignment, sb, new LinkedHashSet<>());
             }
         }
         return sb.toString();
     }
 
+    private Pattern getSqlSeparatorPattern() {
+        String separator = SystemConfiguration.getInstances().getSqlSeparator();
+        if (!separator.equals(sqlSeparator)) {
+            sqlSeparatorPattern = Pattern.compile(separator);
+            sqlSeparator = separator;
+        }
+        return sqlSeparatorPattern;
+    }
+
     /**
-     * Replace some variables under the given sql.
+     * Resolves a fragment with its variables expanded. Fragments form a dependency graph through their variables,
+     * each one is expanded once and the expansion is reused by every fragment referencing it.
      *
-     * @param statement A sql will be replaced.
+     * @param sqlFragmentName the fragment to resolve
+     * @param resolving the fragments being expanded on the current path, to detect cycles
      */
-    private String replaceVariable(String statement) {
-        Pattern p = Pattern.compile("\\$\\{(.+?)}");
-        Matcher m = p.matcher(statement);
-        StringBuffer sb = new StringBuffer();
-        while (m.find()) {
-            String key = m.group(1);
-            String value = this.getSqlFragment(key);
-            m.appendReplacement(sb, "");
-
-            // 内置时间变量的情况
-            if (value == null && isInnerDateVar(key)) {
-                value = parseDateVar(key);
+    private String resolveSqlFragment(String sqlFragmentName, Set<String> resolving) {
+        String expanded = expandedSqlFragments.get(sqlFragmentName);
+        if (expanded != null) {
+            return expanded;
+        }
+
+        String sqlFragment = sqlFragments.get(sqlFragmentName);
+        if (sqlFragment == null) {
+            if (isInnerDateVar(sqlFragmentName)) {
+                return parseDateVar(sqlFragmentName);
             }
+            throw new CatalogException(format("The fragment of sql %s does not exist.", sqlFragmentName));
+        }
+
+        if (!resolving.add(sqlFragmentName)) {
+            throw new ExpressionParserException(format(
+                    "The fragment of sql %s references itself: %s -> %s",
+                    sqlFragmentName, String.join(" -> ", resolving), sqlFragmentName));
+        }
+        StringBuilder sb = new StringBuilder(sqlFragment.length());
+        expandVariables(sqlFragment, sb, resolving);
+        resolving.remove(sqlFragmentName);
+
+        expanded = sb.toString();
+        expandedSqlFragments.put(sqlFragmentName, expanded);
+        return expanded;
+    }
 
+    /**
+     * Appends the statement to the builder with its variables replaced, in a single scan.
+     *
+     * @param statement A sql will be replaced.
+     */
+    private void expandVariables(String statement, StringBuilder sb, Set<String> resolving) {
+        int from = 0;
+        int start = statement.indexOf(VARIABLE_START);
+        while (start >= 0) {
+            int keyStart = start + VARIABLE_START.length();
+            int end = statement.indexOf(VARIABLE_END, keyStart + 1);
+            if (end < 0) {
+                break;
+            }
+            String key = statement.substring(keyStart, end);
+            if (key.indexOf('\n') >= 0) {
+                // variables do not span lines, keep the text and look for the next one
+                start = statement.indexOf(VARIABLE_START, keyStart);
+                continue;
+            }
+            String value = resolveSqlFragment(key, resolving);
+            sb.append(statement, from, start);
             sb.append(value == null ? "" : value);
+            from = end + 1;
+            start = statement.indexOf(VARIABLE_START, from);
         }
-        m.appendTail(sb);
-        return sb.toString();
+        sb.append(statement, from, statement.length());
     }
 
     /**
@@ -273,13 +339,6 @@ public final class SqlManager {
             return null;
         }
 
-        SimpleDateFormat dtf = new SimpleDateFormat(FlinkSQLConstant.INNER_DATETIME_FORMAT);
-        Date endDate = new Date();
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(endDate);
-        calendar.add(Calendar.DAY_OF_YEAR, days);
-        Date startDate = calendar.getTime();
-
-        return dtf.format(startDate);
+        return LocalDate.now().plusDays(days).format(INNER_DATETIME_FORMATTER);
     }
 }
@@ -36,28 +36,43 @@ import org.slf4j.LoggerFactory;
 public class SingleSqlParserFactory {
     private SingleSqlParserFactory() {}
 
+    private static final Pattern INSERT_SELECT =
+            Pattern.compile("(insert\\s+into)(.+)(select)(.+)(from)(.+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CREATE_AGG_TABLE =
+            Pattern.compile("(create\\s+aggtable)(.+)(as\\s+select)(.+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern EXECUTE_CDCSOURCE =
+            Pattern.compile("(execute\\s+cdcsource)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SELECT = Pattern.compile("(select)(.+)(from)(.+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DELETE = Pattern.compile("(delete\\s+from)(.+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern UPDATE = Pattern.compile("(update)(.+)(set)(.+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern INSERT_VALUES =
+            Pattern.compile("(insert\\s+into)(.+)(values)(.+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SET = Pattern.compile("(set)(.+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SHOW_FRAGMENT =
+            Pattern.compile("(show\\s+fragment)\\s+(.+)", Pattern.CASE_INSENSITIVE);
+
     protected static final Logger logger = LoggerFactory.getLogger(SingleSqlParserFactory.class);
 
     public static Map<String, List<String>> generateParser(String sql) {
         BaseSingleSqlParser tmp = null;
         sql = sql.replace("\r\n", " ").replace("\n", " ") + " ENDOFSQL";
-        if (contains(sql, "(insert\\s+into)(.+)(select)(.+)(from)(.+)")) {
+        if (contains(sql, INSERT_SELECT)) {
             tmp = new InsertSelectSqlParser(sql);
-        } else if (contains(sql, "(create\\s+aggtable)(.+)(as\\s+select)(.+)")) {
+        } else if (contains(sql, CREATE_AGG_TABLE)) {
             tmp = new CreateAggTableSelectSqlParser(sql);
-        } else if (contains(sql, "(execute\\s+cdcsource)")) {
+        } else if (contains(sql, EXECUTE_CDCSOURCE)) {
             tmp = new CreateCDCSourceSqlParser(sql);
-        } else if (contains(sql, "(select)(.+)(from)(.+)")) {
+        } else if (contains(sql, SELECT)) {
             tmp = new SelectSqlParser(sql);
-        } else if (contains(sql, "(delete\\s+from)(.+)")) {
+        } else if (contains(sql, DELETE)) {
             tmp = new DeleteSqlParser(sql);
-        } else if (contains(sql, "(update)(.+)(set)(.+)")) {
+        } else if (contains(sql, UPDATE)) {
             tmp = new UpdateSqlParser(sql);
-        } else if (contains(sql, "(insert\\s+into)(.+)(values)(.+)")) {
+        } else if (contains(sql, INSERT_VALUES)) {
             tmp = new InsertSqlParser(sql);
-        } else if (contains(sql, "(set)(.+)")) {
+        } else if (contains(sql, SET)) {
             tmp = new SetSqlParser(sql);
-        } else if (contains(sql, "(show\\s+fragment)\\s+(.+)")) {
+        } else if (contains(sql, SHOW_FRAGMENT)) {
             tmp = new ShowFragmentParser(sql);
         }
 
@@ -73,11 +88,10 @@ public class SingleSqlParserFactory {
      * 看word是否在lineText中存在，支持正则表达式
      *
      * @param sql:要解析的sql语句
-     * @param regExp:正则表达式
+     * @param pattern:预编译的正则表达式
      * @return
      */
-    private static boolean contains(String sql, String regExp) {
-        Pattern pattern = Pattern.compile(regExp, Pattern.CASE_INSENSITIVE);
+    private static boolean contains(String sql, Pattern pattern) {
         Matcher matcher = pattern.matcher(sql);
         return matcher.find();
     }
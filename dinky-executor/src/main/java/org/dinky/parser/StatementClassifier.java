@@ -0,0 +1,124 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.parser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * StatementClassifier reads the leading keywords of a statement, skipping whitespace and comments, and resolves its
+ * {@link SqlType} from them. Only CREATE and ADD statements look past their first keyword, with precompiled patterns.
+ */
+public final class StatementClassifier {
+
+    private static final Pattern AS_SELECT = Pattern.compile("AS\\s+SELECT", Pattern.CASE_INSENSITIVE);
+
+    private static final Map<String, SqlType> KEYWORD_TYPES = new HashMap<>();
+
+    static {
+        for (SqlType sqlType : SqlType.values()) {
+            if (sqlType != SqlType.CTAS
+                    && sqlType != SqlType.ADD
+                    && sqlType != SqlType.ADD_JAR
+                    && sqlType != SqlType.UNKNOWN) {
+                KEYWORD_TYPES.put(sqlType.getType(), sqlType);
+            }
+        }
+    }
+
+    private StatementClassifier() {}
+
+    public static SqlType classify(String statement) {
+        int start = skipBlank(statement, 0);
+        int end = wordEnd(statement, start);
+        if (end == start) {
+            return SqlType.UNKNOWN;
+        }
+        String keyword = statement.substring(start, end).toUpperCase(Locale.ROOT);
+        if ("ADD".equals(keyword)) {
+            String addStatement = statement.substring(start).trim();
+            if (SqlType.ADD_JAR.match(addStatement)) {
+                return SqlType.ADD_JAR;
+            }
+            return SqlType.ADD.match(addStatement) ? SqlType.ADD : SqlType.UNKNOWN;
+        }
+        SqlType sqlType = KEYWORD_TYPES.getOrDefault(keyword, SqlType.UNKNOWN);
+        if (sqlType == SqlType.CREATE && AS_SELECT.matcher(statement).region(end, statement.length()).find()) {
+            return SqlType.CTAS;
+        }
+        return sqlType;
+    }
+
+    /** Returns up to {@code limit} upper case keywords the statement starts with. */
+    public static List<String> leadingKeywords(String statement, int limit) {
+        List<String> keywords = new ArrayList<>(limit);
+        int start = skipBlank(statement, 0);
+        while (keywords.size() < limit) {
+            int end = wordEnd(statement, start);
+            if (end == start) {
+                break;
+            }
+            keywords.add(statement.substring(start, end).toUpperCase(Locale.ROOT));
+            start = skipBlank(statement, end);
+            if (start == end) {
+                // the keyword is followed by something else than whitespace or a comment
+                break;
+            }
+        }
+        return keywords;
+    }
+
+    /** Skips whitespace, line comments and block comments from {@code from} on. */
+    private static int skipBlank(String statement, int from) {
+        int i = from;
+        int length = statement.length();
+        while (i < length) {
+            char c = statement.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '-' && i + 1 < length && statement.charAt(i + 1) == '-') {
+                int lineEnd = statement.indexOf('\n', i + 2);
+                i = lineEnd < 0 ? length : lineEnd + 1;
+            } else if (c == '/' && i + 1 < length && statement.charAt(i + 1) == '*') {
+                int commentEnd = statement.indexOf("*/", i + 2);
+                i = commentEnd < 0 ? length : commentEnd + 2;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static int wordEnd(String statement, int from) {
+        int i = from;
+        while (i < statement.length()) {
+            char c = statement.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+}
@@ -20,10 +20,17 @@
 package org.dinky.trans;
 
 import org.dinky.parser.SqlType;
+import org.dinky.parser.StatementClassifier;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
@@ -44,6 +51,15 @@ public class Operations {
 
     private static final Operation[] ALL_OPERATIONS = getAllOperations();
 
+    /** Operations by the first keyword of their handle, the ones with the longest handle first. */
+    private static final Map<String, List<OperationHandle>> OPERATION_HANDLES = getOperationHandles();
+
+    private static final int MAX_HANDLE_KEYWORDS = OPERATION_HANDLES.values().stream()
+            .flatMap(List::stream)
+            .mapToInt(h -> h.keywords.size())
+            .max()
+            .orElse(1);
+
     /**
      * get all {@link Operation} children ordinary class,
      *
@@ -70,21 +86,42 @@ public class Operations {
                 .toArray(Operation[]::new);
     }
 
+    private static Map<String, List<OperationHandle>> getOperationHandles() {
+        return Arrays.stream(ALL_OPERATIONS)
+                .filter(p -> p.getHandle() != null)
+                .map(OperationHandle::new)
+                .sorted(Comparator.comparingInt((OperationHandle h) -> h.keywords.size()).reversed())
+                .collect(Collectors.groupingBy(h -> h.keywords.get(0)));
+    }
+
     public static SqlType getOperationType(String sql) {
-        String sqlTrim = sql.replaceAll(SQL_EMPTY_STR, " ").trim().toUpperCase();
-        return Arrays.stream(SqlType.values())
-                .filter(sqlType -> sqlType.match(sqlTrim))
-                .findFirst()
-                .orElse(SqlType.UNKNOWN);
+        return StatementClassifier.classify(sql);
     }
 
     public static Operation buildOperation(String statement) {
-        String sql = statement.replace("\n", " ").replaceAll("\\s+", " ").trim().toUpperCase();
-
-        return Arrays.stream(ALL_OPERATIONS)
-                .filter(p -> p.getHandle() != null && sql.startsWith(p.getHandle()))
+        List<String> keywords = StatementClassifier.leadingKeywords(statement, MAX_HANDLE_KEYWORDS);
+        if (keywords.isEmpty()) {
+            return null;
+        }
+        return OPERATION_HANDLES.getOrDefault(keywords.get(0), Collections.emptyList()).stream()
+                .filter(h -> h.matches(keywords))
                 .findFirst()
-                .map(p -> p.create(statement))
+                .map(h -> h.operation.create(statement))
                 .orElse(null);
     }
+
+    private static final class OperationHandle {
+        private final Operation operation;
+        private final List<String> keywords;
+
+        private OperationHandle(Operation operation) {
+            this.operation = operation;
+            this.keywords = Arrays.asList(operation.getHandle().trim().toUpperCase(Locale.ROOT).split("\\s+"));
+        }
+
+        private boolean matches(List<String> statementKeywords) {
+            return statementKeywords.size() >= keywords.size()
+                    && keywords.equals(statementKeywords.subList(0, keywords.size()));
+        }
+    }
 }
@@ -25,6 +25,7 @@ import org.dinky.assertion.Asserts;
 import org.dinky.cdc.CDCBuilder;
 import org.dinky.cdc.CDCBuilderFactory;
 import org.dinky.cdc.SinkBuilder;
+import org.dinky.data.model.Column;
 import org.dinky.data.model.FlinkCDCConfig;
 import org.dinky.data.model.Schema;
 import org.dinky.data.model.Table;
@@ -42,9 +43,16 @@ import org.apache.flink.table.api.TableResult;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -56,6 +64,9 @@ public class CreateCDCSourceOperation extends AbstractOperation implements Opera
 
     private static final String KEY_WORD = "EXECUTE CDCSOURCE";
 
+    /** 并行加载源库元数据的最大线程数 */
+    private static final int MAX_SCHEMA_PARALLELISM = 4;
+
     public CreateCDCSourceOperation() {}
 
     public CreateCDCSourceOperation(String statement) {
@@ -116,64 +127,44 @@ public class CreateCDCSourceOperation extends AbstractOperation implements Opera
 
                 Set<Table> tables = driver.getSplitTables(tableRegList, cdcSource.getSplit());
 
+                // 分库分表所有表结构都是一样的，取出列表中第一个真实的表即可，每个真实的库只查询一次字段
+                Map<String, Set<String>> realSchemaTables = new LinkedHashMap<>();
+                for (Table table : tables) {
+                    String[] schemaTableName = table.getSchemaTableNameList().get(0).split("\\.");
+                    realSchemaTables
+                            .computeIfAbsent(schemaTableName[0], k -> new LinkedHashSet<>())
+                            .add(schemaTableName[1]);
+                }
+                Map<String, Map<String, List<Column>>> realSchemaColumns =
+                        driver.listSchemaColumnsSortByPK(realSchemaTables);
+
+                List<Table> sinkTables = new ArrayList<>();
                 for (Table table : tables) {
-                    String schemaName = table.getSchema();
-                    Schema schema = Schema.build(schemaName);
+                    Schema schema = Schema.build(table.getSchema());
                     schema.setTables(Collections.singletonList(table));
-                    // 分库分表所有表结构都是一样的，取出列表中第一个表名即可
-                    String schemaTableName = table.getSchemaTableNameList().get(0);
-                    // 真实的表名
-                    String tableName = schemaTableName.split("\\.")[1];
-                    table.setColumns(driver.listColumnsSortByPK(schemaName, tableName));
-                    table.setColumns(driver.listColumnsSortByPK(schemaName, table.getName()));
+                    String[] schemaTableName = table.getSchemaTableNameList().get(0).split("\\.");
+                    table.setColumns(realSchemaColumns
+                            .getOrDefault(schemaTableName[0], Collections.emptyMap())
+                            .getOrDefault(schemaTableName[1], new ArrayList<>()));
                     schemaList.add(schema);
 
                     if (null != sinkDriver) {
-                        Table sinkTable = (Table) table.clone();
-                        sinkTable.setSchema(sinkBuilder.getSinkSchemaName(table));
-                        sinkTable.setName(sinkBuilder.getSinkTableName(table));
-                        checkAndCreateSinkTable(sinkDriver, sinkTable);
+                        sinkTables.add(buildSinkTable(sinkBuilder, table));
                     }
                 }
+                checkAndCreateSinkTables(sinkDriver, sinkTables);
             } else {
-                for (String schemaName : schemaNameList) {
-                    Schema schema = Schema.build(schemaName);
-                    if (!allConfigMap.containsKey(schemaName)) {
-                        continue;
-                    }
-
-                    Driver sinkDriver = checkAndCreateSinkSchema(config, schemaName);
-
-                    DriverConfig driverConfig = DriverConfig.build(allConfigMap.get(schemaName));
-                    Driver driver = Driver.build(driverConfig);
-                    final List<Table> tables = driver.listTables(schemaName);
-                    for (Table table : tables) {
-                        if (!Asserts.isEquals(table.getType(), "VIEW")) {
-                            if (Asserts.isNotNullCollection(tableRegList)) {
-                                for (String tableReg : tableRegList) {
-                                    if (table.getSchemaTableName().matches(tableReg.trim())
-                                            && !schema.getTables().contains(Table.build(table.getName()))) {
-                                        table.setColumns(driver.listColumnsSortByPK(schemaName, table.getName()));
-                                        schema.getTables().add(table);
-                                        schemaTableNameList.add(table.getSchemaTableName());
-                                        break;
-                                    }
-                                }
-                            } else {
-                                table.setColumns(driver.listColumnsSortByPK(schemaName, table.getName()));
-                                schemaTableNameList.add(table.getSchemaTableName());
-                                schema.getTables().add(table);
-                            }
-                        }
+                for (Schema schema : listSourceSchemas(schemaNameList, allConfigMap, tableRegList)) {
+                    Driver sinkDriver = checkAndCreateSinkSchema(config, schema.getName());
+                    for (Table table : schema.getTables()) {
+                        schemaTableNameList.add(table.getSchemaTableName());
                     }
-
                     if (null != sinkDriver) {
-                        for (Table table : schema.getTables()) {
-                            Table sinkTable = (Table) table.clone();
-                            sinkTable.setSchema(sinkBuilder.getSinkSchemaName(table));
-                            sinkTable.setName(sinkBuilder.getSinkTableName(table));
-                            checkAndCreateSinkTable(sinkDriver, sinkTable);
-                        }
+                        checkAndCreateSinkTables(
+                                sinkDriver,
+                                schema.getTables().stream()
+                                        .map(table -> buildSinkTable(sinkBuilder, table))
+                                        .collect(Collectors.toList()));
                     }
                     schemaList.add(schema);
                 }
@@ -224,9 +215,77 @@ public class CreateCDCSourceOperation extends AbstractOperation implements Opera
         return driver;
     }
 
-    void checkAndCreateSinkTable(Driver driver, Table table) throws Exception {
-        if (null != driver && !driver.existTable(table)) {
-            driver.generateCreateTable(table);
+    /**
+     * 并行加载各个源库中匹配的表及其字段，每个库只查询一次字段信息
+     *
+     * @return 源库，顺序与 schemaNameList 一致
+     */
+    List<Schema> listSourceSchemas(
+            List<String> schemaNameList, Map<String, Map<String, String>> allConfigMap, List<String> tableRegList) {
+        List<String> schemaNames =
+                schemaNameList.stream().filter(allConfigMap::containsKey).collect(Collectors.toList());
+        if (schemaNames.isEmpty()) {
+            return new ArrayList<>();
+        }
+        ExecutorService executorService =
+                Executors.newFixedThreadPool(Math.min(schemaNames.size(), MAX_SCHEMA_PARALLELISM));
+        try {
+            List<CompletableFuture<Schema>> futures = schemaNames.stream()
+                    .map(schemaName -> CompletableFuture.supplyAsync(
+                            () -> listSourceSchema(schemaName, allConfigMap.get(schemaName), tableRegList),
+                            executorService))
+                    .collect(Collectors.toList());
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private Schema listSourceSchema(String schemaName, Map<String, String> metaDataConfig, List<String> tableRegList) {
+        Driver driver = Driver.build(DriverConfig.build(metaDataConfig));
+        Schema schema = Schema.build(schemaName);
+        for (Table table : driver.listTables(schemaName)) {
+            if (Asserts.isEquals(table.getType(), "VIEW")) {
+                continue;
+            }
+            if (Asserts.isNullCollection(tableRegList)
+                    || tableRegList.stream()
+                            .anyMatch(tableReg -> table.getSchemaTableName().matches(tableReg.trim()))) {
+                schema.getTables().add(table);
+            }
+        }
+        Map<String, List<Column>> tableColumns = driver.listTableColumnsSortByPK(
+                schemaName,
+                schema.getTables().stream().map(Table::getName).collect(Collectors.toList()));
+        for (Table table : schema.getTables()) {
+            table.setColumns(tableColumns.getOrDefault(table.getName(), new ArrayList<>()));
+        }
+        return schema;
+    }
+
+    private Table buildSinkTable(SinkBuilder sinkBuilder, Table table) {
+        Table sinkTable = (Table) table.clone();
+        sinkTable.setSchema(sinkBuilder.getSinkSchemaName(table));
+        sinkTable.setName(sinkBuilder.getSinkTableName(table));
+        return sinkTable;
+    }
+
+    /** 每个目标库只列一次表，创建其中不存在的表 */
+    void checkAndCreateSinkTables(Driver driver, List<Table> tables) throws Exception {
+        if (null == driver) {
+            return;
+        }
+        Map<String, Set<String>> existTables = new HashMap<>();
+        for (Table table : tables) {
+            Set<String> tableNames = existTables.computeIfAbsent(
+                    table.getSchema(),
+                    schemaName -> driver.listTables(schemaName).stream()
+                            .map(Table::getName)
+                            .collect(Collectors.toCollection(HashSet::new)));
+            if (!tableNames.contains(table.getName())) {
+                driver.generateCreateTable(table);
+                tableNames.add(table.getName());
+            }
         }
     }
 }
@@ -0,0 +1,63 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.apache.flink.table.api.ExpressionParserException;
+import org.apache.flink.table.catalog.exceptions.CatalogException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class SqlManagerTest {
+
+    @Test
+    void getSqlFragmentExpandsNestedFragments() {
+        Map<String, String> fragments = new HashMap<>();
+        fragments.put("columns", "id, ${name}");
+        fragments.put("name", "name");
+        fragments.put("query", "select ${columns} from ${table} where ${columns} is not null");
+        fragments.put("table", "orders");
+
+        SqlManager sqlManager = new SqlManager();
+        sqlManager.registerSqlFragment(fragments);
+        assertEquals("select id, name from orders where id, name is not null", sqlManager.getSqlFragment("query"));
+
+        sqlManager.unregisterSqlFragment("table", false);
+        sqlManager.registerSqlFragment("table", "customers");
+        assertEquals("select id, name from customers where id, name is not null", sqlManager.getSqlFragment("query"));
+    }
+
+    @Test
+    void getSqlFragmentDetectsCycles() {
+        Map<String, String> fragments = new HashMap<>();
+        fragments.put("a", "${b}");
+        fragments.put("b", "${c}");
+        fragments.put("c", "${a}");
+
+        SqlManager sqlManager = new SqlManager();
+        sqlManager.registerSqlFragment(fragments);
+        assertThrows(ExpressionParserException.class, () -> sqlManager.getSqlFragment("a"));
+        assertThrows(CatalogException.class, () -> sqlManager.getSqlFragment("d"));
+    }
+}
@@ -63,6 +63,24 @@ class SqlTypeTest {
         test(sql, SqlType.CREATE, false);
     }
 
+    @Test
+    public void classify() {
+        classify("-- orders\n/* source */ CREATE TABLE Orders (id INT) WITH ('connector' = 'datagen')", SqlType.CREATE);
+        classify("CREATE TABLE print_Orders WITH ('connector' = 'print')\nAS\n  select * FROM Orders", SqlType.CTAS);
+        classify("  select * from Orders", SqlType.SELECT);
+        classify("DESCRIBE Orders", SqlType.DESCRIBE);
+        classify("desc Orders", SqlType.DESC);
+        classify("ADD jar /opt/udf.jar", SqlType.ADD_JAR);
+        classify("ADD customjar /opt/udf.jar", SqlType.ADD);
+        classify("set 'parallelism.default' = '1'", SqlType.SET);
+        classify("WITH t AS (SELECT 1) SELECT * FROM t", SqlType.UNKNOWN);
+        classify("-- only a comment", SqlType.UNKNOWN);
+    }
+
+    private void classify(String sql, SqlType sqlType) {
+        Assertions.assertThat(StatementClassifier.classify(sql)).isEqualTo(sqlType);
+    }
+
     private void test(String sql, SqlType sqlType, boolean result) {
         Assertions.assertThat(sqlType.match(sql)).isEqualTo(result);
     }
@@ -0,0 +1,132 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.parser;
+
+import org.dinky.trans.Operations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Classifies the statements of a job script of a few thousand lines, comparing the former whole statement
+ * normalization and regex scan with {@link StatementClassifier}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StatementClassifierBenchmark {
+
+    private static final int TABLES = 150;
+    private static final int COLUMNS = 15;
+
+    private final List<String> statements = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        statements.add("SET 'execution.checkpointing.interval' = '60s'");
+        statements.add("ADD CUSTOMJAR '/opt/udf/dinky-udf.jar'");
+        for (int t = 0; t < TABLES; t++) {
+            StringBuilder ddl = new StringBuilder("-- source of table ")
+                    .append(t)
+                    .append("\nCREATE TABLE source_")
+                    .append(t)
+                    .append(" (\n");
+            for (int c = 0; c < COLUMNS; c++) {
+                ddl.append("    col_").append(c).append(" STRING COMMENT 'column ").append(c).append("',\n");
+            }
+            ddl.append("    PRIMARY KEY (col_0) NOT ENFORCED\n) WITH (\n")
+                    .append("    'connector' = 'mysql-cdc',\n")
+                    .append("    'hostname' = '127.0.0.1',\n")
+                    .append("    'table-name' = 'table_")
+                    .append(t)
+                    .append("'\n)");
+            statements.add(ddl.toString());
+            statements.add("CREATE TABLE sink_" + t + " WITH ('connector' = 'print')\nAS SELECT * FROM source_" + t);
+            statements.add("INSERT INTO sink_" + t + "\nSELECT col_0, col_1, UPPER(col_2)\nFROM source_" + t
+                    + "\nWHERE col_3 IS NOT NULL");
+        }
+        statements.add("SHOW FRAGMENTS");
+    }
+
+    @Benchmark
+    public void regexOperationType(Blackhole blackhole) {
+        for (String statement : statements) {
+            String sqlTrim = statement.replaceAll("[\\s\\t\\n\\r]", " ").trim().toUpperCase();
+            blackhole.consume(Arrays.stream(SqlType.values())
+                    .filter(sqlType -> sqlType.match(sqlTrim))
+                    .findFirst()
+                    .orElse(SqlType.UNKNOWN));
+        }
+    }
+
+    @Benchmark
+    public void classifyOperationType(Blackhole blackhole) {
+        for (String statement : statements) {
+            blackhole.consume(StatementClassifier.classify(statement));
+        }
+    }
+
+    @Benchmark
+    public void prefixOperationHandle(Blackhole blackhole) {
+        for (String statement : statements) {
+            blackhole.consume(statement
+                    .replace("\n", " ")
+                    .replaceAll("\\s+", " ")
+                    .trim()
+                    .toUpperCase()
+                    .startsWith("EXECUTE CDCSOURCE"));
+        }
+    }
+
+    @Benchmark
+    public void keywordOperationHandle(Blackhole blackhole) {
+        for (String statement : statements) {
+            blackhole.consume(Operations.buildOperation(statement));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                        .include(StatementClassifierBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+}
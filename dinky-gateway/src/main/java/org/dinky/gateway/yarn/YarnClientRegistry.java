@@ -0,0 +1,154 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.gateway.yarn;
+
+import org.apache.hadoop.yarn.api.records.ApplicationId;
+import org.apache.hadoop.yarn.api.records.ApplicationReport;
+import org.apache.hadoop.yarn.client.api.YarnClient;
+import org.apache.hadoop.yarn.exceptions.YarnException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared, started YarnClients for status checks, one per yarn config path.
+ * <p>
+ * The reports of all Flink applications of a cluster are fetched with one getApplications call and shared for
+ * {@link #REPORT_TTL} ms, so checking many jobs costs one RPC per cluster instead of one handshake per job.
+ * Clients not used for {@link #IDLE_TIMEOUT} ms are stopped.
+ * </p>
+ */
+public final class YarnClientRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(YarnClientRegistry.class);
+
+    private static final long REPORT_TTL = 5000;
+    private static final long IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+    private static final long EVICT_INTERVAL = 60;
+
+    /** Flink's default application type and the one Dinky sets in application mode. */
+    private static final Set<String> APPLICATION_TYPES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("Apache Flink", "Dinky Flink")));
+
+    private static final Map<String, ClientHolder> clients = new ConcurrentHashMap<>();
+
+    static {
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "YarnClientRegistry-Evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(YarnClientRegistry::evictIdle, EVICT_INTERVAL, EVICT_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    private YarnClientRegistry() {}
+
+    /**
+     * Get the report of an application through the shared client of a cluster.
+     *
+     * @param key the yarn config path of the cluster
+     * @param clientFactory creates and starts a client if the cluster has none
+     * @param applicationId the application to report
+     */
+    public static ApplicationReport getApplicationReport(
+            String key, Supplier<YarnClient> clientFactory, ApplicationId applicationId)
+            throws YarnException, IOException {
+        ClientHolder holder = clients.computeIfAbsent(key, k -> new ClientHolder(clientFactory.get()));
+        holder.lastAccess = System.currentTimeMillis();
+        try {
+            ApplicationReport report = holder.getReports().get(applicationId);
+            if (report != null) {
+                return report;
+            }
+            // The application has another type or the RM already dropped it from the list.
+            return holder.client.getApplicationReport(applicationId);
+        } catch (YarnException | IOException | RuntimeException e) {
+            // A broken client is replaced on the next call.
+            remove(key, holder);
+            throw e;
+        }
+    }
+
+    public static int size() {
+        return clients.size();
+    }
+
+    private static void evictIdle() {
+        long now = System.currentTimeMillis();
+        clients.forEach((key, holder) -> {
+            if (now - holder.lastAccess > IDLE_TIMEOUT) {
+                logger.info("Stop idle yarn client of {}", key);
+                remove(key, holder);
+            }
+        });
+    }
+
+    private static void remove(String key, ClientHolder holder) {
+        if (clients.remove(key, holder)) {
+            try {
+                holder.client.stop();
+            } catch (Exception e) {
+                logger.warn("Stop yarn client of {} failed: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private static class ClientHolder {
+
+        private final YarnClient client;
+        private volatile long lastAccess = System.currentTimeMillis();
+        private volatile Map<ApplicationId, ApplicationReport> reports = Collections.emptyMap();
+        private volatile long reportTime;
+
+        private ClientHolder(YarnClient client) {
+            this.client = client;
+        }
+
+        private Map<ApplicationId, ApplicationReport> getReports() throws YarnException, IOException {
+            if (System.currentTimeMillis() - reportTime > REPORT_TTL) {
+                synchronized (this) {
+                    if (System.currentTimeMillis() - reportTime > REPORT_TTL) {
+                        List<ApplicationReport> applications = client.getApplications(APPLICATION_TYPES);
+                        reports = applications.stream()
+                                .collect(Collectors.toMap(
+                                        ApplicationReport::getApplicationId, Function.identity(), (a, b) -> b));
+                        reportTime = System.currentTimeMillis();
+                    }
+                }
+            }
+            return reports;
+        }
+    }
+}
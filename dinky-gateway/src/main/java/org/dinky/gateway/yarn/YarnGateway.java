@@ -139,6 +139,14 @@ public abstract class YarnGateway extends AbstractGateway {
         yarnClient.start();
     }
 
+    private YarnClient createSharedYarnClient() {
+        initConfig();
+        initYarnClient();
+        YarnClient client = yarnClient;
+        yarnClient = null;
+        return client;
+    }
+
     private Path getYanConfigFilePath(String path) {
         return new Path(URI.create(config.getClusterConfig().getYarnConfigPath() + "/" + path));
     }
@@ -229,12 +237,13 @@ public abstract class YarnGateway extends AbstractGateway {
 
     @Override
     public JobStatus getJobStatusById(String id) {
-        if (Asserts.isNull(yarnClient)) {
-            init();
-        }
         config.getClusterConfig().setAppId(id);
         try {
-            ApplicationReport applicationReport = yarnClient.getApplicationReport(getApplicationId());
+            // The status is read through the shared client of the cluster, this gateway starts no client of its own.
+            ApplicationReport applicationReport = YarnClientRegistry.getApplicationReport(
+                    config.getClusterConfig().getYarnConfigPath(),
+                    this::createSharedYarnClient,
+                    ApplicationId.fromString(id));
             YarnApplicationState yarnApplicationState = applicationReport.getYarnApplicationState();
             FinalApplicationStatus finalApplicationStatus = applicationReport.getFinalApplicationStatus();
             switch (yarnApplicationState) {
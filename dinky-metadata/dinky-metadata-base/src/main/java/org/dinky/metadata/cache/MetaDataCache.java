@@ -0,0 +1,157 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.cache;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 元数据缓存，按数据源、库、表缓存元数据查询结果。
+ *
+ * <p>超过容量时淘汰最久未访问的条目，超过 ttl 的条目在下次访问时重新加载。同一个 key 并发未命中时只有一个线程执行查询，
+ * 其余线程等待其结果。开启 validateUpdateTime 后，表级条目命中时会比较表的更新时间，有变化则重新加载。
+ */
+public class MetaDataCache {
+
+    /** 缓存的元数据种类 */
+    public enum Kind {
+        SCHEMAS,
+        COLUMNS,
+        TABLE
+    }
+
+    private final boolean validateUpdateTime;
+    private final TtlCache<Key, Entry> cache;
+
+    public MetaDataCache(int maxSize, Duration ttl, boolean validateUpdateTime) {
+        this.validateUpdateTime = validateUpdateTime;
+        this.cache = new TtlCache<>(maxSize, ttl);
+    }
+
+    public <T> T get(Kind kind, String datasource, Supplier<T> loader) {
+        return get(kind, datasource, null, null, loader, null);
+    }
+
+    /**
+     * 获取缓存的元数据，未命中、过期或更新时间变化时调用 loader 加载
+     *
+     * @param updateTime 表的当前更新时间，为 null 或未开启校验时不校验
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(
+            Kind kind,
+            String datasource,
+            String schemaName,
+            String tableName,
+            Supplier<T> loader,
+            Supplier<Date> updateTime) {
+        Date currentUpdateTime = validateUpdateTime && updateTime != null ? updateTime.get() : null;
+        Entry entry = cache.get(
+                        new Key(kind, datasource, schemaName, tableName),
+                        cached -> Objects.equals(cached.updateTime, currentUpdateTime),
+                        () -> {
+                            T value = loader.get();
+                            return value == null ? null : new Entry(value, currentUpdateTime);
+                        },
+                        loaded -> true)
+                .getValue();
+        return entry == null ? null : (T) entry.value;
+    }
+
+    /** 使数据源的所有缓存失效 */
+    public void invalidate(String datasource) {
+        invalidate(datasource, null, null);
+    }
+
+    /**
+     * 使缓存失效，schemaName 或 tableName 为 null 时匹配所有库或表。数据源级别的库表列表总是一起失效。
+     */
+    public void invalidate(String datasource, String schemaName, String tableName) {
+        cache.invalidate(key -> Objects.equals(key.datasource, datasource)
+                && (key.kind == Kind.SCHEMAS
+                        || (matches(schemaName, key.schemaName) && matches(tableName, key.tableName))));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public MetaDataCacheStats stats() {
+        return new MetaDataCacheStats(
+                cache.size(),
+                cache.getHitCount(),
+                cache.getMissCount(),
+                cache.getLoadCount(),
+                cache.getLoadFailureCount(),
+                cache.getStaleReloadCount(),
+                cache.getEvictionCount(),
+                cache.getExpirationCount());
+    }
+
+    private static boolean matches(String expected, String actual) {
+        return expected == null || Objects.equals(expected, actual);
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final Date updateTime;
+
+        private Entry(Object value, Date updateTime) {
+            this.value = value;
+            this.updateTime = updateTime;
+        }
+    }
+
+    private static final class Key {
+        private final Kind kind;
+        private final String datasource;
+        private final String schemaName;
+        private final String tableName;
+
+        private Key(Kind kind, String datasource, String schemaName, String tableName) {
+            this.kind = kind;
+            this.datasource = datasource;
+            this.schemaName = schemaName;
+            this.tableName = tableName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return kind == key.kind
+                    && Objects.equals(datasource, key.datasource)
+                    && Objects.equals(schemaName, key.schemaName)
+                    && Objects.equals(tableName, key.tableName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, datasource, schemaName, tableName);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** 元数据缓存统计 */
+@Getter
+@AllArgsConstructor
+public class MetaDataCacheStats {
+
+    /** 当前条目数 */
+    private final int size;
+
+    /** 命中次数 */
+    private final long hits;
+
+    /** 未命中次数，包括等待其他线程加载的次数 */
+    private final long misses;
+
+    /** 实际执行查询的次数 */
+    private final long loads;
+
+    /** 查询失败次数 */
+    private final long loadFailures;
+
+    /** 因表更新时间变化而重新加载的次数 */
+    private final long staleReloads;
+
+    /** 因超过容量淘汰的条目数 */
+    private final long evictions;
+
+    /** 超过 ttl 过期的条目数 */
+    private final long expirations;
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
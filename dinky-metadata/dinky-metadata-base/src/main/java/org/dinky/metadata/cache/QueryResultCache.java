@@ -0,0 +1,137 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.cache;
+
+import org.dinky.metadata.result.JdbcSelectResult;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 只读查询结果缓存，按数据源、规范化后的 SQL 和返回行数缓存执行成功的查询结果。
+ *
+ * <p>超过容量时淘汰最久未访问的条目，超过 ttl 的条目在下次访问时重新查询。同一查询并发未命中时只执行一次。
+ * 缓存的结果会被多个调用方共享，不应再修改。
+ */
+public class QueryResultCache {
+
+    private final TtlCache<Key, JdbcSelectResult> cache;
+
+    public QueryResultCache(int maxSize, Duration ttl) {
+        this.cache = new TtlCache<>(maxSize, ttl);
+    }
+
+    /**
+     * 获取缓存的查询结果，未命中或过期时调用 loader 查询，只缓存执行成功的结果
+     *
+     * @return 结果及是否命中缓存
+     */
+    public TtlCache.Lookup<JdbcSelectResult> get(
+            String datasource, String sql, Integer limit, Supplier<JdbcSelectResult> loader) {
+        return cache.get(
+                new Key(datasource, normalize(sql), limit), cached -> true, loader, JdbcSelectResult::isSuccess);
+    }
+
+    /** 数据源执行了写操作后调用，清除其所有查询结果 */
+    public void invalidate(String datasource) {
+        cache.invalidate(key -> Objects.equals(key.datasource, datasource));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    /** 去掉首尾空白和结尾的分号，将引号外连续的空白合并为一个空格 */
+    public static String normalize(String sql) {
+        String trimmed = sql.trim();
+        while (trimmed.endsWith(";")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1).trim();
+        }
+        StringBuilder sb = new StringBuilder(trimmed.length());
+        char quote = 0;
+        boolean whitespace = false;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (quote == 0 && Character.isWhitespace(c)) {
+                whitespace = true;
+                continue;
+            }
+            if (whitespace) {
+                sb.append(' ');
+                whitespace = false;
+            }
+            if (quote != 0 && c == '\\' && i + 1 < trimmed.length()) {
+                sb.append(c).append(trimmed.charAt(++i));
+                continue;
+            }
+            if (quote == 0 && (c == '\'' || c == '"' || c == '`')) {
+                quote = c;
+            } else if (c == quote) {
+                quote = 0;
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static final class Key {
+        private final String datasource;
+        private final String sql;
+        private final Integer limit;
+
+        private Key(String datasource, String sql, Integer limit) {
+            this.datasource = datasource;
+            this.sql = sql;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(datasource, key.datasource)
+                    && Objects.equals(sql, key.sql)
+                    && Objects.equals(limit, key.limit);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(datasource, sql, limit);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.cache;
+
+import org.dinky.assertion.Asserts;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 带 ttl 和容量上限的本地缓存，元数据缓存和查询结果缓存共用。
+ *
+ * <p>超过容量时淘汰最久未访问的条目，超过 ttl 的条目在下次访问时移除。同一个 key 并发未命中时只有一个线程执行加载，
+ * 其余线程等待其结果。失效前开始的加载结果不再写入缓存。
+ */
+public class TtlCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    /** 每次失效加一 */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder staleReloads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public TtlCache(int maxSize, Duration ttl) {
+        Asserts.checkNotNull(ttl, "ttl 不能为空");
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * 获取缓存值，未命中、过期或已缓存的值不满足 fresh 时调用 loader 加载
+     *
+     * @param fresh 已缓存的值是否仍可用，不满足时计入 staleReloads 并重新加载
+     * @param cacheable 加载结果是否写入缓存
+     * @return 值及是否来自缓存，等待其他线程加载得到的值也视为来自缓存
+     */
+    public Lookup<V> get(
+            K key, Predicate<? super V> fresh, Supplier<? extends V> loader, Predicate<? super V> cacheable) {
+        Entry<V> entry = getEntry(key);
+        if (entry != null) {
+            if (fresh.test(entry.value)) {
+                hits.increment();
+                return new Lookup<>(entry.value, true);
+            }
+            staleReloads.increment();
+            remove(key, entry);
+        }
+        misses.increment();
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            return new Lookup<>(join(inFlight), true);
+        }
+        try {
+            long loadGeneration = generation.get();
+            loads.increment();
+            V value = loader.get();
+            if (value != null && cacheable.test(value)) {
+                put(key, new Entry<>(value), loadGeneration);
+            }
+            future.complete(value);
+            return new Lookup<>(value, false);
+        } catch (RuntimeException | Error e) {
+            loadFailures.increment();
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    /** 移除 key 满足 filter 的条目 */
+    public synchronized void invalidate(Predicate<? super K> filter) {
+        generation.incrementAndGet();
+        entries.keySet().removeIf(filter);
+    }
+
+    public synchronized void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailures.sum();
+    }
+
+    public long getStaleReloadCount() {
+        return staleReloads.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    private synchronized Entry<V> getEntry(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.loadedAt > ttlNanos) {
+            entries.remove(key);
+            expirations.increment();
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized void remove(K key, Entry<V> entry) {
+        if (entries.get(key) == entry) {
+            entries.remove(key);
+        }
+    }
+
+    private synchronized void put(K key, Entry<V> entry, long loadGeneration) {
+        if (generation.get() != loadGeneration) {
+            return;
+        }
+        entries.put(key, entry);
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /** 缓存值及是否来自缓存 */
+    public static final class Lookup<V> {
+        private final V value;
+        private final boolean cached;
+
+        private Lookup(V value, boolean cached) {
+            this.value = value;
+            this.cached = cached;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        public boolean isCached() {
+            return cached;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long loadedAt = System.nanoTime();
+
+        private Entry(V value) {
+            this.value = value;
+        }
+    }
+}
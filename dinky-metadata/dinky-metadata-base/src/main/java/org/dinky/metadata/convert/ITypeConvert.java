@@ -86,4 +86,42 @@ public interface ITypeConvert {
                 return results.getString(columnName);
         }
     }
+
+    /** 与 {@link #convertValue} 相同的类型映射，但按列下标读取，供逐行读取大量数据时预先为每列确定读取方法 */
+    default ValueReader getValueReader(String javaType) {
+        if (Asserts.isNull(javaType)) {
+            return ResultSet::getString;
+        }
+        switch (javaType.toLowerCase()) {
+            case "double":
+                return ValueReader.nullable(ResultSet::getDouble);
+            case "int":
+                return ValueReader.nullable(ResultSet::getInt);
+            case "float":
+                return ValueReader.nullable(ResultSet::getFloat);
+            case "bigint":
+                return ValueReader.nullable(ResultSet::getLong);
+            case "decimal":
+                return ResultSet::getBigDecimal;
+            case "date":
+            case "localdate":
+                return ResultSet::getDate;
+            case "time":
+            case "localtime":
+                return ResultSet::getTime;
+            case "timestamp":
+                return ResultSet::getTimestamp;
+            case "blob":
+                return ResultSet::getBlob;
+            case "boolean":
+            case "bit":
+                return ValueReader.nullable(ResultSet::getBoolean);
+            case "byte":
+                return ValueReader.nullable(ResultSet::getByte);
+            case "bytes":
+                return ResultSet::getBytes;
+            default:
+                return ResultSet::getString;
+        }
+    }
 }
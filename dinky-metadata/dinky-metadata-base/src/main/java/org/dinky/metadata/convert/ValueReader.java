@@ -0,0 +1,38 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.convert;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/** 按列下标读取当前行的值，每列在查询开始时确定一次 */
+@FunctionalInterface
+public interface ValueReader {
+
+    Object read(ResultSet results, int columnIndex) throws SQLException;
+
+    /** 对基本类型的读取方法，值为 SQL NULL 时返回 null 而不是 0 或 false */
+    static ValueReader nullable(ValueReader reader) {
+        return (results, columnIndex) -> {
+            Object value = reader.read(results, columnIndex);
+            return results.wasNull() ? null : value;
+        };
+    }
+}
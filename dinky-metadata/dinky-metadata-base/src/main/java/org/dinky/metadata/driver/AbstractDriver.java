@@ -26,8 +26,14 @@ import org.dinky.data.model.Table;
 import org.dinky.metadata.convert.ITypeConvert;
 import org.dinky.metadata.query.IDBQuery;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -37,6 +43,10 @@ import java.util.stream.Collectors;
  */
 public abstract class AbstractDriver implements Driver {
 
+    /** 主键字段排在前面，其余保持原有顺序 */
+    protected static final Comparator<Column> PRIMARY_KEY_FIRST =
+            Comparator.comparing(Column::isKeyFlag).reversed();
+
     protected DriverConfig config;
 
     public abstract IDBQuery getDBQuery();
@@ -57,28 +67,75 @@ public abstract class AbstractDriver implements Driver {
     }
 
     public List<Schema> getSchemasAndTables() {
-        return listSchemas().stream()
-                .peek(schema -> schema.setTables(listTables(schema.getName())))
+        List<Schema> schemas = listSchemas();
+        Map<String, List<Table>> schemaTables =
+                mapSchemas(schemas.stream().map(Schema::getName).collect(Collectors.toList()), this::listTables);
+        return schemas.stream()
+                .peek(schema -> schema.setTables(schemaTables.get(schema.getName())))
                 .sorted()
                 .collect(Collectors.toList());
     }
 
     public List<Table> getTablesAndColumns(String schema) {
-        return listTables(schema).stream()
-                .peek(table -> table.setColumns(listColumns(schema, table.getName())))
+        List<Table> tables = listTables(schema);
+        Map<String, List<Column>> tableColumns =
+                listTableColumns(schema, tables.stream().map(Table::getName).collect(Collectors.toList()));
+        return tables.stream()
+                .peek(table -> table.setColumns(tableColumns.getOrDefault(table.getName(), new ArrayList<>())))
                 .sorted()
                 .collect(Collectors.toList());
     }
 
     @Override
-    public Table getTable(String schemaName, String tableName) {
-        List<Table> tables = listTables(schemaName);
-        Table table = null;
-        for (Table item : tables) {
-            if (Asserts.isEquals(item.getName(), tableName)) {
-                table = item;
+    public Map<String, List<Column>> listTableColumns(String schemaName, Collection<String> tableNames) {
+        Collection<String> names = Asserts.isNotNull(tableNames)
+                ? tableNames
+                : listTables(schemaName).stream().map(Table::getName).collect(Collectors.toList());
+        Map<String, List<Column>> tableColumns = new LinkedHashMap<>();
+        for (String tableName : names) {
+            List<Column> columns = listColumns(schemaName, tableName);
+            if (Asserts.isNotNullCollection(columns)) {
+                tableColumns.put(tableName, columns);
             }
         }
+        return tableColumns;
+    }
+
+    @Override
+    public Map<String, List<Column>> listTableColumnsSortByPK(String schemaName, Collection<String> tableNames) {
+        Map<String, List<Column>> tableColumns = listTableColumns(schemaName, tableNames);
+        tableColumns.values().forEach(columns -> columns.sort(PRIMARY_KEY_FIRST));
+        return tableColumns;
+    }
+
+    @Override
+    public Map<String, Map<String, List<Column>>> listSchemaColumnsSortByPK(
+            Map<String, ? extends Collection<String>> schemaTables) {
+        return mapSchemas(schemaTables.keySet(), schemaName -> {
+            Collection<String> tableNames = schemaTables.get(schemaName);
+            return listTableColumnsSortByPK(schemaName, tableNames);
+        });
+    }
+
+    /**
+     * 对每个库执行一次 loader，默认在当前线程依次执行，子类可改为并行
+     *
+     * @return 库名与 loader 结果，顺序与 schemaNames 一致
+     */
+    protected <T> Map<String, T> mapSchemas(Collection<String> schemaNames, Function<String, T> loader) {
+        Map<String, T> results = new LinkedHashMap<>();
+        for (String schemaName : schemaNames) {
+            results.put(schemaName, loader.apply(schemaName));
+        }
+        return results;
+    }
+
+    @Override
+    public Table getTable(String schemaName, String tableName) {
+        Table table = listTables(schemaName).stream()
+                .filter(item -> Asserts.isEquals(item.getName(), tableName))
+                .findFirst()
+                .orElse(null);
         if (Asserts.isNotNull(table)) {
             table.setColumns(listColumns(schemaName, table.getName()));
         }
@@ -91,6 +148,11 @@ public abstract class AbstractDriver implements Driver {
                 .anyMatch(tableItem -> Asserts.isEquals(tableItem.getName(), table.getName()));
     }
 
+    @Override
+    public Date getTableUpdateTime(String schemaName, String tableName) {
+        return null;
+    }
+
     @Override
     public String getSqlSelect(Table table) {
         List<Column> columns = table.getColumns();
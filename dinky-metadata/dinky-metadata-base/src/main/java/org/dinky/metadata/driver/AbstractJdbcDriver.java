@@ -26,16 +26,23 @@ import static org.dinky.utils.SplitUtil.isSplit;
 import org.dinky.assertion.Asserts;
 import org.dinky.data.constant.CommonConstant;
 import org.dinky.data.enums.TableType;
+import org.dinky.data.exception.MetaDataException;
 import org.dinky.data.model.Column;
 import org.dinky.data.model.QueryData;
 import org.dinky.data.model.Schema;
 import org.dinky.data.model.Table;
 import org.dinky.data.result.SqlExplainResult;
+import org.dinky.metadata.cache.QueryResultCache;
+import org.dinky.metadata.cache.TtlCache;
 import org.dinky.metadata.query.IDBQuery;
+import org.dinky.metadata.result.JdbcQueryCursor;
+import org.dinky.metadata.result.JdbcResultPage;
 import org.dinky.metadata.result.JdbcSelectResult;
+import org.dinky.metadata.result.StatementResult;
 import org.dinky.process.context.ProcessContextHolder;
 import org.dinky.process.model.ProcessEntity;
 import org.dinky.utils.LogUtil;
+import org.dinky.utils.SqlUtil;
 import org.dinky.utils.TextUtil;
 
 import java.sql.Connection;
@@ -47,9 +54,14 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -57,13 +69,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.alibaba.druid.pool.DruidDataSource;
-import com.alibaba.druid.pool.DruidPooledConnection;
 import com.alibaba.druid.sql.SQLUtils;
 import com.alibaba.druid.sql.ast.SQLStatement;
 
@@ -78,9 +96,36 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
 
     protected static Logger logger = LoggerFactory.getLogger(AbstractJdbcDriver.class);
 
-    protected ThreadLocal<Connection> conn = new ThreadLocal<>();
+    /** 按库并行查询元数据的线程数，每个线程占用连接池中的一个连接 */
+    private static final int SCHEMA_QUERY_PARALLELISM = 4;
 
-    private DruidDataSource dataSource;
+    private static final ExecutorService SCHEMA_QUERY_EXECUTOR =
+            Executors.newFixedThreadPool(SCHEMA_QUERY_PARALLELISM, runnable -> {
+                Thread thread = new Thread(runnable, "dinky-metadata-schema-query");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /** 并行执行脚本中查询语句的线程，每个线程执行时占用连接池中的一个连接 */
+    private static final ExecutorService STATEMENT_EXECUTOR = Executors.newFixedThreadPool(8, runnable -> {
+        Thread thread = new Thread(runnable, "dinky-metadata-statement");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** 改变会话状态的语句的开头关键字 */
+    private static final Set<String> SESSION_KEYWORDS = new HashSet<>(Arrays.asList(
+            "USE", "SET", "RESET", "BEGIN", "START", "COMMIT", "ROLLBACK", "SAVEPOINT", "RELEASE", "LOCK", "UNLOCK"));
+
+    private static final int DEFAULT_MIN_IDLE = 1;
+    private static final long DEFAULT_MAX_WAIT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final long EVICTION_RUN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long MIN_EVICTABLE_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /** 游标查询每次从数据库获取的默认行数 */
+    protected static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private volatile DruidDataSource dataSource;
     protected String validationQuery = "select 1";
 
     abstract String getDriverClass();
@@ -99,32 +144,35 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
         return CommonConstant.HEALTHY;
     }
 
+    /** 获取当前 Driver 的连接池，首次使用或连接池被关闭后才创建 */
     public DruidDataSource createDataSource() throws SQLException {
-        if (null == dataSource) {
-            synchronized (this.getClass()) {
-                if (null == dataSource) {
-                    DruidDataSource ds = new DruidDataSource();
+        DruidDataSource ds = dataSource;
+        if (null == ds || ds.isClosed()) {
+            synchronized (this) {
+                ds = dataSource;
+                if (null == ds || ds.isClosed()) {
+                    ds = new DruidDataSource();
                     createDataSource(ds, config);
                     ds.init();
                     this.dataSource = ds;
                 }
             }
         }
-        return dataSource;
+        return ds;
     }
 
     @Override
     public Driver setDriverConfig(DriverConfig config) {
         this.config = config;
-        try {
-            this.dataSource = createDataSource();
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
         return this;
     }
 
     protected void createDataSource(DruidDataSource ds, DriverConfig config) {
+        DriverPoolConfig poolConfig = DriverPool.getPoolConfig(config);
+        int maxActive = Asserts.isNull(poolConfig.getMaxActive())
+                ? DriverPoolConfig.DEFAULT_MAX_ACTIVE
+                : poolConfig.getMaxActive();
+        int minIdle = Asserts.isNull(poolConfig.getMinIdle()) ? DEFAULT_MIN_IDLE : poolConfig.getMinIdle();
         ds.setName(config.getName().replaceAll("[^\\w]", ""));
         ds.setUrl(config.getUrl());
         ds.setDriverClassName(getDriverClass());
@@ -134,44 +182,79 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
         ds.setTestWhileIdle(true);
         ds.setBreakAfterAcquireFailure(true);
         ds.setFailFast(true);
-        ds.setInitialSize(1);
-        ds.setMaxActive(8);
-        ds.setMinIdle(5);
+        ds.setInitialSize(Math.min(1, maxActive));
+        ds.setMaxActive(maxActive);
+        ds.setMinIdle(Math.min(minIdle, maxActive));
+        ds.setMaxWait(Asserts.isNull(poolConfig.getMaxWait()) ? DEFAULT_MAX_WAIT_MILLIS : poolConfig.getMaxWait());
+        ds.setTimeBetweenEvictionRunsMillis(EVICTION_RUN_MILLIS);
+        ds.setMinEvictableIdleTimeMillis(MIN_EVICTABLE_IDLE_MILLIS);
+        Long leakDetectionThreshold = poolConfig.getLeakDetectionThreshold();
+        if (Asserts.isNotNull(leakDetectionThreshold) && leakDetectionThreshold > 0) {
+            ds.setRemoveAbandoned(true);
+            ds.setRemoveAbandonedTimeoutMillis(leakDetectionThreshold);
+            ds.setLogAbandoned(true);
+        }
+    }
+
+    /** 从连接池借出一个连接，调用方用完后需关闭以归还连接池 */
+    protected Connection getConnection() throws SQLException {
+        return createDataSource().getConnection();
     }
 
     @Override
     public Driver connect() {
-        if (Asserts.isNull(conn.get())) {
-            try {
-                Class.forName(getDriverClass());
-                DruidPooledConnection connection = createDataSource().getConnection();
-                conn.set(connection);
-            } catch (ClassNotFoundException | SQLException e) {
-                throw new RuntimeException(e);
-            }
+        try {
+            Class.forName(getDriverClass());
+            createDataSource();
+        } catch (ClassNotFoundException | SQLException e) {
+            throw new RuntimeException(e);
         }
         return this;
     }
 
     @Override
     public boolean isHealth() {
-        try {
-            if (Asserts.isNotNull(conn.get())) {
-                return !conn.get().isClosed();
-            }
-            return false;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return false;
+        DruidDataSource ds = dataSource;
+        return Asserts.isNotNull(ds) && !ds.isClosed();
+    }
+
+    /** 连接在每次操作后已归还连接池，这里无需释放 */
+    @Override
+    public void close() {}
+
+    @Override
+    public void destroy() {
+        DruidDataSource ds;
+        synchronized (this) {
+            ds = dataSource;
+            dataSource = null;
+        }
+        if (Asserts.isNotNull(ds)) {
+            ds.close();
         }
     }
 
     @Override
-    public void close() {
+    public DataSourcePoolStats getPoolStats() {
+        DruidDataSource ds = dataSource;
+        if (Asserts.isNull(ds) || ds.isClosed()) {
+            return null;
+        }
+        return new DataSourcePoolStats(
+                ds.getActiveCount(),
+                ds.getPoolingCount(),
+                ds.getMaxActive(),
+                ds.getWaitThreadCount(),
+                ds.getNotEmptyWaitCount(),
+                ds.getNotEmptyWaitMillis(),
+                ds.getRemoveAbandonedCount());
+    }
+
+    public void close(Connection connection, PreparedStatement preparedStatement, ResultSet results) {
+        close(preparedStatement, results);
         try {
-            if (Asserts.isNotNull(conn.get())) {
-                conn.get().close();
-                conn.remove();
+            if (Asserts.isNotNull(connection)) {
+                connection.close();
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -194,11 +277,13 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
     @Override
     public List<Schema> listSchemas() {
         List<Schema> schemas = new ArrayList<>();
+        Connection connection = null;
         PreparedStatement preparedStatement = null;
         ResultSet results = null;
         String schemasSql = getDBQuery().schemaAllSql();
         try {
-            preparedStatement = conn.get().prepareStatement(schemasSql);
+            connection = getConnection();
+            preparedStatement = connection.prepareStatement(schemasSql);
             results = preparedStatement.executeQuery();
             while (results.next()) {
                 String schemaName = results.getString(getDBQuery().schemaName());
@@ -210,7 +295,7 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
         } catch (Exception e) {
             e.printStackTrace();
         } finally {
-            close(preparedStatement, results);
+            close(connection, preparedStatement, results);
         }
         return schemas;
     }
@@ -239,19 +324,59 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
 
     @Override
     public List<Table> listTables(String schemaName) {
+        return queryTables(schemaName, getDBQuery().tablesSql(schemaName));
+    }
+
+    @Override
+    public Table getTable(String schemaName, String tableName) {
+        String sql = getDBQuery().tablesSql(schemaName, tableName);
+        if (Asserts.isNull(sql)) {
+            return super.getTable(schemaName, tableName);
+        }
+        Table table = queryTables(schemaName, sql).stream()
+                .filter(item -> Asserts.isEquals(item.getName(), tableName))
+                .findFirst()
+                .orElse(null);
+        if (Asserts.isNotNull(table)) {
+            table.setColumns(listColumns(schemaName, table.getName()));
+        }
+        return table;
+    }
+
+    @Override
+    public boolean existTable(Table table) {
+        String sql = getDBQuery().tablesSql(table.getSchema(), table.getName());
+        if (Asserts.isNull(sql)) {
+            return super.existTable(table);
+        }
+        return queryTables(table.getSchema(), sql).stream()
+                .anyMatch(tableItem -> Asserts.isEquals(tableItem.getName(), table.getName()));
+    }
+
+    @Override
+    public Date getTableUpdateTime(String schemaName, String tableName) {
+        String sql = getDBQuery().tablesSql(schemaName, tableName);
+        if (Asserts.isNull(sql)) {
+            return null;
+        }
+        return queryTables(schemaName, sql).stream()
+                .filter(item -> Asserts.isEquals(item.getName(), tableName))
+                .findFirst()
+                .map(Table::getUpdateTime)
+                .orElse(null);
+    }
+
+    private List<Table> queryTables(String schemaName, String sql) {
         List<Table> tableList = new ArrayList<>();
+        Connection connection = null;
         PreparedStatement preparedStatement = null;
         ResultSet results = null;
         IDBQuery dbQuery = getDBQuery();
-        String sql = dbQuery.tablesSql(schemaName);
         try {
-            preparedStatement = conn.get().prepareStatement(sql);
+            connection = getConnection();
+            preparedStatement = connection.prepareStatement(sql);
             results = preparedStatement.executeQuery();
-            ResultSetMetaData metaData = results.getMetaData();
-            List<String> columnList = new ArrayList<>();
-            for (int i = 1; i <= metaData.getColumnCount(); i++) {
-                columnList.add(metaData.getColumnLabel(i));
-            }
+            List<String> columnList = getColumnLabels(results.getMetaData());
             while (results.next()) {
                 String tableName = results.getString(dbQuery.tableName());
                 if (Asserts.isNotNullString(tableName)) {
@@ -288,7 +413,7 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
         } catch (SQLException e) {
             e.printStackTrace();
         } finally {
-            close(preparedStatement, results);
+            close(connection, preparedStatement, results);
         }
         return tableList;
     }
@@ -296,93 +421,23 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
     @Override
     public List<Column> listColumns(String schemaName, String tableName) {
         List<Column> columns = new ArrayList<>();
+        Connection connection = null;
         PreparedStatement preparedStatement = null;
         ResultSet results = null;
         IDBQuery dbQuery = getDBQuery();
         String tableFieldsSql = dbQuery.columnsSql(schemaName, tableName);
         try {
-            preparedStatement = conn.get().prepareStatement(tableFieldsSql);
+            connection = getConnection();
+            preparedStatement = connection.prepareStatement(tableFieldsSql);
             results = preparedStatement.executeQuery();
-            ResultSetMetaData metaData = results.getMetaData();
-            List<String> columnList = new ArrayList<>();
-            for (int i = 1; i <= metaData.getColumnCount(); i++) {
-                columnList.add(metaData.getColumnLabel(i));
-            }
+            List<String> columnList = getColumnLabels(results.getMetaData());
             while (results.next()) {
-                Column field = new Column();
-                String columnName = results.getString(dbQuery.columnName());
-                if (columnList.contains(dbQuery.columnKey())) {
-                    String key = results.getString(dbQuery.columnKey());
-                    field.setKeyFlag(Asserts.isNotNullString(key) && Asserts.isEqualsIgnoreCase(dbQuery.isPK(), key));
-                }
-                field.setName(columnName);
-                if (columnList.contains(dbQuery.columnType())) {
-                    String columnType = results.getString(dbQuery.columnType());
-                    if (columnType.contains("(")) {
-                        String type = columnType.replaceAll("\\(.*\\)", "");
-                        if (!columnType.contains(",")) {
-                            Integer length = Integer.valueOf(columnType.replaceAll("\\D", ""));
-                            field.setLength(length);
-                        } else {
-                            // some database does not have precision
-                            if (dbQuery.precision() != null) {
-                                // 例如浮点类型的长度和精度是一样的，decimal(10,2)
-                                field.setLength(results.getInt(dbQuery.precision()));
-                            }
-                        }
-                        field.setType(type);
-                    } else {
-                        field.setType(columnType);
-                    }
-                }
-                if (columnList.contains(dbQuery.columnComment())
-                        && Asserts.isNotNull(results.getString(dbQuery.columnComment()))) {
-                    String columnComment =
-                            results.getString(dbQuery.columnComment()).replaceAll("\"|'", "");
-                    field.setComment(columnComment);
-                }
-                if (columnList.contains(dbQuery.columnLength())) {
-                    int length = results.getInt(dbQuery.columnLength());
-                    if (!results.wasNull()) {
-                        field.setLength(length);
-                    }
-                }
-                if (columnList.contains(dbQuery.isNullable())) {
-                    field.setNullable(Asserts.isEqualsIgnoreCase(
-                            results.getString(dbQuery.isNullable()), dbQuery.nullableValue()));
-                }
-                if (columnList.contains(dbQuery.characterSet())) {
-                    field.setCharacterSet(results.getString(dbQuery.characterSet()));
-                }
-                if (columnList.contains(dbQuery.collation())) {
-                    field.setCollation(results.getString(dbQuery.collation()));
-                }
-                if (columnList.contains(dbQuery.columnPosition())) {
-                    field.setPosition(results.getInt(dbQuery.columnPosition()));
-                }
-                if (columnList.contains(dbQuery.precision())) {
-                    field.setPrecision(results.getInt(dbQuery.precision()));
-                }
-                if (columnList.contains(dbQuery.scale())) {
-                    field.setScale(results.getInt(dbQuery.scale()));
-                }
-                if (columnList.contains(dbQuery.defaultValue())) {
-                    field.setDefaultValue(results.getString(dbQuery.defaultValue()));
-                }
-                if (columnList.contains(dbQuery.autoIncrement())) {
-                    field.setAutoIncrement(
-                            Asserts.isEqualsIgnoreCase(results.getString(dbQuery.autoIncrement()), "auto_increment"));
-                }
-                if (columnList.contains(dbQuery.defaultValue())) {
-                    field.setDefaultValue(results.getString(dbQuery.defaultValue()));
-                }
-                field.setJavaType(getTypeConvert().convert(field, config));
-                columns.add(field);
+                columns.add(readColumn(results, columnList, dbQuery));
             }
         } catch (SQLException e) {
             e.printStackTrace();
         } finally {
-            close(preparedStatement, results);
+            close(connection, preparedStatement, results);
         }
         return columns;
     }
@@ -390,10 +445,143 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
     @Override
     public List<Column> listColumnsSortByPK(String schemaName, String tableName) {
         List<Column> columnList = listColumns(schemaName, tableName);
-        columnList.sort(Comparator.comparing(Column::isKeyFlag).reversed());
+        columnList.sort(PRIMARY_KEY_FIRST);
         return columnList;
     }
 
+    @Override
+    public Map<String, List<Column>> listTableColumns(String schemaName, Collection<String> tableNames) {
+        if (Asserts.isNotNull(tableNames) && tableNames.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        IDBQuery dbQuery = getDBQuery();
+        String sql = dbQuery.schemaColumnsSql(schemaName, tableNames);
+        if (Asserts.isNull(sql)) {
+            return super.listTableColumns(schemaName, tableNames);
+        }
+        Map<String, List<Column>> tableColumns = new LinkedHashMap<>();
+        Connection connection = null;
+        PreparedStatement preparedStatement = null;
+        ResultSet results = null;
+        try {
+            connection = getConnection();
+            preparedStatement = connection.prepareStatement(sql);
+            results = preparedStatement.executeQuery();
+            List<String> columnList = getColumnLabels(results.getMetaData());
+            while (results.next()) {
+                String tableName = results.getString(dbQuery.columnTableName());
+                tableColumns
+                        .computeIfAbsent(tableName, name -> new ArrayList<>())
+                        .add(readColumn(results, columnList, dbQuery));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            close(connection, preparedStatement, results);
+        }
+        return tableColumns;
+    }
+
+    /** 多个库时在独立线程上并行执行，每次查询各自从连接池借用连接 */
+    @Override
+    protected <T> Map<String, T> mapSchemas(Collection<String> schemaNames, Function<String, T> loader) {
+        if (schemaNames.size() <= 1) {
+            return super.mapSchemas(schemaNames, loader);
+        }
+        Map<String, CompletableFuture<T>> futures = new LinkedHashMap<>();
+        for (String schemaName : schemaNames) {
+            futures.put(
+                    schemaName,
+                    CompletableFuture.supplyAsync(() -> loader.apply(schemaName), SCHEMA_QUERY_EXECUTOR));
+        }
+        Map<String, T> results = new LinkedHashMap<>();
+        try {
+            futures.forEach((schemaName, future) -> results.put(schemaName, future.join()));
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        return results;
+    }
+
+    private static List<String> getColumnLabels(ResultSetMetaData metaData) throws SQLException {
+        List<String> columnList = new ArrayList<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columnList.add(metaData.getColumnLabel(i));
+        }
+        return columnList;
+    }
+
+    protected Column readColumn(ResultSet results, List<String> columnList, IDBQuery dbQuery) throws SQLException {
+        Column field = new Column();
+        String columnName = results.getString(dbQuery.columnName());
+        if (columnList.contains(dbQuery.columnKey())) {
+            String key = results.getString(dbQuery.columnKey());
+            field.setKeyFlag(Asserts.isNotNullString(key) && Asserts.isEqualsIgnoreCase(dbQuery.isPK(), key));
+        }
+        field.setName(columnName);
+        if (columnList.contains(dbQuery.columnType())) {
+            String columnType = results.getString(dbQuery.columnType());
+            if (columnType.contains("(")) {
+                String type = columnType.replaceAll("\\(.*\\)", "");
+                if (!columnType.contains(",")) {
+                    Integer length = Integer.valueOf(columnType.replaceAll("\\D", ""));
+                    field.setLength(length);
+                } else {
+                    // some database does not have precision
+                    if (dbQuery.precision() != null) {
+                        // 例如浮点类型的长度和精度是一样的，decimal(10,2)
+                        field.setLength(results.getInt(dbQuery.precision()));
+                    }
+                }
+                field.setType(type);
+            } else {
+                field.setType(columnType);
+            }
+        }
+        if (columnList.contains(dbQuery.columnComment())
+                && Asserts.isNotNull(results.getString(dbQuery.columnComment()))) {
+            String columnComment = results.getString(dbQuery.columnComment()).replaceAll("\"|'", "");
+            field.setComment(columnComment);
+        }
+        if (columnList.contains(dbQuery.columnLength())) {
+            int length = results.getInt(dbQuery.columnLength());
+            if (!results.wasNull()) {
+                field.setLength(length);
+            }
+        }
+        if (columnList.contains(dbQuery.isNullable())) {
+            field.setNullable(
+                    Asserts.isEqualsIgnoreCase(results.getString(dbQuery.isNullable()), dbQuery.nullableValue()));
+        }
+        if (columnList.contains(dbQuery.characterSet())) {
+            field.setCharacterSet(results.getString(dbQuery.characterSet()));
+        }
+        if (columnList.contains(dbQuery.collation())) {
+            field.setCollation(results.getString(dbQuery.collation()));
+        }
+        if (columnList.contains(dbQuery.columnPosition())) {
+            field.setPosition(results.getInt(dbQuery.columnPosition()));
+        }
+        if (columnList.contains(dbQuery.precision())) {
+            field.setPrecision(results.getInt(dbQuery.precision()));
+        }
+        if (columnList.contains(dbQuery.scale())) {
+            field.setScale(results.getInt(dbQuery.scale()));
+        }
+        if (columnList.contains(dbQuery.defaultValue())) {
+            field.setDefaultValue(results.getString(dbQuery.defaultValue()));
+        }
+        if (columnList.contains(dbQuery.autoIncrement())) {
+            field.setAutoIncrement(
+                    Asserts.isEqualsIgnoreCase(results.getString(dbQuery.autoIncrement()), "auto_increment"));
+        }
+        if (columnList.contains(dbQuery.defaultValue())) {
+            field.setDefaultValue(results.getString(dbQuery.defaultValue()));
+        }
+        field.setJavaType(getTypeConvert().convert(field, config));
+        return field;
+    }
+
     @Override
     public boolean createTable(Table table) throws Exception {
         String sql = getCreateTableSql(table).replaceAll("\r\n", " ");
@@ -437,11 +625,13 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
     @Override
     public String getCreateTableSql(Table table) {
         String createTable = null;
+        Connection connection = null;
         PreparedStatement preparedStatement = null;
         ResultSet results = null;
         String createTableSql = getDBQuery().createTableSql(table.getSchema(), table.getName());
         try {
-            preparedStatement = conn.get().prepareStatement(createTableSql);
+            connection = getConnection();
+            preparedStatement = connection.prepareStatement(createTableSql);
             results = preparedStatement.executeQuery();
             if (results.next()) {
                 ResultSetMetaData rsmd = results.getMetaData();
@@ -460,7 +650,7 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
         } catch (Exception e) {
             e.printStackTrace();
         } finally {
-            close(preparedStatement, results);
+            close(connection, preparedStatement, results);
         }
         return createTable;
     }
@@ -497,9 +687,14 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
     @Override
     public boolean execute(String sql) throws Exception {
         Asserts.checkNullString(sql, "Sql 语句为空");
-        try (Statement statement = conn.get().createStatement()) {
-            // logger.info("执行sql的连接id：" + ((DruidPooledConnection)
-            // conn).getTransactionInfo().getId());
+        try (Connection connection = getConnection()) {
+            return execute(connection, sql);
+        }
+    }
+
+    /** 在给定连接上执行，不关闭该连接。同一脚本的语句共用一个连接，以保留 USE、SET 和事务等会话状态 */
+    protected boolean execute(Connection connection, String sql) throws Exception {
+        try (Statement statement = connection.createStatement()) {
             statement.execute(sql);
         }
         return true;
@@ -508,11 +703,16 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
     @Override
     public int executeUpdate(String sql) throws Exception {
         Asserts.checkNullString(sql, "Sql 语句为空");
-        int res = 0;
-        try (Statement statement = conn.get().createStatement()) {
-            res = statement.executeUpdate(sql);
+        try (Connection connection = getConnection()) {
+            return executeUpdate(connection, sql);
+        }
+    }
+
+    /** 在给定连接上执行更新，不关闭该连接 */
+    protected int executeUpdate(Connection connection, String sql) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeUpdate(sql);
         }
-        return res;
     }
 
     /**
@@ -553,67 +753,79 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
 
     @Override
     public JdbcSelectResult query(String sql, Integer limit) {
+        return query(null, sql, limit);
+    }
+
+    /** connection 为 null 时从连接池借用连接并在读取后归还，否则在给定连接上查询，不关闭该连接 */
+    protected JdbcSelectResult query(Connection connection, String sql, Integer limit) {
         ProcessEntity process = ProcessContextHolder.getProcess();
         if (Asserts.isNull(limit)) {
             limit = 100;
         }
         JdbcSelectResult result = new JdbcSelectResult();
         List<LinkedHashMap<String, Object>> datas = new ArrayList<>();
-        List<Column> columns = new ArrayList<>();
-        List<String> columnNameList = new ArrayList<>();
-        PreparedStatement preparedStatement = null;
-        ResultSet results = null;
-        int count = 0;
-        try {
-            preparedStatement = conn.get().prepareStatement(sql);
-            results = preparedStatement.executeQuery();
-            if (Asserts.isNull(results)) {
-                result.setSuccess(true);
-                close(preparedStatement, results);
-                return result;
-            }
-            ResultSetMetaData metaData = results.getMetaData();
-            for (int i = 1; i <= metaData.getColumnCount(); i++) {
-                columnNameList.add(metaData.getColumnLabel(i));
-                Column column = new Column();
-                column.setName(metaData.getColumnLabel(i));
-                column.setType(metaData.getColumnTypeName(i));
-                column.setAutoIncrement(metaData.isAutoIncrement(i));
-                column.setNullable(metaData.isNullable(i) == 0 ? false : true);
-                column.setJavaType(getTypeConvert().convert(column, config));
-                columns.add(column);
-            }
-            result.setColumns(columnNameList);
-            while (results.next()) {
-                LinkedHashMap<String, Object> data = new LinkedHashMap<>();
-                for (Column column : columns) {
-                    String name = column.getName();
-                    String type = column.getType();
-                    Object value = getTypeConvert().convertValue(results, name, type);
-                    if (Asserts.isNotNull(value)) {
-                        data.put(name, value.toString());
-                    } else {
-                        data.put(name, null);
-                    }
-                }
-                datas.add(data);
-                count++;
-                if (count >= limit) {
-                    break;
-                }
-            }
+        try (JdbcQueryCursor cursor = openCursor(connection, sql, Math.min(limit, DEFAULT_FETCH_SIZE), limit)) {
+            JdbcResultPage page = cursor.next(limit);
+            result.setColumns(page.getColumnNames());
+            datas = page.toRows();
             result.setSuccess(true);
         } catch (Exception e) {
             result.setError(LogUtil.getError(e));
             result.setSuccess(false);
             process.error(e.getMessage());
         } finally {
-            close(preparedStatement, results);
             result.setRowData(datas);
-            return result;
+        }
+        return result;
+    }
+
+    @Override
+    public JdbcQueryCursor openCursor(String sql, Integer fetchSize, Integer maxRows) {
+        return openCursor(null, sql, fetchSize, maxRows);
+    }
+
+    /** sharedConnection 为 null 时借用一个连接由游标关闭时归还，否则游标在给定连接上查询且不关闭该连接 */
+    protected JdbcQueryCursor openCursor(
+            Connection sharedConnection, String sql, Integer fetchSize, Integer maxRows) {
+        Connection connection = sharedConnection;
+        PreparedStatement preparedStatement = null;
+        ResultSet results = null;
+        try {
+            if (Asserts.isNull(connection)) {
+                connection = getConnection();
+            }
+            preparedStatement = connection.prepareStatement(sql);
+            int cursorFetchSize = Asserts.isNull(fetchSize) ? DEFAULT_FETCH_SIZE : fetchSize;
+            if (Asserts.isNull(sharedConnection)) {
+                configureCursor(connection, preparedStatement, cursorFetchSize);
+            } else {
+                preparedStatement.setFetchSize(cursorFetchSize);
+            }
+            if (Asserts.isNotNull(maxRows) && maxRows > 0) {
+                preparedStatement.setMaxRows(maxRows);
+            }
+            results = preparedStatement.executeQuery();
+            return new JdbcQueryCursor(
+                    Asserts.isNull(sharedConnection) ? connection : null,
+                    preparedStatement,
+                    results,
+                    getTypeConvert(),
+                    config);
+        } catch (SQLException e) {
+            close(Asserts.isNull(sharedConnection) ? connection : null, preparedStatement, results);
+            throw new MetaDataException(e.getMessage(), e);
         }
     }
 
+    /**
+     * 设置游标查询的 fetch size，需要额外设置才能分批获取数据的数据库在子类中覆盖。
+     * 只对游标独占的连接调用，连接归还连接池时 Druid 会回滚未提交的事务并恢复 autoCommit，这里对连接的修改无需还原。
+     * 脚本共用的连接只设置 fetch size，不改变其会话状态。
+     */
+    protected void configureCursor(Connection connection, Statement statement, int fetchSize) throws SQLException {
+        statement.setFetchSize(fetchSize);
+    }
+
     /**
      * 如果执行多条语句返回最后一条语句执行结果
      *
@@ -625,53 +837,277 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
     public JdbcSelectResult executeSql(String sql, Integer limit) {
         ProcessEntity process = ProcessContextHolder.getProcess();
         process.info("Start parse sql...");
-        List<SQLStatement> stmtList =
-                SQLUtils.parseStatements(sql, config.getType().toLowerCase());
+        List<ParsedStatement> stmtList = parseStatements(sql);
         process.info(CharSequenceUtil.format("A total of {} statement have been Parsed.", stmtList.size()));
         List<Object> resList = new ArrayList<>();
         JdbcSelectResult result = JdbcSelectResult.buildResult();
         process.info("Start execute sql...");
-        for (SQLStatement item : stmtList) {
-            String type = item.getClass().getSimpleName();
-            if (type.toUpperCase().contains("SELECT")
-                    || type.toUpperCase().contains("SHOW")
-                    || type.toUpperCase().contains("DESC")
-                    || type.toUpperCase().contains("SQLEXPLAINSTATEMENT")) {
-                process.info("Execute query.");
-                result = query(item.toString(), limit);
-            } else if (type.toUpperCase().contains("INSERT")
-                    || type.toUpperCase().contains("UPDATE")
-                    || type.toUpperCase().contains("DELETE")) {
-                try {
-                    process.info("Execute update.");
-                    resList.add(executeUpdate(item.toString()));
-                    result.setStatusList(resList);
-                } catch (Exception e) {
-                    resList.add(0);
-                    result.setStatusList(resList);
-                    result.error(LogUtil.getError(e));
-                    process.error(e.getMessage());
-                    return result;
-                }
-            } else {
-                try {
-                    process.info("Execute DDL.");
-                    execute(item.toString());
-                    resList.add(1);
-                    result.setStatusList(resList);
-                } catch (Exception e) {
-                    resList.add(0);
-                    result.setStatusList(resList);
-                    result.error(LogUtil.getError(e));
-                    process.error(e.getMessage());
-                    return result;
+        try (Connection connection = getConnection()) {
+            for (ParsedStatement item : stmtList) {
+                if (item.getKind() == StatementKind.QUERY) {
+                    process.info("Execute query.");
+                    result = query(connection, item.getSql(), limit);
+                } else if (item.getKind() == StatementKind.UPDATE) {
+                    try {
+                        process.info("Execute update.");
+                        resList.add(executeUpdate(connection, item.getSql()));
+                        result.setStatusList(resList);
+                    } catch (Exception e) {
+                        resList.add(0);
+                        result.setStatusList(resList);
+                        result.error(LogUtil.getError(e));
+                        process.error(e.getMessage());
+                        return result;
+                    }
+                } else {
+                    try {
+                        process.info("Execute DDL.");
+                        execute(connection, item.getSql());
+                        resList.add(1);
+                        result.setStatusList(resList);
+                    } catch (Exception e) {
+                        resList.add(0);
+                        result.setStatusList(resList);
+                        result.error(LogUtil.getError(e));
+                        process.error(e.getMessage());
+                        return result;
+                    }
                 }
             }
+        } catch (SQLException e) {
+            result.error(LogUtil.getError(e));
+            process.error(e.getMessage());
+            return result;
         }
         result.success();
         return result;
     }
 
+    /**
+     * 将脚本拆分为语句并按类别标记，默认使用 Druid 按数据源方言解析，方言不被 Druid 支持的数据源在子类中覆盖
+     */
+    protected List<ParsedStatement> parseStatements(String sql) {
+        return SQLUtils.parseStatements(sql, config.getType().toLowerCase()).stream()
+                .map(item -> new ParsedStatement(
+                        item.toString(), kindOf(item.getClass().getSimpleName().toUpperCase())))
+                .collect(Collectors.toList());
+    }
+
+    private static StatementKind kindOf(String type) {
+        if (type.contains("SELECT")
+                || type.contains("SHOW")
+                || type.contains("DESC")
+                || type.contains("SQLEXPLAINSTATEMENT")) {
+            return StatementKind.QUERY;
+        } else if (type.contains("INSERT") || type.contains("UPDATE") || type.contains("DELETE")) {
+            return StatementKind.UPDATE;
+        }
+        return StatementKind.DDL;
+    }
+
+    /**
+     * 按分号拆分语句，以开头的关键字判断类别，不依赖 Druid 对方言的解析。供方言不被 Druid 支持的数据源覆盖 parseStatements 时使用。
+     */
+    protected List<ParsedStatement> splitStatementsByKeyword(String sql) {
+        List<ParsedStatement> statements = new ArrayList<>();
+        for (String item : SqlUtil.getStatements(SqlUtil.removeNote(sql))) {
+            String type = item.toUpperCase();
+            if (type.startsWith("SELECT") || type.startsWith("SHOW") || type.startsWith("DESC")) {
+                statements.add(new ParsedStatement(item, StatementKind.QUERY));
+            } else if (type.startsWith("INSERT") || type.startsWith("UPDATE") || type.startsWith("DELETE")) {
+                statements.add(new ParsedStatement(item, StatementKind.UPDATE));
+            } else {
+                statements.add(new ParsedStatement(item, StatementKind.DDL));
+            }
+        }
+        return statements;
+    }
+
+    /** 是否为切换库、设置会话变量、事务控制等改变会话状态的语句，这类语句的效果只对执行它的连接可见 */
+    protected boolean isSessionStatement(String sql) {
+        String trimmed = sql.trim();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return SESSION_KEYWORDS.contains(trimmed.substring(0, end).toUpperCase());
+    }
+
+    /**
+     * 脚本中有改变会话状态的语句时，所有语句在同一个连接上依次执行，查询不使用结果缓存。否则连续的查询语句在连接池的多个连接上并行执行，
+     * 写操作和 DDL 等待之前的查询完成后单独执行。写操作或 DDL 执行失败时不再执行后续语句，执行后清除该数据源的查询结果缓存。
+     * listener 在每条语句完成时按完成顺序调用，调用之间互斥。
+     */
+    @Override
+    public List<StatementResult> executeStatements(
+            String sql, Integer limit, int parallelism, QueryResultCache cache, Consumer<StatementResult> listener) {
+        ProcessEntity process = ProcessContextHolder.getProcess();
+        List<ParsedStatement> stmtList = parseStatements(sql);
+        process.info(CharSequenceUtil.format("A total of {} statement have been Parsed.", stmtList.size()));
+        StatementResult[] results = new StatementResult[stmtList.size()];
+        // ProcessEntity 不是线程安全的，语句执行时不持有 process，失败信息在这里加锁后统一记录
+        Consumer<StatementResult> collector = statementResult -> {
+            synchronized (results) {
+                results[statementResult.getIndex()] = statementResult;
+                if (!statementResult.isSuccess() && Asserts.isNotNullString(statementResult.getResult().getError())) {
+                    process.error(statementResult.getResult().getError().split("\n")[0]);
+                }
+                if (Asserts.isNotNull(listener)) {
+                    listener.accept(statementResult);
+                }
+            }
+        };
+        boolean serial = stmtList.stream().anyMatch(item -> isSessionStatement(item.getSql()));
+        if (serial) {
+            process.info("The script changes session state, execute statements serially on one connection.");
+        }
+        ProcessContextHolder.clear();
+        try {
+            if (serial) {
+                executeSerially(stmtList, limit, cache, collector);
+            } else {
+                executeConcurrently(stmtList, limit, parallelism, cache, collector);
+            }
+        } finally {
+            if (!process.isNullProcess()) {
+                ProcessContextHolder.setProcess(process);
+            }
+        }
+        return Arrays.stream(results).filter(Asserts::isNotNull).collect(Collectors.toList());
+    }
+
+    private void executeConcurrently(
+            List<ParsedStatement> stmtList,
+            Integer limit,
+            int parallelism,
+            QueryResultCache cache,
+            Consumer<StatementResult> collector) {
+        Deque<CompletableFuture<Void>> pending = new ArrayDeque<>();
+        for (int i = 0; i < stmtList.size(); i++) {
+            ParsedStatement item = stmtList.get(i);
+            int index = i;
+            if (item.getKind() == StatementKind.QUERY) {
+                if (pending.size() >= Math.max(parallelism, 1)) {
+                    pending.poll().join();
+                }
+                pending.add(CompletableFuture.runAsync(
+                        () -> collector.accept(executeQueryStatement(null, index, item, limit, cache)),
+                        STATEMENT_EXECUTOR));
+                continue;
+            }
+            pending.forEach(CompletableFuture::join);
+            pending.clear();
+            StatementResult statementResult = executeWriteStatement(null, index, item);
+            if (Asserts.isNotNull(cache)) {
+                cache.invalidate(config.getName());
+            }
+            collector.accept(statementResult);
+            if (!statementResult.isSuccess()) {
+                break;
+            }
+        }
+        pending.forEach(CompletableFuture::join);
+    }
+
+    private void executeSerially(
+            List<ParsedStatement> stmtList,
+            Integer limit,
+            QueryResultCache cache,
+            Consumer<StatementResult> collector) {
+        int index = 0;
+        try (Connection connection = getConnection()) {
+            for (; index < stmtList.size(); index++) {
+                ParsedStatement item = stmtList.get(index);
+                if (item.getKind() == StatementKind.QUERY) {
+                    collector.accept(executeQueryStatement(connection, index, item, limit, null));
+                    continue;
+                }
+                StatementResult statementResult = executeWriteStatement(connection, index, item);
+                if (Asserts.isNotNull(cache)) {
+                    cache.invalidate(config.getName());
+                }
+                collector.accept(statementResult);
+                if (!statementResult.isSuccess()) {
+                    break;
+                }
+            }
+        } catch (SQLException e) {
+            if (index < stmtList.size()) {
+                JdbcSelectResult result = JdbcSelectResult.buildResult();
+                result.error(LogUtil.getError(e));
+                collector.accept(new StatementResult(index, stmtList.get(index).getSql(), result, false, 0));
+            }
+        }
+    }
+
+    /** connection 为 null 时从连接池借用连接，cache 为 null 时不使用查询结果缓存 */
+    private StatementResult executeQueryStatement(
+            Connection connection, int index, ParsedStatement item, Integer limit, QueryResultCache cache) {
+        long startTime = System.currentTimeMillis();
+        JdbcSelectResult result;
+        boolean cached = false;
+        if (Asserts.isNull(cache)) {
+            result = query(connection, item.getSql(), limit);
+        } else {
+            TtlCache.Lookup<JdbcSelectResult> lookup =
+                    cache.get(config.getName(), item.getSql(), limit, () -> query(connection, item.getSql(), limit));
+            result = lookup.getValue();
+            cached = lookup.isCached();
+        }
+        return new StatementResult(index, item.getSql(), result, cached, System.currentTimeMillis() - startTime);
+    }
+
+    /** connection 为 null 时从连接池借用连接 */
+    private StatementResult executeWriteStatement(Connection connection, int index, ParsedStatement item) {
+        long startTime = System.currentTimeMillis();
+        JdbcSelectResult result = JdbcSelectResult.buildResult();
+        try {
+            if (item.getKind() == StatementKind.UPDATE) {
+                result.setStatusList(Collections.singletonList(
+                        Asserts.isNull(connection)
+                                ? executeUpdate(item.getSql())
+                                : executeUpdate(connection, item.getSql())));
+            } else if (Asserts.isNull(connection)) {
+                execute(item.getSql());
+                result.setStatusList(Collections.singletonList(1));
+            } else {
+                execute(connection, item.getSql());
+                result.setStatusList(Collections.singletonList(1));
+            }
+            result.success();
+        } catch (Exception e) {
+            result.setStatusList(Collections.singletonList(0));
+            result.error(LogUtil.getError(e));
+        }
+        return new StatementResult(index, item.getSql(), result, false, System.currentTimeMillis() - startTime);
+    }
+
+    /** 脚本中语句的类别 */
+    protected enum StatementKind {
+        QUERY,
+        UPDATE,
+        DDL
+    }
+
+    /** 拆分后的单条语句 */
+    protected static final class ParsedStatement {
+        private final String sql;
+        private final StatementKind kind;
+
+        protected ParsedStatement(String sql, StatementKind kind) {
+            this.sql = sql;
+            this.kind = kind;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public StatementKind getKind() {
+            return kind;
+        }
+    }
+
     @Override
     public List<SqlExplainResult> explain(String sql) {
         ProcessEntity process = ProcessContextHolder.getProcess();
@@ -701,6 +1137,7 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
     }
 
     public List<Map<String, String>> getSplitSchemaList() {
+        Connection connection = null;
         PreparedStatement preparedStatement = null;
         ResultSet results = null;
         IDBQuery dbQuery = getDBQuery();
@@ -711,7 +1148,8 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
                 + " TABLE_TYPE='BASE TABLE'";
         List<Map<String, String>> schemas = null;
         try {
-            preparedStatement = conn.get().prepareStatement(sql);
+            connection = getConnection();
+            preparedStatement = connection.prepareStatement(sql);
             results = preparedStatement.executeQuery();
             ResultSetMetaData metaData = results.getMetaData();
             List<String> columnList = new ArrayList<>();
@@ -729,7 +1167,7 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
         } catch (SQLException e) {
             e.printStackTrace();
         } finally {
-            close(preparedStatement, results);
+            close(connection, preparedStatement, results);
         }
         return schemas;
     }
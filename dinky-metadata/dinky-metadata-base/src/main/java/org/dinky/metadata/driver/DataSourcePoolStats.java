@@ -0,0 +1,50 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.driver;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** 数据源连接池统计 */
+@Getter
+@AllArgsConstructor
+public class DataSourcePoolStats {
+
+    /** 已借出的连接数 */
+    private final int activeCount;
+
+    /** 池中空闲的连接数 */
+    private final int idleCount;
+
+    /** 最大连接数 */
+    private final int maxActive;
+
+    /** 正在等待连接的线程数 */
+    private final int waitThreadCount;
+
+    /** 因池中无空闲连接而等待的累计次数 */
+    private final long waitCount;
+
+    /** 等待连接的累计耗时，毫秒 */
+    private final long waitMillis;
+
+    /** 因超过泄漏检测阈值而被回收的连接数 */
+    private final long leakedCount;
+}
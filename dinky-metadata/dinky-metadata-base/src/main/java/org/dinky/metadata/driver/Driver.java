@@ -27,13 +27,19 @@ import org.dinky.data.model.QueryData;
 import org.dinky.data.model.Schema;
 import org.dinky.data.model.Table;
 import org.dinky.data.result.SqlExplainResult;
+import org.dinky.metadata.cache.QueryResultCache;
+import org.dinky.metadata.result.JdbcQueryCursor;
 import org.dinky.metadata.result.JdbcSelectResult;
+import org.dinky.metadata.result.StatementResult;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Driver
@@ -54,30 +60,16 @@ public interface Driver extends AutoCloseable {
     }
 
     static Driver build(DriverConfig config) {
-        String key = config.getName();
-        if (DriverPool.exist(key)) {
-            return getHealthDriver(key);
-        }
-
-        synchronized (Driver.class) {
-            Optional<Driver> optionalDriver = Driver.get(config);
-            if (!optionalDriver.isPresent()) {
-                throw new MetaDataException("缺少数据源类型【" + config.getType() + "】的依赖，请在 lib 下添加对应的扩展依赖");
-            }
-            Driver driver = optionalDriver.get().connect();
-            DriverPool.push(key, driver);
-            return driver;
-        }
+        Driver driver = DriverPool.computeIfAbsent(config.getName(), key -> buildUnconnected(config));
+        return driver.isHealth() ? driver : driver.connect();
     }
 
     static Driver buildUnconnected(DriverConfig config) {
-        synchronized (Driver.class) {
-            Optional<Driver> optionalDriver = Driver.get(config);
-            if (!optionalDriver.isPresent()) {
-                throw new MetaDataException("缺少数据源类型【" + config.getType() + "】的依赖，请在 lib 下添加对应的扩展依赖");
-            }
-            return optionalDriver.get();
+        Optional<Driver> optionalDriver = Driver.get(config);
+        if (!optionalDriver.isPresent()) {
+            throw new MetaDataException("缺少数据源类型【" + config.getType() + "】的依赖，请在 lib 下添加对应的扩展依赖");
         }
+        return optionalDriver.get();
     }
 
     static Driver getHealthDriver(String key) {
@@ -135,9 +127,20 @@ public interface Driver extends AutoCloseable {
 
     Driver connect();
 
+    /** 释放当前操作占用的资源，池化的 Driver 仍可继续使用 */
     @Override
     void close();
 
+    /** 关闭 Driver 持有的连接池，由 {@link DriverPool} 在移除 Driver 时调用 */
+    default void destroy() {
+        close();
+    }
+
+    /** 连接池统计，不使用连接池时返回 null */
+    default DataSourcePoolStats getPoolStats() {
+        return null;
+    }
+
     List<Schema> listSchemas();
 
     boolean existSchema(String schemaName);
@@ -152,6 +155,27 @@ public interface Driver extends AutoCloseable {
 
     List<Column> listColumnsSortByPK(String schemaName, String tableName);
 
+    /**
+     * 批量查询表字段，支持整库查询的数据源每个库只执行一次查询
+     *
+     * @param schemaName 库名
+     * @param tableNames 表名，为 null 时查询整库
+     * @return 表名与按序号排列的字段，不存在的表不包含在内
+     */
+    Map<String, List<Column>> listTableColumns(String schemaName, Collection<String> tableNames);
+
+    /** 同 {@link #listTableColumns(String, Collection)}，主键字段排在前面 */
+    Map<String, List<Column>> listTableColumnsSortByPK(String schemaName, Collection<String> tableNames);
+
+    /**
+     * 多库批量查询表字段，主键字段排在前面，各库之间并行查询
+     *
+     * @param schemaTables 库名与表名，表名为 null 时查询整库
+     * @return 库名与 {@link #listTableColumnsSortByPK(String, Collection)} 的结果
+     */
+    Map<String, Map<String, List<Column>>> listSchemaColumnsSortByPK(
+            Map<String, ? extends Collection<String>> schemaTables);
+
     List<Schema> getSchemasAndTables();
 
     List<Table> getTablesAndColumns(String schemaName);
@@ -160,6 +184,9 @@ public interface Driver extends AutoCloseable {
 
     boolean existTable(Table table);
 
+    /** 表的更新时间，用于校验元数据缓存，数据源不支持时返回 null */
+    Date getTableUpdateTime(String schemaName, String tableName);
+
     boolean createTable(Table table) throws Exception;
 
     boolean generateCreateTable(Table table) throws Exception;
@@ -194,10 +221,33 @@ public interface Driver extends AutoCloseable {
 
     JdbcSelectResult query(String sql, Integer limit);
 
+    /**
+     * 执行查询并返回逐页读取结果的游标，游标占用一个连接，使用完后需关闭
+     *
+     * @param fetchSize 每次从数据库获取的行数，为空时使用驱动的默认值
+     * @param maxRows 最多返回的行数，为空或不大于 0 时不限制
+     */
+    default JdbcQueryCursor openCursor(String sql, Integer fetchSize, Integer maxRows) {
+        throw new MetaDataException("数据源类型【" + getType() + "】不支持游标查询");
+    }
+
     StringBuilder genQueryOption(QueryData queryData);
 
     JdbcSelectResult executeSql(String sql, Integer limit);
 
+    /**
+     * 执行脚本中的所有语句，相互独立的查询并行执行
+     *
+     * @param parallelism 同时执行的查询数
+     * @param cache 查询结果缓存，为空时不缓存
+     * @param listener 每条语句完成时回调，为空时不回调
+     * @return 各语句的结果，按语句在脚本中的顺序，执行失败后的语句不在其中
+     */
+    default List<StatementResult> executeStatements(
+            String sql, Integer limit, int parallelism, QueryResultCache cache, Consumer<StatementResult> listener) {
+        throw new MetaDataException("数据源类型【" + getType() + "】不支持并行执行");
+    }
+
     List<SqlExplainResult> explain(String sql);
 
     Map<String, String> getFlinkColumnTypeConversion();
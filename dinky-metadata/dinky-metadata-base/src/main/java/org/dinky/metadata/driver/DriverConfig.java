@@ -87,6 +87,12 @@ public class DriverConfig {
             notes = "Password for authentication (if applicable)")
     private String password;
 
+    @ApiModelProperty(
+            value = "Connection pool settings",
+            dataType = "DriverPoolConfig",
+            notes = "Connection pool settings of this datasource, unset values fall back to the pool defaults")
+    private DriverPoolConfig poolConfig;
+
     public DriverConfig() {}
 
     public DriverConfig(String name, String type, String url, String username, String password) {
@@ -99,11 +105,13 @@ public class DriverConfig {
 
     public static DriverConfig build(Map<String, String> confMap) {
         Asserts.checkNull(confMap, "数据源配置不能为空");
-        return new DriverConfig(
+        DriverConfig config = new DriverConfig(
                 confMap.get("name"),
                 confMap.get("type"),
                 confMap.get("url"),
                 confMap.get("username"),
                 confMap.get("password"));
+        config.setPoolConfig(DriverPoolConfig.build(confMap));
+        return config;
     }
 }
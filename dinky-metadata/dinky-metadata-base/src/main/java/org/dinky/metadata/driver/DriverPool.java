@@ -19,33 +19,184 @@
 
 package org.dinky.metadata.driver;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * DriverPool
  *
+ * <p>按数据源名称缓存 {@link Driver}，每个 Driver 持有自己的连接池。超过 idleTimeout 未被使用且没有借出连接的
+ * Driver 会被后台线程移除并关闭连接池。
+ *
  * @since 2022/2/17 15:29
  */
 public class DriverPool {
 
-    private static volatile Map<String, Driver> driverMap = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    private static final long EVICTION_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final Map<String, PooledDriver> driverMap = new ConcurrentHashMap<>();
+
+    private static final Map<String, DriverPoolConfig> poolConfigMap = new ConcurrentHashMap<>();
+
+    private static volatile DriverPoolConfig defaultPoolConfig = new DriverPoolConfig();
+
+    private static volatile long idleTimeoutMillis = TimeUnit.MINUTES.toMillis(30);
+
+    private static volatile ScheduledExecutorService evictor;
 
     public static boolean exist(String key) {
         return driverMap.containsKey(key);
     }
 
     public static Integer push(String key, Driver gainer) {
-        driverMap.put(key, gainer);
+        PooledDriver previous = driverMap.put(key, new PooledDriver(gainer));
+        if (previous != null && previous.driver != gainer) {
+            previous.driver.destroy();
+        }
+        startEvictor();
         return driverMap.size();
     }
 
+    /** 移除并关闭数据源的连接池，数据源配置变更或删除时调用 */
     public static Integer remove(String key) {
-        driverMap.remove(key);
+        PooledDriver removed = driverMap.remove(key);
+        if (removed != null) {
+            removed.driver.destroy();
+        }
         return driverMap.size();
     }
 
     public static Driver get(String key) {
-        return driverMap.get(key);
+        PooledDriver pooled = driverMap.computeIfPresent(key, (k, v) -> v.touch());
+        return pooled == null ? null : pooled.driver;
+    }
+
+    /** 获取数据源的 Driver，不存在时由 creator 创建，同一数据源只会创建一次 */
+    public static Driver computeIfAbsent(String key, Function<String, Driver> creator) {
+        PooledDriver pooled = driverMap.compute(
+                key, (k, v) -> v == null ? new PooledDriver(creator.apply(k)) : v.touch());
+        startEvictor();
+        return pooled.driver;
+    }
+
+    /** 各数据源连接池的统计信息，不支持连接池的 Driver 不在其中 */
+    public static Map<String, DataSourcePoolStats> stats() {
+        Map<String, DataSourcePoolStats> stats = new LinkedHashMap<>();
+        driverMap.forEach((key, pooled) -> {
+            DataSourcePoolStats poolStats = pooled.driver.getPoolStats();
+            if (poolStats != null) {
+                stats.put(key, poolStats);
+            }
+        });
+        return stats;
+    }
+
+    /** 数据源的连接池配置：DriverConfig 中的配置优先，其次是按名称设置的配置，最后是默认配置 */
+    public static DriverPoolConfig getPoolConfig(DriverConfig config) {
+        return defaultPoolConfig
+                .merge(poolConfigMap.get(config.getName()))
+                .merge(config.getPoolConfig());
+    }
+
+    /** 数据源连接池的最大连接数 */
+    public static int getMaxActive(DriverConfig config) {
+        Integer maxActive = getPoolConfig(config).getMaxActive();
+        return maxActive == null ? DriverPoolConfig.DEFAULT_MAX_ACTIVE : maxActive;
+    }
+
+    public static void setDefaultPoolConfig(DriverPoolConfig poolConfig) {
+        defaultPoolConfig = poolConfig == null ? new DriverPoolConfig() : poolConfig;
+    }
+
+    public static void setPoolConfig(String key, DriverPoolConfig poolConfig) {
+        if (poolConfig == null) {
+            poolConfigMap.remove(key);
+        } else {
+            poolConfigMap.put(key, poolConfig);
+        }
+    }
+
+    /** 设置空闲 Driver 的回收时间，不大于 0 时不回收 */
+    public static void setIdleTimeout(long timeout, TimeUnit unit) {
+        idleTimeoutMillis = unit.toMillis(timeout);
+    }
+
+    static void evictIdle() {
+        long timeout = idleTimeoutMillis;
+        if (timeout <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (String key : driverMap.keySet()) {
+            PooledDriver[] evicted = new PooledDriver[1];
+            // get() 与 computeIfAbsent() 同样在 compute 中更新访问时间，回收与获取不会交错
+            driverMap.computeIfPresent(key, (k, v) -> {
+                if (now - v.lastAccess < timeout || v.hasActiveConnections()) {
+                    return v;
+                }
+                evicted[0] = v;
+                return null;
+            });
+            if (evicted[0] != null) {
+                logger.info("Evict idle datasource driver: {}", key);
+                evicted[0].driver.destroy();
+            }
+        }
+    }
+
+    private static void startEvictor() {
+        if (evictor != null) {
+            return;
+        }
+        synchronized (DriverPool.class) {
+            if (evictor == null) {
+                ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "dinky-driver-pool-evictor");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                executor.scheduleWithFixedDelay(
+                        () -> {
+                            try {
+                                evictIdle();
+                            } catch (Exception e) {
+                                logger.warn("Evict idle datasource driver failed", e);
+                            }
+                        },
+                        EVICTION_INTERVAL_MILLIS,
+                        EVICTION_INTERVAL_MILLIS,
+                        TimeUnit.MILLISECONDS);
+                evictor = executor;
+            }
+        }
+    }
+
+    private static final class PooledDriver {
+        private final Driver driver;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private PooledDriver(Driver driver) {
+            this.driver = driver;
+        }
+
+        private PooledDriver touch() {
+            lastAccess = System.currentTimeMillis();
+            return this;
+        }
+
+        private boolean hasActiveConnections() {
+            DataSourcePoolStats stats = driver.getPoolStats();
+            return stats != null && stats.getActiveCount() > 0;
+        }
     }
 }
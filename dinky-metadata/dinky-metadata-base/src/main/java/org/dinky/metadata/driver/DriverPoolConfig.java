@@ -0,0 +1,95 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.driver;
+
+import org.dinky.assertion.Asserts;
+
+import java.util.Map;
+
+import lombok.Data;
+
+/** 单个数据源的连接池配置，未设置的项使用 {@link DriverPool} 中的默认值 */
+@Data
+public class DriverPoolConfig {
+
+    public static final String MAX_ACTIVE = "pool.maxActive";
+    public static final String MIN_IDLE = "pool.minIdle";
+    public static final String MAX_WAIT = "pool.maxWait";
+    public static final String LEAK_DETECTION_THRESHOLD = "pool.leakDetectionThreshold";
+
+    /** 未配置最大连接数时使用的默认值 */
+    public static final int DEFAULT_MAX_ACTIVE = 8;
+
+    /** 最大连接数 */
+    private Integer maxActive;
+
+    /** 最小空闲连接数 */
+    private Integer minIdle;
+
+    /** 获取连接的最长等待时间，毫秒 */
+    private Long maxWait;
+
+    /** 连接被借出超过该时间仍未归还时视为泄漏并回收，毫秒，不大于 0 时关闭泄漏检测 */
+    private Long leakDetectionThreshold;
+
+    /** 以 other 中已设置的项覆盖当前配置，返回新的配置 */
+    public DriverPoolConfig merge(DriverPoolConfig other) {
+        DriverPoolConfig merged = new DriverPoolConfig();
+        merged.setMaxActive(pick(other == null ? null : other.getMaxActive(), maxActive));
+        merged.setMinIdle(pick(other == null ? null : other.getMinIdle(), minIdle));
+        merged.setMaxWait(pick(other == null ? null : other.getMaxWait(), maxWait));
+        merged.setLeakDetectionThreshold(
+                pick(other == null ? null : other.getLeakDetectionThreshold(), leakDetectionThreshold));
+        return merged;
+    }
+
+    /**
+     * 从数据源配置中读取 pool.* 项
+     *
+     * @return 没有任何连接池配置时返回 null
+     */
+    public static DriverPoolConfig build(Map<String, String> confMap) {
+        if (Asserts.isNull(confMap)
+                || !(confMap.containsKey(MAX_ACTIVE)
+                        || confMap.containsKey(MIN_IDLE)
+                        || confMap.containsKey(MAX_WAIT)
+                        || confMap.containsKey(LEAK_DETECTION_THRESHOLD))) {
+            return null;
+        }
+        DriverPoolConfig poolConfig = new DriverPoolConfig();
+        if (Asserts.isNotNullString(confMap.get(MAX_ACTIVE))) {
+            poolConfig.setMaxActive(Integer.valueOf(confMap.get(MAX_ACTIVE).trim()));
+        }
+        if (Asserts.isNotNullString(confMap.get(MIN_IDLE))) {
+            poolConfig.setMinIdle(Integer.valueOf(confMap.get(MIN_IDLE).trim()));
+        }
+        if (Asserts.isNotNullString(confMap.get(MAX_WAIT))) {
+            poolConfig.setMaxWait(Long.valueOf(confMap.get(MAX_WAIT).trim()));
+        }
+        if (Asserts.isNotNullString(confMap.get(LEAK_DETECTION_THRESHOLD))) {
+            poolConfig.setLeakDetectionThreshold(Long.valueOf(confMap.get(LEAK_DETECTION_THRESHOLD).trim()));
+        }
+        return poolConfig;
+    }
+
+    private static <T> T pick(T value, T defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+}
@@ -19,6 +19,9 @@
 
 package org.dinky.metadata.query;
 
+import java.util.Collection;
+import java.util.stream.Collectors;
+
 /**
  * AbstractDBQuery
  *
@@ -26,6 +29,28 @@ package org.dinky.metadata.query;
  */
 public abstract class AbstractDBQuery implements IDBQuery {
 
+    @Override
+    public String tablesSql(String schemaName, String tableName) {
+        return null;
+    }
+
+    @Override
+    public String schemaColumnsSql(String schemaName, Collection<String> tableNames) {
+        return null;
+    }
+
+    @Override
+    public String columnTableName() {
+        return "TABLE_NAME";
+    }
+
+    /** 将表名拼接为 SQL IN 列表，如 ('a','b') */
+    protected static String toInList(Collection<String> names) {
+        return names.stream()
+                .map(name -> "'" + name.replace("'", "''") + "'")
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
     @Override
     public String createTableSql(String schemaName, String tableName) {
         return "show create table " + schemaName + "." + tableName;
@@ -19,6 +19,8 @@
 
 package org.dinky.metadata.query;
 
+import java.util.Collection;
+
 /**
  * IDBQuery
  *
@@ -32,9 +34,21 @@ public interface IDBQuery {
     /** 表信息查询 SQL */
     String tablesSql(String schemaName);
 
+    /** 单表信息查询 SQL，返回 null 时从 {@link #tablesSql(String)} 的结果中查找 */
+    String tablesSql(String schemaName, String tableName);
+
     /** 表字段信息查询 SQL */
     String columnsSql(String schemaName, String tableName);
 
+    /**
+     * 整库（或指定表）字段信息查询 SQL，结果需包含 {@link #columnTableName()} 列并按表、字段序号排序。
+     * tableNames 为 null 时查询整库（不会传入空集合），返回 null 时逐表调用 {@link #columnsSql(String, String)}
+     */
+    String schemaColumnsSql(String schemaName, Collection<String> tableNames);
+
+    /** 字段信息所属表名称 */
+    String columnTableName();
+
     /** 建表 SQL */
     String createTableSql(String schemaName, String tableName);
 
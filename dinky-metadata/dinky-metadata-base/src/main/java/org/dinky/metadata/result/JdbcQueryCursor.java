@@ -0,0 +1,194 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.result;
+
+import org.dinky.data.model.Column;
+import org.dinky.metadata.convert.ITypeConvert;
+import org.dinky.metadata.convert.ValueReader;
+import org.dinky.metadata.driver.DriverConfig;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 逐页读取查询结果的游标
+ *
+ * <p>游标独占一个连接直到被关闭，读取时按列下标和预先确定的 {@link ValueReader} 取值，每次只在内存中保留一页。
+ * connection 为 null 时游标使用调用方管理的连接，关闭时不关闭该连接。
+ * {@link #cancel()} 可以在其他线程调用，用于中止执行中的查询。
+ */
+public class JdbcQueryCursor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcQueryCursor.class);
+
+    /** 每列初始分配的行数，页较大时随读取的行数增长，不按 pageSize 预先分配 */
+    private static final int INITIAL_PAGE_CAPACITY = 1024;
+
+    private final Connection connection;
+    private final Statement statement;
+    private final ResultSet results;
+    private final List<Column> columns;
+    private final ValueReader[] readers;
+
+    private long position;
+    private boolean exhausted;
+    private volatile boolean closed;
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    public JdbcQueryCursor(
+            Connection connection,
+            Statement statement,
+            ResultSet results,
+            ITypeConvert typeConvert,
+            DriverConfig config)
+            throws SQLException {
+        this.connection = connection;
+        this.statement = statement;
+        this.results = results;
+        ResultSetMetaData metaData = results.getMetaData();
+        List<Column> columnList = new ArrayList<>(metaData.getColumnCount());
+        this.readers = new ValueReader[metaData.getColumnCount()];
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            Column column = new Column();
+            column.setName(metaData.getColumnLabel(i));
+            column.setType(metaData.getColumnTypeName(i));
+            column.setAutoIncrement(metaData.isAutoIncrement(i));
+            column.setNullable(metaData.isNullable(i) != ResultSetMetaData.columnNoNulls);
+            column.setJavaType(typeConvert.convert(column, config));
+            columnList.add(column);
+            readers[i - 1] = typeConvert.getValueReader(column.getType());
+        }
+        this.columns = Collections.unmodifiableList(columnList);
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * 读取至多 pageSize 行
+     *
+     * @return 本页数据，没有更多数据时 hasMore 为 false 且游标已关闭
+     */
+    public synchronized JdbcResultPage next(int pageSize) throws SQLException {
+        if (closed) {
+            throw new SQLException("Cursor is closed");
+        }
+        lastAccess = System.currentTimeMillis();
+        int columnCount = readers.length;
+        int capacity = Math.min(pageSize, INITIAL_PAGE_CAPACITY);
+        Object[][] values = new Object[columnCount][capacity];
+        int rowCount = 0;
+        while (rowCount < pageSize && !exhausted) {
+            if (!results.next()) {
+                exhausted = true;
+                break;
+            }
+            if (rowCount == capacity) {
+                capacity = (int) Math.min(pageSize, capacity * 2L);
+                for (int col = 0; col < columnCount; col++) {
+                    values[col] = Arrays.copyOf(values[col], capacity);
+                }
+            }
+            for (int col = 0; col < columnCount; col++) {
+                values[col][rowCount] = compact(readers[col].read(results, col + 1));
+            }
+            rowCount++;
+        }
+        if (rowCount < capacity) {
+            for (int col = 0; col < columnCount; col++) {
+                values[col] = Arrays.copyOf(values[col], rowCount);
+            }
+        }
+        JdbcResultPage page = new JdbcResultPage(columns, values, rowCount, position, !exhausted);
+        position += rowCount;
+        if (exhausted) {
+            close();
+        }
+        return page;
+    }
+
+    /** 中止正在执行或读取中的查询，可在其他线程调用 */
+    public void cancel() {
+        if (!closed) {
+            cancelStatement();
+        }
+    }
+
+    private void cancelStatement() {
+        try {
+            statement.cancel();
+        } catch (SQLException e) {
+            logger.warn("Cancel query failed: {}", e.getMessage());
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    /** 关闭结果集并归还连接，未读完时先取消查询，避免驱动在关闭时读完剩余数据 */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (!exhausted) {
+            cancelStatement();
+        }
+        closeQuietly(results);
+        closeQuietly(statement);
+        closeQuietly(connection);
+    }
+
+    /** 数值、布尔和字符串原样保留，其他类型转为字符串，与 {@link JdbcSelectResult} 的展示一致 */
+    private static Object compact(Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean || value instanceof String) {
+            return value;
+        }
+        return value.toString();
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            logger.warn("Close cursor resource failed: {}", e.getMessage());
+        }
+    }
+}
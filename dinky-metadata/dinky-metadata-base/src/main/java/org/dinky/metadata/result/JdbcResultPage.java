@@ -0,0 +1,82 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.result;
+
+import org.dinky.data.model.Column;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/** 查询结果的一页，按列存放：values[i] 为第 i 列在本页中的所有值 */
+@Getter
+@Setter
+public class JdbcResultPage {
+
+    /** 游标编号，还有后续数据时可凭此获取下一页 */
+    private String cursorId;
+
+    private List<Column> columns;
+
+    private Object[][] values;
+
+    /** 本页的行数 */
+    private int rowCount;
+
+    /** 本页第一行在整个结果中的位置，从 0 开始 */
+    private long offset;
+
+    /** 是否还有后续数据 */
+    private boolean hasMore;
+
+    private long time;
+
+    public JdbcResultPage() {}
+
+    public JdbcResultPage(List<Column> columns, Object[][] values, int rowCount, long offset, boolean hasMore) {
+        this.columns = columns;
+        this.values = values;
+        this.rowCount = rowCount;
+        this.offset = offset;
+        this.hasMore = hasMore;
+    }
+
+    public List<String> getColumnNames() {
+        return columns.stream().map(Column::getName).collect(Collectors.toList());
+    }
+
+    /** 转为 {@link JdbcSelectResult} 使用的按行存放、值为字符串的形式 */
+    public List<LinkedHashMap<String, Object>> toRows() {
+        List<LinkedHashMap<String, Object>> rows = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            LinkedHashMap<String, Object> data = new LinkedHashMap<>();
+            for (int col = 0; col < columns.size(); col++) {
+                Object value = values[col][row];
+                data.put(columns.get(col).getName(), value == null ? null : value.toString());
+            }
+            rows.add(data);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.result;
+
+import org.dinky.data.exception.MetaDataException;
+import org.dinky.metadata.driver.DriverConfig;
+import org.dinky.metadata.driver.DriverPool;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 保存未读完的 {@link JdbcQueryCursor}，供后续请求按编号获取下一页
+ *
+ * <p>每个游标占用其数据源连接池中的一个连接，超过 idleTimeout 未被读取的游标会被关闭。同时打开的游标数不超过 maxOpenCursors，
+ * 单个数据源的游标数小于其最大连接数，至少留一个连接给元数据和其他查询。
+ */
+public class QueryCursorRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCursorRegistry.class);
+
+    private final Map<String, OpenCursor> cursors = new ConcurrentHashMap<>();
+    private final int maxOpenCursors;
+    private final long idleTimeoutMillis;
+    private final ScheduledExecutorService sweeper;
+
+    public QueryCursorRegistry(int maxOpenCursors, long idleTimeout, TimeUnit unit) {
+        this.maxOpenCursors = maxOpenCursors;
+        this.idleTimeoutMillis = unit.toMillis(idleTimeout);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dinky-query-cursor-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(idleTimeoutMillis / 2, TimeUnit.SECONDS.toMillis(1));
+        sweeper.scheduleWithFixedDelay(this::closeIdle, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 读取游标的第一页，还有后续数据时登记游标并在结果中返回游标编号，否则关闭游标
+     */
+    public JdbcResultPage open(DriverConfig config, JdbcQueryCursor cursor, int pageSize) {
+        JdbcResultPage page;
+        try {
+            page = cursor.next(pageSize);
+        } catch (SQLException e) {
+            cursor.close();
+            throw new MetaDataException(e.getMessage(), e);
+        }
+        if (!page.isHasMore()) {
+            return page;
+        }
+        closeIdle();
+        String datasource = config.getName();
+        int maxDatasourceCursors = Math.max(DriverPool.getMaxActive(config) - 1, 0);
+        String cursorId = UUID.randomUUID().toString();
+        synchronized (this) {
+            if (cursors.size() >= maxOpenCursors) {
+                cursor.close();
+                throw new MetaDataException("打开的查询游标已达上限 " + maxOpenCursors + "，请先关闭不再使用的查询");
+            }
+            long datasourceCursors = cursors.values().stream()
+                    .filter(item -> Objects.equals(item.datasource, datasource))
+                    .count();
+            if (datasourceCursors >= maxDatasourceCursors) {
+                cursor.close();
+                throw new MetaDataException(
+                        "数据源 " + datasource + " 打开的查询游标已达上限 " + maxDatasourceCursors + "，请先关闭不再使用的查询");
+            }
+            cursors.put(cursorId, new OpenCursor(datasource, cursor));
+        }
+        page.setCursorId(cursorId);
+        return page;
+    }
+
+    /** 读取下一页，读完后游标自动关闭 */
+    public JdbcResultPage next(String cursorId, int pageSize) {
+        OpenCursor openCursor = cursors.get(cursorId);
+        JdbcQueryCursor cursor = openCursor == null ? null : openCursor.cursor;
+        if (cursor == null || cursor.isClosed()) {
+            cursors.remove(cursorId);
+            throw new MetaDataException("查询游标不存在或已过期：" + cursorId);
+        }
+        JdbcResultPage page;
+        try {
+            page = cursor.next(pageSize);
+        } catch (SQLException e) {
+            close(cursorId);
+            throw new MetaDataException(e.getMessage(), e);
+        }
+        if (page.isHasMore()) {
+            page.setCursorId(cursorId);
+        } else {
+            cursors.remove(cursorId);
+        }
+        return page;
+    }
+
+    /** 取消查询并关闭游标 */
+    public boolean close(String cursorId) {
+        OpenCursor openCursor = cursors.remove(cursorId);
+        if (openCursor == null) {
+            return false;
+        }
+        JdbcQueryCursor cursor = openCursor.cursor;
+        // 先取消，使其他线程中正在读取的 next 尽快返回并释放游标
+        cursor.cancel();
+        cursor.close();
+        return true;
+    }
+
+    public int size() {
+        return cursors.size();
+    }
+
+    void closeIdle() {
+        long now = System.currentTimeMillis();
+        cursors.forEach((cursorId, openCursor) -> {
+            if (openCursor.cursor.isClosed() || now - openCursor.cursor.getLastAccess() > idleTimeoutMillis) {
+                logger.info("Close idle query cursor: {}", cursorId);
+                close(cursorId);
+            }
+        });
+    }
+
+    public void shutdown() {
+        sweeper.shutdownNow();
+        cursors.keySet().forEach(this::close);
+    }
+
+    private static final class OpenCursor {
+        private final String datasource;
+        private final JdbcQueryCursor cursor;
+
+        private OpenCursor(String datasource, JdbcQueryCursor cursor) {
+            this.datasource = datasource;
+            this.cursor = cursor;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.result;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** 脚本中单条语句的执行结果 */
+@Getter
+@AllArgsConstructor
+public class StatementResult {
+
+    /** 语句在脚本中的序号，从 0 开始 */
+    private final int index;
+
+    private final String statement;
+
+    /** 查询语句为查询结果，其他语句为影响行数或执行状态 */
+    private final JdbcSelectResult result;
+
+    /** 是否来自查询结果缓存 */
+    private final boolean cached;
+
+    /** 执行耗时，毫秒 */
+    private final long time;
+
+    public boolean isSuccess() {
+        return result != null && result.isSuccess();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class MetaDataCacheTest {
+
+    @Test
+    void cachesUntilInvalidated() {
+        MetaDataCache cache = new MetaDataCache(10, Duration.ofMinutes(1), false);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get(MetaDataCache.Kind.SCHEMAS, "1", loads::incrementAndGet), equalTo(1));
+        assertThat(cache.get(MetaDataCache.Kind.SCHEMAS, "1", loads::incrementAndGet), equalTo(1));
+        cache.invalidate("1", "public", "user");
+        assertThat(cache.get(MetaDataCache.Kind.SCHEMAS, "1", loads::incrementAndGet), equalTo(2));
+
+        MetaDataCacheStats stats = cache.stats();
+        assertThat(stats.getHits(), equalTo(1L));
+        assertThat(stats.getMisses(), equalTo(2L));
+        assertThat(stats.getLoads(), equalTo(2L));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        MetaDataCache cache = new MetaDataCache(2, Duration.ofMinutes(1), false);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(MetaDataCache.Kind.COLUMNS, "1", "s", "a", loads::incrementAndGet, null);
+        cache.get(MetaDataCache.Kind.COLUMNS, "1", "s", "b", loads::incrementAndGet, null);
+        cache.get(MetaDataCache.Kind.COLUMNS, "1", "s", "a", loads::incrementAndGet, null);
+        cache.get(MetaDataCache.Kind.COLUMNS, "1", "s", "c", loads::incrementAndGet, null);
+        cache.get(MetaDataCache.Kind.COLUMNS, "1", "s", "a", loads::incrementAndGet, null);
+
+        assertThat(loads.get(), equalTo(3));
+        assertThat(cache.stats().getEvictions(), equalTo(1L));
+    }
+
+    @Test
+    void countsExpiryApartFromEviction() throws InterruptedException {
+        MetaDataCache cache = new MetaDataCache(10, Duration.ZERO, false);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(MetaDataCache.Kind.SCHEMAS, "1", loads::incrementAndGet);
+        Thread.sleep(1);
+        cache.get(MetaDataCache.Kind.SCHEMAS, "1", loads::incrementAndGet);
+
+        assertThat(loads.get(), equalTo(2));
+        assertThat(cache.stats().getExpirations(), equalTo(1L));
+        assertThat(cache.stats().getEvictions(), equalTo(0L));
+    }
+
+    @Test
+    void reloadsWhenUpdateTimeChanges() {
+        MetaDataCache cache = new MetaDataCache(10, Duration.ofMinutes(1), true);
+        AtomicInteger loads = new AtomicInteger();
+        AtomicReference<Date> updateTime = new AtomicReference<>(new Date(1000));
+
+        cache.get(MetaDataCache.Kind.TABLE, "1", "s", "t", loads::incrementAndGet, updateTime::get);
+        cache.get(MetaDataCache.Kind.TABLE, "1", "s", "t", loads::incrementAndGet, updateTime::get);
+        updateTime.set(new Date(2000));
+        cache.get(MetaDataCache.Kind.TABLE, "1", "s", "t", loads::incrementAndGet, updateTime::get);
+
+        assertThat(loads.get(), equalTo(2));
+        assertThat(cache.stats().getStaleReloads(), equalTo(1L));
+    }
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        MetaDataCache cache = new MetaDataCache(10, Duration.ofMinutes(1), false);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Integer> first = executor.submit(() -> cache.get(MetaDataCache.Kind.SCHEMAS, "1", () -> {
+                loading.countDown();
+                await(release);
+                return loads.incrementAndGet();
+            }));
+            loading.await(10, TimeUnit.SECONDS);
+            Future<Integer> second =
+                    executor.submit(() -> cache.get(MetaDataCache.Kind.SCHEMAS, "1", loads::incrementAndGet));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThat(first.get(10, TimeUnit.SECONDS), equalTo(1));
+            assertThat(second.get(10, TimeUnit.SECONDS), equalTo(1));
+            assertThat(loads.get(), equalTo(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
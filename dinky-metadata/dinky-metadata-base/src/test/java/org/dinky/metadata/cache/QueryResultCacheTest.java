@@ -0,0 +1,92 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.dinky.metadata.result.JdbcSelectResult;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class QueryResultCacheTest {
+
+    private static JdbcSelectResult result(boolean success) {
+        JdbcSelectResult result = JdbcSelectResult.buildResult();
+        result.setSuccess(success);
+        return result;
+    }
+
+    @Test
+    void normalizesWhitespaceOutsideQuotes() {
+        assertThat(
+                QueryResultCache.normalize("  select *\n  from t\twhere a = 'x  y' ;; "),
+                equalTo("select * from t where a = 'x  y'"));
+        assertThat(QueryResultCache.normalize("select 'a\\'  b'"), equalTo("select 'a\\'  b'"));
+    }
+
+    @Test
+    void cachesSuccessfulResultsPerDatasource() {
+        QueryResultCache cache = new QueryResultCache(10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("ds1", "select 1", 100, () -> {
+            loads.incrementAndGet();
+            return result(true);
+        });
+        TtlCache.Lookup<JdbcSelectResult> lookup = cache.get("ds1", "select   1;", 100, () -> {
+            loads.incrementAndGet();
+            return result(true);
+        });
+        assertThat(lookup.isCached(), equalTo(true));
+        assertThat(loads.get(), equalTo(1));
+
+        cache.get("ds2", "select 1", 100, () -> {
+            loads.incrementAndGet();
+            return result(true);
+        });
+        assertThat(loads.get(), equalTo(2));
+
+        cache.invalidate("ds1");
+        cache.get("ds1", "select 1", 100, () -> {
+            loads.incrementAndGet();
+            return result(true);
+        });
+        assertThat(loads.get(), equalTo(3));
+    }
+
+    @Test
+    void doesNotCacheFailedResults() {
+        QueryResultCache cache = new QueryResultCache(10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            cache.get("ds1", "select x", 100, () -> {
+                loads.incrementAndGet();
+                return result(false);
+            });
+        }
+        assertThat(loads.get(), equalTo(2));
+        assertThat(cache.size(), equalTo(0));
+    }
+}
@@ -32,7 +32,9 @@ import org.dinky.metadata.convert.ITypeConvert;
 import org.dinky.metadata.query.IDBQuery;
 import org.dinky.metadata.result.JdbcSelectResult;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -102,6 +104,32 @@ class AbstractDriverTest {
                         + " FROM SchemaOrigin.TableNameOrigin;\n"));
     }
 
+    @Test
+    void listTableColumnsSortByPK() {
+        ColumnsAbstractDriver ad = new ColumnsAbstractDriver();
+        ad.tableColumns.put(
+                "orders",
+                new ArrayList<>(Arrays.asList(
+                        Column.builder().name("amount").build(),
+                        Column.builder().name("id").keyFlag(true).build())));
+        Map<String, List<Column>> result =
+                ad.listTableColumnsSortByPK("SchemaOrigin", Arrays.asList("orders", "missing"));
+        assertThat(result.size(), equalTo(1));
+        assertThat(result.get("orders").get(0).getName(), equalTo("id"));
+        assertThat(result.get("orders").get(1).getName(), equalTo("amount"));
+    }
+
+    /** Serves the columns of {@link #tableColumns} for the bulk column tests. */
+    private static class ColumnsAbstractDriver extends SubAbstractDriver {
+
+        private final Map<String, List<Column>> tableColumns = new HashMap<>();
+
+        @Override
+        public List<Column> listColumns(String schemaName, String tableName) {
+            return tableColumns.getOrDefault(tableName, new ArrayList<>());
+        }
+    }
+
     private static class SubAbstractDriver extends AbstractDriver {
         @Override
         public IDBQuery getDBQuery() {
@@ -0,0 +1,138 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.driver;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.dinky.metadata.convert.ITypeConvert;
+import org.dinky.metadata.query.IDBQuery;
+import org.dinky.metadata.result.JdbcSelectResult;
+import org.dinky.metadata.result.StatementResult;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class AbstractJdbcDriverTest {
+
+    @Test
+    void executeSqlRunsTheScriptOnOneConnection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        ScriptDriver driver = new ScriptDriver(connection);
+
+        JdbcSelectResult result = driver.executeSql("use db; set a = 1; insert into t values (1)", 100);
+
+        assertThat(result.isSuccess(), equalTo(true));
+        assertThat(driver.borrowed.get(), equalTo(1));
+        verify(statement).execute("use db");
+        verify(statement).execute("set a = 1");
+        verify(statement).executeUpdate("insert into t values (1)");
+        verify(connection, times(1)).close();
+    }
+
+    @Test
+    void executeStatementsRunsSessionScriptsSeriallyOnOneConnection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        ScriptDriver driver = new ScriptDriver(connection);
+
+        List<StatementResult> results =
+                driver.executeStatements("use db; set a = 1; insert into t values (1)", 100, 4, null, null);
+
+        assertThat(results.size(), equalTo(3));
+        assertThat(results.stream().allMatch(StatementResult::isSuccess), equalTo(true));
+        assertThat(driver.borrowed.get(), equalTo(1));
+        verify(statement).execute("use db");
+        verify(connection, times(1)).close();
+    }
+
+    @Test
+    void detectsSessionStatements() {
+        ScriptDriver driver = new ScriptDriver(mock(Connection.class));
+
+        assertThat(driver.isSessionStatement("  Use db"), equalTo(true));
+        assertThat(driver.isSessionStatement("SET a = 1"), equalTo(true));
+        assertThat(driver.isSessionStatement("start transaction"), equalTo(true));
+        assertThat(driver.isSessionStatement("select * from settings"), equalTo(false));
+        assertThat(driver.isSessionStatement("update t set a = 1"), equalTo(false));
+    }
+
+    private static class ScriptDriver extends AbstractJdbcDriver {
+
+        private final Connection connection;
+        private final AtomicInteger borrowed = new AtomicInteger();
+
+        private ScriptDriver(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        protected Connection getConnection() {
+            borrowed.incrementAndGet();
+            return connection;
+        }
+
+        @Override
+        protected List<ParsedStatement> parseStatements(String sql) {
+            return Arrays.asList(
+                    new ParsedStatement("use db", StatementKind.DDL),
+                    new ParsedStatement("set a = 1", StatementKind.DDL),
+                    new ParsedStatement("insert into t values (1)", StatementKind.UPDATE));
+        }
+
+        @Override
+        String getDriverClass() {
+            return null;
+        }
+
+        @Override
+        public IDBQuery getDBQuery() {
+            return null;
+        }
+
+        @Override
+        public ITypeConvert getTypeConvert() {
+            return null;
+        }
+
+        @Override
+        public String getType() {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.driver;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DriverPoolTest {
+
+    @AfterEach
+    void tearDown() {
+        DriverPool.remove("idle");
+        DriverPool.remove("busy");
+        DriverPool.remove("once");
+        DriverPool.setIdleTimeout(30, TimeUnit.MINUTES);
+    }
+
+    @Test
+    void createsDriverOnce() {
+        Driver driver = mock(Driver.class);
+        AtomicInteger creates = new AtomicInteger();
+
+        Driver first = DriverPool.computeIfAbsent("once", key -> {
+            creates.incrementAndGet();
+            return driver;
+        });
+        Driver second = DriverPool.computeIfAbsent("once", key -> {
+            creates.incrementAndGet();
+            return mock(Driver.class);
+        });
+
+        assertThat(first, sameInstance(driver));
+        assertThat(second, sameInstance(driver));
+        assertThat(creates.get(), equalTo(1));
+    }
+
+    @Test
+    void evictsIdleDriversWithoutActiveConnections() throws InterruptedException {
+        Driver idle = mock(Driver.class);
+        Driver busy = mock(Driver.class);
+        when(busy.getPoolStats()).thenReturn(new DataSourcePoolStats(1, 0, 8, 0, 0, 0, 0));
+        DriverPool.push("idle", idle);
+        DriverPool.push("busy", busy);
+
+        DriverPool.setIdleTimeout(1, TimeUnit.MILLISECONDS);
+        Thread.sleep(10);
+        DriverPool.evictIdle();
+
+        assertThat(DriverPool.get("idle"), nullValue());
+        verify(idle).destroy();
+        assertThat(DriverPool.get("busy"), sameInstance(busy));
+        verify(busy, never()).destroy();
+    }
+
+    @Test
+    void removeDestroysDriver() {
+        Driver driver = mock(Driver.class);
+        DriverPool.push("idle", driver);
+
+        DriverPool.remove("idle");
+
+        assertThat(DriverPool.exist("idle"), equalTo(false));
+        verify(driver).destroy();
+    }
+
+    @Test
+    void mergesPoolConfig() {
+        DriverPoolConfig defaults = new DriverPoolConfig();
+        defaults.setMaxActive(8);
+        defaults.setMaxWait(1000L);
+        DriverPoolConfig override = new DriverPoolConfig();
+        override.setMaxActive(16);
+
+        DriverPoolConfig merged = defaults.merge(override);
+
+        assertThat(merged.getMaxActive(), equalTo(16));
+        assertThat(merged.getMaxWait(), equalTo(1000L));
+        assertThat(merged.getMinIdle(), nullValue());
+    }
+}
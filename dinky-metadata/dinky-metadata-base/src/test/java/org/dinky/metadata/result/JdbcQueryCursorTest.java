@@ -0,0 +1,131 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.result;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.dinky.data.enums.ColumnType;
+import org.dinky.data.model.Column;
+import org.dinky.metadata.convert.ITypeConvert;
+import org.dinky.metadata.driver.DriverConfig;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class JdbcQueryCursorTest {
+
+    private static final ITypeConvert TYPE_CONVERT = new ITypeConvert() {
+        @Override
+        public ColumnType convert(Column column) {
+            return ColumnType.STRING;
+        }
+
+        @Override
+        public String convertToDB(ColumnType columnType) {
+            return null;
+        }
+    };
+
+    private final Connection connection = mock(Connection.class);
+    private final Statement statement = mock(Statement.class);
+    private final ResultSet results = mock(ResultSet.class);
+
+    private JdbcQueryCursor openCursor() throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnLabel(1)).thenReturn("id");
+        when(metaData.getColumnTypeName(1)).thenReturn("int");
+        when(metaData.getColumnLabel(2)).thenReturn("name");
+        when(metaData.getColumnTypeName(2)).thenReturn("varchar");
+        when(results.getMetaData()).thenReturn(metaData);
+        when(results.next()).thenReturn(true, true, true, false);
+        when(results.getInt(1)).thenReturn(1, 0, 3);
+        when(results.wasNull()).thenReturn(false, true, false);
+        when(results.getString(2)).thenReturn("a", "b", "c");
+        return new JdbcQueryCursor(connection, statement, results, TYPE_CONVERT, new DriverConfig());
+    }
+
+    @Test
+    void readsColumnarPages() throws SQLException {
+        JdbcQueryCursor cursor = openCursor();
+
+        JdbcResultPage first = cursor.next(2);
+        assertThat(first.getColumnNames(), contains("id", "name"));
+        assertThat(first.getRowCount(), equalTo(2));
+        assertThat(first.getOffset(), equalTo(0L));
+        assertThat(first.isHasMore(), equalTo(true));
+        assertThat(first.getValues()[0][0], equalTo(1));
+        assertThat(first.getValues()[0][1], nullValue());
+        assertThat(first.getValues()[1][1], equalTo("b"));
+
+        JdbcResultPage second = cursor.next(2);
+        assertThat(second.getRowCount(), equalTo(1));
+        assertThat(second.getOffset(), equalTo(2L));
+        assertThat(second.isHasMore(), equalTo(false));
+        assertThat(second.getValues()[1].length, equalTo(1));
+        assertThat(second.toRows().get(0).get("id"), equalTo("3"));
+
+        assertThat(cursor.isClosed(), equalTo(true));
+        verify(connection).close();
+        verify(statement, never()).cancel();
+    }
+
+    @Test
+    void growsPagesWithTheRowsRead() throws SQLException {
+        JdbcQueryCursor cursor = openCursor();
+        AtomicInteger rows = new AtomicInteger();
+        when(results.next()).thenAnswer(invocation -> rows.incrementAndGet() <= 2000);
+        when(results.getInt(1)).thenReturn(1);
+        when(results.wasNull()).thenReturn(false);
+        when(results.getString(2)).thenReturn("a");
+
+        JdbcResultPage page = cursor.next(Integer.MAX_VALUE);
+
+        assertThat(page.getRowCount(), equalTo(2000));
+        assertThat(page.getValues()[0].length, equalTo(2000));
+        assertThat(page.getValues()[1][1999], equalTo("a"));
+        assertThat(page.isHasMore(), equalTo(false));
+    }
+
+    @Test
+    void cancelsUnfinishedQueryOnClose() throws SQLException {
+        JdbcQueryCursor cursor = openCursor();
+        cursor.next(1);
+
+        cursor.close();
+
+        verify(statement).cancel();
+        verify(results).close();
+        verify(connection).close();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.dinky.metadata.result;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.dinky.data.enums.ColumnType;
+import org.dinky.data.exception.MetaDataException;
+import org.dinky.data.model.Column;
+import org.dinky.metadata.convert.ITypeConvert;
+import org.dinky.metadata.driver.DriverConfig;
+import org.dinky.metadata.driver.DriverPoolConfig;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class QueryCursorRegistryTest {
+
+    private static final ITypeConvert TYPE_CONVERT = new ITypeConvert() {
+        @Override
+        public ColumnType convert(Column column) {
+            return ColumnType.STRING;
+        }
+
+        @Override
+        public String convertToDB(ColumnType columnType) {
+            return null;
+        }
+    };
+
+    private final QueryCursorRegistry registry = new QueryCursorRegistry(16, 5, TimeUnit.MINUTES);
+
+    @AfterEach
+    void shutdown() {
+        registry.shutdown();
+    }
+
+    private static DriverConfig datasource(String name, int maxActive) {
+        DriverConfig config = new DriverConfig();
+        config.setName(name);
+        DriverPoolConfig poolConfig = new DriverPoolConfig();
+        poolConfig.setMaxActive(maxActive);
+        config.setPoolConfig(poolConfig);
+        return config;
+    }
+
+    private static JdbcQueryCursor openCursor(Connection connection) throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(1)).thenReturn("name");
+        when(metaData.getColumnTypeName(1)).thenReturn("varchar");
+        ResultSet results = mock(ResultSet.class);
+        when(results.getMetaData()).thenReturn(metaData);
+        when(results.next()).thenReturn(true, true, false);
+        when(results.getString(1)).thenReturn("a", "b");
+        return new JdbcQueryCursor(connection, mock(Statement.class), results, TYPE_CONVERT, new DriverConfig());
+    }
+
+    @Test
+    void leavesOneConnectionOfEachDatasourceFree() throws SQLException {
+        DriverConfig ds1 = datasource("ds1", 3);
+        registry.open(ds1, openCursor(mock(Connection.class)), 1);
+        registry.open(ds1, openCursor(mock(Connection.class)), 1);
+
+        Connection rejected = mock(Connection.class);
+        JdbcQueryCursor cursor = openCursor(rejected);
+        assertThrows(MetaDataException.class, () -> registry.open(ds1, cursor, 1));
+        verify(rejected).close();
+
+        registry.open(datasource("ds2", 3), openCursor(mock(Connection.class)), 1);
+        assertThat(registry.size(), equalTo(3));
+    }
+}
@@ -29,6 +29,7 @@ import org.dinky.metadata.query.ClickHouseQuery;
 import org.dinky.metadata.query.IDBQuery;
 import org.dinky.utils.LogUtil;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
@@ -82,6 +83,7 @@ public class ClickHouseDriver extends AbstractJdbcDriver {
         String initialSql = sql;
         List<SqlExplainResult> sqlExplainResults = new ArrayList<>();
         StringBuilder explain = new StringBuilder();
+        Connection connection = null;
         PreparedStatement preparedStatement = null;
         ResultSet results = null;
         String current = null;
@@ -112,7 +114,11 @@ public class ClickHouseDriver extends AbstractJdbcDriver {
                     }
                     continue;
                 }
-                preparedStatement = conn.get().prepareStatement("explain " + current);
+                if (connection == null) {
+                    connection = getConnection();
+                }
+                close(preparedStatement, results);
+                preparedStatement = connection.prepareStatement("explain " + current);
                 results = preparedStatement.executeQuery();
                 while (results.next()) {
                     explain.append(getTypeConvert().convertValue(results, "explain", "string") + "\r\n");
@@ -122,7 +128,7 @@ public class ClickHouseDriver extends AbstractJdbcDriver {
         } catch (Exception e) {
             sqlExplainResults.add(SqlExplainResult.fail(current, LogUtil.getError(e)));
         } finally {
-            close(preparedStatement, results);
+            close(connection, preparedStatement, results);
             return sqlExplainResults;
         }
     }
@@ -27,8 +27,9 @@ import org.dinky.metadata.result.JdbcSelectResult;
 import org.dinky.process.context.ProcessContextHolder;
 import org.dinky.process.model.ProcessEntity;
 import org.dinky.utils.LogUtil;
-import org.dinky.utils.SqlUtil;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -67,48 +68,58 @@ public class DorisDriver extends AbstractJdbcDriver {
     public JdbcSelectResult executeSql(String sql, Integer limit) {
         ProcessEntity process = ProcessContextHolder.getProcess();
         process.info("Start parse sql...");
-        String[] statements = SqlUtil.getStatements(SqlUtil.removeNote(sql));
-        process.info(CharSequenceUtil.format("A total of {} statement have been Parsed.", statements.length));
+        List<ParsedStatement> statements = parseStatements(sql);
+        process.info(CharSequenceUtil.format("A total of {} statement have been Parsed.", statements.size()));
         List<Object> resList = new ArrayList<>();
         JdbcSelectResult result = JdbcSelectResult.buildResult();
         process.info("Start execute sql...");
-        for (String item : statements) {
-            String type = item.toUpperCase();
-            if (type.startsWith("SELECT") || type.startsWith("SHOW") || type.startsWith("DESC")) {
-                process.info("Execute query.");
-                result = query(item, limit);
-            } else if (type.startsWith("INSERT") || type.startsWith("UPDATE") || type.startsWith("DELETE")) {
-                try {
-                    process.info("Execute update.");
-                    resList.add(executeUpdate(item));
-                    result.setStatusList(resList);
-                    result.success();
-                } catch (Exception e) {
-                    resList.add(0);
-                    result.setStatusList(resList);
-                    result.error(LogUtil.getError(e));
-                    process.error(e.getMessage());
-                    return result;
-                }
-            } else {
-                try {
-                    process.info("Execute DDL.");
-                    execute(item);
-                    resList.add(1);
-                    result.setStatusList(resList);
-                    result.success();
-                } catch (Exception e) {
-                    resList.add(0);
-                    result.setStatusList(resList);
-                    result.error(LogUtil.getError(e));
-                    process.error(e.getMessage());
-                    return result;
+        try (Connection connection = getConnection()) {
+            for (ParsedStatement item : statements) {
+                if (item.getKind() == StatementKind.QUERY) {
+                    process.info("Execute query.");
+                    result = query(connection, item.getSql(), limit);
+                } else if (item.getKind() == StatementKind.UPDATE) {
+                    try {
+                        process.info("Execute update.");
+                        resList.add(executeUpdate(connection, item.getSql()));
+                        result.setStatusList(resList);
+                        result.success();
+                    } catch (Exception e) {
+                        resList.add(0);
+                        result.setStatusList(resList);
+                        result.error(LogUtil.getError(e));
+                        process.error(e.getMessage());
+                        return result;
+                    }
+                } else {
+                    try {
+                        process.info("Execute DDL.");
+                        execute(connection, item.getSql());
+                        resList.add(1);
+                        result.setStatusList(resList);
+                        result.success();
+                    } catch (Exception e) {
+                        resList.add(0);
+                        result.setStatusList(resList);
+                        result.error(LogUtil.getError(e));
+                        process.error(e.getMessage());
+                        return result;
+                    }
                 }
             }
+        } catch (SQLException e) {
+            result.error(LogUtil.getError(e));
+            process.error(e.getMessage());
+            return result;
         }
         return result;
     }
 
+    @Override
+    protected List<ParsedStatement> parseStatements(String sql) {
+        return splitStatementsByKeyword(sql);
+    }
+
     @Override
     public Map<String, String> getFlinkColumnTypeConversion() {
         HashMap<String, String> map = new HashMap<>();
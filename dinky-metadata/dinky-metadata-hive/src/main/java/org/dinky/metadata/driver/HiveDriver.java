@@ -33,6 +33,7 @@ import org.dinky.utils.LogUtil;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -64,15 +65,21 @@ public class HiveDriver extends AbstractJdbcDriver implements Driver {
 
     @Override
     public List<Table> listTables(String schemaName) {
+        try (Connection connection = getConnection()) {
+            return listTables(connection, schemaName);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+
+    /** use 切换的是连接的当前库，需要和查询表的语句在同一个连接上执行 */
+    private List<Table> listTables(Connection connection, String schemaName) throws Exception {
         List<Table> tableList = new ArrayList<>();
-        PreparedStatement preparedStatement = null;
-        ResultSet results = null;
         IDBQuery dbQuery = getDBQuery();
-        String sql = dbQuery.tablesSql(schemaName);
-        try {
-            execute(String.format(HiveConstant.USE_DB, schemaName));
-            preparedStatement = conn.get().prepareStatement(sql);
-            results = preparedStatement.executeQuery();
+        execute(connection, String.format(HiveConstant.USE_DB, schemaName));
+        try (PreparedStatement preparedStatement = connection.prepareStatement(dbQuery.tablesSql(schemaName));
+                ResultSet results = preparedStatement.executeQuery()) {
             ResultSetMetaData metaData = results.getMetaData();
             List<String> columnList = new ArrayList<>();
             for (int i = 1; i <= metaData.getColumnCount(); i++) {
@@ -99,10 +106,6 @@ public class HiveDriver extends AbstractJdbcDriver implements Driver {
                     tableList.add(tableInfo);
                 }
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-        } finally {
-            close(preparedStatement, results);
         }
         return tableList;
     }
@@ -116,26 +119,25 @@ public class HiveDriver extends AbstractJdbcDriver implements Driver {
     public List<Schema> listSchemas() {
 
         List<Schema> schemas = new ArrayList<>();
-        PreparedStatement preparedStatement = null;
-        ResultSet results = null;
+        List<String> schemaNames = new ArrayList<>();
         String schemasSql = getDBQuery().schemaAllSql();
-        try {
-            preparedStatement = conn.get().prepareStatement(schemasSql);
-            results = preparedStatement.executeQuery();
-            while (results.next()) {
-                String schemaName = results.getString(getDBQuery().schemaName());
-                if (Asserts.isNotNullString(schemaName)) {
-                    Schema schema = new Schema(schemaName);
-                    if (execute(String.format(HiveConstant.USE_DB, schemaName))) {
-                        schema.setTables(listTables(schema.getName()));
+        try (Connection connection = getConnection()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(schemasSql);
+                    ResultSet results = preparedStatement.executeQuery()) {
+                while (results.next()) {
+                    String schemaName = results.getString(getDBQuery().schemaName());
+                    if (Asserts.isNotNullString(schemaName)) {
+                        schemaNames.add(schemaName);
                     }
-                    schemas.add(schema);
                 }
             }
+            for (String schemaName : schemaNames) {
+                Schema schema = new Schema(schemaName);
+                schema.setTables(listTables(connection, schemaName));
+                schemas.add(schema);
+            }
         } catch (Exception e) {
             e.printStackTrace();
-        } finally {
-            close(preparedStatement, results);
         }
         return schemas;
     }
@@ -143,12 +145,14 @@ public class HiveDriver extends AbstractJdbcDriver implements Driver {
     @Override
     public List<Column> listColumns(String schemaName, String tableName) {
         List<Column> columns = new ArrayList<>();
+        Connection connection = null;
         PreparedStatement preparedStatement = null;
         ResultSet results = null;
         IDBQuery dbQuery = getDBQuery();
         String tableFieldsSql = dbQuery.columnsSql(schemaName, tableName);
         try {
-            preparedStatement = conn.get().prepareStatement(tableFieldsSql);
+            connection = getConnection();
+            preparedStatement = connection.prepareStatement(tableFieldsSql);
             results = preparedStatement.executeQuery();
             ResultSetMetaData metaData = results.getMetaData();
             List<String> columnList = new ArrayList<>();
@@ -182,7 +186,7 @@ public class HiveDriver extends AbstractJdbcDriver implements Driver {
         } catch (SQLException e) {
             e.printStackTrace();
         } finally {
-            close(preparedStatement, results);
+            close(connection, preparedStatement, results);
         }
         return columns;
     }
@@ -190,11 +194,13 @@ public class HiveDriver extends AbstractJdbcDriver implements Driver {
     @Override
     public String getCreateTableSql(Table table) {
         StringBuilder createTable = new StringBuilder();
+        Connection connection = null;
         PreparedStatement preparedStatement = null;
         ResultSet results = null;
         String createTableSql = getDBQuery().createTableSql(table.getSchema(), table.getName());
         try {
-            preparedStatement = conn.get().prepareStatement(createTableSql);
+            connection = getConnection();
+            preparedStatement = connection.prepareStatement(createTableSql);
             results = preparedStatement.executeQuery();
             while (results.next()) {
                 createTable
@@ -204,24 +210,21 @@ public class HiveDriver extends AbstractJdbcDriver implements Driver {
         } catch (Exception e) {
             e.printStackTrace();
         } finally {
-            close(preparedStatement, results);
+            close(connection, preparedStatement, results);
         }
         return createTable.toString();
     }
 
     @Override
-    public int executeUpdate(String sql) throws Exception {
-        Asserts.checkNullString(sql, "Sql 语句为空");
+    protected int executeUpdate(Connection connection, String sql) throws Exception {
         String querySQL = sql.trim().replaceAll(";$", "");
-        int res = 0;
-        try (Statement statement = conn.get().createStatement()) {
-            res = statement.executeUpdate(querySQL);
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeUpdate(querySQL);
         }
-        return res;
     }
 
     @Override
-    public JdbcSelectResult query(String sql, Integer limit) {
+    protected JdbcSelectResult query(Connection sharedConnection, String sql, Integer limit) {
         if (Asserts.isNull(limit)) {
             limit = 100;
         }
@@ -229,16 +232,17 @@ public class HiveDriver extends AbstractJdbcDriver implements Driver {
         List<LinkedHashMap<String, Object>> datas = new ArrayList<>();
         List<Column> columns = new ArrayList<>();
         List<String> columnNameList = new ArrayList<>();
+        Connection connection = null;
         PreparedStatement preparedStatement = null;
         ResultSet results = null;
         int count = 0;
         try {
             String querySQL = sql.trim().replaceAll(";$", "");
-            preparedStatement = conn.get().prepareStatement(querySQL);
+            connection = Asserts.isNull(sharedConnection) ? getConnection() : sharedConnection;
+            preparedStatement = connection.prepareStatement(querySQL);
             results = preparedStatement.executeQuery();
             if (Asserts.isNull(results)) {
                 result.setSuccess(true);
-                close(preparedStatement, results);
                 return result;
             }
             ResultSetMetaData metaData = results.getMetaData();
@@ -275,7 +279,7 @@ public class HiveDriver extends AbstractJdbcDriver implements Driver {
             result.setError(LogUtil.getError(e));
             result.setSuccess(false);
         } finally {
-            close(preparedStatement, results);
+            close(Asserts.isNull(sharedConnection) ? connection : null, preparedStatement, results);
             result.setRowData(datas);
             return result;
         }
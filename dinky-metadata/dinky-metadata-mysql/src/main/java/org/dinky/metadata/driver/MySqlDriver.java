@@ -29,6 +29,9 @@ import org.dinky.metadata.query.IDBQuery;
 import org.dinky.metadata.query.MySqlQuery;
 import org.dinky.utils.TextUtil;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.List;
@@ -67,6 +70,12 @@ public class MySqlDriver extends AbstractJdbcDriver {
         return "com.mysql.cj.jdbc.Driver";
     }
 
+    /** MySQL 驱动默认一次读完整个结果集，fetch size 为 Integer.MIN_VALUE 时才逐行流式读取 */
+    @Override
+    protected void configureCursor(Connection connection, Statement statement, int fetchSize) throws SQLException {
+        statement.setFetchSize(Integer.MIN_VALUE);
+    }
+
     @Override
     public Map<String, String> getFlinkColumnTypeConversion() {
         HashMap<String, String> map = new HashMap<>();
@@ -19,6 +19,8 @@
 
 package org.dinky.metadata.query;
 
+import java.util.Collection;
+
 /**
  * MySqlQuery
  *
@@ -42,6 +44,11 @@ public class MySqlQuery extends AbstractDBQuery {
                 + "'";
     }
 
+    @Override
+    public String tablesSql(String schemaName, String tableName) {
+        return tablesSql(schemaName) + " and TABLE_NAME = '" + tableName + "'";
+    }
+
     @Override
     public String columnsSql(String schemaName, String tableName) {
         return "select COLUMN_NAME,COLUMN_TYPE,COLUMN_COMMENT,COLUMN_KEY,EXTRA AS AUTO_INCREMENT"
@@ -55,6 +62,18 @@ public class MySqlQuery extends AbstractDBQuery {
                 + "order by ORDINAL_POSITION";
     }
 
+    @Override
+    public String schemaColumnsSql(String schemaName, Collection<String> tableNames) {
+        return "select TABLE_NAME,COLUMN_NAME,COLUMN_TYPE,COLUMN_COMMENT,COLUMN_KEY,EXTRA AS AUTO_INCREMENT"
+                + ",COLUMN_DEFAULT,IS_NULLABLE,NUMERIC_PRECISION,NUMERIC_SCALE,CHARACTER_SET_NAME"
+                + ",COLLATION_NAME,ORDINAL_POSITION from INFORMATION_SCHEMA.COLUMNS "
+                + "where TABLE_SCHEMA = '"
+                + schemaName
+                + "' "
+                + (tableNames == null ? "" : "and TABLE_NAME in " + toInList(tableNames) + " ")
+                + "order by TABLE_NAME,ORDINAL_POSITION";
+    }
+
     @Override
     public String schemaName() {
         return "Database";
@@ -32,11 +32,11 @@ import org.dinky.metadata.result.JdbcSelectResult;
 import org.apache.commons.lang3.StringUtils;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
 import java.util.List;
 import java.util.Properties;
 
+import com.alibaba.druid.pool.DruidDataSource;
+
 public class PhoenixDriver extends AbstractJdbcDriver {
 
     @Override
@@ -109,21 +109,17 @@ public class PhoenixDriver extends AbstractJdbcDriver {
     }
 
     @Override
-    public Driver connect() {
-        try {
-            Class.forName(getDriverClass());
-            // TODO：phoenix连接配置，后续可设置为参数传入，以适应不同配置的集群
-            Properties properties = new Properties();
-            properties.put("phoenix.schema.isNamespaceMappingEnabled", "true");
-            properties.put("phoenix.schema.mapSystemTablesToNamespac", "true");
-            Connection connection = DriverManager.getConnection(config.getUrl(), properties);
-            conn.set(connection);
-            // 设置为自动提交，否则upsert语句不生效
-            connection.setAutoCommit(true);
-        } catch (ClassNotFoundException | SQLException e) {
-            throw new RuntimeException(e);
-        }
-        return this;
+    protected void createDataSource(DruidDataSource ds, DriverConfig config) {
+        super.createDataSource(ds, config);
+        // TODO：phoenix连接配置，后续可设置为参数传入，以适应不同配置的集群
+        Properties properties = new Properties();
+        properties.put("phoenix.schema.isNamespaceMappingEnabled", "true");
+        properties.put("phoenix.schema.mapSystemTablesToNamespac", "true");
+        ds.setConnectProperties(properties);
+        // 设置为自动提交，否则upsert语句不生效
+        ds.setDefaultAutoCommit(true);
+        // 部分 phoenix 版本不支持不带 from 的 select，不设置检测语句
+        ds.setValidationQuery(null);
     }
 
     /**
@@ -137,17 +133,17 @@ public class PhoenixDriver extends AbstractJdbcDriver {
     }
 
     @Override
-    public JdbcSelectResult query(String sql, Integer limit) {
-        return super.query(parsePhoenixSql(sql), limit);
+    protected JdbcSelectResult query(Connection connection, String sql, Integer limit) {
+        return super.query(connection, parsePhoenixSql(sql), limit);
     }
 
     @Override
-    public int executeUpdate(String sql) throws Exception {
-        return super.executeUpdate(parsePhoenixSql(sql));
+    protected int executeUpdate(Connection connection, String sql) throws Exception {
+        return super.executeUpdate(connection, parsePhoenixSql(sql));
     }
 
     @Override
-    public boolean execute(String sql) throws Exception {
-        return super.execute(parsePhoenixSql(sql));
+    protected boolean execute(Connection connection, String sql) throws Exception {
+        return super.execute(connection, parsePhoenixSql(sql));
     }
 }
@@ -29,6 +29,9 @@ import org.dinky.metadata.query.IDBQuery;
 import org.dinky.metadata.query.PostgreSqlQuery;
 import org.dinky.utils.TextUtil;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +49,13 @@ public class PostgreSqlDriver extends AbstractJdbcDriver {
         return "org.postgresql.Driver";
     }
 
+    /** PostgreSQL 只在事务中按 fetch size 分批读取，autoCommit 为 true 时会一次读完整个结果集 */
+    @Override
+    protected void configureCursor(Connection connection, Statement statement, int fetchSize) throws SQLException {
+        connection.setAutoCommit(false);
+        super.configureCursor(connection, statement, fetchSize);
+    }
+
     @Override
     public IDBQuery getDBQuery() {
         return new PostgreSqlQuery();
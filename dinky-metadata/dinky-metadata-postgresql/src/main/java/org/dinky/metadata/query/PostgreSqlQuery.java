@@ -19,6 +19,8 @@
 
 package org.dinky.metadata.query;
 
+import java.util.Collection;
+
 /**
  * PostgreSqlQuery
  *
@@ -34,6 +36,15 @@ public class PostgreSqlQuery extends AbstractDBQuery {
 
     @Override
     public String tablesSql(String schemaName) {
+        return tablesWhereSql(schemaName) + "ORDER BY n.nspname, tablename";
+    }
+
+    @Override
+    public String tablesSql(String schemaName, String tableName) {
+        return tablesWhereSql(schemaName) + "  AND c.relname = '" + tableName + "'";
+    }
+
+    private String tablesWhereSql(String schemaName) {
         return "SELECT n.nspname              AS schema_name\n"
                 + "     , c.relname              AS tablename\n"
                 + "     , obj_description(c.oid) AS comments\n"
@@ -44,8 +55,7 @@ public class PostgreSqlQuery extends AbstractDBQuery {
                 + " (c.relkind = 'p'::\"char\"))\n"
                 + "  AND n.nspname = '"
                 + schemaName
-                + "'\n"
-                + "ORDER BY n.nspname, tablename";
+                + "'\n";
     }
 
     @Override
@@ -77,6 +87,39 @@ public class PostgreSqlQuery extends AbstractDBQuery {
                 + "ORDER BY col.table_schema, col.table_name, col.ordinal_position";
     }
 
+    @Override
+    public String schemaColumnsSql(String schemaName, Collection<String> tableNames) {
+        return "SELECT col.table_name                               as table_name\n"
+                + "     , col.column_name                              as name\n"
+                + "     , col.character_maximum_length                 as length\n"
+                + "     , col.is_nullable                              as is_nullable\n"
+                + "     , col.numeric_precision                        as numeric_precision\n"
+                + "     , col.numeric_scale                            as numeric_scale\n"
+                + "     , col.ordinal_position                         as ordinal_position\n"
+                + "     , col.udt_name                                 as type\n"
+                + "     , (CASE  WHEN (SELECT COUNT(*) FROM pg_constraint AS PC WHERE b.attnum"
+                + " = ANY(PC.conkey) AND PC.contype = 'p' and PC.conrelid = c.oid) > 0 \n"
+                + "THEN 'PRI' ELSE '' END)                            AS key\n"
+                + "     , col_description(c.oid, col.ordinal_position) AS comment\n"
+                + "     , col.column_default                           AS column_default\n"
+                + "FROM information_schema.columns AS col\n"
+                + "         LEFT JOIN pg_namespace ns ON ns.nspname = col.table_schema\n"
+                + "         LEFT JOIN pg_class c ON col.table_name = c.relname AND"
+                + " c.relnamespace = ns.oid\n"
+                + "         LEFT JOIN pg_attribute b ON b.attrelid = c.oid AND b.attname ="
+                + " col.column_name\n"
+                + "WHERE col.table_schema = '"
+                + schemaName
+                + "'\n"
+                + (tableNames == null ? "" : "  AND col.table_name IN " + toInList(tableNames) + "\n")
+                + "ORDER BY col.table_schema, col.table_name, col.ordinal_position";
+    }
+
+    @Override
+    public String columnTableName() {
+        return "table_name";
+    }
+
     @Override
     public String schemaName() {
         return "schema_name";
@@ -34,6 +34,7 @@ import org.dinky.utils.LogUtil;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -66,12 +67,14 @@ public class PrestoDriver extends AbstractJdbcDriver implements Driver {
     @Override
     public List<Table> listTables(String schemaName) {
         List<Table> tableList = new ArrayList<>();
+        Connection connection = null;
         PreparedStatement preparedStatement = null;
         ResultSet results = null;
         IDBQuery dbQuery = getDBQuery();
         String sql = dbQuery.tablesSql(schemaName);
         try {
-            preparedStatement = conn.get().prepareStatement(String.format(sql, schemaName));
+            connection = getConnection();
+            preparedStatement = connection.prepareStatement(String.format(sql, schemaName));
             results = preparedStatement.executeQuery();
             ResultSetMetaData metaData = results.getMetaData();
             List<String> columnList = new ArrayList<>();
@@ -102,7 +105,7 @@ public class PrestoDriver extends AbstractJdbcDriver implements Driver {
         } catch (Exception e) {
             e.printStackTrace();
         } finally {
-            close(preparedStatement, results);
+            close(connection, preparedStatement, results);
         }
         return tableList;
     }
@@ -115,6 +118,7 @@ public class PrestoDriver extends AbstractJdbcDriver implements Driver {
     @Override
     public List<Schema> listSchemas() {
         List<Schema> schemas = new ArrayList<>();
+        Connection connection = null;
         PreparedStatement preparedStatement = null;
         ResultSet results = null;
         PreparedStatement ps = null;
@@ -122,14 +126,15 @@ public class PrestoDriver extends AbstractJdbcDriver implements Driver {
 
         String schemasSql = getDBQuery().schemaAllSql();
         try {
-            preparedStatement = conn.get().prepareStatement(schemasSql);
+            connection = getConnection();
+            preparedStatement = connection.prepareStatement(schemasSql);
             results = preparedStatement.executeQuery();
             while (results.next()) {
                 String schemaName = results.getString(getDBQuery().schemaName());
                 // !PrestoConstant.EXTRA_SCHEMA.equals(schemaName) filter system catalog
                 if (Asserts.isNotNullString(schemaName) && !PrestoConstant.EXTRA_SCHEMA.equals(schemaName)) {
-                    ps = conn.get()
-                            .prepareStatement(String.format(PrestoConstant.QUERY_TABLE_COLUMNS_ONLY, schemaName));
+                    ps = connection.prepareStatement(
+                            String.format(PrestoConstant.QUERY_TABLE_COLUMNS_ONLY, schemaName));
                     rs = ps.executeQuery();
                     while (rs.next()) {
                         String db = rs.getString(PrestoConstant.SCHEMA);
@@ -147,7 +152,7 @@ public class PrestoDriver extends AbstractJdbcDriver implements Driver {
             e.printStackTrace();
         } finally {
             close(ps, rs);
-            close(preparedStatement, results);
+            close(connection, preparedStatement, results);
         }
         return schemas;
     }
@@ -155,12 +160,14 @@ public class PrestoDriver extends AbstractJdbcDriver implements Driver {
     @Override
     public List<Column> listColumns(String schemaName, String tableName) {
         List<Column> columns = new ArrayList<>();
+        Connection connection = null;
         PreparedStatement preparedStatement = null;
         ResultSet results = null;
         IDBQuery dbQuery = getDBQuery();
         String tableFieldsSql = dbQuery.columnsSql(schemaName, tableName);
         try {
-            preparedStatement = conn.get().prepareStatement(tableFieldsSql);
+            connection = getConnection();
+            preparedStatement = connection.prepareStatement(tableFieldsSql);
             results = preparedStatement.executeQuery();
             ResultSetMetaData metaData = results.getMetaData();
             List<String> columnList = new ArrayList<>();
@@ -194,7 +201,7 @@ public class PrestoDriver extends AbstractJdbcDriver implements Driver {
         } catch (SQLException e) {
             e.printStackTrace();
         } finally {
-            close(preparedStatement, results);
+            close(connection, preparedStatement, results);
         }
         return columns;
     }
@@ -202,11 +209,13 @@ public class PrestoDriver extends AbstractJdbcDriver implements Driver {
     @Override
     public String getCreateTableSql(Table table) {
         StringBuilder createTable = new StringBuilder();
+        Connection connection = null;
         PreparedStatement preparedStatement = null;
         ResultSet results = null;
         String createTableSql = getDBQuery().createTableSql(table.getSchema(), table.getName());
         try {
-            preparedStatement = conn.get().prepareStatement(createTableSql);
+            connection = getConnection();
+            preparedStatement = connection.prepareStatement(createTableSql);
             results = preparedStatement.executeQuery();
             ResultSetMetaData metaData = results.getMetaData();
             while (results.next()) {
@@ -217,24 +226,21 @@ public class PrestoDriver extends AbstractJdbcDriver implements Driver {
         } catch (Exception e) {
             e.printStackTrace();
         } finally {
-            close(preparedStatement, results);
+            close(connection, preparedStatement, results);
         }
         return createTable.toString();
     }
 
     @Override
-    public int executeUpdate(String sql) throws Exception {
-        Asserts.checkNullString(sql, "Sql 语句为空");
+    protected int executeUpdate(Connection connection, String sql) throws Exception {
         String querySQL = sql.trim().replaceAll(";$", "");
-        int res = 0;
-        try (Statement statement = conn.get().createStatement()) {
-            res = statement.executeUpdate(querySQL);
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeUpdate(querySQL);
         }
-        return res;
     }
 
     @Override
-    public JdbcSelectResult query(String sql, Integer limit) {
+    protected JdbcSelectResult query(Connection sharedConnection, String sql, Integer limit) {
         if (Asserts.isNull(limit)) {
             limit = 100;
         }
@@ -242,16 +248,17 @@ public class PrestoDriver extends AbstractJdbcDriver implements Driver {
         List<LinkedHashMap<String, Object>> datas = new ArrayList<>();
         List<Column> columns = new ArrayList<>();
         List<String> columnNameList = new ArrayList<>();
+        Connection connection = null;
         PreparedStatement preparedStatement = null;
         ResultSet results = null;
         int count = 0;
         try {
             String querySQL = sql.trim().replaceAll(";$", "");
-            preparedStatement = conn.get().prepareStatement(querySQL);
+            connection = Asserts.isNull(sharedConnection) ? getConnection() : sharedConnection;
+            preparedStatement = connection.prepareStatement(querySQL);
             results = preparedStatement.executeQuery();
             if (Asserts.isNull(results)) {
                 result.setSuccess(true);
-                close(preparedStatement, results);
                 return result;
             }
             ResultSetMetaData metaData = results.getMetaData();
@@ -288,7 +295,7 @@ public class PrestoDriver extends AbstractJdbcDriver implements Driver {
             result.setError(LogUtil.getError(e));
             result.setSuccess(false);
         } finally {
-            close(preparedStatement, results);
+            close(Asserts.isNull(sharedConnection) ? connection : null, preparedStatement, results);
             result.setRowData(datas);
             return result;
         }
@@ -25,8 +25,9 @@ import org.dinky.metadata.query.IDBQuery;
 import org.dinky.metadata.query.StarRocksQuery;
 import org.dinky.metadata.result.JdbcSelectResult;
 import org.dinky.utils.LogUtil;
-import org.dinky.utils.SqlUtil;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -61,40 +62,49 @@ public class StarRocksDriver extends AbstractJdbcDriver {
 
     @Override
     public JdbcSelectResult executeSql(String sql, Integer limit) {
-        String[] statements = SqlUtil.getStatements(SqlUtil.removeNote(sql));
+        List<ParsedStatement> statements = parseStatements(sql);
         List<Object> resList = new ArrayList<>();
         JdbcSelectResult result = JdbcSelectResult.buildResult();
-        for (String item : statements) {
-            String type = item.toUpperCase();
-            if (type.startsWith("SELECT") || type.startsWith("SHOW") || type.startsWith("DESC")) {
-                result = query(item, limit);
-            } else if (type.startsWith("INSERT") || type.startsWith("UPDATE") || type.startsWith("DELETE")) {
-                try {
-                    resList.add(executeUpdate(item));
-                    result.setStatusList(resList);
-                } catch (Exception e) {
-                    resList.add(0);
-                    result.setStatusList(resList);
-                    result.error(LogUtil.getError(e));
-                    return result;
-                }
-            } else {
-                try {
-                    execute(item);
-                    resList.add(1);
-                    result.setStatusList(resList);
-                } catch (Exception e) {
-                    resList.add(0);
-                    result.setStatusList(resList);
-                    result.error(LogUtil.getError(e));
-                    return result;
+        try (Connection connection = getConnection()) {
+            for (ParsedStatement item : statements) {
+                if (item.getKind() == StatementKind.QUERY) {
+                    result = query(connection, item.getSql(), limit);
+                } else if (item.getKind() == StatementKind.UPDATE) {
+                    try {
+                        resList.add(executeUpdate(connection, item.getSql()));
+                        result.setStatusList(resList);
+                    } catch (Exception e) {
+                        resList.add(0);
+                        result.setStatusList(resList);
+                        result.error(LogUtil.getError(e));
+                        return result;
+                    }
+                } else {
+                    try {
+                        execute(connection, item.getSql());
+                        resList.add(1);
+                        result.setStatusList(resList);
+                    } catch (Exception e) {
+                        resList.add(0);
+                        result.setStatusList(resList);
+                        result.error(LogUtil.getError(e));
+                        return result;
+                    }
                 }
             }
+        } catch (SQLException e) {
+            result.error(LogUtil.getError(e));
+            return result;
         }
         result.success();
         return result;
     }
 
+    @Override
+    protected List<ParsedStatement> parseStatements(String sql) {
+        return splitStatementsByKeyword(sql);
+    }
+
     @Override
     public Map<String, String> getFlinkColumnTypeConversion() {
         HashMap<String, String> map = new HashMap<>();